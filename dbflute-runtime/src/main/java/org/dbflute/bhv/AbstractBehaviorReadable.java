@@ -894,6 +894,7 @@ public abstract class AbstractBehaviorReadable<ENTITY extends Entity, CB extends
         // - - - - - - - - - - - - - -
         // Select the list of referrer
         // - - - - - - - - - - - - - -
+        xsetupLoadReferrerInScopeBucketPadding(cb, loadReferrerOption);
         callback.qyFKIn(cb, pkSet);
         final String referrerPropertyName = callback.getRfPrNm();
         final String fixedCondition = xbuildReferrerCorrelatedFixedCondition(cb, referrerPropertyName);
@@ -907,6 +908,7 @@ public abstract class AbstractBehaviorReadable<ENTITY extends Entity, CB extends
                 @SuppressWarnings("unchecked")
                 REFERRER_CB referrerUnionCB = (REFERRER_CB) unionCB;
                 // for when application uses union query in condition-bean set-upper.
+                xsetupLoadReferrerInScopeBucketPadding(referrerUnionCB, loadReferrerOption);
                 callback.qyFKIn(referrerUnionCB, pkSet);
                 if (hasFixedCondition) {
                     referrerUnionCB.getSqlClause().registerWhereClause(fixedCondition, basePointAliasName);
@@ -970,6 +972,12 @@ public abstract class AbstractBehaviorReadable<ENTITY extends Entity, CB extends
         };
     }
 
+    protected void xsetupLoadReferrerInScopeBucketPadding(ConditionBean cb, LoadReferrerOption<?, ?> loadReferrerOption) {
+        if (loadReferrerOption.isInScopeBucketPadding()) { // before foreign key in-scope
+            cb.getSqlClause().enableInScopeBucketPadding();
+        }
+    }
+
     protected String xbuildReferrerCorrelatedFixedCondition(ConditionBean cb, String referrerPropertyName) {
         if (referrerPropertyName == null) {
             return null;
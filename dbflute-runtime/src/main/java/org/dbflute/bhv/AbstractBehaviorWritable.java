@@ -15,9 +15,14 @@
  */
 package org.dbflute.bhv;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.SQLException;
+import java.sql.SQLTransientException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.function.IntSupplier;
 
 import org.dbflute.Entity;
 import org.dbflute.bhv.core.BehaviorCommandMeta;
@@ -27,6 +32,7 @@ import org.dbflute.bhv.core.command.BatchDeleteNonstrictCommand;
 import org.dbflute.bhv.core.command.BatchInsertCommand;
 import org.dbflute.bhv.core.command.BatchUpdateCommand;
 import org.dbflute.bhv.core.command.BatchUpdateNonstrictCommand;
+import org.dbflute.bhv.core.command.BatchUpsertCommand;
 import org.dbflute.bhv.core.command.DeleteEntityCommand;
 import org.dbflute.bhv.core.command.DeleteNonstrictEntityCommand;
 import org.dbflute.bhv.core.command.InsertEntityCommand;
@@ -35,6 +41,7 @@ import org.dbflute.bhv.core.command.QueryInsertCBCommand;
 import org.dbflute.bhv.core.command.QueryUpdateCBCommand;
 import org.dbflute.bhv.core.command.UpdateEntityCommand;
 import org.dbflute.bhv.core.command.UpdateNonstrictEntityCommand;
+import org.dbflute.bhv.core.command.UpsertEntityCommand;
 import org.dbflute.bhv.core.context.ResourceContext;
 import org.dbflute.bhv.writable.DeleteOption;
 import org.dbflute.bhv.writable.InsertOption;
@@ -42,8 +49,16 @@ import org.dbflute.bhv.writable.QueryInsertSetupper;
 import org.dbflute.bhv.writable.UpdateOption;
 import org.dbflute.bhv.writable.WritableOption;
 import org.dbflute.bhv.writable.WritableOptionCall;
+import org.dbflute.bhv.writable.WriteBehindUnit;
+import org.dbflute.bhv.writable.WriteBehindUnit.WriteBehindType;
+import org.dbflute.bhv.writable.chunk.QueryChunkCondition;
+import org.dbflute.bhv.writable.chunk.QueryChunkOption;
+import org.dbflute.bhv.writable.chunk.QueryChunkProgress;
+import org.dbflute.bhv.writable.chunk.QueryChunkProgressHandler;
+import org.dbflute.bhv.writable.chunk.QueryChunkTransactionHandler;
 import org.dbflute.cbean.ConditionBean;
 import org.dbflute.cbean.scoping.SpecifyQuery;
+import org.dbflute.cbean.sqlclause.clause.SelectClauseType;
 import org.dbflute.dbmeta.DBMeta;
 import org.dbflute.dbmeta.info.ColumnInfo;
 import org.dbflute.dbmeta.info.UniqueInfo;
@@ -55,6 +70,7 @@ import org.dbflute.exception.OptimisticLockColumnValueNullException;
 import org.dbflute.helper.message.ExceptionMessageBuilder;
 import org.dbflute.hook.CommonColumnAutoSetupper;
 import org.dbflute.optional.OptionalThing;
+import org.dbflute.util.DfTypeUtil;
 
 /**
  * The abstract class of writable behavior.
@@ -84,6 +100,9 @@ public abstract class AbstractBehaviorWritable<ENTITY extends Entity, CB extends
     //                                                ------
     protected void doInsert(ENTITY entity, InsertOption<CB> option) {
         assertEntityNotNull(entity);
+        if (queueWriteBehindIfNeeds(WriteBehindType.INSERT, entity, option)) {
+            return;
+        }
         prepareInsertOption(option);
         delegateInsert(entity, option);
     }
@@ -153,11 +172,17 @@ public abstract class AbstractBehaviorWritable<ENTITY extends Entity, CB extends
     //                                                Update
     //                                                ------
     protected void doUpdate(ENTITY entity, UpdateOption<CB> option) {
+        if (queueWriteBehindIfNeeds(WriteBehindType.UPDATE, entity, option)) {
+            return;
+        }
         prepareEntityUpdate(entity, option);
         helpUpdateInternally(entity, option);
     }
 
     protected void doUpdateNonstrict(ENTITY entity, UpdateOption<CB> option) {
+        if (queueWriteBehindIfNeeds(WriteBehindType.UPDATE_NONSTRICT, entity, option)) {
+            return;
+        }
         prepareEntityUpdate(entity, option);
         helpUpdateNonstrictInternally(entity, option);
     }
@@ -316,16 +341,22 @@ public abstract class AbstractBehaviorWritable<ENTITY extends Entity, CB extends
     //                                      ----------------
     protected void doInsertOrUpdate(ENTITY entity, InsertOption<CB> insertOption, UpdateOption<CB> updateOption) {
         assertEntityNotNull(entity);
-        insertOption = filterInsertOrUpdateInsertOption(insertOption);
-        updateOption = filterInsertOrUpdateUpdateOption(updateOption);
-        helpInsertOrUpdateInternally(entity, insertOption, updateOption);
+        final InsertOption<CB> filteredInsertOption = filterInsertOrUpdateInsertOption(insertOption);
+        final UpdateOption<CB> filteredUpdateOption = filterInsertOrUpdateUpdateOption(updateOption);
+        // not queued in write-behind scope because update result determines insert
+        WriteBehindUnit.executeImmediately(() -> helpInsertOrUpdateInternally(entity, filteredInsertOption, filteredUpdateOption));
     }
 
     protected void doInsertOrUpdateNonstrict(ENTITY entity, InsertOption<CB> insertOption, UpdateOption<CB> updateOption) {
         assertEntityNotNull(entity);
-        insertOption = filterInsertOrUpdateInsertOption(insertOption);
-        updateOption = filterInsertOrUpdateUpdateOption(updateOption);
-        helpInsertOrUpdateNonstrictInternally(entity, insertOption, updateOption);
+        if (insertOption == null && updateOption == null && isInsertOrUpdateNonstrictNativeUpsert() && determineNativeUpsert(entity)) {
+            delegateUpsert(entity); // single round trip
+            return;
+        }
+        final InsertOption<CB> filteredInsertOption = filterInsertOrUpdateInsertOption(insertOption);
+        final UpdateOption<CB> filteredUpdateOption = filterInsertOrUpdateUpdateOption(updateOption);
+        // not queued in write-behind scope because update result determines insert
+        WriteBehindUnit.executeImmediately(() -> helpInsertOrUpdateNonstrictInternally(entity, filteredInsertOption, filteredUpdateOption));
     }
 
     // #for_now jflute option may be null so use filtering way here, want to unify (2021/11/20)
@@ -347,6 +378,10 @@ public abstract class AbstractBehaviorWritable<ENTITY extends Entity, CB extends
         return false; // might be overridden by generator option
     }
 
+    protected boolean isInsertOrUpdateNonstrictNativeUpsert() {
+        return false; // might be overridden by generator option
+    }
+
     protected <RESULT extends ENTITY> void helpInsertOrUpdateInternally(RESULT entity, InsertOption<CB> insertOption,
             UpdateOption<CB> updateOption) {
         assertEntityNotNull(entity);
@@ -455,15 +490,58 @@ public abstract class AbstractBehaviorWritable<ENTITY extends Entity, CB extends
         }
     }
 
+    // -----------------------------------------------------
+    //                                         Native Upsert
+    //                                         -------------
+    /** {@inheritDoc} */
+    public void upsert(Entity entity) {
+        doUpsert(downcast(entity));
+    }
+
+    protected void doUpsert(ENTITY entity) {
+        assertEntityNotNull(entity);
+        if (determineNativeUpsert(entity)) {
+            delegateUpsert(entity);
+        } else { // e.g. unsupported DB, identity table, new entity for sequence
+            doCreateOrModifyNonstrict(entity, null, null);
+        }
+    }
+
+    /**
+     * Determine whether the entity can be upserted by native single statement.
+     * @param entity The entity to be upserted. (NotNull)
+     * @return The determination, true or false.
+     */
+    protected boolean determineNativeUpsert(Entity entity) {
+        final DBMeta dbmeta = asDBMeta();
+        if (!dbmeta.hasPrimaryKey() || dbmeta.hasIdentity()) { // identity value cannot be bound
+            return false;
+        }
+        if (!entity.myuniqueDrivenProperties().isEmpty() || !entity.hasPrimaryKeyValue()) {
+            return false; // unique-driven is unsupported, no PK value means insert (e.g. sequence)
+        }
+        return isNativeUpsertSupported();
+    }
+
+    protected boolean isNativeUpsertSupported() {
+        return _behaviorCommandInvoker.getCurrentDBDef().dbway().isNativeUpsertSupported();
+    }
+
     // -----------------------------------------------------
     //                                                Delete
     //                                                ------
     protected void doDelete(ENTITY entity, DeleteOption<CB> option) {
+        if (queueWriteBehindIfNeeds(WriteBehindType.DELETE, entity, option)) {
+            return;
+        }
         prepareEntityDelete(entity, option);
         helpDeleteInternally(entity, option);
     }
 
     protected void doDeleteNonstrict(ENTITY entity, DeleteOption<CB> option) {
+        if (queueWriteBehindIfNeeds(WriteBehindType.DELETE_NONSTRICT, entity, option)) {
+            return;
+        }
         prepareEntityDelete(entity, option);
         helpDeleteNonstrictInternally(entity, option);
     }
@@ -564,6 +642,30 @@ public abstract class AbstractBehaviorWritable<ENTITY extends Entity, CB extends
         }
     }
 
+    // -----------------------------------------------------
+    //                                          Write-Behind
+    //                                          ------------
+    /**
+     * Queue the entity write to the write-behind unit if the scope exists on the thread. <br>
+     * Only option-less writes are queued, others are executed immediately (after auto-flush).
+     * @param type The type of write-behind. (NotNull)
+     * @param entity The entity to be written. (NotNull)
+     * @param option The option of the write. (NullAllowed: then queueable)
+     * @return Is the entity queued? (false if no scope or with option)
+     */
+    protected boolean queueWriteBehindIfNeeds(WriteBehindType type, ENTITY entity, WritableOption<CB> option) {
+        if (option != null) {
+            return false;
+        }
+        final WriteBehindUnit unit = WriteBehindUnit.findQueueableUnitOnThread();
+        if (unit == null) {
+            return false;
+        }
+        assertEntityNotNull(entity);
+        unit.queue(type, this, entity);
+        return true;
+    }
+
     // ===================================================================================
     //                                                                        Batch Update
     //                                                                        ============
@@ -615,6 +717,78 @@ public abstract class AbstractBehaviorWritable<ENTITY extends Entity, CB extends
         return doBatchInsert(downcast(entityList), downcast(option));
     }
 
+    // -----------------------------------------------------
+    //                                           Lump Upsert
+    //                                           -----------
+    /** {@inheritDoc} */
+    public int[] lumpUpsert(List<? extends Entity> entityList) {
+        @SuppressWarnings("unchecked")
+        final List<ENTITY> castList = (List<ENTITY>) entityList;
+        return doBatchUpsert(castList);
+    }
+
+    protected int[] doBatchUpsert(List<ENTITY> entityList) {
+        assertEntityListNotNull(entityList);
+        if (entityList.isEmpty()) {
+            return EMPTY_INT_ARRAY;
+        }
+        final List<ENTITY> nativeList = new ArrayList<ENTITY>(entityList.size());
+        final List<Integer> nativeIndexList = new ArrayList<Integer>(entityList.size()); // original index of native entity
+        final List<Integer> fallbackIndexList = new ArrayList<Integer>();
+        int index = 0;
+        for (ENTITY entity : entityList) {
+            assertEntityNotNull(entity);
+            if (determineNativeUpsert(entity)) {
+                nativeList.add(entity);
+                nativeIndexList.add(index);
+            } else {
+                fallbackIndexList.add(index);
+            }
+            ++index;
+        }
+        final int[] result = new int[entityList.size()]; // zero if filtered
+        if (!nativeList.isEmpty()) {
+            final List<ENTITY> requestedList = new ArrayList<ENTITY>(nativeList); // native list might be filtered in delegate
+            final InsertOption<CB> option = createPlainInsertOption();
+            prepareBatchInsertOption(nativeList, option);
+            final int[] nativeResult = delegateBatchUpsert(nativeList, option);
+            reflectBatchUpsertResult(requestedList, nativeIndexList, nativeList, nativeResult, result);
+        }
+        for (Integer fallbackIndex : fallbackIndexList) {
+            doCreateOrModifyNonstrict(entityList.get(fallbackIndex), null, null);
+            result[fallbackIndex] = 1;
+        }
+        return result;
+    }
+
+    /**
+     * Reflect the native result to the result of lump upsert by original index of the entity. <br>
+     * The filtered entities (removed from the list in batch insert adjustment) are not upserted so their results are zero.
+     * @param requestedList The list of entity requested to native upsert, before filtering. (NotNull)
+     * @param nativeIndexList The list of original index corresponding to the requested list. (NotNull)
+     * @param executedList The list of entity actually executed, subsequence of the requested list. (NotNull)
+     * @param nativeResult The result of native batch upsert corresponding to the executed list. (NotNull)
+     * @param result The result array of lump upsert, as the entity list of caller. (NotNull)
+     */
+    protected void reflectBatchUpsertResult(List<ENTITY> requestedList, List<Integer> nativeIndexList, List<ENTITY> executedList,
+            int[] nativeResult, int[] result) {
+        if (executedList.size() != nativeResult.length) {
+            String msg = "The size of native upsert result is different from executed entities: ";
+            throw new IllegalStateException(msg + executedList.size() + " vs " + nativeResult.length);
+        }
+        int executedIndex = 0;
+        for (int i = 0; i < requestedList.size(); i++) {
+            if (executedIndex < executedList.size() && executedList.get(executedIndex) == requestedList.get(i)) { // same instance
+                result[nativeIndexList.get(i)] = nativeResult[executedIndex];
+                ++executedIndex;
+            }
+        }
+        if (executedIndex < executedList.size()) { // e.g. added or reordered in adjustment
+            String msg = "The executed entities of native upsert should be subsequence of the requested: ";
+            throw new IllegalStateException(msg + executedList.size() + " executed, " + requestedList.size() + " requested");
+        }
+    }
+
     // -----------------------------------------------------
     //                                          Batch Update
     //                                          ------------
@@ -776,6 +950,12 @@ public abstract class AbstractBehaviorWritable<ENTITY extends Entity, CB extends
         assertEntityNotNull(entity);
         assertCBStateValid(cb);
         prepareUpdateOption(option);
+        if (option != null && option.getQueryUpdateChunkOption() != null) {
+            assertQueryUpdateStatus(entity, cb, createOptionalUpdateOption(option)); // before chunk condition
+            return helpQueryChunkInternally(cb, option.getQueryUpdateChunkOption(), () -> {
+                return delegateQueryUpdate(entity, cb, option);
+            });
+        }
         return checkCountBeforeQueryUpdateIfNeeds(cb) ? delegateQueryUpdate(entity, cb, option) : 0;
     }
 
@@ -812,6 +992,12 @@ public abstract class AbstractBehaviorWritable<ENTITY extends Entity, CB extends
     protected int doQueryDelete(CB cb, DeleteOption<CB> option) {
         assertCBStateValid(cb);
         prepareDeleteOption(option);
+        if (option != null && option.getQueryDeleteChunkOption() != null) {
+            assertQueryDeleteStatus(cb, createOptionalDeleteOption(option)); // before chunk condition
+            return helpQueryChunkInternally(cb, option.getQueryDeleteChunkOption(), () -> {
+                return delegateQueryDelete(cb, option);
+            });
+        }
         return checkCountBeforeQueryUpdateIfNeeds(cb) ? delegateQueryDelete(cb, option) : 0;
     }
 
@@ -827,6 +1013,226 @@ public abstract class AbstractBehaviorWritable<ENTITY extends Entity, CB extends
         return doQueryDelete(downcast(cb), downcast(option));
     }
 
+    // -----------------------------------------------------
+    //                                           Query Chunk
+    //                                           -----------
+    /**
+     * Help query-update/delete split into primary key chunks. <br>
+     * The chunk condition is registered to the condition-bean only once,
+     * and its parameters are switched per chunk so the SQL text is same among chunks.
+     * @param cb The condition-bean for query-update/delete. (NotNull)
+     * @param chunkOption The option of query chunk. (NotNull)
+     * @param chunkExecution The execution of one chunk, returns updated count. (NotNull)
+     * @return The total count of updated/deleted rows. (NotMinus)
+     */
+    protected int helpQueryChunkInternally(ConditionBean cb, QueryChunkOption chunkOption, IntSupplier chunkExecution) {
+        final ColumnInfo primaryInfo = findQueryChunkPrimaryInfo(cb, chunkOption);
+        if (chunkOption.isRangeSlicing()) {
+            return doQueryChunkByRange(cb, primaryInfo, chunkOption, chunkExecution);
+        } else {
+            return doQueryChunkByInScope(cb, primaryInfo, chunkOption, chunkExecution);
+        }
+    }
+
+    protected ColumnInfo findQueryChunkPrimaryInfo(ConditionBean cb, QueryChunkOption chunkOption) {
+        final DBMeta dbmeta = cb.asDBMeta();
+        if (!dbmeta.hasPrimaryKey() || dbmeta.hasCompoundPrimaryKey()) {
+            String msg = "The query chunk needs single primary key: table=" + dbmeta.getTableDbName() + ", option=" + chunkOption;
+            throw new IllegalConditionBeanOperationException(msg);
+        }
+        if (cb.hasUnionQueryOrUnionAllQuery()) {
+            String msg = "The query chunk cannot be used with union query: table=" + dbmeta.getTableDbName();
+            throw new IllegalConditionBeanOperationException(msg);
+        }
+        return dbmeta.getPrimaryInfo().getFirstColumn();
+    }
+
+    protected int doQueryChunkByInScope(ConditionBean cb, ColumnInfo primaryInfo, QueryChunkOption chunkOption,
+            IntSupplier chunkExecution) {
+        final List<Object> primaryKeyList = selectQueryChunkPrimaryKeyList(cb, primaryInfo);
+        if (primaryKeyList.isEmpty()) {
+            return 0;
+        }
+        final int chunkSize = deriveQueryChunkInScopeSize(cb, chunkOption);
+        final int chunkCount = (primaryKeyList.size() + chunkSize - 1) / chunkSize;
+        QueryChunkCondition chunkCondition = null;
+        int totalCount = 0;
+        for (int i = 0; i < chunkCount; i++) {
+            final int fromIndex = i * chunkSize;
+            final int toIndex = Math.min(fromIndex + chunkSize, primaryKeyList.size());
+            final List<Object> chunkKeyList = primaryKeyList.subList(fromIndex, toIndex);
+            if (chunkCondition == null) { // registered by first chunk because empty in-scope is ignored
+                chunkCondition = registerQueryChunkInScope(cb, primaryInfo, chunkKeyList);
+            } else {
+                chunkCondition.switchInScope(chunkKeyList);
+            }
+            totalCount = executeQueryChunk(cb, chunkOption, i + 1, chunkCount, totalCount, chunkExecution);
+        }
+        return totalCount;
+    }
+
+    protected int deriveQueryChunkInScopeSize(ConditionBean cb, QueryChunkOption chunkOption) {
+        final int chunkSize = chunkOption.getChunkSize();
+        final int inScopeLimit = cb.getSqlClause().getInScopeLimit(); // e.g. 1000 on Oracle
+        return inScopeLimit > 0 ? Math.min(chunkSize, inScopeLimit) : chunkSize; // not to be split as or-scope
+    }
+
+    protected QueryChunkCondition registerQueryChunkInScope(ConditionBean cb, ColumnInfo primaryInfo, List<Object> firstKeyList) {
+        return QueryChunkCondition.registerInScope(cb, primaryInfo, firstKeyList);
+    }
+
+    protected List<Object> selectQueryChunkPrimaryKeyList(ConditionBean cb, ColumnInfo primaryInfo) {
+        final List<? extends Entity> entityList;
+        cb.invokeSpecifyColumn(primaryInfo.getPropertyName());
+        try {
+            entityList = doReadList(cb);
+        } finally {
+            cb.getSqlClause().clearSpecifiedSelectColumn();
+        }
+        final List<Object> primaryKeyList = new ArrayList<Object>(entityList.size());
+        for (Entity entity : entityList) {
+            primaryKeyList.add(primaryInfo.read(entity));
+        }
+        return primaryKeyList; // ordered by the query, e.g. orderBy_PK_Asc() to lock in same order
+    }
+
+    protected int doQueryChunkByRange(ConditionBean cb, ColumnInfo primaryInfo, QueryChunkOption chunkOption,
+            IntSupplier chunkExecution) {
+        final Class<?> nativeType = primaryInfo.getObjectNativeType();
+        if (!Number.class.isAssignableFrom(nativeType)) {
+            String msg = "The range slicing needs number primary key: " + primaryInfo + ", type=" + nativeType;
+            throw new IllegalConditionBeanOperationException(msg);
+        }
+        final Object min = selectQueryChunkScalar(cb, primaryInfo, SelectClauseType.MIN);
+        final Object max = selectQueryChunkScalar(cb, primaryInfo, SelectClauseType.MAX);
+        if (min == null || max == null) { // no record
+            return 0;
+        }
+        final BigDecimal minDecimal = DfTypeUtil.toBigDecimal(min);
+        final BigDecimal maxDecimal = DfTypeUtil.toBigDecimal(max);
+        final BigDecimal width = BigDecimal.valueOf(chunkOption.getChunkSize());
+        final BigDecimal span = maxDecimal.subtract(minDecimal).add(BigDecimal.ONE);
+        final BigDecimal rangeCount = span.divide(width, 0, RoundingMode.CEILING);
+        if (rangeCount.compareTo(BigDecimal.valueOf(Integer.MAX_VALUE)) > 0) { // too wide to count chunks
+            return doQueryChunkByInScope(cb, primaryInfo, chunkOption, chunkExecution); // as primary key list
+        }
+        final int chunkCount = rangeCount.intValue(); // max estimate, gaps are skipped so actual number might be less
+        final QueryChunkCondition chunkCondition = registerQueryChunkRange(cb, primaryInfo);
+        int totalCount = 0;
+        int chunkNumber = 0;
+        BigDecimal lower = minDecimal;
+        while (lower != null && lower.compareTo(maxDecimal) <= 0) {
+            final BigDecimal upper = lower.add(width);
+            chunkCondition.switchRange(toQueryChunkBound(lower, nativeType), toQueryChunkBound(upper, nativeType));
+            final int previousTotal = totalCount;
+            totalCount = executeQueryChunk(cb, chunkOption, ++chunkNumber, chunkCount, totalCount, chunkExecution);
+            if (totalCount == previousTotal && upper.compareTo(maxDecimal) <= 0) { // no row in the range, might be gap
+                lower = selectQueryChunkNextLower(cb, primaryInfo, chunkCondition, upper, maxDecimal);
+            } else {
+                lower = upper;
+            }
+        }
+        return totalCount;
+    }
+
+    /**
+     * Select the next existing primary key to skip gap ranges, used after the chunk that has no row. <br>
+     * The registered range condition is switched to the rest range for the select.
+     * @param cb The condition-bean for query-update/delete, the range condition is registered. (NotNull)
+     * @param primaryInfo The column info of single primary key. (NotNull)
+     * @param chunkCondition The registered range condition of query chunk. (NotNull)
+     * @param from The lower bound of the rest range, inclusive. (NotNull)
+     * @param maxDecimal The max value of primary key, inclusive. (NotNull)
+     * @return The next lower bound of chunk as decimal. (NullAllowed: if no more row)
+     */
+    protected BigDecimal selectQueryChunkNextLower(ConditionBean cb, ColumnInfo primaryInfo, QueryChunkCondition chunkCondition,
+            BigDecimal from, BigDecimal maxDecimal) {
+        final Class<?> nativeType = primaryInfo.getObjectNativeType();
+        chunkCondition.switchRange(toQueryChunkBound(from, nativeType), toQueryChunkBound(maxDecimal.add(BigDecimal.ONE), nativeType));
+        final Object next = selectQueryChunkScalar(cb, primaryInfo, SelectClauseType.MIN);
+        return next != null ? DfTypeUtil.toBigDecimal(next) : null;
+    }
+
+    /**
+     * @param bound The bound value of range as decimal. (NotNull)
+     * @param nativeType The native type of primary key. (NotNull)
+     * @return The value as native type, or decimal as it is if it overflows the native type. (NotNull)
+     */
+    protected Object toQueryChunkBound(BigDecimal bound, Class<?> nativeType) {
+        final Number converted = DfTypeUtil.toNumber(bound, nativeType);
+        return DfTypeUtil.toBigDecimal(converted).compareTo(bound) == 0 ? converted : bound; // e.g. max + 1 of integer
+    }
+
+    protected QueryChunkCondition registerQueryChunkRange(ConditionBean cb, ColumnInfo primaryInfo) {
+        return QueryChunkCondition.registerRange(cb, primaryInfo);
+    }
+
+    protected Object selectQueryChunkScalar(ConditionBean cb, ColumnInfo primaryInfo, SelectClauseType clauseType) {
+        cb.invokeSpecifyColumn(primaryInfo.getPropertyName());
+        try {
+            return invoke(createSelectScalarCBCommand(cb, primaryInfo.getObjectNativeType(), clauseType));
+        } finally {
+            cb.getSqlClause().clearSpecifiedSelectColumn();
+        }
+    }
+
+    protected int executeQueryChunk(ConditionBean cb, QueryChunkOption chunkOption, int chunkNumber, int chunkCount, int totalCount,
+            IntSupplier chunkExecution) {
+        final QueryChunkTransactionHandler transactionHandler = chunkOption.getTransactionHandler();
+        int retryCount = 0;
+        while (true) {
+            try {
+                final int chunkUpdatedCount;
+                if (transactionHandler != null) {
+                    chunkUpdatedCount = transactionHandler.handle(chunkExecution);
+                } else {
+                    chunkUpdatedCount = chunkExecution.getAsInt();
+                }
+                final int currentTotal = totalCount + chunkUpdatedCount;
+                final QueryChunkProgressHandler progressHandler = chunkOption.getProgressHandler();
+                if (progressHandler != null) {
+                    final String tableDbName = cb.asTableDbName();
+                    progressHandler.handle(
+                            new QueryChunkProgress(tableDbName, chunkNumber, chunkCount, chunkUpdatedCount, currentTotal, retryCount));
+                }
+                return currentTotal;
+            } catch (RuntimeException e) {
+                if (retryCount >= chunkOption.getRetryLimit() || !isQueryChunkRetryable(chunkOption, e)) {
+                    throw e;
+                }
+                ++retryCount;
+            }
+        }
+    }
+
+    /**
+     * Is the failed chunk retryable? <br>
+     * Only with chunk transaction, because the caller's transaction might not continue (e.g. aborted one on PostgreSQL),
+     * and only for transient failure, e.g. deadlock, serialization failure (SQL state class 40).
+     * @param chunkOption The option of query chunk. (NotNull)
+     * @param cause The exception thrown by the chunk execution. (NotNull)
+     * @return The determination, true or false.
+     */
+    protected boolean isQueryChunkRetryable(QueryChunkOption chunkOption, RuntimeException cause) {
+        if (chunkOption.getTransactionHandler() == null) { // failed in caller's transaction
+            return false;
+        }
+        Throwable current = cause;
+        while (current != null) {
+            if (current instanceof SQLTransientException) { // e.g. rollback by deadlock, timeout
+                return true;
+            }
+            if (current instanceof SQLException) {
+                final String sqlState = ((SQLException) current).getSQLState();
+                if (sqlState != null && sqlState.startsWith("40")) { // transaction rollback
+                    return true;
+                }
+            }
+            current = current.getCause();
+        }
+        return false;
+    }
+
     // ===================================================================================
     //                                                                 Delegate to Command
     //                                                                 ===================
@@ -849,6 +1255,22 @@ public abstract class AbstractBehaviorWritable<ENTITY extends Entity, CB extends
         }
     }
 
+    protected int delegateUpsert(Entity entity) {
+        final OptionalThing<InsertOption<? extends ConditionBean>> optOption = createOptionalInsertOption(null);
+        adjustEntityBeforeInsert(entity, optOption); // update-only common columns are also set in insert process
+        final UpsertEntityCommand command = createUpsertEntityCommand(entity);
+        RuntimeException cause = null;
+        try {
+            hookBeforeInsert(command, entity, emptyOpt(), optOption);
+            return invoke(command);
+        } catch (RuntimeException e) {
+            cause = e;
+            throw e;
+        } finally {
+            hookFinallyInsert(command, entity, emptyOpt(), optOption, createOptionalCause(cause));
+        }
+    }
+
     protected OptionalThing<RuntimeException> createOptionalCause(RuntimeException cause) {
         return OptionalThing.ofNullable(cause, () -> {
             throw new IllegalStateException("Not found the cause exception.");
@@ -972,6 +1394,25 @@ public abstract class AbstractBehaviorWritable<ENTITY extends Entity, CB extends
         }
     }
 
+    protected int[] delegateBatchUpsert(List<? extends Entity> entityList, InsertOption<? extends ConditionBean> option) {
+        final OptionalThing<InsertOption<? extends ConditionBean>> optOption = createOptionalInsertOption(option);
+        adjustEntityListBeforeBatchInsert(entityList, option);
+        if (entityList.isEmpty()) { // might be filtered
+            return EMPTY_INT_ARRAY;
+        }
+        final BatchUpsertCommand command = createBatchUpsertCommand(entityList, option);
+        RuntimeException cause = null;
+        try {
+            hookBeforeInsert(command, entityList, emptyOpt(), optOption);
+            return invoke(command);
+        } catch (RuntimeException e) {
+            cause = e;
+            throw e;
+        } finally {
+            hookFinallyInsert(command, entityList, emptyOpt(), optOption, createOptionalCause(cause));
+        }
+    }
+
     protected int[] delegateBatchUpdate(List<? extends Entity> entityList, UpdateOption<? extends ConditionBean> option) {
         if (entityList.isEmpty()) {
             return EMPTY_INT_ARRAY;
@@ -1595,6 +2036,17 @@ public abstract class AbstractBehaviorWritable<ENTITY extends Entity, CB extends
     //                                                 -----
     // an insert command creation is defined on the readable interface for non-primary key value
 
+    protected UpsertEntityCommand createUpsertEntityCommand(Entity entity) {
+        assertBehaviorCommandInvoker("createUpsertEntityCommand");
+        final UpsertEntityCommand cmd = newUpsertEntityCommand();
+        xsetupEntityCommand(cmd, entity);
+        return cmd;
+    }
+
+    protected UpsertEntityCommand newUpsertEntityCommand() {
+        return new UpsertEntityCommand();
+    }
+
     protected UpdateEntityCommand createUpdateEntityCommand(Entity entity, UpdateOption<? extends ConditionBean> option) {
         assertBehaviorCommandInvoker("createUpdateEntityCommand");
         final UpdateEntityCommand cmd = newUpdateEntityCommand();
@@ -1658,6 +2110,18 @@ public abstract class AbstractBehaviorWritable<ENTITY extends Entity, CB extends
         return new BatchInsertCommand();
     }
 
+    protected BatchUpsertCommand createBatchUpsertCommand(List<? extends Entity> entityList, InsertOption<? extends ConditionBean> option) {
+        assertBehaviorCommandInvoker("createBatchUpsertCommand");
+        final BatchUpsertCommand cmd = newBatchUpsertCommand();
+        setupListEntityCommand(cmd, entityList);
+        cmd.setInsertOption(option);
+        return cmd;
+    }
+
+    protected BatchUpsertCommand newBatchUpsertCommand() {
+        return new BatchUpsertCommand();
+    }
+
     protected BatchUpdateCommand createBatchUpdateCommand(List<? extends Entity> entityList, UpdateOption<? extends ConditionBean> option) {
         assertBehaviorCommandInvoker("createBatchUpdateCommand");
         final BatchUpdateCommand cmd = newBatchUpdateCommand();
@@ -79,6 +79,14 @@ public interface BehaviorWritable extends BehaviorReadable {
     void createOrModifyNonstrict(Entity entity, InsertOption<? extends ConditionBean> insertOption,
             UpdateOption<? extends ConditionBean> updateOption);
 
+    /**
+     * Upsert the entity, insert or update by native single statement (e.g. merge) if the DB supports it. <br>
+     * It is non-strict (optimistic lock is not checked) and primary key is used as unique key. <br>
+     * If the DB or the table does not support it (e.g. identity table), same as createOrModifyNonstrict().
+     * @param entity The instance of corresponding entity. (NotNull)
+     */
+    void upsert(Entity entity);
+
     /**
      * Remove the entity. <br>
      * An interface dispatch for delete() or varyingDelete().
@@ -125,6 +133,14 @@ public interface BehaviorWritable extends BehaviorReadable {
      */
     int[] lumpModifyNonstrict(List<? extends Entity> entityList, UpdateOption<? extends ConditionBean> option);
 
+    /**
+     * Lump-upsert the list, batch insert or update by native single statement (e.g. merge) if the DB supports it. <br>
+     * Entities that cannot use native upsert (e.g. no primary key value) are executed by createOrModifyNonstrict().
+     * @param entityList The list of corresponding entity. (NotNull)
+     * @return The array of upserted count, MySQL returns 2 if updated. (NotNull)
+     */
+    int[] lumpUpsert(List<? extends Entity> entityList);
+
     /**
      * Lump-remove the list. <br>
      * An interface dispatch for batchDelete() or varyingBatchDelete().
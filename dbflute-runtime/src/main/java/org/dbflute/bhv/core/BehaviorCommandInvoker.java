@@ -18,7 +18,11 @@ package org.dbflute.bhv.core;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.dbflute.Entity;
 import org.dbflute.bhv.core.InvokerAssistant.DisposableProcess;
@@ -35,6 +39,7 @@ import org.dbflute.bhv.logging.invoke.BehaviorInvokeNameResult;
 import org.dbflute.bhv.logging.invoke.BehaviorInvokePathBuilder;
 import org.dbflute.bhv.logging.invoke.BehaviorInvokePathResult;
 import org.dbflute.bhv.logging.result.BehaviorResultBuilder;
+import org.dbflute.bhv.writable.WriteBehindUnit;
 import org.dbflute.cbean.paging.FetchNarrowingBean;
 import org.dbflute.dbmeta.DBMeta;
 import org.dbflute.dbway.DBDef;
@@ -61,6 +66,7 @@ import org.dbflute.util.Srl;
  * <pre>
  * public interface methods are as follows:
  *   o clearExecutionCache();
+ *   o evictOutsideSqlExecution(String outsideSqlPath);
  *   o isExecutionCacheEmpty();
  *   o getExecutionCacheSize();
  *   o injectComponentProperty(BehaviorCommandComponentSetup behaviorCommand);
@@ -87,8 +93,14 @@ public class BehaviorCommandInvoker {
     /** The map of SQL execution. (dispose target, synchronized manually as transaction) */
     protected final Map<String, SqlExecution> _executionMap = newConcurrentHashMap();
 
-    /** The lock object to synchronize the execution map for transaction. (NotNull) */
-    protected final Object _executionCacheLock = new Object();
+    /** The lock of execution cache, creation takes read lock and clear/evict take write lock. (NotNull) */
+    protected final ReadWriteLock _executionCacheLock = new ReentrantReadWriteLock();
+
+    /** The map of lock object per execution key, executions of different keys can be created in parallel. (NotNull) */
+    protected final Map<String, Object> _executionCreatingLockMap = newConcurrentHashMap();
+
+    /** The map of execution keys per read path of outside-SQL, for eviction by file. (dispose target) */
+    protected final Map<String, Set<String>> _outsideSqlPathKeyMap = newConcurrentHashMap();
 
     // -----------------------------------------------------
     //                                    Disposable Process
@@ -110,11 +122,49 @@ public class BehaviorCommandInvoker {
     //                                                                     ===============
     public void clearExecutionCache() {
         // basically should be called only for special case (e.g. HotDeploy)
-        synchronized (_executionCacheLock) {
+        final Lock writeLock = _executionCacheLock.writeLock(); // waits for executions in creation
+        writeLock.lock();
+        try {
             _executionMap.clear();
+            _outsideSqlPathKeyMap.clear();
+            OutsideSqlContext.clearPreloadedText(); // may be old (e.g. HotDeploy), read from resources again
+        } finally {
+            writeLock.unlock();
         }
     }
 
+    /**
+     * Evict only SQL executions derived from the outside-SQL file, e.g. when the file is modified. {Public Interface} <br>
+     * Other executions are kept so it is lighter than clearing all execution cache.
+     * @param outsideSqlPath The resource path of outside-SQL actually read, without initial '/'. (NotNull)
+     * @return The count of evicted executions. (NotMinus)
+     */
+    public int evictOutsideSqlExecution(String outsideSqlPath) {
+        if (outsideSqlPath == null) {
+            throw new IllegalArgumentException("The argument 'outsideSqlPath' should not be null.");
+        }
+        OutsideSqlContext.removePreloadedText(outsideSqlPath); // not to use old text after eviction
+        int evictedCount = 0;
+        final Lock writeLock = _executionCacheLock.writeLock(); // waits for executions in creation
+        writeLock.lock();
+        try {
+            final Set<String> keySet = _outsideSqlPathKeyMap.remove(outsideSqlPath);
+            if (keySet != null) {
+                for (String key : keySet) {
+                    if (_executionMap.remove(key) != null) {
+                        ++evictedCount;
+                    }
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        if (evictedCount > 0 && isLogEnabled()) {
+            log("...Evicting sqlExecution for the outside-SQL '" + outsideSqlPath + "': count=" + evictedCount);
+        }
+        return evictedCount;
+    }
+
     public boolean isExecutionCacheEmpty() {
         return _executionMap.isEmpty();
     }
@@ -156,6 +206,7 @@ public class BehaviorCommandInvoker {
      * @return The result object. (NullAllowed)
      */
     public <RESULT> RESULT invoke(BehaviorCommand<RESULT> behaviorCommand) {
+        flushWriteBehindIfNeeds(behaviorCommand); // before context preparation, flush uses its own commands
         RuntimeException cause = null;
         RESULT result = null;
         try {
@@ -177,6 +228,24 @@ public class BehaviorCommandInvoker {
         }
     }
 
+    /**
+     * Flush the write-behind unit on the thread if the command may depend on the queued writes. <br>
+     * Select of table that has no queued entity does not flush (joined tables are not checked).
+     * @param behaviorCommand The command of behavior. (NotNull)
+     */
+    protected void flushWriteBehindIfNeeds(BehaviorCommandMeta behaviorCommand) {
+        final WriteBehindUnit unit = WriteBehindUnit.findFlushableUnitOnThread(); // also in immediate execution
+        if (unit == null || unit.getQueuedCount() == 0) {
+            return;
+        }
+        if (behaviorCommand.isSelect() && !behaviorCommand.isOutsideSql()) {
+            if (!unit.hasQueued(behaviorCommand.getTableDbName())) {
+                return;
+            }
+        }
+        unit.flush();
+    }
+
     protected <RESULT> void setupResourceContext(BehaviorCommand<RESULT> behaviorCommand, ResourceContext parentContext) {
         assertInvokerAssistant();
         final ResourceContext resourceContext = new ResourceContext();
@@ -318,7 +387,11 @@ public class BehaviorCommandInvoker {
         final SqlLogInfo sqlLogInfo = getResultSqlLogInfo(behaviorCommand);
         final Long sqlBefore = InternalMapContext.getSqlBeforeTimeMillis();
         final Long sqlAfter = InternalMapContext.getSqlAfterTimeMillis();
-        final ExecutionTimeInfo timeInfo = new ExecutionTimeInfo(commandBefore, commandAfter, sqlBefore, sqlAfter);
+        final Long connectionMillis = InternalMapContext.getConnectionAcquisitionMillis();
+        final Long preparationMillis = InternalMapContext.getStatementPreparationMillis();
+        final Long mappingMillis = InternalMapContext.getResultMappingMillis();
+        final ExecutionTimeInfo timeInfo =
+                new ExecutionTimeInfo(commandBefore, commandAfter, sqlBefore, sqlAfter, connectionMillis, preparationMillis, mappingMillis);
         final SqlResultInfo info = new SqlResultInfo(behaviorCommand, ret, sqlLogInfo, timeInfo, cause);
         sqlResultHander.handle(info);
     }
@@ -394,24 +467,63 @@ public class BehaviorCommandInvoker {
      */
     protected SqlExecution getOrCreateSqlExecution(String key, SqlExecutionCreator executionCreator) {
         SqlExecution execution = null;
-        synchronized (_executionCacheLock) {
-            execution = getSqlExecution(key);
-            if (execution != null) {
-                // previous thread might have initialized
-                // or reading might failed by same-time writing
-                return execution;
-            }
-            if (isLogEnabled()) {
-                log("...Initializing sqlExecution for the key '" + key + "'");
+        final Object keyLock = _executionCreatingLockMap.computeIfAbsent(key, unused -> new Object());
+        final Lock readLock = _executionCacheLock.readLock(); // not to put stale execution after clear/evict
+        try {
+            synchronized (keyLock) { // not whole lock because creation of other keys can be parallel (e.g. warm-up)
+                readLock.lock(); // shared so creation of other keys is still parallel
+                try {
+                    execution = getSqlExecution(key);
+                    if (execution != null) {
+                        // previous thread might have initialized
+                        // or reading might failed by same-time writing
+                        return execution;
+                    }
+                    if (isLogEnabled()) {
+                        log("...Initializing sqlExecution for the key '" + key + "'");
+                    }
+                    execution = executionCreator.createSqlExecution();
+                    assertCreatorReturnExecution(key, executionCreator, execution);
+                    putSqlExecution(key, execution);
+                } finally {
+                    readLock.unlock();
+                }
             }
-            execution = executionCreator.createSqlExecution();
-            assertCreatorReturnExecution(key, executionCreator, execution);
-            _executionMap.put(key, execution);
+        } finally {
+            _executionCreatingLockMap.remove(key, keyLock); // executions after here are found in execution map
         }
         toBeDisposable(); // for HotDeploy
         return execution;
     }
 
+    /**
+     * Put the SQL-execution with its outside-SQL path index as one operation. <br>
+     * The read lock of execution cache should be held so that eviction (write lock) sees both or neither.
+     * @param key The key of SQL-execution. (NotNull)
+     * @param execution The created SQL-execution. (NotNull)
+     */
+    protected void putSqlExecution(String key, SqlExecution execution) {
+        final Lock readLock = _executionCacheLock.readLock(); // reentrant, already held in creation
+        readLock.lock();
+        try {
+            registerOutsideSqlPathKeyIfNeeds(key); // index first, eviction never misses the put key
+            _executionMap.put(key, execution);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    protected void registerOutsideSqlPathKeyIfNeeds(String key) {
+        if (!OutsideSqlContext.isExistOutsideSqlContextOnThread()) { // e.g. condition-bean, entity update
+            return;
+        }
+        final String readPath = OutsideSqlContext.getOutsideSqlContextOnThread().getReadOutsideSqlPath();
+        if (readPath == null) { // e.g. procedure
+            return;
+        }
+        _outsideSqlPathKeyMap.computeIfAbsent(readPath, unused -> ConcurrentHashMap.newKeySet()).add(key);
+    }
+
     protected void assertCreatorReturnExecution(String key, SqlExecutionCreator executionCreator, SqlExecution execution) {
         if (execution == null) {
             String msg = "sqlExecutionCreator.createSqlCommand() should not return null:";
@@ -708,6 +820,17 @@ public class BehaviorCommandInvoker {
         return factory.createAllFacade(factory.createBasic(this, tableDbName, dbdef, option));
     }
 
+    // ===================================================================================
+    //                                                                          Current DB
+    //                                                                          ==========
+    /**
+     * Get the definition of current DB.
+     * @return The DB definition assisted by invoker assistant. (NotNull)
+     */
+    public DBDef getCurrentDBDef() {
+        return _invokerAssistant.assistCurrentDBDef();
+    }
+
     // ===================================================================================
     //                                                                 SQLException Digger
     //                                                                 ===================
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2014-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.bhv.core.command;
+
+import org.dbflute.s2dao.sqlcommand.TnBatchInsertDynamicCommand;
+import org.dbflute.s2dao.sqlcommand.TnBatchUpsertDynamicCommand;
+
+/**
+ * The command of batch native upsert, insert or update by single statement per entity. (the table should have primary key)
+ * @author jflute
+ * @since 1.3.0 (2026/10/19 Monday)
+ */
+public class BatchUpsertCommand extends BatchInsertCommand {
+
+    // ===================================================================================
+    //                                                                   Basic Information
+    //                                                                   =================
+    @Override
+    public String getCommandName() {
+        return "batchUpsert";
+    }
+
+    // ===================================================================================
+    //                                                               SqlExecution Handling
+    //                                                               =====================
+    @Override
+    protected TnBatchInsertDynamicCommand newBatchInsertDynamicCommand() {
+        return new TnBatchUpsertDynamicCommand(_dataSource, _statementFactory);
+    }
+}
@@ -107,6 +107,13 @@ public class InternalMapContext {
     protected static final String KEY_SQL_BEFORE_TIME_MILLIS = "df:SqlBeforeTimeMillis";
     protected static final String KEY_SQL_AFTER_TIME_MILLIS = "df:SqlAfterTimeMillis";
 
+    // -----------------------------------------------------
+    //                                            Phase Time
+    //                                            ----------
+    protected static final String KEY_CONNECTION_ACQUISITION_MILLIS = "df:ConnectionAcquisitionMillis";
+    protected static final String KEY_STATEMENT_PREPARATION_MILLIS = "df:StatementPreparationMillis";
+    protected static final String KEY_RESULT_MAPPING_MILLIS = "df:ResultMappingMillis";
+
     // -----------------------------------------------------
     //                                   DisplaySql Resource
     //                                   -------------------
@@ -207,6 +214,33 @@ public class InternalMapContext {
         setObject(KEY_SQL_AFTER_TIME_MILLIS, sqlAfterTimeMillis);
     }
 
+    // -----------------------------------------------------
+    //                                            Phase Time
+    //                                            ----------
+    public static Long getConnectionAcquisitionMillis() {
+        return (Long) getObject(KEY_CONNECTION_ACQUISITION_MILLIS);
+    }
+
+    public static void setConnectionAcquisitionMillis(Long connectionAcquisitionMillis) {
+        setObject(KEY_CONNECTION_ACQUISITION_MILLIS, connectionAcquisitionMillis);
+    }
+
+    public static Long getStatementPreparationMillis() {
+        return (Long) getObject(KEY_STATEMENT_PREPARATION_MILLIS);
+    }
+
+    public static void setStatementPreparationMillis(Long statementPreparationMillis) {
+        setObject(KEY_STATEMENT_PREPARATION_MILLIS, statementPreparationMillis);
+    }
+
+    public static Long getResultMappingMillis() {
+        return (Long) getObject(KEY_RESULT_MAPPING_MILLIS);
+    }
+
+    public static void setResultMappingMillis(Long resultMappingMillis) {
+        setObject(KEY_RESULT_MAPPING_MILLIS, resultMappingMillis);
+    }
+
     // -----------------------------------------------------
     //                                   DisplaySql Resource
     //                                   -------------------
@@ -37,6 +37,8 @@ import org.dbflute.dbmeta.DBMetaProvider;
 import org.dbflute.dbway.DBDef;
 import org.dbflute.helper.StringKeyMap;
 import org.dbflute.hook.AccessContext;
+import org.dbflute.jdbc.AdaptiveFetchSizeTuner;
+import org.dbflute.jdbc.SlowQueryDetector;
 import org.dbflute.jdbc.ValueType;
 import org.dbflute.twowaysql.SqlAnalyzer;
 import org.dbflute.twowaysql.factory.SqlAnalyzerFactory;
@@ -283,6 +285,16 @@ public class ResourceContext {
         return parameter != null ? parameter.getLogTimeZoneProvider() : null;
     }
 
+    public static SlowQueryDetector getSlowQueryDetector() {
+        final ResourceParameter parameter = resourceParameter();
+        return parameter != null ? parameter.getSlowQueryDetector() : null;
+    }
+
+    public static AdaptiveFetchSizeTuner getAdaptiveFetchSizeTuner() {
+        final ResourceParameter parameter = resourceParameter();
+        return parameter != null ? parameter.getAdaptiveFetchSizeTuner() : null;
+    }
+
     public static boolean isInternalDebug() {
         final ResourceParameter parameter = resourceParameter();
         return parameter != null ? parameter.isInternalDebug() : false;
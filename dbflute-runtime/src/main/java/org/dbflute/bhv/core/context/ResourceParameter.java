@@ -17,6 +17,8 @@ package org.dbflute.bhv.core.context;
 
 import org.dbflute.bhv.core.context.logmask.BehaviorLogMaskProvider;
 import org.dbflute.bhv.core.context.mapping.MappingDateTimeZoneProvider;
+import org.dbflute.jdbc.AdaptiveFetchSizeTuner;
+import org.dbflute.jdbc.SlowQueryDetector;
 import org.dbflute.twowaysql.style.BoundDateDisplayTimeZoneProvider;
 
 /**
@@ -51,6 +53,16 @@ public class ResourceParameter {
     //                                     -----------------
     protected BehaviorLogMaskProvider _behaviorLogMaskProvider; // null allowed
 
+    // -----------------------------------------------------
+    //                                            Slow Query
+    //                                            ----------
+    protected SlowQueryDetector _slowQueryDetector; // null allowed
+
+    // -----------------------------------------------------
+    //                                            Fetch Size
+    //                                            ----------
+    protected AdaptiveFetchSizeTuner _adaptiveFetchSizeTuner; // null allowed
+
     // -----------------------------------------------------
     //                                        Internal Debug
     //                                        --------------
@@ -127,6 +139,28 @@ public class ResourceParameter {
         _behaviorLogMaskProvider = errorLogMaskProvider;
     }
 
+    // -----------------------------------------------------
+    //                                            Slow Query
+    //                                            ----------
+    public SlowQueryDetector getSlowQueryDetector() {
+        return _slowQueryDetector;
+    }
+
+    public void setSlowQueryDetector(SlowQueryDetector slowQueryDetector) {
+        _slowQueryDetector = slowQueryDetector;
+    }
+
+    // -----------------------------------------------------
+    //                                            Fetch Size
+    //                                            ----------
+    public AdaptiveFetchSizeTuner getAdaptiveFetchSizeTuner() {
+        return _adaptiveFetchSizeTuner;
+    }
+
+    public void setAdaptiveFetchSizeTuner(AdaptiveFetchSizeTuner adaptiveFetchSizeTuner) {
+        _adaptiveFetchSizeTuner = adaptiveFetchSizeTuner;
+    }
+
     // -----------------------------------------------------
     //                                        Internal Debug
     //                                        --------------
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2014-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.bhv.core.context;
+
+import org.dbflute.bhv.writable.WriteBehindUnit;
+
+/**
+ * The context of write-behind unit.
+ * @author jflute
+ * @since 1.3.0 (2026/10/19 Monday)
+ */
+public class WriteBehindContext {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    private static final ThreadLocal<WriteBehindUnit> _threadLocal = new ThreadLocal<WriteBehindUnit>();
+
+    // ===================================================================================
+    //                                                                   Write-Behind Unit
+    //                                                                   =================
+    /**
+     * Get write-behind unit on thread.
+     * @return The instance of write-behind unit. (NullAllowed)
+     */
+    public static WriteBehindUnit getWriteBehindUnitOnThread() {
+        return _threadLocal.get();
+    }
+
+    /**
+     * Set write-behind unit on thread.
+     * @param unit The instance of write-behind unit. (NotNull)
+     */
+    public static void setWriteBehindUnitOnThread(WriteBehindUnit unit) {
+        if (unit == null) {
+            String msg = "The argument[unit] must not be null.";
+            throw new IllegalArgumentException(msg);
+        }
+        _threadLocal.set(unit);
+    }
+
+    /**
+     * Is existing write-behind unit on thread?
+     * @return The determination, true or false.
+     */
+    public static boolean isExistWriteBehindUnitOnThread() {
+        return (_threadLocal.get() != null);
+    }
+
+    /**
+     * Clear write-behind unit on thread.
+     */
+    public static void clearWriteBehindUnitOnThread() {
+        _threadLocal.set(null);
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright 2014-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.bhv.core.supplement;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.dbflute.bhv.core.BehaviorCommandInvoker;
+import org.dbflute.dbway.DBDef;
+import org.dbflute.util.Srl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The watcher of outside-SQL files to evict only executions derived from modified files, basically for development. <br>
+ * It watches the directory of the outside-SQL package under the root directory (e.g. target/classes) by NIO WatchService,
+ * and calls {@link BehaviorCommandInvoker#evictOutsideSqlExecution(String)} with the resource path of the changed file.
+ * <pre>
+ * OutsideSqlFileWatcher watcher = new OutsideSqlFileWatcher(invoker, new File("target/classes"), "com.example.dbflute.exbhv");
+ * watcher.start();
+ * ...
+ * watcher.stop(); <span style="color: #3F7E5E">// e.g. when application is destroyed</span>
+ * </pre>
+ * @author jflute
+ * @since 1.3.0 (2026/10/19 Monday)
+ */
+public class OutsideSqlFileWatcher {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    /** The logger instance for this class. (NotNull) */
+    private static final Logger _log = LoggerFactory.getLogger(OutsideSqlFileWatcher.class);
+
+    protected static final String SQL_EXTENSION = ".sql";
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final BehaviorCommandInvoker _behaviorCommandInvoker; // not null
+    protected final Path _rootPath; // not null, root of resource path e.g. target/classes
+    protected final Path _packagePath; // not null, directory of outside-SQL package under the root
+    protected final Map<WatchKey, Path> _watchDirMap = new ConcurrentHashMap<WatchKey, Path>();
+    protected WatchService _watchService; // null allowed, exists while watching
+    protected Thread _watchThread; // null allowed, exists while watching
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param behaviorCommandInvoker The invoker of behavior command that has execution cache. (NotNull)
+     * @param rootDir The root directory of resource path, e.g. target/classes. (NotNull)
+     * @param outsideSqlPackage The package that contains outside-SQL files, e.g. exbhv package. (NotNull)
+     */
+    public OutsideSqlFileWatcher(BehaviorCommandInvoker behaviorCommandInvoker, File rootDir, String outsideSqlPackage) {
+        if (behaviorCommandInvoker == null) {
+            throw new IllegalArgumentException("The argument 'behaviorCommandInvoker' should not be null.");
+        }
+        if (rootDir == null) {
+            throw new IllegalArgumentException("The argument 'rootDir' should not be null.");
+        }
+        if (outsideSqlPackage == null || outsideSqlPackage.trim().isEmpty()) {
+            throw new IllegalArgumentException("The argument 'outsideSqlPackage' should not be null or empty: " + outsideSqlPackage);
+        }
+        _behaviorCommandInvoker = behaviorCommandInvoker;
+        _rootPath = rootDir.toPath().toAbsolutePath().normalize();
+        _packagePath = _rootPath.resolve(Srl.replace(outsideSqlPackage.trim(), ".", "/"));
+    }
+
+    // ===================================================================================
+    //                                                                       Start or Stop
+    //                                                                       =============
+    /**
+     * Start watching the outside-SQL files in background daemon thread.
+     * @throws IllegalStateException When the package directory does not exist or it is already watching.
+     */
+    public synchronized void start() {
+        if (_watchService != null) {
+            throw new IllegalStateException("The watcher is already watching: " + _packagePath);
+        }
+        if (!Files.isDirectory(_packagePath)) {
+            throw new IllegalStateException("Not found the directory of outside-SQL package: " + _packagePath);
+        }
+        try {
+            _watchService = FileSystems.getDefault().newWatchService();
+            registerRecursively(_packagePath);
+        } catch (IOException e) {
+            closeWatchService();
+            throw new IllegalStateException("Failed to start watching the outside-SQL files: " + _packagePath, e);
+        }
+        final WatchService watchService = _watchService;
+        _watchThread = new Thread(() -> watchLoop(watchService), "dbflute-outsidesql-watcher");
+        _watchThread.setDaemon(true); // not to prevent JVM shutdown
+        _watchThread.start();
+        if (_log.isInfoEnabled()) {
+            _log.info("...Watching outside-SQL files: " + _packagePath);
+        }
+    }
+
+    /**
+     * Stop watching the outside-SQL files. (no exception if not watching)
+     */
+    public synchronized void stop() {
+        if (_watchService == null) {
+            return;
+        }
+        closeWatchService(); // the loop ends by closed exception
+        _watchThread = null;
+        _watchDirMap.clear();
+    }
+
+    public synchronized boolean isWatching() {
+        return _watchService != null;
+    }
+
+    protected void closeWatchService() {
+        if (_watchService != null) {
+            try {
+                _watchService.close();
+            } catch (IOException continued) {
+                _log.debug("Failed to close the watch service: " + _packagePath, continued);
+            }
+            _watchService = null;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                          Watch Loop
+    //                                                                          ==========
+    protected void watchLoop(WatchService watchService) {
+        while (true) {
+            final WatchKey watchKey;
+            try {
+                watchKey = watchService.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ClosedWatchServiceException e) { // stopped
+                return;
+            }
+            final Path dir = _watchDirMap.get(watchKey);
+            if (dir != null) {
+                for (WatchEvent<?> event : watchKey.pollEvents()) {
+                    try {
+                        handleEvent(watchService, dir, event);
+                    } catch (RuntimeException continued) { // not to stop watching
+                        _log.warn("Failed to handle the event of outside-SQL file: " + dir + ", " + event.context(), continued);
+                    }
+                }
+            }
+            if (!watchKey.reset()) { // e.g. directory deleted
+                _watchDirMap.remove(watchKey);
+            }
+        }
+    }
+
+    protected void handleEvent(WatchService watchService, Path dir, WatchEvent<?> event) {
+        if (event.kind() == StandardWatchEventKinds.OVERFLOW) { // lost events so cannot determine files
+            if (_log.isDebugEnabled()) {
+                _log.debug("...Clearing all execution cache because of overflow of watch events: " + dir);
+            }
+            _behaviorCommandInvoker.clearExecutionCache();
+            return;
+        }
+        final Path changed = dir.resolve((Path) event.context());
+        if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(changed)) {
+            try {
+                registerRecursively(watchService, changed);
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to watch the created directory: " + changed, e);
+            }
+            return;
+        }
+        if (!changed.getFileName().toString().endsWith(SQL_EXTENSION)) {
+            return;
+        }
+        final String resourcePath = toResourcePath(changed);
+        int evictedCount = _behaviorCommandInvoker.evictOutsideSqlExecution(resourcePath);
+        final String standardPath = findStandardResourcePath(resourcePath);
+        if (standardPath != null) { // e.g. created DBMS file takes priority over standard file read before
+            evictedCount += _behaviorCommandInvoker.evictOutsideSqlExecution(standardPath);
+        }
+        if (_log.isDebugEnabled()) {
+            _log.debug("...Reflecting the modified outside-SQL: " + resourcePath + " (" + event.kind().name() + ", evicted=" + evictedCount
+                    + ")");
+        }
+    }
+
+    protected String toResourcePath(Path file) {
+        return Srl.replace(_rootPath.relativize(file).toString(), File.separator, "/");
+    }
+
+    /**
+     * Find the standard path of the DBMS-suffixed outside-SQL, whose executions are keyed by the standard path.
+     * @param resourcePath The resource path of changed outside-SQL file, e.g. .../MemberBhv_selectFoo_postgresql.sql (NotNull)
+     * @return The standard path e.g. .../MemberBhv_selectFoo.sql (NullAllowed: when not DBMS-suffixed)
+     */
+    protected String findStandardResourcePath(String resourcePath) {
+        for (DBDef dbdef : DBDef.values()) {
+            final String dbmsSuffix = "_" + dbdef.code().toLowerCase() + SQL_EXTENSION; // same as outside-SQL command
+            if (resourcePath.endsWith(dbmsSuffix)) {
+                return Srl.substringLastFront(resourcePath, dbmsSuffix) + SQL_EXTENSION;
+            }
+        }
+        return null;
+    }
+
+    // ===================================================================================
+    //                                                                            Register
+    //                                                                            ========
+    protected void registerRecursively(Path baseDir) throws IOException {
+        registerRecursively(_watchService, baseDir);
+    }
+
+    protected void registerRecursively(WatchService watchService, Path baseDir) throws IOException {
+        Files.walkFileTree(baseDir, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                final WatchKey watchKey = dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+                _watchDirMap.put(watchKey, dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+}
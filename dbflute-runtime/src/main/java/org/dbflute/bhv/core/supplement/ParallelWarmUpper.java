@@ -0,0 +1,207 @@
+/*
+ * Copyright 2014-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.bhv.core.supplement;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.dbflute.bhv.BehaviorReadable;
+import org.dbflute.bhv.BehaviorSelector;
+import org.dbflute.dbmeta.AbstractDBMeta;
+import org.dbflute.dbmeta.DBMeta;
+import org.dbflute.exception.IllegalBehaviorStateException;
+import org.dbflute.helper.message.ExceptionMessageBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The warm-upper of DB metas and behavior executions in parallel, basically called at application startup. <br>
+ * Lazy initialization of them costs first requests after deploy, so it pays the cost before them across cores.
+ * <pre>
+ * ParallelWarmUpper warmUpper = new ParallelWarmUpper(DBMetaInstanceHandler.getUnmodifiableDBMetaMap().values());
+ * warmUpper.warmUpDBMeta(); <span style="color: #3F7E5E">// information resources of DB metas</span>
+ * warmUpper.warmUpBehavior(behaviorSelector); <span style="color: #3F7E5E">// common SQL executions of behaviors</span>
+ * </pre>
+ * @author jflute
+ * @since 1.3.0 (2026/10/19 Monday)
+ */
+public class ParallelWarmUpper {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    /** The logger instance for this class. (NotNull) */
+    private static final Logger _log = LoggerFactory.getLogger(ParallelWarmUpper.class);
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final List<DBMeta> _dbmetaList; // not null, instantiated already
+    protected int _parallelism = Runtime.getRuntime().availableProcessors();
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param dbmetaCollection The collection of instantiated DB metas, e.g. from DBMetaInstanceHandler. (NotNull)
+     */
+    public ParallelWarmUpper(Collection<? extends DBMeta> dbmetaCollection) {
+        if (dbmetaCollection == null) {
+            throw new IllegalArgumentException("The argument 'dbmetaCollection' should not be null.");
+        }
+        _dbmetaList = new ArrayList<DBMeta>(dbmetaCollection);
+    }
+
+    /**
+     * Set the count of threads for warm-up. (default is count of available processors)
+     * @param parallelism The count of threads. (NotMinus, NotZero)
+     * @return this. (NotNull)
+     */
+    public ParallelWarmUpper parallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("The argument 'parallelism' should not be minus or zero: " + parallelism);
+        }
+        _parallelism = parallelism;
+        return this;
+    }
+
+    // ===================================================================================
+    //                                                                              DBMeta
+    //                                                                              ======
+    /**
+     * Warm up information resources of all DB metas, e.g. column, relation and unique info.
+     */
+    public void warmUpDBMeta() {
+        runInParallel("DBMeta", dbmeta -> doWarmUpDBMeta(dbmeta));
+    }
+
+    protected void doWarmUpDBMeta(DBMeta dbmeta) {
+        if (dbmeta instanceof AbstractDBMeta) { // mainly here
+            ((AbstractDBMeta) dbmeta).warmUpInformationResource();
+        } else {
+            dbmeta.getColumnInfoList();
+            if (dbmeta.hasPrimaryKey()) {
+                dbmeta.getPrimaryInfo();
+            }
+            dbmeta.getUniqueInfoList();
+            dbmeta.getForeignInfoList();
+            dbmeta.getReferrerInfoList();
+        }
+    }
+
+    // ===================================================================================
+    //                                                                            Behavior
+    //                                                                            ========
+    /**
+     * Warm up common SQL executions of behaviors for all DB metas, e.g. select count, entity, list by condition-bean.
+     * @param behaviorSelector The selector of behavior to find behavior by table name. (NotNull)
+     */
+    public void warmUpBehavior(BehaviorSelector behaviorSelector) {
+        if (behaviorSelector == null) {
+            throw new IllegalArgumentException("The argument 'behaviorSelector' should not be null.");
+        }
+        runInParallel("Behavior", dbmeta -> doWarmUpBehavior(behaviorSelector, dbmeta));
+    }
+
+    protected void doWarmUpBehavior(BehaviorSelector behaviorSelector, DBMeta dbmeta) {
+        final BehaviorReadable bhv;
+        try {
+            bhv = behaviorSelector.byName(dbmeta.getTableDbName());
+        } catch (IllegalBehaviorStateException continued) { // e.g. suppressed behavior
+            if (_log.isDebugEnabled()) {
+                _log.debug("...Skipping warm-up of the behavior: " + dbmeta.getTableDbName());
+            }
+            return;
+        }
+        bhv.warmUpCommand();
+    }
+
+    // ===================================================================================
+    //                                                                    Parallel Process
+    //                                                                    ================
+    protected void runInParallel(String title, Consumer<DBMeta> oneWarmer) {
+        if (_dbmetaList.isEmpty()) {
+            return;
+        }
+        final long before = System.currentTimeMillis();
+        final int threadCount = Math.min(_parallelism, _dbmetaList.size());
+        final ExecutorService service = Executors.newFixedThreadPool(threadCount, createThreadFactory(title));
+        final List<Future<?>> futureList = new ArrayList<Future<?>>(_dbmetaList.size());
+        try {
+            for (DBMeta dbmeta : _dbmetaList) {
+                futureList.add(service.submit(() -> oneWarmer.accept(dbmeta)));
+            }
+            handleFuture(title, futureList);
+        } finally {
+            service.shutdown();
+        }
+        if (_log.isInfoEnabled()) {
+            final long cost = System.currentTimeMillis() - before;
+            _log.info("...Warming up " + title + ": tables=" + _dbmetaList.size() + ", threads=" + threadCount + ", cost=" + cost + "ms");
+        }
+    }
+
+    protected ThreadFactory createThreadFactory(String title) {
+        final AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            final Thread thread = new Thread(runnable, "dbflute-warmup-" + title + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true); // not to prevent JVM shutdown
+            return thread;
+        };
+    }
+
+    protected void handleFuture(String title, List<Future<?>> futureList) {
+        final List<String> failedTableList = new ArrayList<String>();
+        Throwable firstCause = null;
+        int index = 0;
+        for (Future<?> future : futureList) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("The warm-up was interrupted: " + title, e);
+            } catch (ExecutionException e) {
+                failedTableList.add(_dbmetaList.get(index).getTableDbName());
+                if (firstCause == null) {
+                    firstCause = e.getCause();
+                }
+            }
+            ++index;
+        }
+        if (!failedTableList.isEmpty()) {
+            final ExceptionMessageBuilder br = new ExceptionMessageBuilder();
+            br.addNotice("Failed to warm up the tables.");
+            br.addItem("Target");
+            br.addElement(title);
+            br.addItem("Failed Table");
+            for (String tableDbName : failedTableList) {
+                br.addElement(tableDbName);
+            }
+            br.addItem("First Cause");
+            br.addElement(firstCause);
+            final String msg = br.buildExceptionMessage();
+            throw new IllegalStateException(msg, firstCause);
+        }
+    }
+}
@@ -36,6 +36,7 @@ public class LoadReferrerOption<REFERRER_CB extends ConditionBean, REFERRER_ENTI
     protected ConditionBeanSetupper<REFERRER_CB> _conditionBeanSetupper;
     protected EntityListSetupper<REFERRER_ENTITY> _entityListSetupper;
     protected REFERRER_CB _referrerConditionBean;
+    protected boolean _inScopeBucketPadding;
 
     // ===================================================================================
     //                                                                         Constructor
@@ -189,4 +190,19 @@ public class LoadReferrerOption<REFERRER_CB extends ConditionBean, REFERRER_ENTI
     public void setReferrerConditionBean(REFERRER_CB referrerConditionBean) {
         this._referrerConditionBean = referrerConditionBean;
     }
+
+    public boolean isInScopeBucketPadding() {
+        return _inScopeBucketPadding;
+    }
+
+    /**
+     * Enable padding of the foreign key in-scope up to bucket size (power of two) for the referrer condition-bean. <br>
+     * The condition-bean set-upper is called after the foreign key condition is registered,
+     * so use this instead of enabling it in the set-upper.
+     * @return this. (NotNull)
+     */
+    public LoadReferrerOption<REFERRER_CB, REFERRER_ENTITY> enableInScopeBucketPadding() {
+        _inScopeBucketPadding = true;
+        return this;
+    }
 }
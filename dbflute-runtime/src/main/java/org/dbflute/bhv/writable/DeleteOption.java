@@ -15,6 +15,8 @@
  */
 package org.dbflute.bhv.writable;
 
+import org.dbflute.bhv.writable.chunk.QueryChunkOption;
+import org.dbflute.bhv.writable.chunk.QueryChunkOptionCall;
 import org.dbflute.cbean.ConditionBean;
 import org.dbflute.cbean.coption.StatementConfigCall;
 import org.dbflute.dbmeta.info.UniqueInfo;
@@ -36,6 +38,7 @@ public class DeleteOption<CB extends ConditionBean> implements WritableOption<CB
     protected UniqueInfo _uniqueByUniqueInfo;
     protected boolean _nonQueryDeleteAllowed;
     protected boolean _queryDeleteForcedDirectAllowed;
+    protected QueryChunkOption _queryDeleteChunkOption; // since 1.3.0
     protected Integer _batchLoggingDeleteLimit;
     protected StatementConfig _deleteStatementConfig;
 
@@ -108,6 +111,31 @@ public class DeleteOption<CB extends ConditionBean> implements WritableOption<CB
         return _queryDeleteForcedDirectAllowed;
     }
 
+    /**
+     * Split query-delete into primary key chunks, executed in turn to avoid long lock and huge undo. <br>
+     * Primary keys are selected by the query at first (or min/max range slicing by option),
+     * and each chunk is executed as query-delete narrowed by the keys. (single primary key table only)
+     * @param chunkSize The size of one chunk, count of primary keys or width of range. (Positive)
+     * @param chunkLambda The callback for option of query chunk e.g. progress, retry. (NullAllowed: if default)
+     * @return The option of delete. (NotNull: returns this)
+     */
+    public DeleteOption<CB> splitQueryDeleteByChunk(int chunkSize, QueryChunkOptionCall chunkLambda) {
+        if (_queryDeleteChunkOption != null) {
+            String msg = "Already registered the chunk option: existing=" + _queryDeleteChunkOption;
+            throw new IllegalConditionBeanOperationException(msg);
+        }
+        final QueryChunkOption chunkOption = new QueryChunkOption(chunkSize);
+        if (chunkLambda != null) {
+            chunkLambda.callback(chunkOption);
+        }
+        _queryDeleteChunkOption = chunkOption;
+        return this;
+    }
+
+    public QueryChunkOption getQueryDeleteChunkOption() {
+        return _queryDeleteChunkOption;
+    }
+
     // ===================================================================================
     //                                                                       Batch Logging
     //                                                                       =============
@@ -176,6 +204,12 @@ public class DeleteOption<CB extends ConditionBean> implements WritableOption<CB
             }
             sb.append("NonQueryDeleteAllowed");
         }
+        if (_queryDeleteChunkOption != null) {
+            if (sb.length() > 0) {
+                sb.append(", ");
+            }
+            sb.append("QueryDeleteChunkSplit");
+        }
         if (sb.length() == 0) {
             sb.append("default");
         }
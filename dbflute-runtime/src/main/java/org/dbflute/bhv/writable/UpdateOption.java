@@ -21,6 +21,8 @@ import java.util.Map;
 import java.util.Set;
 
 import org.dbflute.Entity;
+import org.dbflute.bhv.writable.chunk.QueryChunkOption;
+import org.dbflute.bhv.writable.chunk.QueryChunkOptionCall;
 import org.dbflute.cbean.ConditionBean;
 import org.dbflute.cbean.chelper.HpCalcSpecification;
 import org.dbflute.cbean.coption.StatementConfigCall;
@@ -80,6 +82,7 @@ public class UpdateOption<CB extends ConditionBean> implements WritableOption<CB
     // small option for QueryUpdate condition
     protected boolean _nonQueryUpdateAllowed;
     protected boolean _queryUpdateForcedDirectAllowed;
+    protected QueryChunkOption _queryUpdateChunkOption; // since 1.3.0
 
     // small option for BatchUpdate logging
     protected Integer _batchLoggingUpdateLimit;
@@ -711,6 +714,31 @@ public class UpdateOption<CB extends ConditionBean> implements WritableOption<CB
         return _queryUpdateForcedDirectAllowed;
     }
 
+    /**
+     * Split query-update into primary key chunks, executed in turn to avoid long lock and huge undo. <br>
+     * Primary keys are selected by the query at first (or min/max range slicing by option),
+     * and each chunk is executed as query-update narrowed by the keys. (single primary key table only)
+     * @param chunkSize The size of one chunk, count of primary keys or width of range. (Positive)
+     * @param chunkLambda The callback for option of query chunk e.g. progress, retry. (NullAllowed: if default)
+     * @return The option of update. (NotNull: returns this)
+     */
+    public UpdateOption<CB> splitQueryUpdateByChunk(int chunkSize, QueryChunkOptionCall chunkLambda) {
+        if (_queryUpdateChunkOption != null) {
+            String msg = "Already registered the chunk option: existing=" + _queryUpdateChunkOption;
+            throw new IllegalConditionBeanOperationException(msg);
+        }
+        final QueryChunkOption chunkOption = new QueryChunkOption(chunkSize);
+        if (chunkLambda != null) {
+            chunkLambda.callback(chunkOption);
+        }
+        _queryUpdateChunkOption = chunkOption;
+        return this;
+    }
+
+    public QueryChunkOption getQueryUpdateChunkOption() {
+        return _queryUpdateChunkOption;
+    }
+
     // ===================================================================================
     //                                                                       Batch Logging
     //                                                                       =============
@@ -828,6 +856,12 @@ public class UpdateOption<CB extends ConditionBean> implements WritableOption<CB
             }
             sb.append("NonQueryUpdateAllowed");
         }
+        if (_queryUpdateChunkOption != null) {
+            if (sb.length() > 0) {
+                sb.append(", ");
+            }
+            sb.append("QueryUpdateChunkSplit");
+        }
         if (_batchLoggingUpdateLimit != null) {
             if (sb.length() > 0) {
                 sb.append(", ");
@@ -0,0 +1,569 @@
+/*
+ * Copyright 2014-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.bhv.writable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.dbflute.Entity;
+import org.dbflute.bhv.BehaviorWritable;
+import org.dbflute.bhv.core.context.WriteBehindContext;
+import org.dbflute.dbmeta.DBMeta;
+import org.dbflute.dbmeta.info.ForeignInfo;
+import org.dbflute.helper.message.ExceptionMessageBuilder;
+import org.dbflute.util.DfCollectionUtil;
+
+/**
+ * The unit of write-behind for entity updates. <br>
+ * Entity insert/update/delete (without option) in the scope are queued,
+ * and they are executed as batch update per table and operation when flushed.
+ * <pre>
+ * WriteBehindUnit.scope(unit <span style="color: #90226C; font-weight: bold"><span style="font-size: 120%">-</span>&gt;</span> {
+ *     memberBhv.insert(member); <span style="color: #3F7E5E">// queued</span>
+ *     purchaseBhv.insert(purchase); <span style="color: #3F7E5E">// queued</span>
+ *     ...
+ *     unit.flush(); <span style="color: #3F7E5E">// you can flush manually</span>
+ * }); <span style="color: #3F7E5E">// flushed at scope end</span>
+ * </pre>
+ * The called order is kept: the queue is split into segments whenever the operation kind (insert, update, delete) changes
+ * or the same entity (by primary key) appears again, and segments are flushed in order.
+ * In a segment, inserts are flushed parent tables first by foreign keys, and deletes child tables first. <br>
+ * It is also flushed when the queue size reaches the threshold,
+ * before other commands except select of tables that have no queued entity,
+ * (so select by join to queued tables cannot see them yet, flush it manually if needed)
+ * and the modified properties at queueing are used as update columns. <br>
+ * Entity update with option, e.g. varyingUpdate(), and insertOrUpdate() are executed immediately after flush.
+ * And identity column is not reflected to entities because of batch insert.
+ * @author jflute
+ * @since 1.3.0 (2026/10/19 Monday)
+ */
+public class WriteBehindUnit {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    /** The default threshold of queue size to flush automatically. */
+    public static final int DEFAULT_FLUSH_THRESHOLD = 1000;
+
+    /**
+     * The type of queued write.
+     */
+    public static enum WriteBehindType {
+        INSERT, UPDATE, UPDATE_NONSTRICT, DELETE, DELETE_NONSTRICT
+    }
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    /** The threshold of queue size to flush automatically. */
+    protected final int _flushThreshold;
+
+    /** The list of queued writes in called order. (NotNull) */
+    protected final List<WriteBehindEntry> _entryList = new ArrayList<WriteBehindEntry>();
+
+    /** Is it flushing now? (queue is unavailable while flushing) */
+    protected boolean _flushing;
+
+    /** The depth of immediate execution, queue is unavailable while it is positive. */
+    protected int _immediateDepth;
+
+    /** The count of flushed entities (for logging and statistics). */
+    protected int _flushedCount;
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public WriteBehindUnit() {
+        this(DEFAULT_FLUSH_THRESHOLD);
+    }
+
+    /**
+     * @param flushThreshold The threshold of queue size to flush automatically. (NotMinus: zero means no auto flush)
+     */
+    public WriteBehindUnit(int flushThreshold) {
+        if (flushThreshold < 0) {
+            throw new IllegalArgumentException("The argument 'flushThreshold' should not be minus: " + flushThreshold);
+        }
+        _flushThreshold = flushThreshold;
+    }
+
+    // ===================================================================================
+    //                                                                               Scope
+    //                                                                               =====
+    /**
+     * Execute the process in write-behind scope, flushed at the end of the scope. <br>
+     * If the scope already exists on the thread, the process joins it (flushed at the outer end). <br>
+     * If exception is thrown from the process, the queued writes are discarded. (no flush)
+     * @param scopeCall The callback for the process in the scope. (NotNull)
+     */
+    public static void scope(WriteBehindCall scopeCall) {
+        scope(DEFAULT_FLUSH_THRESHOLD, scopeCall);
+    }
+
+    /**
+     * Execute the process in write-behind scope, flushed at the end of the scope.
+     * @param flushThreshold The threshold of queue size to flush automatically. (NotMinus: zero means no auto flush)
+     * @param scopeCall The callback for the process in the scope. (NotNull)
+     */
+    public static void scope(int flushThreshold, WriteBehindCall scopeCall) {
+        if (scopeCall == null) {
+            throw new IllegalArgumentException("The argument 'scopeCall' should not be null.");
+        }
+        final WriteBehindUnit existing = WriteBehindContext.getWriteBehindUnitOnThread();
+        if (existing != null) { // nested scope
+            scopeCall.callback(existing);
+            return;
+        }
+        final WriteBehindUnit unit = new WriteBehindUnit(flushThreshold);
+        WriteBehindContext.setWriteBehindUnitOnThread(unit);
+        try {
+            scopeCall.callback(unit);
+            unit.flush();
+        } finally {
+            WriteBehindContext.clearWriteBehindUnitOnThread();
+        }
+    }
+
+    /**
+     * Find the queueable unit on the thread.
+     * @return The unit of write-behind. (NullAllowed: when no scope or flushing)
+     */
+    public static WriteBehindUnit findQueueableUnitOnThread() {
+        final WriteBehindUnit unit = WriteBehindContext.getWriteBehindUnitOnThread();
+        return unit != null && !unit.isFlushing() && !unit.isImmediate() ? unit : null;
+    }
+
+    /**
+     * Find the flushable unit on the thread, queueable or in immediate execution.
+     * @return The unit of write-behind. (NullAllowed: when no scope or flushing)
+     */
+    public static WriteBehindUnit findFlushableUnitOnThread() {
+        final WriteBehindUnit unit = WriteBehindContext.getWriteBehindUnitOnThread();
+        return unit != null && !unit.isFlushing() ? unit : null;
+    }
+
+    /**
+     * Execute the process immediately without queueing even in write-behind scope,
+     * e.g. insertOrUpdate() that needs the update result to determine insert.
+     * @param noArgInLambda The callback for the process executed immediately. (NotNull)
+     */
+    public static void executeImmediately(Runnable noArgInLambda) {
+        final WriteBehindUnit unit = WriteBehindContext.getWriteBehindUnitOnThread();
+        if (unit == null) {
+            noArgInLambda.run();
+            return;
+        }
+        ++unit._immediateDepth;
+        try {
+            noArgInLambda.run(); // queued writes are flushed before the commands by invoker
+        } finally {
+            --unit._immediateDepth;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                               Queue
+    //                                                                               =====
+    /**
+     * Queue the write of the entity, flushed automatically if the queue size reaches the threshold.
+     * @param type The type of write. (NotNull)
+     * @param behavior The behavior for the entity, which executes batch update when flush. (NotNull)
+     * @param entity The entity to be written. (NotNull)
+     */
+    public void queue(WriteBehindType type, BehaviorWritable behavior, Entity entity) {
+        assertObjectNotNull("type", type);
+        assertObjectNotNull("behavior", behavior);
+        assertObjectNotNull("entity", entity);
+        if (_flushing) {
+            throw new IllegalStateException("Cannot queue while flushing: " + entity.asTableDbName());
+        }
+        final Set<String> modifiedProperties; // snapshot not to be affected by later mutation
+        if (isModifiedPropertiesShape(type)) {
+            modifiedProperties = Collections.unmodifiableSet(new LinkedHashSet<String>(entity.mymodifiedProperties()));
+        } else {
+            modifiedProperties = null;
+        }
+        _entryList.add(new WriteBehindEntry(type, behavior, entity, modifiedProperties));
+        if (_flushThreshold > 0 && _entryList.size() >= _flushThreshold) {
+            flush();
+        }
+    }
+
+    /**
+     * Does the unit have queued writes for the table?
+     * @param tableDbName The DB name of table. (NotNull)
+     * @return The determination, true or false.
+     */
+    public boolean hasQueued(String tableDbName) {
+        for (WriteBehindEntry entry : _entryList) {
+            if (entry.getEntity().asTableDbName().equals(tableDbName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ===================================================================================
+    //                                                                               Flush
+    //                                                                               =====
+    /**
+     * Flush the queued writes as batch updates grouped by table and operation, keeping the called order.
+     * @return The count of flushed entities. (NotMinus)
+     */
+    public int flush() {
+        if (_entryList.isEmpty() || _flushing) {
+            return 0;
+        }
+        final List<WriteBehindEntry> entryList = new ArrayList<WriteBehindEntry>(_entryList);
+        _entryList.clear();
+        _flushing = true;
+        try {
+            final Map<String, Integer> tableRankMap = prepareTableRankMap(entryList);
+            final Comparator<WriteBehindGroup> parentFirst = Comparator.comparingInt(group -> tableRankMap.get(group.getTableDbName()));
+            for (List<WriteBehindEntry> segment : splitSegment(entryList)) {
+                final List<WriteBehindGroup> groupList = groupEntry(segment);
+                final WriteBehindType type = segment.get(0).getType();
+                // stable sort so called order is kept in same rank
+                if (type == WriteBehindType.INSERT) {
+                    groupList.sort(parentFirst);
+                } else if (isDeleteType(type)) { // child first
+                    groupList.sort(parentFirst.reversed());
+                }
+                executeGroupList(groupList);
+            }
+            _flushedCount += entryList.size();
+            return entryList.size();
+        } finally {
+            _flushing = false;
+        }
+    }
+
+    /**
+     * Split the queued entries to segments in called order. <br>
+     * A new segment begins when the operation kind changes or the same entity is already in the segment,
+     * e.g. delete and re-insert of the same key, twice update of the same entity.
+     * @param entryList The list of queued entry. (NotNull)
+     * @return The list of segments, each segment has one operation kind. (NotNull)
+     */
+    protected List<List<WriteBehindEntry>> splitSegment(List<WriteBehindEntry> entryList) {
+        final List<List<WriteBehindEntry>> segmentList = new ArrayList<List<WriteBehindEntry>>();
+        List<WriteBehindEntry> segment = null;
+        Set<Object> entityKeySet = null;
+        String currentKind = null;
+        for (WriteBehindEntry entry : entryList) {
+            final String kind = toOperationKind(entry.getType());
+            final Object entityKey = extractEntityKey(entry.getEntity());
+            if (segment == null || !kind.equals(currentKind) || entityKeySet.contains(entityKey)) {
+                segment = new ArrayList<WriteBehindEntry>();
+                segmentList.add(segment);
+                entityKeySet = new HashSet<Object>();
+                currentKind = kind;
+            }
+            segment.add(entry);
+            entityKeySet.add(entityKey);
+        }
+        return segmentList;
+    }
+
+    protected String toOperationKind(WriteBehindType type) {
+        if (type == WriteBehindType.INSERT) {
+            return "insert";
+        } else if (isDeleteType(type)) {
+            return "delete";
+        } else {
+            return "update";
+        }
+    }
+
+    protected boolean isDeleteType(WriteBehindType type) {
+        return type == WriteBehindType.DELETE || type == WriteBehindType.DELETE_NONSTRICT;
+    }
+
+    protected Object extractEntityKey(Entity entity) {
+        if (entity.hasPrimaryKeyValue()) {
+            return DfCollectionUtil.newArrayList(entity.asTableDbName(), entity.asDBMeta().extractPrimaryKeyMap(entity));
+        }
+        return new IdentityKey(entity); // e.g. identity insert
+    }
+
+    protected List<WriteBehindGroup> groupEntry(List<WriteBehindEntry> entryList) {
+        // same modified properties in a group because batch update uses them as specified columns
+        final Map<List<Object>, WriteBehindGroup> groupMap = new LinkedHashMap<List<Object>, WriteBehindGroup>();
+        for (WriteBehindEntry entry : entryList) {
+            final WriteBehindType type = entry.getType();
+            final Entity entity = entry.getEntity();
+            final Set<String> modifiedProperties = entry.getModifiedProperties();
+            final Object shape = modifiedProperties != null ? new HashSet<String>(modifiedProperties) : null;
+            final List<Object> key = DfCollectionUtil.newArrayList(new IdentityKey(entry.getBehavior()), type, shape);
+            WriteBehindGroup group = groupMap.get(key);
+            if (group == null) {
+                group = new WriteBehindGroup(type, entry.getBehavior(), entity.asTableDbName());
+                groupMap.put(key, group);
+            }
+            group.addEntry(entry);
+        }
+        return new ArrayList<WriteBehindGroup>(groupMap.values());
+    }
+
+    protected boolean isModifiedPropertiesShape(WriteBehindType type) {
+        return type == WriteBehindType.INSERT || type == WriteBehindType.UPDATE || type == WriteBehindType.UPDATE_NONSTRICT;
+    }
+
+    protected void executeGroupList(List<WriteBehindGroup> groupList) {
+        for (WriteBehindGroup group : groupList) {
+            executeGroup(group);
+        }
+    }
+
+    protected void executeGroup(WriteBehindGroup group) {
+        final BehaviorWritable behavior = group.getBehavior();
+        final List<Entity> entityList = group.getEntityList();
+        restoreModifiedProperties(group);
+        final WriteBehindType type = group.getType();
+        if (type == WriteBehindType.INSERT) {
+            behavior.lumpCreate(entityList, null);
+        } else if (type == WriteBehindType.UPDATE) {
+            behavior.lumpModify(entityList, null);
+        } else if (type == WriteBehindType.UPDATE_NONSTRICT) {
+            behavior.lumpModifyNonstrict(entityList, null);
+        } else if (type == WriteBehindType.DELETE) {
+            behavior.lumpRemove(entityList, null);
+        } else if (type == WriteBehindType.DELETE_NONSTRICT) {
+            behavior.lumpRemoveNonstrict(entityList, null);
+        } else { // no way
+            throwUnknownWriteBehindTypeException(group);
+        }
+    }
+
+    protected void restoreModifiedProperties(WriteBehindGroup group) { // to snapshot at queueing
+        for (WriteBehindEntry entry : group.getEntryList()) {
+            final Set<String> modifiedProperties = entry.getModifiedProperties();
+            if (modifiedProperties == null) {
+                continue;
+            }
+            final Entity entity = entry.getEntity();
+            if (entity.mymodifiedProperties().equals(modifiedProperties)) {
+                continue;
+            }
+            entity.clearModifiedInfo();
+            for (String propertyName : modifiedProperties) {
+                entity.mymodifyProperty(propertyName);
+            }
+        }
+    }
+
+    protected void throwUnknownWriteBehindTypeException(WriteBehindGroup group) {
+        final ExceptionMessageBuilder br = new ExceptionMessageBuilder();
+        br.addNotice("Unknown write-behind type.");
+        br.addItem("Type");
+        br.addElement(group.getType());
+        br.addItem("Table");
+        br.addElement(group.getTableDbName());
+        final String msg = br.buildExceptionMessage();
+        throw new IllegalStateException(msg);
+    }
+
+    // -----------------------------------------------------
+    //                                            Table Rank
+    //                                            ----------
+    /**
+     * Prepare the rank of tables by foreign keys among the queued tables. <br>
+     * Parent tables have smaller rank than their children. (cyclic reference is cut)
+     * @param entryList The list of queued entry. (NotNull)
+     * @return The map of table rank, key is table DB name. (NotNull)
+     */
+    protected Map<String, Integer> prepareTableRankMap(List<WriteBehindEntry> entryList) {
+        final Map<String, DBMeta> dbmetaMap = new LinkedHashMap<String, DBMeta>();
+        for (WriteBehindEntry entry : entryList) {
+            final Entity entity = entry.getEntity();
+            final String tableDbName = entity.asTableDbName();
+            if (!dbmetaMap.containsKey(tableDbName)) {
+                dbmetaMap.put(tableDbName, entity.asDBMeta());
+            }
+        }
+        final Map<String, Integer> rankMap = new HashMap<String, Integer>();
+        for (String tableDbName : dbmetaMap.keySet()) {
+            calculateTableRank(tableDbName, dbmetaMap, rankMap, new HashSet<String>());
+        }
+        return rankMap;
+    }
+
+    protected int calculateTableRank(String tableDbName, Map<String, DBMeta> dbmetaMap, Map<String, Integer> rankMap,
+            Set<String> visitingSet) {
+        final Integer cached = rankMap.get(tableDbName);
+        if (cached != null) {
+            return cached;
+        }
+        if (!visitingSet.add(tableDbName)) { // cyclic
+            return 0;
+        }
+        int rank = 0;
+        for (ForeignInfo foreignInfo : dbmetaMap.get(tableDbName).getForeignInfoList()) {
+            if (!foreignInfo.isPureFK()) { // e.g. referrer-as-one, additional FK
+                continue;
+            }
+            final String parentName = foreignInfo.getForeignDBMeta().getTableDbName();
+            if (parentName.equals(tableDbName) || !dbmetaMap.containsKey(parentName)) { // self or not queued
+                continue;
+            }
+            rank = Math.max(rank, calculateTableRank(parentName, dbmetaMap, rankMap, visitingSet) + 1);
+        }
+        visitingSet.remove(tableDbName);
+        rankMap.put(tableDbName, rank);
+        return rank;
+    }
+
+    // ===================================================================================
+    //                                                                        Queued Entry
+    //                                                                        ============
+    protected static class WriteBehindEntry {
+
+        protected final WriteBehindType _type;
+        protected final BehaviorWritable _behavior;
+        protected final Entity _entity;
+        protected final Set<String> _modifiedProperties; // null allowed: if delete
+
+        public WriteBehindEntry(WriteBehindType type, BehaviorWritable behavior, Entity entity, Set<String> modifiedProperties) {
+            _type = type;
+            _behavior = behavior;
+            _entity = entity;
+            _modifiedProperties = modifiedProperties;
+        }
+
+        public WriteBehindType getType() {
+            return _type;
+        }
+
+        public BehaviorWritable getBehavior() {
+            return _behavior;
+        }
+
+        public Entity getEntity() {
+            return _entity;
+        }
+
+        public Set<String> getModifiedProperties() {
+            return _modifiedProperties;
+        }
+    }
+
+    protected static class WriteBehindGroup {
+
+        protected final WriteBehindType _type;
+        protected final BehaviorWritable _behavior;
+        protected final String _tableDbName;
+        protected final List<WriteBehindEntry> _entryList = new ArrayList<WriteBehindEntry>();
+        protected final List<Entity> _entityList = new ArrayList<Entity>();
+
+        public WriteBehindGroup(WriteBehindType type, BehaviorWritable behavior, String tableDbName) {
+            _type = type;
+            _behavior = behavior;
+            _tableDbName = tableDbName;
+        }
+
+        public void addEntry(WriteBehindEntry entry) {
+            _entryList.add(entry);
+            _entityList.add(entry.getEntity());
+        }
+
+        public WriteBehindType getType() {
+            return _type;
+        }
+
+        public BehaviorWritable getBehavior() {
+            return _behavior;
+        }
+
+        public String getTableDbName() {
+            return _tableDbName;
+        }
+
+        public List<WriteBehindEntry> getEntryList() {
+            return _entryList;
+        }
+
+        public List<Entity> getEntityList() {
+            return _entityList;
+        }
+    }
+
+    protected static class IdentityKey { // behavior might override equals()
+
+        protected final Object _instance;
+
+        public IdentityKey(Object instance) {
+            _instance = instance;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(_instance);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof IdentityKey && ((IdentityKey) obj)._instance == _instance;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                       Assert Helper
+    //                                                                       =============
+    protected void assertObjectNotNull(String variableName, Object value) {
+        if (value == null) {
+            throw new IllegalArgumentException("The argument '" + variableName + "' should not be null.");
+        }
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "writeBehind:{queued=" + _entryList.size() + ", flushed=" + _flushedCount + ", threshold=" + _flushThreshold + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public boolean isFlushing() {
+        return _flushing;
+    }
+
+    public boolean isImmediate() {
+        return _immediateDepth > 0;
+    }
+
+    public int getQueuedCount() {
+        return _entryList.size();
+    }
+
+    public int getFlushedCount() {
+        return _flushedCount;
+    }
+
+    public int getFlushThreshold() {
+        return _flushThreshold;
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2014-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.bhv.writable.chunk;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.dbflute.cbean.ConditionBean;
+import org.dbflute.cbean.ConditionQuery;
+import org.dbflute.cbean.ckey.ConditionKey;
+import org.dbflute.cbean.coption.InScopeArrayOption;
+import org.dbflute.cbean.cvalue.ConditionValue;
+import org.dbflute.cbean.sqlclause.SqlClause;
+import org.dbflute.dbmeta.info.ColumnInfo;
+import org.dbflute.util.DfCollectionUtil;
+
+/**
+ * The condition of query chunk registered to condition-bean only once. <br>
+ * The where clause is fixed and its parameters are switched per chunk,
+ * in-scope via its condition value and range via free parameters.
+ * @author jflute
+ * @since 1.3.0 (2026/10/19 Monday)
+ */
+public class QueryChunkCondition {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    /** The theme key of free parameter for query chunk. */
+    protected static final String FREE_PARAMETER_THEME = "queryChunk";
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final List<Object> _themeList; // null allowed: if in-scope, the list of free parameters, elements are switched
+    protected final ConditionValue _inScopeValue; // null allowed: if range
+    protected final InScopeArrayOption _inScopeArrayOption; // null allowed: if range or not array binding
+    protected final int _lowerIndex; // minus if in-scope
+    protected final int _upperIndex; // minus if in-scope
+    protected boolean _inScopeBucketPadding; // same as registration, for other chunks
+    protected int _inScopeLimit; // for bucket padding, zero or minus if no limit
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    protected QueryChunkCondition(List<Object> themeList, ConditionValue inScopeValue, InScopeArrayOption inScopeArrayOption,
+            int lowerIndex, int upperIndex) {
+        _themeList = themeList;
+        _inScopeValue = inScopeValue;
+        _inScopeArrayOption = inScopeArrayOption;
+        _lowerIndex = lowerIndex;
+        _upperIndex = upperIndex;
+    }
+
+    // ===================================================================================
+    //                                                                        Registration
+    //                                                                        ============
+    /**
+     * Register in-scope condition of primary key by condition-query, e.g. dfloc.MEMBER_ID in (...)
+     * @param cb The condition-bean for query-update/delete. (NotNull)
+     * @param primaryInfo The column info of single primary key. (NotNull)
+     * @param firstValueList The list of primary key values for the first chunk, not over in-scope limit. (NotNull, NotEmpty)
+     * @return The new-created condition to switch values. (NotNull)
+     */
+    public static QueryChunkCondition registerInScope(ConditionBean cb, ColumnInfo primaryInfo, List<?> firstValueList) {
+        final ConditionQuery cq = cb.localCQ();
+        final String columnDbName = primaryInfo.getColumnDbName();
+        cq.invokeQuery(columnDbName, ConditionKey.CK_IN_SCOPE.getConditionKey(), new ArrayList<Object>(firstValueList));
+        final ConditionValue inScopeValue = cq.invokeValue(columnDbName);
+        final SqlClause sqlClause = cb.getSqlClause();
+        final InScopeArrayOption arrayOption = sqlClause.prepareInScopeArrayOption(ConditionKey.CK_IN_SCOPE, firstValueList);
+        final QueryChunkCondition condition = new QueryChunkCondition(null, inScopeValue, arrayOption, -1, -1); // same array decision
+        condition._inScopeBucketPadding = sqlClause.isInScopeBucketPaddingEnabled(); // first chunk is padded by condition-query
+        condition._inScopeLimit = sqlClause.getInScopeLimit();
+        return condition;
+    }
+
+    /**
+     * Register range condition of primary key, e.g. dfloc.MEMBER_ID &gt;= ? and dfloc.MEMBER_ID &lt; ?
+     * @param cb The condition-bean for query-update/delete. (NotNull)
+     * @param primaryInfo The column info of single primary key. (NotNull)
+     * @return The new-created condition to switch values. (NotNull)
+     */
+    public static QueryChunkCondition registerRange(ConditionBean cb, ColumnInfo primaryInfo) {
+        final SqlClause sqlClause = cb.getSqlClause();
+        final String lowerExp = sqlClause.registerFreeParameterToThemeList(FREE_PARAMETER_THEME, null);
+        final String upperExp = sqlClause.registerFreeParameterToThemeList(FREE_PARAMETER_THEME, null);
+        final List<Object> themeList = findThemeList(sqlClause);
+        final String aliasName = sqlClause.getBasePointAliasName();
+        final String columnExp = aliasName + "." + primaryInfo.getColumnSqlName();
+        sqlClause.registerWhereClause(columnExp + " >= " + lowerExp + " and " + columnExp + " < " + upperExp, aliasName, true);
+        return new QueryChunkCondition(themeList, null, null, themeList.size() - 2, themeList.size() - 1);
+    }
+
+    protected static List<Object> findThemeList(SqlClause sqlClause) {
+        @SuppressWarnings("unchecked")
+        final List<Object> themeList = (List<Object>) sqlClause.getFreeParameterMap().get(FREE_PARAMETER_THEME);
+        return themeList;
+    }
+
+    // ===================================================================================
+    //                                                                        Switch Chunk
+    //                                                                        ============
+    /**
+     * @param valueList The list of primary key values for the chunk, not over in-scope limit. (NotNull, NotEmpty)
+     */
+    public void switchInScope(List<?> valueList) {
+        if (_inScopeValue == null) {
+            throw new IllegalStateException("Not in-scope condition: " + this);
+        }
+        final List<?> paddedList = _inScopeBucketPadding ? DfCollectionUtil.padByPowerOfTwoBucket(valueList, _inScopeLimit) : valueList;
+        final List<Object> copiedList = new ArrayList<Object>(paddedList); // not to be affected by caller's list
+        _inScopeValue.overrideInScopeLatestValue(_inScopeArrayOption != null ? _inScopeArrayOption.toArrayValue(copiedList) : copiedList);
+    }
+
+    /**
+     * @param lowerBound The lower bound of primary key for the chunk, inclusive. (NotNull)
+     * @param upperBound The upper bound of primary key for the chunk, exclusive. (NotNull)
+     */
+    public void switchRange(Object lowerBound, Object upperBound) {
+        if (_lowerIndex < 0) {
+            throw new IllegalStateException("Not range condition: " + this);
+        }
+        _themeList.set(_lowerIndex, lowerBound);
+        _themeList.set(_upperIndex, upperBound);
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "chunkCondition:{" + (_inScopeValue != null ? "inScope" : "range") + "}";
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2014-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.bhv.writable.chunk;
+
+/**
+ * The option of query chunk, which splits query-update/delete into primary key chunks. <br>
+ * Primary keys are selected by the query at first as default, and each chunk is executed as
+ * query-update/delete narrowed by in-scope of the keys. (or min/max range slicing by option)
+ * <pre>
+ * memberBhv.varyingQueryDelete(cb <span style="color: #90226C; font-weight: bold"><span style="font-size: 120%">-</span>&gt;</span> {
+ *     ...
+ * }, op <span style="color: #90226C; font-weight: bold"><span style="font-size: 120%">-</span>&gt;</span> op.splitQueryDeleteByChunk(1000, chunk <span style="color: #90226C; font-weight: bold"><span style="font-size: 120%">-</span>&gt;</span> {
+ *     chunk.retryChunk(3).handleProgress(progress <span style="color: #90226C; font-weight: bold"><span style="font-size: 120%">-</span>&gt;</span> ...);
+ *     chunk.wrapChunkTransaction(execution <span style="color: #90226C; font-weight: bold"><span style="font-size: 120%">-</span>&gt;</span> ...); <span style="color: #3F7E5E">// e.g. requires-new transaction</span>
+ * }));
+ * </pre>
+ * @author jflute
+ * @since 1.3.0 (2026/10/19 Monday)
+ */
+public class QueryChunkOption {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final int _chunkSize; // positive
+    protected boolean _rangeSlicing; // false: select primary keys at first
+    protected int _retryLimit; // zero means no retry
+    protected QueryChunkProgressHandler _progressHandler; // null allowed
+    protected QueryChunkTransactionHandler _transactionHandler; // null allowed
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param chunkSize The size of one chunk, count of primary keys (capped by in-scope limit) or width of range. (Positive)
+     */
+    public QueryChunkOption(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("The argument 'chunkSize' should be positive: " + chunkSize);
+        }
+        _chunkSize = chunkSize;
+    }
+
+    // ===================================================================================
+    //                                                                       Range Slicing
+    //                                                                       =============
+    /**
+     * Slice the chunks by min/max range of primary key without selecting all primary keys. <br>
+     * The primary key should be integral number, and the chunk size is width of the range (gaps make small chunks). <br>
+     * Empty ranges are skipped to the next existing key, and too wide min/max falls back to primary key list.
+     * @return this. (NotNull)
+     */
+    public QueryChunkOption sliceByMinMaxRange() {
+        _rangeSlicing = true;
+        return this;
+    }
+
+    public boolean isRangeSlicing() {
+        return _rangeSlicing;
+    }
+
+    // ===================================================================================
+    //                                                                         Chunk Retry
+    //                                                                         ===========
+    /**
+     * Retry the chunk when it fails by transient failure (e.g. deadlock), executed again up to the limit. <br>
+     * It is effective only with chunk transaction, because some DBs cannot continue the failed transaction.
+     * @param retryLimit The limit count of retry per chunk. (NotMinus)
+     * @return this. (NotNull)
+     */
+    public QueryChunkOption retryChunk(int retryLimit) {
+        if (retryLimit < 0) {
+            throw new IllegalArgumentException("The argument 'retryLimit' should not be minus: " + retryLimit);
+        }
+        _retryLimit = retryLimit;
+        return this;
+    }
+
+    public int getRetryLimit() {
+        return _retryLimit;
+    }
+
+    // ===================================================================================
+    //                                                                            Progress
+    //                                                                            ========
+    /**
+     * Handle progress after each chunk is executed.
+     * @param progressHandler The handler of chunk progress. (NotNull)
+     * @return this. (NotNull)
+     */
+    public QueryChunkOption handleProgress(QueryChunkProgressHandler progressHandler) {
+        if (progressHandler == null) {
+            throw new IllegalArgumentException("The argument 'progressHandler' should not be null.");
+        }
+        _progressHandler = progressHandler;
+        return this;
+    }
+
+    public QueryChunkProgressHandler getProgressHandler() {
+        return _progressHandler;
+    }
+
+    // ===================================================================================
+    //                                                                         Transaction
+    //                                                                         ===========
+    /**
+     * Wrap each chunk execution, e.g. by requires-new transaction to commit the chunk in turn. <br>
+     * (DBFlute does not control transaction, so you can use your transaction framework here)
+     * @param transactionHandler The handler of chunk transaction. (NotNull)
+     * @return this. (NotNull)
+     */
+    public QueryChunkOption wrapChunkTransaction(QueryChunkTransactionHandler transactionHandler) {
+        if (transactionHandler == null) {
+            throw new IllegalArgumentException("The argument 'transactionHandler' should not be null.");
+        }
+        _transactionHandler = transactionHandler;
+        return this;
+    }
+
+    public QueryChunkTransactionHandler getTransactionHandler() {
+        return _transactionHandler;
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "chunk:{size=" + _chunkSize + ", range=" + _rangeSlicing + ", retry=" + _retryLimit + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public int getChunkSize() {
+        return _chunkSize;
+    }
+}
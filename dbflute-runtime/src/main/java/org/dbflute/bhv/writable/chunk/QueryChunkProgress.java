@@ -0,0 +1,83 @@
+/*
+ * Copyright 2014-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.bhv.writable.chunk;
+
+/**
+ * The progress of query chunk, immutable.
+ * @author jflute
+ * @since 1.3.0 (2026/10/19 Monday)
+ */
+public class QueryChunkProgress {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final String _tableDbName;
+    protected final int _chunkNumber; // 1-origin
+    protected final int _chunkCount;
+    protected final int _chunkUpdatedCount;
+    protected final int _totalUpdatedCount;
+    protected final int _retryCount;
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public QueryChunkProgress(String tableDbName, int chunkNumber, int chunkCount, int chunkUpdatedCount, int totalUpdatedCount,
+            int retryCount) {
+        _tableDbName = tableDbName;
+        _chunkNumber = chunkNumber;
+        _chunkCount = chunkCount;
+        _chunkUpdatedCount = chunkUpdatedCount;
+        _totalUpdatedCount = totalUpdatedCount;
+        _retryCount = retryCount;
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "progress:{" + _tableDbName + ", chunk=" + _chunkNumber + "/" + _chunkCount + ", updated=" + _chunkUpdatedCount + "/"
+                + _totalUpdatedCount + ", retry=" + _retryCount + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public String getTableDbName() {
+        return _tableDbName;
+    }
+
+    public int getChunkNumber() {
+        return _chunkNumber;
+    }
+
+    public int getChunkCount() {
+        return _chunkCount;
+    }
+
+    public int getChunkUpdatedCount() {
+        return _chunkUpdatedCount;
+    }
+
+    public int getTotalUpdatedCount() {
+        return _totalUpdatedCount;
+    }
+
+    public int getRetryCount() {
+        return _retryCount;
+    }
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2014-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.bhv.writable.chunk;
+
+import java.util.function.IntSupplier;
+
+/**
+ * The handler of query chunk transaction, which wraps each chunk execution.
+ * @author jflute
+ * @since 1.3.0 (2026/10/19 Monday)
+ */
+@FunctionalInterface
+public interface QueryChunkTransactionHandler {
+
+    /**
+     * @param chunkExecution The execution of the chunk, which returns updated count. (NotNull)
+     * @return The updated count returned by the execution. (NotMinus)
+     */
+    int handle(IntSupplier chunkExecution);
+}
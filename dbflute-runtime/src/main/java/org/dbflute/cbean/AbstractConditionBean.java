@@ -749,6 +749,33 @@ public abstract class AbstractConditionBean implements ConditionBean {
         getSqlClause().disableOverridingQuery();
     }
 
+    // -----------------------------------------------------
+    //                                         InScope Array
+    //                                         -------------
+    /** {@inheritDoc} */
+    public void enableInScopeArrayBind() {
+        assertOptionThatBadTiming("enableInScopeArrayBind()");
+        getSqlClause().enableInScopeArrayBind();
+    }
+
+    /** {@inheritDoc} */
+    public void disableInScopeArrayBind() {
+        assertOptionThatBadTiming("disableInScopeArrayBind()");
+        getSqlClause().disableInScopeArrayBind();
+    }
+
+    /** {@inheritDoc} */
+    public void enableInScopeBucketPadding() {
+        assertOptionThatBadTiming("enableInScopeBucketPadding()");
+        getSqlClause().enableInScopeBucketPadding();
+    }
+
+    /** {@inheritDoc} */
+    public void disableInScopeBucketPadding() {
+        assertOptionThatBadTiming("disableInScopeBucketPadding()");
+        getSqlClause().disableInScopeBucketPadding();
+    }
+
     // ===================================================================================
     //                                                                   Accept PrimaryKey
     //                                                                   =================
@@ -1796,6 +1823,16 @@ public abstract class AbstractConditionBean implements ConditionBean {
         } else {
             disableOverridingQuery();
         }
+        if (mainCQ.xgetSqlClause().isInScopeArrayBindEnabled()) {
+            getSqlClause().enableInScopeArrayBind();
+        } else {
+            getSqlClause().disableInScopeArrayBind();
+        }
+        if (mainCQ.xgetSqlClause().isInScopeBucketPaddingEnabled()) {
+            getSqlClause().enableInScopeBucketPadding();
+        } else {
+            getSqlClause().disableInScopeBucketPadding();
+        }
     }
 
     protected void xinheritStructurePossibleInnerJoin(ConditionQuery mainCQ) {
@@ -49,6 +49,7 @@ import org.dbflute.cbean.coption.ConditionOptionCall;
 import org.dbflute.cbean.coption.DerivedReferrerOption;
 import org.dbflute.cbean.coption.DerivedReferrerOptionFactory;
 import org.dbflute.cbean.coption.FromToOption;
+import org.dbflute.cbean.coption.InScopeArrayOption;
 import org.dbflute.cbean.coption.LikeSearchOption;
 import org.dbflute.cbean.coption.ParameterOption;
 import org.dbflute.cbean.coption.RangeOfOption;
@@ -1131,6 +1132,11 @@ public abstract class AbstractConditionQuery implements ConditionQuery {
         if (!prepareQueryChecked(key, value, cvalue, columnDbName).newClause()) {
             return;
         }
+        final InScopeArrayOption arrayOption = xgetSqlClause().prepareInScopeArrayOption(key, value);
+        if (arrayOption != null) { // bound as one array parameter so no split
+            setupConditionValueAndRegisterWhereClause(key, value, cvalue, columnDbName, arrayOption);
+            return;
+        }
         final int inScopeLimit = xgetSqlClause().getInScopeLimit();
         if (inScopeLimit > 0 && value.size() > inScopeLimit) {
             // if the key is for inScope, it should be split as 'or'
@@ -1169,9 +1175,23 @@ public abstract class AbstractConditionQuery implements ConditionQuery {
                     }
                 }
             }
-        } else {
-            setupConditionValueAndRegisterWhereClause(key, value, cvalue, columnDbName);
+        } else { // split chunks also come here by invokeQuery()
+            final List<?> paddedValue = xpadInScopeBucketIfNeeds(value, inScopeLimit);
+            setupConditionValueAndRegisterWhereClause(key, paddedValue, cvalue, columnDbName);
+        }
+    }
+
+    /**
+     * Pad the in-scope list up to bucket size (power of two) by repeating the last value if enabled.
+     * @param value The list of in-scope values, not over the limit here. (NotNull, NotEmpty)
+     * @param inScopeLimit The limit of in-scope. (zero or minus if no limit)
+     * @return The padded new list or the argument list if no padding. (NotNull)
+     */
+    protected List<?> xpadInScopeBucketIfNeeds(List<?> value, int inScopeLimit) {
+        if (!xgetSqlClause().isInScopeBucketPaddingEnabled()) {
+            return value;
         }
+        return DfCollectionUtil.padByPowerOfTwoBucket(value, inScopeLimit);
     }
 
     static boolean isConditionKeyInScope(ConditionKey key) { // default scope for test 
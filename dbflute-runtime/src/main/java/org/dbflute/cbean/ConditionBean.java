@@ -276,6 +276,34 @@ public interface ConditionBean extends PagingBean, WelcomeToDreamCruise {
      */
     void disableOverridingQuery();
 
+    /**
+     * Enable to bind in-scope list as one array parameter if the DB supports it. (default is disabled) <br>
+     * e.g. PostgreSQL: MEMBER_ID = any(?) instead of MEMBER_ID in (?, ?, ...) <br>
+     * The SQL text is stable whatever the size of the list. (normal in-scope if unsupported DB or element type) <br>
+     * You should call this before registrations of in-scope queries. <br>
+     * Union and SubQuery and other sub condition-bean inherit this.
+     */
+    void enableInScopeArrayBind();
+
+    /**
+     * Disable to bind in-scope list as one array parameter. (back to default)
+     */
+    void disableInScopeArrayBind();
+
+    /**
+     * Enable to pad in-scope list up to bucket size by repeating the last value. (default is disabled) <br>
+     * e.g. 3 elements: MEMBER_ID in (1, 2, 3, 3), 5 elements: (1, 2, 3, 4, 5, 5, 5, 5) <br>
+     * The bucket sizes are power of two up to in-scope limit, so the SQL texts are few for statement cache. <br>
+     * You should call this before registrations of in-scope queries. <br>
+     * Union and SubQuery and other sub condition-bean inherit this.
+     */
+    void enableInScopeBucketPadding();
+
+    /**
+     * Disable to pad in-scope list up to bucket size. (back to default)
+     */
+    void disableInScopeBucketPadding();
+
     // ===================================================================================
     //                                                                      Paging Setting
     //                                                                      ==============
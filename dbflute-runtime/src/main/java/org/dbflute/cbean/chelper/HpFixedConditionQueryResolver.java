@@ -64,8 +64,12 @@ public class HpFixedConditionQueryResolver implements FixedConditionResolver {
     protected final ConditionQuery _foreignCQ;
     protected final DBMetaProvider _dbmetaProvider;
 
-    // analyzing result in variable resolution (internal bridge variables for next step)
+    // resolved result in variable resolution (internal bridge variables for in-line view)
+    protected HpFixedConditionTemplate _template;
+    protected String[] _slotValues;
     protected String _resolvedFixedCondition;
+
+    // analyzing work area in template compiling (cleared after compiled)
     protected Map<String, InlineViewResource> _inlineViewResourceMap;
     protected String _inlineViewOptimizedCondition;
     protected boolean _inlineViewOptimizationWholeCondition;
@@ -87,35 +91,126 @@ public class HpFixedConditionQueryResolver implements FixedConditionResolver {
      * {@inheritDoc}
      */
     public String resolveVariable(String fixedCondition, boolean fixedInline) {
-        // should be called before optimization
-        // because analyzing process has saving the fixed condition
-        // so it needs to filter it before saved
-        fixedCondition = filterLocationMark(fixedCondition, fixedInline);
+        final HpFixedConditionTemplate template = prepareFixedConditionTemplate(fixedCondition, fixedInline);
+        final String[] slotValues = template.newSlotValues();
+        setupBasicSlotValue(slotValues);
+        setupOverRelationSlotValue(template, fixedCondition, slotValues);
+        _template = template;
+        _slotValues = slotValues;
+        _resolvedFixedCondition = template.getResolvedCondition().render(slotValues);
+        return _resolvedFixedCondition;
+    }
+
+    protected void setupBasicSlotValue(String[] slotValues) {
+        final String foreignAliasName = _foreignCQ.xgetAliasName();
+        slotValues[HpFixedConditionTemplate.SLOT_LOCAL_ALIAS] = _localCQ.xgetAliasName();
+        slotValues[HpFixedConditionTemplate.SLOT_FOREIGN_ALIAS] = foreignAliasName;
+        slotValues[HpFixedConditionTemplate.SLOT_LOCATION_BASE] = "pmb." + _localCQ.xgetLocationBase();
+        final SubQueryIndentProcessor processor = new SubQueryIndentProcessor();
+        final String subQueryIdentity = "fixed_" + foreignAliasName;
+        slotValues[HpFixedConditionTemplate.SLOT_SQ_BEGIN] = processor.resolveSubQueryBeginMark(subQueryIdentity);
+        slotValues[HpFixedConditionTemplate.SLOT_SQ_END] = processor.resolveSubQueryEndMark(subQueryIdentity);
+    }
+
+    protected void setupOverRelationSlotValue(HpFixedConditionTemplate template, String fixedCondition, String[] slotValues) {
+        // all pieces are processed even if same variable because foreign query is prepared by invoking
+        final List<HpFixedConditionTemplate.OverRelationPiece> overRelationList = template.getOverRelationList();
+        int index = 0;
+        for (HpFixedConditionTemplate.OverRelationPiece piece : overRelationList) {
+            final String pointTable = piece.getPointTable();
+            final String targetRelation = piece.getTargetRelation();
+            final ConditionQuery columnTargetCQ;
+            if (Srl.equalsPlain(pointTable, getLocalTableMark())) { // local table
+                columnTargetCQ = invokeColumnTargetCQ(_localCQ, targetRelation);
+            } else if (Srl.equalsPlain(pointTable, getForeignTableMark())) { // foreign table (joined in in-line view)
+                columnTargetCQ = _foreignCQ;
+            } else { // referrer table
+                final ConditionQuery relationPointCQ = findReferrerPointQuery(piece.getPointTableDbName());
+                if (relationPointCQ == null) {
+                    String notice = "The table for relation on fixed condition was not found in the scope.";
+                    throwIllegalFixedConditionOverRelationException(notice, pointTable, targetRelation, fixedCondition);
+                    return; // unreachable
+                }
+                columnTargetCQ = targetRelation != null ? invokeColumnTargetCQ(relationPointCQ, targetRelation) : relationPointCQ;
+            }
+            slotValues[HpFixedConditionTemplate.SLOT_OVER_RELATION_BEGIN + index] = columnTargetCQ.xgetAliasName(); // e.g. "dfrel_4"
+            ++index;
+        }
+    }
 
-        analyzeInlineViewOptimization(fixedCondition, fixedInline);
-        fixedCondition = filterBasicMark(fixedCondition, fixedInline);
-        fixedCondition = filterSubQueryIndentMark(fixedCondition, fixedInline, false);
-        fixedCondition = resolveOverRelation(fixedCondition, fixedInline);
+    protected ConditionQuery invokeColumnTargetCQ(ConditionQuery relationPointCQ, String targetRelation) {
+        return relationPointCQ.invokeForeignCQ(targetRelation);
+    }
 
-        final String resolvedFixedCondition;
+    protected ConditionQuery findReferrerPointQuery(String pointTableDbName) {
+        ConditionQuery referrerQuery = _localCQ.xgetReferrerQuery();
+        while (referrerQuery != null) {
+            if (Srl.equalsPlain(pointTableDbName, referrerQuery.asTableDbName())) {
+                break;
+            }
+            referrerQuery = referrerQuery.xgetReferrerQuery();
+        }
+        return referrerQuery; // null if not found
+    }
+
+    // ===================================================================================
+    //                                                                  Condition Template
+    //                                                                  ==================
+    protected HpFixedConditionTemplate prepareFixedConditionTemplate(String fixedCondition, boolean fixedInline) {
+        final String foreignTableDbName = _foreignCQ.asTableDbName();
+        final HpFixedConditionTemplate.TemplateKey templateKey =
+                new HpFixedConditionTemplate.TemplateKey(getClass(), foreignTableDbName, fixedCondition, fixedInline);
+        HpFixedConditionTemplate template = HpFixedConditionTemplate.findCached(templateKey);
+        if (template == null) {
+            template = compileFixedConditionTemplate(fixedCondition, fixedInline);
+            HpFixedConditionTemplate.cache(templateKey, template);
+        }
+        return template;
+    }
+
+    protected HpFixedConditionTemplate compileFixedConditionTemplate(String fixedCondition, boolean fixedInline) {
+        try {
+            // should be compiled before optimization
+            // because analyzing process has saving the fixed condition
+            String compiled = compileLocationMark(fixedCondition);
+
+            analyzeInlineViewOptimization(compiled, fixedInline);
+            compiled = compileBasicMark(compiled);
+            compiled = compileSubQueryIndentMark(compiled, fixedInline, false);
+            final List<HpFixedConditionTemplate.OverRelationPiece> overRelationList =
+                    new ArrayList<HpFixedConditionTemplate.OverRelationPiece>();
+            compiled = compileOverRelation(compiled, fixedCondition, overRelationList);
+            compiled = decideResolvedFixedCondition(compiled);
+
+            final HpFixedConditionTemplate.TemplateClause resolvedCondition = HpFixedConditionTemplate.TemplateClause.compile(compiled);
+            final HpFixedConditionTemplate.InlineViewTemplate outerInlineView = compileFixedInlineView(false);
+            final HpFixedConditionTemplate.InlineViewTemplate innerInlineView = compileFixedInlineView(true);
+            return new HpFixedConditionTemplate(resolvedCondition, overRelationList, outerInlineView, innerInlineView);
+        } finally { // work area is not used after compiling
+            _inlineViewResourceMap = null;
+            _inlineViewOptimizedCondition = null;
+            _inlineViewOptimizationWholeCondition = false;
+            _inlineViewOptimizedLineNumberSet = null;
+        }
+    }
+
+    protected String decideResolvedFixedCondition(String fixedCondition) {
         final String delimiter = getInlineMark();
         if (fixedCondition.contains(delimiter)) { // mark optimization
             final String inlineCondition = Srl.substringFirstFront(fixedCondition, delimiter);
             final String filtered = Srl.rtrim(inlineCondition);
             if (filtered.trim().length() > 0) {
-                resolvedFixedCondition = filtered;
+                return filtered;
             } else { // mark exists at first line (same as whole actually)
-                resolvedFixedCondition = OPTIMIZED_MARK;
+                return OPTIMIZED_MARK;
             }
         } else {
             if (_inlineViewOptimizationWholeCondition) { // whole optimization
-                resolvedFixedCondition = OPTIMIZED_MARK; // as dummy
+                return OPTIMIZED_MARK; // as dummy
             } else { // part optimization or no optimized
-                resolvedFixedCondition = fixedCondition;
+                return fixedCondition;
             }
         }
-        _resolvedFixedCondition = resolvedFixedCondition;
-        return _resolvedFixedCondition;
     }
 
     // ===================================================================================
@@ -244,20 +339,24 @@ public class HpFixedConditionQueryResolver implements FixedConditionResolver {
     }
 
     // ===================================================================================
-    //                                                            Filter Mark and Variable
-    //                                                            ========================
-    protected String filterBasicMark(String fixedCondition, boolean fixedInline) {
-        final String localAliasName = _localCQ.xgetAliasName();
-        final String foreignAliasName = _foreignCQ.xgetAliasName();
-        fixedCondition = replaceString(fixedCondition, "$$alias$$", foreignAliasName); // for compatibility
-        fixedCondition = replaceString(fixedCondition, getLocalAliasMark(), localAliasName);
+    //                                                                   Compile Mark Slot
+    //                                                                   =================
+    protected String compileLocationMark(String fixedCondition) {
+        return replaceString(fixedCondition, getLocationBaseMark() + ".", toSlotMark(HpFixedConditionTemplate.SLOT_LOCATION_BASE));
+    }
+
+    protected String compileBasicMark(String fixedCondition) {
+        final String localAliasSlot = toSlotMark(HpFixedConditionTemplate.SLOT_LOCAL_ALIAS);
+        final String foreignAliasSlot = toSlotMark(HpFixedConditionTemplate.SLOT_FOREIGN_ALIAS);
+        fixedCondition = replaceString(fixedCondition, "$$alias$$", foreignAliasSlot); // for compatibility
+        fixedCondition = replaceString(fixedCondition, getLocalAliasMark(), localAliasSlot);
         if (!_inlineViewOptimizationWholeCondition) {
-            fixedCondition = replaceString(fixedCondition, getForeignAliasMark(), foreignAliasName);
+            fixedCondition = replaceString(fixedCondition, getForeignAliasMark(), foreignAliasSlot);
         }
         return fixedCondition;
     }
 
-    protected String filterSubQueryIndentMark(String fixedCondition, boolean fixedInline, boolean optimized) {
+    protected String compileSubQueryIndentMark(String fixedCondition, boolean fixedInline, boolean optimized) {
         final String sqBeginMark = getSqBeginMark();
         final String sqEndMark = getSqEndMark();
         if (!fixedCondition.contains(sqBeginMark) || !fixedCondition.contains(sqEndMark)) {
@@ -267,13 +366,9 @@ public class HpFixedConditionQueryResolver implements FixedConditionResolver {
         final String indentFrom = "\n)" + sqEndMark;
         final String indentTo = "\n" + sqEndIndent + ")" + sqEndMark;
         fixedCondition = Srl.replace(fixedCondition, indentFrom, indentTo);
-        final SubQueryIndentProcessor processor = new SubQueryIndentProcessor();
-        final String foreignAliasName = _foreignCQ.xgetAliasName();
-        final String subQueryIdentity = "fixed_" + foreignAliasName;
-        final String beginMark = processor.resolveSubQueryBeginMark(subQueryIdentity);
-        fixedCondition = Srl.replace(fixedCondition, sqBeginMark, beginMark);
-        final String endMark = processor.resolveSubQueryEndMark(subQueryIdentity);
-        fixedCondition = Srl.replace(fixedCondition, sqEndMark, endMark);
+        // sub-query identity depends on foreign alias so resolved per query
+        fixedCondition = Srl.replace(fixedCondition, sqBeginMark, toSlotMark(HpFixedConditionTemplate.SLOT_SQ_BEGIN));
+        fixedCondition = Srl.replace(fixedCondition, sqEndMark, toSlotMark(HpFixedConditionTemplate.SLOT_SQ_END));
         return fixedCondition;
     }
 
@@ -303,15 +398,18 @@ public class HpFixedConditionQueryResolver implements FixedConditionResolver {
         return indent;
     }
 
-    protected String filterLocationMark(String fixedCondition, boolean fixedInline) {
-        final String locationBase = _localCQ.xgetLocationBase();
-        return replaceString(fixedCondition, getLocationBaseMark() + ".", "pmb." + locationBase);
-    }
-
     // ===================================================================================
-    //                                                               Resolve Over Relation
+    //                                                               Compile Over Relation
     //                                                               =====================
-    protected String resolveOverRelation(String fixedCondition, boolean fixedInline) {
+    /**
+     * Compile over-relation variables of the fixed-condition to slots of relation alias.
+     * @param fixedCondition The fixed-condition whose basic marks are already compiled. (NotNull)
+     * @param plainCondition The plain fixed-condition for exception message. (NotNull)
+     * @param pieceList The list of over-relation pieces to be added in appearance order. (NotNull)
+     * @return The compiled fixed-condition. (NotNull)
+     */
+    protected String compileOverRelation(String fixedCondition, String plainCondition,
+            List<HpFixedConditionTemplate.OverRelationPiece> pieceList) {
         // analyze:
         // - "$$over($localTable.memberSecurity)$$.REMINDER_QUESTION"
         // - "$$over($foreignTable.memberStatus, DISPLAY_ORDER)$$.ORDER_NO"
@@ -357,43 +455,26 @@ public class HpFixedConditionQueryResolver implements FixedConditionResolver {
                 }
             }
 
-            final ConditionQuery relationPointCQ;
-            final ConditionQuery columnTargetCQ;
+            String pointTableDbName = null;
             if (Srl.equalsPlain(pointTable, getLocalTableMark())) { // local table
-                relationPointCQ = _localCQ;
-                if (targetRelation != null) {
-                    columnTargetCQ = invokeColumnTargetCQ(relationPointCQ, targetRelation);
-                } else {
+                if (targetRelation == null) {
                     String notice = "The relation on fixed condition is required if the table is not referrer.";
-                    throwIllegalFixedConditionOverRelationException(notice, pointTable, null, fixedCondition);
+                    throwIllegalFixedConditionOverRelationException(notice, pointTable, null, plainCondition);
                     return null; // unreachable
                 }
             } else if (Srl.equalsPlain(pointTable, getForeignTableMark())) { // foreign table
-                relationPointCQ = _foreignCQ;
-                columnTargetCQ = relationPointCQ;
                 if (targetRelation == null) {
                     String notice = "The relation on fixed condition is required if the table is not referrer.";
-                    throwIllegalFixedConditionOverRelationException(notice, pointTable, null, fixedCondition);
+                    throwIllegalFixedConditionOverRelationException(notice, pointTable, null, plainCondition);
                     return null; // unreachable
                 }
-                // prepare fixed InlineView
-                if (_inlineViewResourceMap == null) {
-                    _inlineViewResourceMap = new LinkedHashMap<String, InlineViewResource>();
-                }
-                final InlineViewResource resource;
-                if (_inlineViewResourceMap.containsKey(targetRelation)) {
-                    resource = _inlineViewResourceMap.get(targetRelation);
-                } else {
-                    resource = new InlineViewResource();
-                    _inlineViewResourceMap.put(targetRelation, resource);
-                }
                 final String columnName;
                 {
                     // e.g. "$$over($localTable.memberSecurity)$$|.|REMINDER_QUESTION = ..."
                     final IndexOfInfo rearIndex = Srl.indexOfFirst(relationEndIndex.substringRearTrimmed(), ".");
                     if (rearIndex == null || rearIndex.getIndex() > 0) {
                         String notice = "The OverRelation variable should continue to column after the variable.";
-                        throwIllegalFixedConditionOverRelationException(notice, pointTable, targetRelation, fixedCondition);
+                        throwIllegalFixedConditionOverRelationException(notice, pointTable, targetRelation, plainCondition);
                         return null; // unreachable
                     }
                     final String columnStart = rearIndex.substringRear(); // e.g. REMINDER_QUESTION = ...
@@ -402,71 +483,55 @@ public class HpFixedConditionQueryResolver implements FixedConditionResolver {
                 }
                 // the secondArg should be a column DB name, and then rear column is alias name
                 final String resolvedColumn = secondArg != null ? secondArg + " as " + columnName : columnName;
-                resource.addAdditionalColumn(resolvedColumn); // selected in in-line view
-
-                if (!resource.hasJoinInfo()) { // first analyze
-                    final List<String> traceList = Srl.splitList(targetRelation, ".");
-                    DBMeta currentDBMeta = _dbmetaProvider.provideDBMeta(_foreignCQ.asTableDbName());
-                    for (String trace : traceList) {
-                        final ForeignInfo foreignInfo = currentDBMeta.findForeignInfo(trace);
-                        resource.addJoinInfo(foreignInfo);
-                        currentDBMeta = foreignInfo.getForeignDBMeta();
-                    }
-                }
-                final List<ForeignInfo> joinInfoList = resource.getJoinInfoList();
-                if (!joinInfoList.isEmpty()) { // basically true (but just in case)
-                    final ForeignInfo latestForeignInfo = joinInfoList.get(joinInfoList.size() - 1);
-                    resource.addOptimizedVariable(relationVariable, latestForeignInfo);
-                }
+                prepareInlineViewResource(relationVariable, targetRelation, resolvedColumn);
             } else { // referrer table
-                final DBMeta pointDBMeta;
                 try {
-                    pointDBMeta = _dbmetaProvider.provideDBMeta(pointTable);
+                    pointTableDbName = _dbmetaProvider.provideDBMeta(pointTable).getTableDbName();
                 } catch (DBMetaNotFoundException e) {
                     String notice = "The table for relation on fixed condition does not exist.";
-                    throwIllegalFixedConditionOverRelationException(notice, pointTable, targetRelation, fixedCondition, e);
-                    return null; // unreachable
-                }
-                ConditionQuery referrerQuery = _localCQ.xgetReferrerQuery();
-                while (true) {
-                    if (referrerQuery == null) { // means not found
-                        break;
-                    }
-                    if (Srl.equalsPlain(pointDBMeta.getTableDbName(), referrerQuery.asTableDbName())) {
-                        break;
-                    }
-                    referrerQuery = referrerQuery.xgetReferrerQuery();
-                }
-                relationPointCQ = referrerQuery;
-                if (relationPointCQ == null) {
-                    String notice = "The table for relation on fixed condition was not found in the scope.";
-                    throwIllegalFixedConditionOverRelationException(notice, pointTable, targetRelation, fixedCondition);
+                    throwIllegalFixedConditionOverRelationException(notice, pointTable, targetRelation, plainCondition, e);
                     return null; // unreachable
                 }
-                if (targetRelation != null) {
-                    columnTargetCQ = invokeColumnTargetCQ(relationPointCQ, targetRelation);
-                } else {
-                    columnTargetCQ = relationPointCQ;
-                }
             }
 
-            // resolve over-relation variables in clause
-            final String relationAlias = columnTargetCQ.xgetAliasName(); // e.g. "dfrel_4"
-            resolvedClause = replaceString(resolvedClause, relationVariable, relationAlias);
+            // replace over-relation variables in clause with slot (no replace after this if same variable)
+            final String relationSlot = toSlotMark(HpFixedConditionTemplate.SLOT_OVER_RELATION_BEGIN + pieceList.size());
+            resolvedClause = replaceString(resolvedClause, relationVariable, relationSlot);
+            pieceList.add(new HpFixedConditionTemplate.OverRelationPiece(relationVariable, pointTable, pointTableDbName, targetRelation));
 
             // after case for loop
             remainder = relationEndIndex.substringRear();
 
-            // no replace even if same relation because of additional column
-            //// to prevent from processing same one
-            //remainder = replaceString(remainder, relationVariable, relationAlias);
+            // no skip even if same relation because of additional column
         }
         resolvedClause = adjustOptimizedLine(resolvedClause);
         return resolvedClause;
     }
 
-    protected ConditionQuery invokeColumnTargetCQ(ConditionQuery relationPointCQ, String targetRelation) {
-        return relationPointCQ.invokeForeignCQ(targetRelation);
+    protected void prepareInlineViewResource(String relationVariable, String targetRelation, String resolvedColumn) {
+        if (_inlineViewResourceMap == null) {
+            _inlineViewResourceMap = new LinkedHashMap<String, InlineViewResource>();
+        }
+        InlineViewResource resource = _inlineViewResourceMap.get(targetRelation);
+        if (resource == null) {
+            resource = new InlineViewResource();
+            _inlineViewResourceMap.put(targetRelation, resource);
+        }
+        resource.addAdditionalColumn(resolvedColumn); // selected in in-line view
+        if (!resource.hasJoinInfo()) { // first analyze
+            final List<String> traceList = Srl.splitList(targetRelation, ".");
+            DBMeta currentDBMeta = _dbmetaProvider.provideDBMeta(_foreignCQ.asTableDbName());
+            for (String trace : traceList) {
+                final ForeignInfo foreignInfo = currentDBMeta.findForeignInfo(trace);
+                resource.addJoinInfo(foreignInfo);
+                currentDBMeta = foreignInfo.getForeignDBMeta();
+            }
+        }
+        final List<ForeignInfo> joinInfoList = resource.getJoinInfoList();
+        if (!joinInfoList.isEmpty()) { // basically true (but just in case)
+            final ForeignInfo latestForeignInfo = joinInfoList.get(joinInfoList.size() - 1);
+            resource.addOptimizedVariable(relationVariable, latestForeignInfo);
+        }
     }
 
     protected String adjustOptimizedLine(String resolvedClause) {
@@ -492,15 +557,110 @@ public class HpFixedConditionQueryResolver implements FixedConditionResolver {
         return removePrefixConnector(filteredSb.toString());
     }
 
+    // ===================================================================================
+    //                                                            Filter Mark and Variable
+    //                                                            ========================
+    // resolved by the compiled template now, these are kept for sub-class calling them
+    /**
+     * Filter the location mark of the fixed-condition by this query.
+     * @param fixedCondition The fixed-condition that has marks. (NotNull)
+     * @param fixedInline Is the fixed-condition for in-line view?
+     * @return The filtered fixed-condition. (NotNull)
+     * @deprecated not called by resolving process, override {@link #compileLocationMark(String)} instead
+     */
+    @Deprecated
+    protected String filterLocationMark(String fixedCondition, boolean fixedInline) {
+        return renderByBasicSlotValue(compileLocationMark(fixedCondition));
+    }
+
+    /**
+     * Filter the basic marks (alias marks) of the fixed-condition by this query.
+     * @param fixedCondition The fixed-condition that has marks. (NotNull)
+     * @param fixedInline Is the fixed-condition for in-line view?
+     * @return The filtered fixed-condition. (NotNull)
+     * @deprecated not called by resolving process, override {@link #compileBasicMark(String)} instead
+     */
+    @Deprecated
+    protected String filterBasicMark(String fixedCondition, boolean fixedInline) {
+        return renderByBasicSlotValue(compileBasicMark(fixedCondition));
+    }
+
+    /**
+     * Filter the sub-query indent marks of the fixed-condition by this query.
+     * @param fixedCondition The fixed-condition that has marks. (NotNull)
+     * @param fixedInline Is the fixed-condition for in-line view?
+     * @param optimized Is the fixed-condition optimized in in-line view?
+     * @return The filtered fixed-condition. (NotNull)
+     * @deprecated not called by resolving process, override {@link #compileSubQueryIndentMark(String, boolean, boolean)} instead
+     */
+    @Deprecated
+    protected String filterSubQueryIndentMark(String fixedCondition, boolean fixedInline, boolean optimized) {
+        return renderByBasicSlotValue(compileSubQueryIndentMark(fixedCondition, fixedInline, optimized));
+    }
+
+    /**
+     * Resolve the over-relation variables of the fixed-condition by this query.
+     * @param fixedCondition The fixed-condition that has over-relation variables. (NotNull)
+     * @param fixedInline Is the fixed-condition for in-line view?
+     * @return The resolved fixed-condition. (NotNull)
+     * @deprecated not called by resolving process, override {@link #compileOverRelation(String, String, List)} instead
+     */
+    @Deprecated
+    protected String resolveOverRelation(String fixedCondition, boolean fixedInline) {
+        final List<HpFixedConditionTemplate.OverRelationPiece> overRelationList =
+                new ArrayList<HpFixedConditionTemplate.OverRelationPiece>();
+        final String compiled;
+        try {
+            compiled = compileOverRelation(fixedCondition, fixedCondition, overRelationList);
+        } finally { // in-line view resource is prepared by template
+            _inlineViewResourceMap = null;
+        }
+        final HpFixedConditionTemplate.TemplateClause clause = HpFixedConditionTemplate.TemplateClause.compile(compiled);
+        final HpFixedConditionTemplate template = new HpFixedConditionTemplate(clause, overRelationList, null, null);
+        final String[] slotValues = template.newSlotValues();
+        setupBasicSlotValue(slotValues);
+        setupOverRelationSlotValue(template, fixedCondition, slotValues);
+        return clause.render(slotValues);
+    }
+
+    protected String renderByBasicSlotValue(String compiled) {
+        final String[] slotValues = new String[HpFixedConditionTemplate.SLOT_OVER_RELATION_BEGIN];
+        setupBasicSlotValue(slotValues);
+        return HpFixedConditionTemplate.TemplateClause.compile(compiled).render(slotValues);
+    }
+
     // ===================================================================================
     //                                                            Resolve Fixed InlineView
     //                                                            ========================
     public String resolveFixedInlineView(String foreignTableSqlName, boolean treatedAsInnerJoin) {
         // it is precondition that the fixed condition has already been resolved here
         // so it can uses bridge variables here
-        if (_inlineViewResourceMap == null || _inlineViewResourceMap.isEmpty()) {
+        if (_template == null) { // basically no way (but just in case)
+            return foreignTableSqlName;
+        }
+        final HpFixedConditionTemplate.InlineViewTemplate inlineView = _template.getInlineView(treatedAsInnerJoin);
+        if (inlineView == null) {
             return foreignTableSqlName; // not uses InlineView
         }
+        _slotValues[HpFixedConditionTemplate.SLOT_FOREIGN_TABLE] = foreignTableSqlName;
+        final String resolvedFixedCondition = _resolvedFixedCondition; // basically not null
+        final StringBuilder sqlSb = new StringBuilder();
+        sqlSb.append(inlineView.getSelectClause());
+        final List<String> columnMarkList = inlineView.getAdditionalColumnMarkList();
+        final List<String> realColumnList = inlineView.getAdditionalRealColumnList();
+        for (int i = 0; i < columnMarkList.size(); i++) {
+            if (resolvedFixedCondition != null && resolvedFixedCondition.contains(columnMarkList.get(i))) {
+                sqlSb.append(", ").append(realColumnList.get(i));
+            }
+        }
+        inlineView.getRestClause().renderTo(sqlSb, _slotValues);
+        return sqlSb.toString();
+    }
+
+    protected HpFixedConditionTemplate.InlineViewTemplate compileFixedInlineView(boolean treatedAsInnerJoin) {
+        if (_inlineViewResourceMap == null || _inlineViewResourceMap.isEmpty()) {
+            return null; // not uses InlineView
+        }
         // alias is required because foreignTableSqlName may be (normal) InlineView
         final String baseAlias = "dffixedbase";
         final String baseIndent;
@@ -513,8 +673,8 @@ public class HpFixedConditionQueryResolver implements FixedConditionResolver {
         }
         final StringBuilder joinSb = new StringBuilder();
         final Map<ForeignInfo, String> relationMap = new HashMap<ForeignInfo, String>();
+        final List<String> additionalColumnMarkList = new ArrayList<String>();
         final List<String> additionalRealColumnList = new ArrayList<String>();
-        final String resolvedFixedCondition = _resolvedFixedCondition; // basically not null
         String optimizedCondition = _inlineViewOptimizedCondition;
         int groupIndex = 0;
         for (InlineViewResource resource : _inlineViewResourceMap.values()) {
@@ -560,27 +720,26 @@ public class HpFixedConditionQueryResolver implements FixedConditionResolver {
             if (optimizedCondition != null) {
                 optimizedCondition = resolvedOptimizedCondition(optimizedCondition, resource, foreignAliasMap);
             }
-            collectAdditionalRealColumnList(additionalRealColumnList, resolvedFixedCondition, resource, foreignAlias);
+            collectAdditionalRealColumnList(additionalColumnMarkList, additionalRealColumnList, resource, foreignAlias);
             ++groupIndex;
         }
         if (optimizedCondition != null) { // foreign alias for in-line view is resolved here
             optimizedCondition = replaceString(optimizedCondition, getForeignAliasMark(), baseAlias);
-            optimizedCondition = filterSubQueryIndentMark(optimizedCondition, false, true);
+            optimizedCondition = compileSubQueryIndentMark(optimizedCondition, false, true);
         }
-        final StringBuilder sqlSb = new StringBuilder();
-        sqlSb.append("(select ").append(baseAlias).append(".*");
-        for (String columnName : additionalRealColumnList) {
-            sqlSb.append(", ").append(columnName);
-        }
-        sqlSb.append(ln()).append(baseIndent);
-        sqlSb.append("   from ").append(foreignTableSqlName).append(" ").append(baseAlias);
-        sqlSb.append(joinSb);
+        final StringBuilder restSb = new StringBuilder();
+        restSb.append(ln()).append(baseIndent);
+        restSb.append("   from ").append(toSlotMark(HpFixedConditionTemplate.SLOT_FOREIGN_TABLE)).append(" ").append(baseAlias);
+        restSb.append(joinSb);
         if (optimizedCondition != null) {
-            buildOptimizedInlineWhereClause(optimizedCondition, baseIndent, sqlSb);
+            buildOptimizedInlineWhereClause(optimizedCondition, baseIndent, restSb);
         }
-        sqlSb.append(ln()).append(baseIndent);
-        sqlSb.append(")");
-        return sqlSb.toString();
+        restSb.append(ln()).append(baseIndent);
+        restSb.append(")");
+        final String selectClause = "(select " + baseAlias + ".*";
+        final HpFixedConditionTemplate.TemplateClause restClause = HpFixedConditionTemplate.TemplateClause.compile(restSb.toString());
+        return new HpFixedConditionTemplate.InlineViewTemplate(selectClause, additionalColumnMarkList, additionalRealColumnList,
+                restClause);
     }
 
     protected String resolvedOptimizedCondition(String optimizedCondition, InlineViewResource resource,
@@ -636,8 +795,9 @@ public class HpFixedConditionQueryResolver implements FixedConditionResolver {
         return optimizedCondition;
     }
 
-    protected void collectAdditionalRealColumnList(List<String> additionalRealColumnList, String resolvedFixedCondition,
+    protected void collectAdditionalRealColumnList(List<String> additionalColumnMarkList, List<String> additionalRealColumnList,
             InlineViewResource resource, String foreignAlias) {
+        // real columns are selected only when they are used in resolved fixed condition (judged per query)
         final Set<String> additionalColumnSet = resource.getAdditionalColumnSet();
         if (additionalColumnSet == null) { // basically no way here (but just in case)
             return;
@@ -651,9 +811,8 @@ public class HpFixedConditionQueryResolver implements FixedConditionResolver {
             } else {
                 columnMark = "." + columnName;
             }
-            if (resolvedFixedCondition != null && resolvedFixedCondition.contains(columnMark)) {
-                additionalRealColumnList.add(foreignAlias + "." + columnName);
-            }
+            additionalColumnMarkList.add(columnMark);
+            additionalRealColumnList.add(foreignAlias + "." + columnName);
         }
     }
 
@@ -661,9 +820,9 @@ public class HpFixedConditionQueryResolver implements FixedConditionResolver {
         sqlSb.append(ln()).append(baseIndent);
         sqlSb.append("  where ");
 
-        // sub-query marks are already replaced here so it uses indent processor
-        final String sqBeginMark = SubQueryIndentProcessor.BEGIN_MARK_PREFIX;
-        final String sqEndMark = SubQueryIndentProcessor.END_MARK_PREFIX;
+        // sub-query marks are already compiled to slots here
+        final String sqBeginMark = toSlotMark(HpFixedConditionTemplate.SLOT_SQ_BEGIN);
+        final String sqEndMark = toSlotMark(HpFixedConditionTemplate.SLOT_SQ_END);
 
         final List<String> lineList = Srl.splitList(optimizedCondition, ln());
         boolean subQueryIndentScope = false;
@@ -844,6 +1003,10 @@ public class HpFixedConditionQueryResolver implements FixedConditionResolver {
         return Srl.replace(text, fromText, toText);
     }
 
+    protected String toSlotMark(int slot) {
+        return HpFixedConditionTemplate.toSlotMark(slot);
+    }
+
     protected String ln() {
         return DBFluteSystem.ln();
     }
@@ -0,0 +1,350 @@
+/*
+ * Copyright 2014-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.cbean.chelper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The compiled template of fixed-condition, cached per relation (fixed-condition and foreign table). <br>
+ * Marks, over-relation variables and in-line view are compiled to literal parts and slots,
+ * so only slot values (aliases and location) are rendered for each query.
+ * @author jflute
+ * @since 1.3.0 (2026/10/19 Monday)
+ */
+public class HpFixedConditionTemplate {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    /** The limit size of template cache, no more caching if over it. */
+    protected static final int TEMPLATE_CACHE_LIMIT = 1000;
+
+    /** The cache of template keyed by relation of fixed-condition. (NotNull) */
+    protected static final Map<TemplateKey, HpFixedConditionTemplate> _templateCacheMap =
+            new ConcurrentHashMap<TemplateKey, HpFixedConditionTemplate>();
+
+    public static final int SLOT_LOCAL_ALIAS = 0;
+    public static final int SLOT_FOREIGN_ALIAS = 1;
+    public static final int SLOT_LOCATION_BASE = 2;
+    public static final int SLOT_SQ_BEGIN = 3;
+    public static final int SLOT_SQ_END = 4;
+    public static final int SLOT_FOREIGN_TABLE = 5;
+    /** The first slot number of over-relation, the index of over-relation piece is added to it. */
+    public static final int SLOT_OVER_RELATION_BEGIN = 6;
+
+    // private-use characters that never appear in SQL (and no effect to line or connector analysis)
+    protected static final char SLOT_BEGIN_CHAR = '\uE000';
+    protected static final char SLOT_END_CHAR = '\uE001';
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final TemplateClause _resolvedCondition; // not null, resolved fixed-condition
+    protected final List<OverRelationPiece> _overRelationList; // not null, read-only, empty allowed
+    protected final InlineViewTemplate _outerInlineView; // null allowed, when no fixed in-line view
+    protected final InlineViewTemplate _innerInlineView; // null allowed, when no fixed in-line view
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param resolvedCondition The compiled clause of resolved fixed-condition. (NotNull)
+     * @param overRelationList The list of parsed over-relation variables in appearance order. (NotNull, EmptyAllowed)
+     * @param outerInlineView The compiled in-line view for left outer join. (NullAllowed: when no fixed in-line view)
+     * @param innerInlineView The compiled in-line view for inner join. (NullAllowed: when no fixed in-line view)
+     */
+    public HpFixedConditionTemplate(TemplateClause resolvedCondition, List<OverRelationPiece> overRelationList,
+            InlineViewTemplate outerInlineView, InlineViewTemplate innerInlineView) {
+        _resolvedCondition = resolvedCondition;
+        _overRelationList = Collections.unmodifiableList(overRelationList);
+        _outerInlineView = outerInlineView;
+        _innerInlineView = innerInlineView;
+    }
+
+    // ===================================================================================
+    //                                                                      Template Cache
+    //                                                                      ==============
+    /**
+     * @param templateKey The key of relation for the fixed-condition. (NotNull)
+     * @return The cached template. (NullAllowed: if not cached yet)
+     */
+    public static HpFixedConditionTemplate findCached(TemplateKey templateKey) {
+        return _templateCacheMap.get(templateKey);
+    }
+
+    /**
+     * @param templateKey The key of relation for the fixed-condition. (NotNull)
+     * @param template The compiled template to be cached. (NotNull)
+     */
+    public static void cache(TemplateKey templateKey, HpFixedConditionTemplate template) {
+        if (_templateCacheMap.size() < TEMPLATE_CACHE_LIMIT) { // rough limit, no problem if a little over
+            _templateCacheMap.putIfAbsent(templateKey, template);
+        }
+    }
+
+    /**
+     * Clear the template cache, basically for test or hot deploy.
+     */
+    public static void clearCache() {
+        _templateCacheMap.clear();
+    }
+
+    // ===================================================================================
+    //                                                                                Slot
+    //                                                                                ====
+    /**
+     * @param slot The number of slot, e.g. {@link #SLOT_LOCAL_ALIAS}. (NotMinus)
+     * @return The mark of slot embedded in clause before compiling. (NotNull)
+     */
+    public static String toSlotMark(int slot) {
+        return SLOT_BEGIN_CHAR + String.valueOf(slot) + SLOT_END_CHAR;
+    }
+
+    /**
+     * @return The new array for slot values of this template, which is filled per query. (NotNull)
+     */
+    public String[] newSlotValues() {
+        return new String[SLOT_OVER_RELATION_BEGIN + _overRelationList.size()];
+    }
+
+    // ===================================================================================
+    //                                                                     Template Clause
+    //                                                                     ===============
+    /**
+     * The clause compiled to literal parts and slots between them.
+     */
+    public static class TemplateClause {
+
+        protected final String[] _literals; // not null, size is slots + 1
+        protected final int[] _slots; // not null, empty allowed
+        protected final int _literalLength;
+
+        protected TemplateClause(String[] literals, int[] slots) {
+            _literals = literals;
+            _slots = slots;
+            int literalLength = 0;
+            for (String literal : literals) {
+                literalLength += literal.length();
+            }
+            _literalLength = literalLength;
+        }
+
+        /**
+         * @param markedClause The clause that has slot marks by {@link HpFixedConditionTemplate#toSlotMark(int)}. (NotNull)
+         * @return The compiled clause. (NotNull)
+         */
+        public static TemplateClause compile(String markedClause) {
+            final List<String> literalList = new ArrayList<String>();
+            final List<Integer> slotList = new ArrayList<Integer>();
+            int current = 0;
+            while (true) {
+                final int beginIndex = markedClause.indexOf(SLOT_BEGIN_CHAR, current);
+                if (beginIndex < 0) {
+                    break;
+                }
+                final int endIndex = markedClause.indexOf(SLOT_END_CHAR, beginIndex);
+                literalList.add(markedClause.substring(current, beginIndex));
+                slotList.add(Integer.valueOf(markedClause.substring(beginIndex + 1, endIndex)));
+                current = endIndex + 1;
+            }
+            literalList.add(markedClause.substring(current));
+            final int[] slots = new int[slotList.size()];
+            for (int i = 0; i < slots.length; i++) {
+                slots[i] = slotList.get(i);
+            }
+            return new TemplateClause(literalList.toArray(new String[literalList.size()]), slots);
+        }
+
+        /**
+         * @param slotValues The array of slot values indexed by slot number. (NotNull)
+         * @return The rendered clause. (NotNull)
+         */
+        public String render(String[] slotValues) {
+            if (_slots.length == 0) { // e.g. no mark
+                return _literals[0];
+            }
+            final StringBuilder sb = new StringBuilder(_literalLength + _slots.length * 16);
+            renderTo(sb, slotValues);
+            return sb.toString();
+        }
+
+        /**
+         * @param sb The builder to be appended. (NotNull)
+         * @param slotValues The array of slot values indexed by slot number. (NotNull)
+         */
+        public void renderTo(StringBuilder sb, String[] slotValues) {
+            sb.append(_literals[0]);
+            for (int i = 0; i < _slots.length; i++) {
+                sb.append(slotValues[_slots[i]]).append(_literals[i + 1]);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "clause:{literals=" + _literals.length + ", slots=" + _slots.length + "}";
+        }
+    }
+
+    // ===================================================================================
+    //                                                                         Inline View
+    //                                                                         ===========
+    /**
+     * The compiled in-line view of fixed-condition, e.g. (select dffixedbase.*, ... from ... where ...).
+     */
+    public static class InlineViewTemplate {
+
+        protected final String _selectClause; // not null, e.g. "(select dffixedbase.*"
+        protected final List<String> _additionalColumnMarkList; // not null, e.g. ".ORDER_NO" (selected if used in condition)
+        protected final List<String> _additionalRealColumnList; // not null, e.g. "dffixedjoin_0_0.DISPLAY_ORDER as ORDER_NO"
+        protected final TemplateClause _restClause; // not null, from clause to end of in-line view
+
+        public InlineViewTemplate(String selectClause, List<String> additionalColumnMarkList, List<String> additionalRealColumnList,
+                TemplateClause restClause) {
+            _selectClause = selectClause;
+            _additionalColumnMarkList = Collections.unmodifiableList(additionalColumnMarkList);
+            _additionalRealColumnList = Collections.unmodifiableList(additionalRealColumnList);
+            _restClause = restClause;
+        }
+
+        public String getSelectClause() {
+            return _selectClause;
+        }
+
+        public List<String> getAdditionalColumnMarkList() {
+            return _additionalColumnMarkList;
+        }
+
+        public List<String> getAdditionalRealColumnList() {
+            return _additionalRealColumnList;
+        }
+
+        public TemplateClause getRestClause() {
+            return _restClause;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                        Template Key
+    //                                                                        ============
+    public static class TemplateKey {
+
+        protected final Class<?> _resolverType; // because marks can be overridden
+        protected final String _foreignTableDbName; // over-relation of foreign table depends on it
+        protected final String _fixedCondition; // basically constant of DB meta so hash is cached in it
+        protected final boolean _fixedInline;
+        protected final int _hashCode;
+
+        public TemplateKey(Class<?> resolverType, String foreignTableDbName, String fixedCondition, boolean fixedInline) {
+            _resolverType = resolverType;
+            _foreignTableDbName = foreignTableDbName;
+            _fixedCondition = fixedCondition;
+            _fixedInline = fixedInline;
+            int result = resolverType.hashCode();
+            result = 31 * result + foreignTableDbName.hashCode();
+            result = 31 * result + fixedCondition.hashCode();
+            result = 31 * result + (fixedInline ? 1 : 0);
+            _hashCode = result;
+        }
+
+        @Override
+        public int hashCode() {
+            return _hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || !(obj instanceof TemplateKey)) {
+                return false;
+            }
+            final TemplateKey target = (TemplateKey) obj;
+            return _hashCode == target._hashCode && _fixedInline == target._fixedInline && _resolverType.equals(target._resolverType)
+                    && _foreignTableDbName.equals(target._foreignTableDbName) && _fixedCondition.equals(target._fixedCondition);
+        }
+
+        @Override
+        public String toString() {
+            return "key:{" + _resolverType.getSimpleName() + ", " + _foreignTableDbName + ", " + _fixedInline + "}";
+        }
+    }
+
+    // ===================================================================================
+    //                                                                       Over Relation
+    //                                                                       =============
+    /**
+     * The parsed over-relation variable, e.g. "$$over($foreignTable.memberStatus, DISPLAY_ORDER)$$".
+     */
+    public static class OverRelationPiece {
+
+        protected final String _relationVariable; // not null, whole variable expression
+        protected final String _pointTable; // not null, e.g. $localTable, $foreignTable, PURCHASE
+        protected final String _pointTableDbName; // null allowed, only when referrer table
+        protected final String _targetRelation; // null allowed, e.g. memberSecurity, product.productStatus
+
+        public OverRelationPiece(String relationVariable, String pointTable, String pointTableDbName, String targetRelation) {
+            _relationVariable = relationVariable;
+            _pointTable = pointTable;
+            _pointTableDbName = pointTableDbName;
+            _targetRelation = targetRelation;
+        }
+
+        public String getRelationVariable() {
+            return _relationVariable;
+        }
+
+        public String getPointTable() {
+            return _pointTable;
+        }
+
+        public String getPointTableDbName() {
+            return _pointTableDbName;
+        }
+
+        public String getTargetRelation() {
+            return _targetRelation;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "template:{condition=" + _resolvedCondition + ", overRelations=" + _overRelationList.size() + ", inlineView="
+                + (_outerInlineView != null) + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public TemplateClause getResolvedCondition() {
+        return _resolvedCondition;
+    }
+
+    public List<OverRelationPiece> getOverRelationList() {
+        return _overRelationList;
+    }
+
+    public InlineViewTemplate getInlineView(boolean treatedAsInnerJoin) {
+        return treatedAsInnerJoin ? _innerInlineView : _outerInlineView;
+    }
+}
@@ -19,6 +19,7 @@ import java.util.List;
 
 import org.dbflute.cbean.cipher.ColumnFunctionCipher;
 import org.dbflute.cbean.coption.ConditionOption;
+import org.dbflute.cbean.coption.InScopeArrayOption;
 import org.dbflute.cbean.cvalue.ConditionValue;
 import org.dbflute.cbean.sqlclause.query.QueryClause;
 import org.dbflute.dbmeta.name.ColumnRealName;
@@ -71,6 +72,14 @@ public class ConditionKeyNotInScope extends ConditionKey {
     // ===================================================================================
     //                                                                         Bind Clause
     //                                                                         ===========
+    @Override
+    protected String buildBindVariableExp(String location, ConditionOption option) {
+        if (option instanceof InScopeArrayOption) { // bound as one array parameter
+            return ((InScopeArrayOption) option).buildBindVariableExp(location);
+        }
+        return super.buildBindVariableExp(location, option);
+    }
+
     @Override
     protected String getBindVariableDummyValue() {
         return "('a1', 'a2')";
@@ -81,7 +90,11 @@ public class ConditionKeyNotInScope extends ConditionKey {
     //                                                                     ===============
     @Override
     protected void doSetupConditionValue(ConditionValue cvalue, Object value, String location, ConditionOption option) {
-        cvalue.setupNotInScope(value, location);
+        if (option instanceof InScopeArrayOption) {
+            cvalue.setupNotInScope(((InScopeArrayOption) option).toArrayValue((List<?>) value), location);
+        } else {
+            cvalue.setupNotInScope(value, location);
+        }
     }
 
     // ===================================================================================
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2014-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.cbean.coption;
+
+import java.util.List;
+
+import org.dbflute.cbean.cipher.GearedCipherManager;
+import org.dbflute.cbean.cvalue.InScopeArrayValue;
+import org.dbflute.cbean.dream.SpecifiedColumn;
+import org.dbflute.cbean.sqlclause.query.QueryClauseArranger;
+import org.dbflute.dbway.topic.ExtensionOperand;
+import org.dbflute.dbway.topic.OnQueryStringConnector;
+import org.dbflute.util.DfCollectionUtil;
+
+/**
+ * The internal option of in-scope condition bound as one array parameter. <br>
+ * e.g. MEMBER_ID = any(?) instead of MEMBER_ID in (?, ?, ...) so the SQL text is stable whatever the size.
+ * @author jflute
+ * @since 1.3.0 (2026/10/19 Monday)
+ */
+public class InScopeArrayOption implements ConditionOption {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final String _operand; // not null e.g. "= any"
+    protected final String _elementTypeName; // not null e.g. "int4"
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param operand The operand before array parameter provided by DB-way. (NotNull)
+     * @param elementTypeName The SQL type name of array element provided by DB-way. (NotNull)
+     */
+    public InScopeArrayOption(String operand, String elementTypeName) {
+        _operand = operand;
+        _elementTypeName = elementTypeName;
+    }
+
+    // ===================================================================================
+    //                                                                        Array Value
+    //                                                                        ===========
+    /**
+     * @param elementList The list of in-scope values. (NotNull, NotEmpty)
+     * @return The new-created value bound as one array parameter. (NotNull)
+     */
+    public InScopeArrayValue toArrayValue(List<?> elementList) {
+        return new InScopeArrayValue(elementList, _elementTypeName);
+    }
+
+    /**
+     * @param location The location of bind parameter. (NotNull)
+     * @return The bind expression as one parameter enclosed by parentheses. (NotNull)
+     */
+    public String buildBindVariableExp(String location) {
+        return "(/*pmb." + location + "*/null)"; // not in-scope dummy to bind it as one parameter
+    }
+
+    // ===================================================================================
+    //                                                            Interface Implementation
+    //                                                            ========================
+    public String getRearOption() {
+        return "";
+    }
+
+    public boolean hasCompoundColumn() {
+        return false;
+    }
+
+    public List<SpecifiedColumn> getCompoundColumnList() {
+        return DfCollectionUtil.emptyList();
+    }
+
+    public boolean hasStringConnector() {
+        return false;
+    }
+
+    public OnQueryStringConnector getStringConnector() {
+        return null;
+    }
+
+    public ExtensionOperand getExtensionOperand() {
+        return () -> _operand;
+    }
+
+    public QueryClauseArranger getWhereClauseArranger() {
+        return null;
+    }
+
+    public GearedCipherManager getGearedCipherManager() {
+        return null;
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "inScopeArray:{" + _operand + ", " + _elementTypeName + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public String getOperand() {
+        return _operand;
+    }
+
+    public String getElementTypeName() {
+        return _elementTypeName;
+    }
+}
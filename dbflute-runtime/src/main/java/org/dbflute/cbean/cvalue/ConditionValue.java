@@ -415,6 +415,21 @@ public class ConditionValue implements Serializable {
         return _inScopeLatestLocation;
     }
 
+    /**
+     * Override the value of the latest inScope, e.g. switching chunks of query-update. {Internal} <br>
+     * The where clause is not changed, only the bound value is replaced.
+     * @param value The new value of inScope, same form as registered one (e.g. list, array value). (NotNull)
+     */
+    public void overrideInScopeLatestValue(Object value) {
+        final String conditionKey = ConditionKey.CK_IN_SCOPE.getConditionKey();
+        final Map<String, Object> elementMap = _varyingValueMap != null ? _varyingValueMap.get(conditionKey) : null;
+        if (_inScopeLatestLocation == null || elementMap == null) {
+            throw new IllegalStateException("Not found the registered inScope: " + this);
+        }
+        final String elementKey = _inScopeLatestLocation.substring(_inScopeLatestLocation.lastIndexOf(".") + 1);
+        elementMap.put(elementKey, value);
+    }
+
     // ===================================================================================
     //                                                                        Not In Scope
     //                                                                        ============
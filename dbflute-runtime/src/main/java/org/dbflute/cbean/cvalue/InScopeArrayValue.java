@@ -0,0 +1,79 @@
+/*
+ * Copyright 2014-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.cbean.cvalue;
+
+import java.util.List;
+
+/**
+ * The value of in-scope condition bound as one array parameter. <br>
+ * It is converted to JDBC array by the value type when binding.
+ * @author jflute
+ * @since 1.3.0 (2026/10/19 Monday)
+ */
+public class InScopeArrayValue {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final List<?> _elementList; // not null, not empty
+    protected final String _elementTypeName; // not null, SQL type name for createArrayOf()
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param elementList The list of elements in the array. (NotNull, NotEmpty)
+     * @param elementTypeName The SQL type name of element for JDBC array. (NotNull)
+     */
+    public InScopeArrayValue(List<?> elementList, String elementTypeName) {
+        _elementList = elementList;
+        _elementTypeName = elementTypeName;
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() { // also used as display SQL so array literal style
+        final StringBuilder sb = new StringBuilder();
+        sb.append("{");
+        int index = 0;
+        for (Object element : _elementList) {
+            if (index > 0) {
+                sb.append(",");
+            }
+            sb.append(element);
+            ++index;
+        }
+        sb.append("}");
+        return sb.toString();
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public List<?> getElementList() {
+        return _elementList;
+    }
+
+    public String getElementTypeName() {
+        return _elementTypeName;
+    }
+
+    public Object[] toElementArray() {
+        return _elementList.toArray();
+    }
+}
@@ -39,6 +39,7 @@ import org.dbflute.cbean.cipher.ColumnFunctionCipher;
 import org.dbflute.cbean.cipher.GearedCipherManager;
 import org.dbflute.cbean.ckey.ConditionKey;
 import org.dbflute.cbean.coption.ConditionOption;
+import org.dbflute.cbean.coption.InScopeArrayOption;
 import org.dbflute.cbean.coption.LikeSearchOption;
 import org.dbflute.cbean.coption.ScalarSelectOption;
 import org.dbflute.cbean.cvalue.ConditionValue;
@@ -61,6 +62,7 @@ import org.dbflute.cbean.sqlclause.query.QueryClause;
 import org.dbflute.cbean.sqlclause.query.QueryClauseFilter;
 import org.dbflute.cbean.sqlclause.query.QueryUsedAliasInfo;
 import org.dbflute.cbean.sqlclause.query.StringQueryClause;
+import org.dbflute.cbean.sqlclause.select.SelectClauseFragment;
 import org.dbflute.cbean.sqlclause.select.SelectedRelationColumn;
 import org.dbflute.cbean.sqlclause.select.SpecifiedSelectColumnHandler;
 import org.dbflute.cbean.sqlclause.subquery.SubQueryIndentProcessor;
@@ -366,6 +368,15 @@ public abstract class AbstractSqlClause implements SqlClause, Serializable {
     /** The list of lazy reflector for clause. (NullAllowed: lazy-load) */
     protected List<ClauseLazyReflector> _clauseLazyReflectorList;
 
+    // -----------------------------------------------------
+    //                                         InScope Array
+    //                                         -------------
+    /** Does it bind in-scope list as one array parameter if DB-way supports it? */
+    protected boolean _inScopeArrayBindEnabled;
+
+    /** Does it pad in-scope list up to bucket size (power of two) to stabilize SQL text? */
+    protected boolean _inScopeBucketPaddingEnabled;
+
     // -----------------------------------------------------
     //                                    ExistsReferrer Way
     //                                    ------------------
@@ -621,6 +632,14 @@ public abstract class AbstractSqlClause implements SqlClause, Serializable {
             return buildSelectClauseScalar(specifiedColumnTableAliasName);
         }
         // if it's a scalar-select, it always has union-query since here
+        final String fragmentKey = buildSelectClauseFragmentKey(); // null if not cacheable
+        if (fragmentKey != null) {
+            final SelectClauseFragment cached = SelectClauseFragment.findCached(fragmentKey);
+            if (cached != null) {
+                reflectSelectClauseFragment(cached);
+                return cached.getSelectClause();
+            }
+        }
         final StringBuilder sb = new StringBuilder();
 
         clearSelectIndex(); // suppress duplicate registration
@@ -628,7 +647,13 @@ public abstract class AbstractSqlClause implements SqlClause, Serializable {
         selectIndex = processSelectClauseRelation(sb, selectIndex);
         processSelectClauseDerivedReferrer(sb, selectIndex);
 
-        return sb.toString();
+        final String selectClause = sb.toString();
+        if (fragmentKey != null) {
+            final SelectClauseFragment fragment = createSelectClauseFragment(selectClause);
+            SelectClauseFragment.cache(fragmentKey, fragment);
+            reflectSelectClauseFragment(fragment); // to use read-only maps same as cached
+        }
+        return selectClause;
     }
 
     protected int processSelectClauseLocal(StringBuilder sb) {
@@ -809,6 +834,92 @@ public abstract class AbstractSqlClause implements SqlClause, Serializable {
         return _selectClauseRealColumnAliasMap;
     }
 
+    // -----------------------------------------------------
+    //                                       Fragment Cache
+    //                                       --------------
+    /**
+     * Build the key of select clause fragment, which is determined by base table,
+     * selected relations and specified columns (not by condition values).
+     * @return The key of fragment cache. (NullAllowed: if not cacheable e.g. derived-referrer, cipher)
+     */
+    protected String buildSelectClauseFragmentKey() {
+        if (!isSelectClauseFragmentCacheable()) {
+            return null;
+        }
+        final StringBuilder sb = new StringBuilder();
+        sb.append(getClass().getName()).append("|").append(getDBMeta().getClass().getName());
+        sb.append("|").append(_selectClauseType).append("|").append(_useSelectIndex);
+        sb.append("|").append(_pkOnlySelectForcedlyEnabled).append("|").append(_aliasNameLimitSize);
+        sb.append("|");
+        appendSelectHint(sb); // might depend on union
+        if (_selectedRelationColumnMap != null) {
+            sb.append("|rel:");
+            for (String tableAliasName : _selectedRelationColumnMap.keySet()) {
+                sb.append(tableAliasName).append(",");
+            }
+        }
+        if (_specifiedSelectColumnMap != null) {
+            for (Entry<String, Map<String, SpecifiedColumn>> entry : _specifiedSelectColumnMap.entrySet()) {
+                sb.append("|sp:").append(entry.getKey()).append(":");
+                for (String columnDbName : entry.getValue().keySet()) {
+                    sb.append(columnDbName).append(",");
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    protected boolean isSelectClauseFragmentCacheable() {
+        if (_specifiedDerivingSubQueryMap != null && !_specifiedDerivingSubQueryMap.isEmpty()) {
+            return false; // sub-query has parameter paths of the condition-bean
+        }
+        if (_gearedCipherManager != null && _selectColumnCipherEffective) {
+            return false; // decryption function might depend on the manager
+        }
+        if (isColumnNullObjectGearedToSpecify()) {
+            return false; // registers null object columns while building
+        }
+        return !isSelectClauseTypeUniqueScalar(); // depends on specified column of unique scalar
+    }
+
+    protected SelectClauseFragment createSelectClauseFragment(String selectClause) {
+        final Map<String, Map<String, String>> specifiedOnQueryNameMap = new HashMap<String, Map<String, String>>();
+        if (_specifiedSelectColumnMap != null) {
+            for (Entry<String, Map<String, SpecifiedColumn>> entry : _specifiedSelectColumnMap.entrySet()) {
+                final Map<String, String> onQueryNameMap = new HashMap<String, String>();
+                for (Entry<String, SpecifiedColumn> columnEntry : entry.getValue().entrySet()) {
+                    final String onQueryName = columnEntry.getValue().getOnQueryName();
+                    if (onQueryName != null) {
+                        onQueryNameMap.put(columnEntry.getKey(), onQueryName);
+                    }
+                }
+                specifiedOnQueryNameMap.put(entry.getKey(), onQueryNameMap);
+            }
+        }
+        return new SelectClauseFragment(selectClause, _selectIndexMap, _selectColumnKeyNameMap, getSelectClauseRealColumnAliasMap(),
+                specifiedOnQueryNameMap);
+    }
+
+    protected void reflectSelectClauseFragment(SelectClauseFragment fragment) {
+        _selectIndexMap = fragment.getSelectIndexMap(); // shared, read-only
+        _selectColumnKeyNameMap = fragment.getSelectColumnKeyNameMap(); // me too
+        getSelectClauseRealColumnAliasMap().putAll(fragment.getRealColumnAliasMap());
+        if (_specifiedSelectColumnMap != null) {
+            for (Entry<String, Map<String, String>> entry : fragment.getSpecifiedOnQueryNameMap().entrySet()) {
+                final Map<String, SpecifiedColumn> elementMap = _specifiedSelectColumnMap.get(entry.getKey());
+                if (elementMap == null) {
+                    continue;
+                }
+                for (Entry<String, String> columnEntry : entry.getValue().entrySet()) {
+                    final SpecifiedColumn specifiedColumn = elementMap.get(columnEntry.getKey());
+                    if (specifiedColumn != null) {
+                        specifiedColumn.setOnQueryName(columnEntry.getValue()); // basically for queryInsert()
+                    }
+                }
+            }
+        }
+    }
+
     // -----------------------------------------------------
     //                                       Count or Scalar
     //                                       ---------------
@@ -3733,6 +3844,76 @@ public abstract class AbstractSqlClause implements SqlClause, Serializable {
         return 0; // as default
     }
 
+    // [DBFlute-1.3.0]
+    // ===================================================================================
+    //                                                                       InScope Array
+    //                                                                       =============
+    /** {@inheritDoc} */
+    public void enableInScopeArrayBind() {
+        _inScopeArrayBindEnabled = true;
+    }
+
+    /** {@inheritDoc} */
+    public void disableInScopeArrayBind() {
+        _inScopeArrayBindEnabled = false;
+    }
+
+    /** {@inheritDoc} */
+    public boolean isInScopeArrayBindEnabled() {
+        return _inScopeArrayBindEnabled;
+    }
+
+    /** {@inheritDoc} */
+    public InScopeArrayOption prepareInScopeArrayOption(ConditionKey key, List<?> valueList) {
+        if (!_inScopeArrayBindEnabled) {
+            return null;
+        }
+        final DBWay dbway = dbway();
+        if (!dbway.isArrayInScopeSupported()) {
+            return null;
+        }
+        final Class<?> elementType = findInScopeArrayElementType(valueList);
+        if (elementType == null) { // e.g. mixed types, null element
+            return null;
+        }
+        final String elementTypeName = dbway.findArrayInScopeElementTypeName(elementType);
+        if (elementTypeName == null) {
+            return null;
+        }
+        final boolean notInScope = ConditionKey.CK_NOT_IN_SCOPE.equals(key);
+        return new InScopeArrayOption(dbway.getArrayInScopeOperand(notInScope), elementTypeName);
+    }
+
+    /** {@inheritDoc} */
+    public void enableInScopeBucketPadding() {
+        _inScopeBucketPaddingEnabled = true;
+    }
+
+    /** {@inheritDoc} */
+    public void disableInScopeBucketPadding() {
+        _inScopeBucketPaddingEnabled = false;
+    }
+
+    /** {@inheritDoc} */
+    public boolean isInScopeBucketPaddingEnabled() {
+        return _inScopeBucketPaddingEnabled;
+    }
+
+    protected Class<?> findInScopeArrayElementType(List<?> valueList) {
+        Class<?> elementType = null;
+        for (Object element : valueList) {
+            if (element == null) {
+                return null; // null cannot be compared by any()
+            }
+            if (elementType == null) {
+                elementType = element.getClass();
+            } else if (!elementType.equals(element.getClass())) {
+                return null;
+            }
+        }
+        return elementType;
+    }
+
     // [DBFlute-0.9.8.4]
     // ===================================================================================
     //                                                               LikeSearch Adjustment
@@ -26,6 +26,7 @@ import org.dbflute.cbean.cipher.ColumnFunctionCipher;
 import org.dbflute.cbean.cipher.GearedCipherManager;
 import org.dbflute.cbean.ckey.ConditionKey;
 import org.dbflute.cbean.coption.ConditionOption;
+import org.dbflute.cbean.coption.InScopeArrayOption;
 import org.dbflute.cbean.coption.LikeSearchOption;
 import org.dbflute.cbean.coption.ScalarSelectOption;
 import org.dbflute.cbean.cvalue.ConditionValue;
@@ -1463,6 +1464,53 @@ public interface SqlClause {
      */
     int getInScopeLimit();
 
+    // [DBFlute-1.3.0]
+    // ===================================================================================
+    //                                                                       InScope Array
+    //                                                                       =============
+    /**
+     * Enable to bind in-scope list as one array parameter if DB-way supports it. (default is disabled) <br>
+     * The SQL text is stable whatever the size of the list, and it is not split by in-scope limit.
+     */
+    void enableInScopeArrayBind();
+
+    /**
+     * Disable to bind in-scope list as one array parameter. (back to default)
+     */
+    void disableInScopeArrayBind();
+
+    /**
+     * Does it bind in-scope list as one array parameter if DB-way supports it?
+     * @return The determination, true or false.
+     */
+    boolean isInScopeArrayBindEnabled();
+
+    /**
+     * Prepare the option of in-scope array if enabled and DB-way supports the element type.
+     * @param key The condition key of in-scope or not-in-scope. (NotNull)
+     * @param valueList The list of in-scope values. (NotNull, NotEmpty)
+     * @return The option of in-scope array. (NullAllowed: if normal in-scope)
+     */
+    InScopeArrayOption prepareInScopeArrayOption(ConditionKey key, List<?> valueList);
+
+    /**
+     * Enable to pad in-scope list up to bucket size by repeating the last value. (default is disabled) <br>
+     * The bucket sizes are power of two (1, 2, 4, 8...) up to in-scope limit,
+     * so the count of distinct SQL texts is logarithmic in the list size.
+     */
+    void enableInScopeBucketPadding();
+
+    /**
+     * Disable to pad in-scope list up to bucket size. (back to default)
+     */
+    void disableInScopeBucketPadding();
+
+    /**
+     * Does it pad in-scope list up to bucket size?
+     * @return The determination, true or false.
+     */
+    boolean isInScopeBucketPaddingEnabled();
+
     // [DBFlute-0.9.8.4]
     // ===================================================================================
     //                                                               LikeSearch Adjustment
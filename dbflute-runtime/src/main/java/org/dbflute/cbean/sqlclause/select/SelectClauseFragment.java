@@ -0,0 +1,140 @@
+/*
+ * Copyright 2014-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.cbean.sqlclause.select;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The fragment of select clause cached per combination of setupSelect and specified columns. <br>
+ * The select clause does not depend on condition values, so it can be shared among condition-beans
+ * with its select-index maps (read-only) that go with it.
+ * @author jflute
+ * @since 1.3.0 (2026/10/19 Monday)
+ */
+public class SelectClauseFragment {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    /** The limit size of fragment cache, no more caching if over it. */
+    protected static final int FRAGMENT_CACHE_LIMIT = 1000;
+
+    /** The cache of fragment keyed by select shape built by SQL clause. (NotNull) */
+    protected static final Map<String, SelectClauseFragment> _fragmentCacheMap = new ConcurrentHashMap<String, SelectClauseFragment>();
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final String _selectClause; // not null
+    protected final Map<String, Map<String, Integer>> _selectIndexMap; // null allowed, read-only
+    protected final Map<String, String> _selectColumnKeyNameMap; // null allowed, read-only
+    protected final Map<String, String> _realColumnAliasMap; // not null, read-only
+    protected final Map<String, Map<String, String>> _specifiedOnQueryNameMap; // not null, read-only, map:{alias : map:{column : on-query}}
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param selectClause The built select clause. (NotNull)
+     * @param selectIndexMap The map of select index, map:{entityNo : map:{key : index}}. (NullAllowed)
+     * @param selectColumnKeyNameMap The map of column key name, map:{onQueryName : key}. (NullAllowed)
+     * @param realColumnAliasMap The map of real column alias, map:{realColumnName : onQueryName}. (NotNull)
+     * @param specifiedOnQueryNameMap The map of specified column's on-query name. (NotNull)
+     */
+    public SelectClauseFragment(String selectClause, Map<String, Map<String, Integer>> selectIndexMap,
+            Map<String, String> selectColumnKeyNameMap, Map<String, String> realColumnAliasMap,
+            Map<String, Map<String, String>> specifiedOnQueryNameMap) {
+        _selectClause = selectClause;
+        _selectIndexMap = toReadOnlyIndexMap(selectIndexMap);
+        _selectColumnKeyNameMap = selectColumnKeyNameMap != null ? Collections.unmodifiableMap(selectColumnKeyNameMap) : null;
+        _realColumnAliasMap = Collections.unmodifiableMap(new LinkedHashMap<String, String>(realColumnAliasMap));
+        _specifiedOnQueryNameMap = Collections.unmodifiableMap(specifiedOnQueryNameMap);
+    }
+
+    protected Map<String, Map<String, Integer>> toReadOnlyIndexMap(Map<String, Map<String, Integer>> selectIndexMap) {
+        if (selectIndexMap == null) {
+            return null;
+        }
+        // wrapper keeps flexible lookup of inner maps because it delegates get() to them
+        for (Entry<String, Map<String, Integer>> entry : selectIndexMap.entrySet()) {
+            entry.setValue(Collections.unmodifiableMap(entry.getValue()));
+        }
+        return Collections.unmodifiableMap(selectIndexMap);
+    }
+
+    // ===================================================================================
+    //                                                                      Fragment Cache
+    //                                                                      ==============
+    /**
+     * @param fragmentKey The key of select shape. (NotNull)
+     * @return The cached fragment of select clause. (NullAllowed: if not cached yet)
+     */
+    public static SelectClauseFragment findCached(String fragmentKey) {
+        return _fragmentCacheMap.get(fragmentKey);
+    }
+
+    /**
+     * @param fragmentKey The key of select shape. (NotNull)
+     * @param fragment The fragment of select clause to be cached. (NotNull)
+     */
+    public static void cache(String fragmentKey, SelectClauseFragment fragment) {
+        if (_fragmentCacheMap.size() < FRAGMENT_CACHE_LIMIT) { // rough limit, no problem if a little over
+            _fragmentCacheMap.putIfAbsent(fragmentKey, fragment);
+        }
+    }
+
+    /**
+     * Clear the fragment cache, basically for test or hot deploy.
+     */
+    public static void clearCache() {
+        _fragmentCacheMap.clear();
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "fragment:{" + _selectClause + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public String getSelectClause() {
+        return _selectClause;
+    }
+
+    public Map<String, Map<String, Integer>> getSelectIndexMap() {
+        return _selectIndexMap;
+    }
+
+    public Map<String, String> getSelectColumnKeyNameMap() {
+        return _selectColumnKeyNameMap;
+    }
+
+    public Map<String, String> getRealColumnAliasMap() {
+        return _realColumnAliasMap;
+    }
+
+    public Map<String, Map<String, String>> getSpecifiedOnQueryNameMap() {
+        return _specifiedOnQueryNameMap;
+    }
+}
@@ -89,6 +89,7 @@ public abstract class AbstractDBMeta implements DBMeta {
     // lazy-initialized at corresponding getters
     private volatile List<ColumnInfo> _columnInfoList;
     private volatile StringKeyMap<ColumnInfo> _columnInfoFlexibleMap;
+    private volatile Map<String, Integer> _columnOrdinalMap;
     private volatile PrimaryInfo _primaryInfo;
     private volatile List<UniqueInfo> _uniqueInfoList;
     private volatile List<ForeignInfo> _foreignInfoList;
@@ -117,6 +118,22 @@ public abstract class AbstractDBMeta implements DBMeta {
         //getReferrerInfoFlexibleMap();
     }
 
+    /**
+     * Warm up all information resources including lazy-initialized ones, e.g. at application startup. <br>
+     * Call it after all DB metas are instantiated because relation information refers to other DB metas.
+     */
+    public void warmUpInformationResource() {
+        initializeInformationResource();
+        getColumnOrdinalMap();
+        getUniqueInfoList();
+        getForeignInfoList();
+        getForeignInfoFlexibleMap();
+        getForeignInfoRelationNoKeyMap();
+        getReferrerInfoList();
+        getReferrerInfoFlexibleMap();
+        getStructuralReferrerInfoList();
+    }
+
     // ===================================================================================
     //                                                                    Property Gateway
     //                                                                    ================
@@ -390,6 +407,44 @@ public abstract class AbstractDBMeta implements DBMeta {
         }
     }
 
+    // -----------------------------------------------------
+    //                                        Column Ordinal
+    //                                        --------------
+    /**
+     * Find the ordinal of column (index in column list) by the property name. <br>
+     * The name is not flexible for performance, basically for entity internal process. e.g. modified properties
+     * @param propertyName The property name of column, exact name. (NotNull)
+     * @return The index of the column in the column list. (-1 if not found)
+     */
+    public int findColumnOrdinal(String propertyName) {
+        final Integer ordinal = getColumnOrdinalMap().get(propertyName);
+        return ordinal != null ? ordinal : -1;
+    }
+
+    /**
+     * Get the map of column ordinal, key is exact property name.
+     * @return The plain map of column ordinal, read-only. (NotNull, NotEmpty)
+     */
+    protected Map<String, Integer> getColumnOrdinalMap() {
+        if (_columnOrdinalMap != null) {
+            return _columnOrdinalMap;
+        }
+        final List<ColumnInfo> columnInfoList = getColumnInfoList();
+        synchronized (this) {
+            if (_columnOrdinalMap != null) {
+                return _columnOrdinalMap;
+            }
+            final Map<String, Integer> ordinalMap = new HashMap<String, Integer>(columnInfoList.size() * 2);
+            int index = 0;
+            for (ColumnInfo columnInfo : columnInfoList) {
+                ordinalMap.put(columnInfo.getPropertyName(), index);
+                ++index;
+            }
+            _columnOrdinalMap = Collections.unmodifiableMap(ordinalMap);
+            return _columnOrdinalMap;
+        }
+    }
+
     // ===================================================================================
     //                                                                         Unique Info
     //                                                                         ===========
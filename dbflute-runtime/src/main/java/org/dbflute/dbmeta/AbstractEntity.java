@@ -138,7 +138,7 @@ public abstract class AbstractEntity implements Entity, DerivedMappable, Seriali
     }
 
     protected EntityModifiedProperties newModifiedProperties() {
-        return new EntityModifiedProperties();
+        return new EntityModifiedProperties(this); // column properties are kept as bit-set of column ordinals
     }
 
     protected void registerModifiedProperty(String propertyName) {
@@ -15,15 +15,26 @@
  */
 package org.dbflute.dbmeta.accessory;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.AbstractSet;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
+import java.util.NoSuchElementException;
 import java.util.Set;
 
+import org.dbflute.Entity;
+import org.dbflute.dbmeta.AbstractDBMeta;
+import org.dbflute.dbmeta.DBMeta;
 import org.dbflute.util.DfCollectionUtil;
 
 /**
- * The modified properties of entity. (basically for Framework)
+ * The modified properties of entity. (basically for Framework) <br>
+ * Column properties are kept as bit-set of column ordinals of DBMeta (with registration order)
+ * if the owner entity is specified, and other properties (or all if no owner) are kept as name set.
  * @author jflute
  * @since 1.1.0 (2014/10/29 Monday)
  */
@@ -35,12 +46,47 @@ public class EntityModifiedProperties implements Serializable, Cloneable {
     /** The serial version UID for object serialization. (Default) */
     private static final long serialVersionUID = 1L;
 
+    /** The mark of non-column property in the ordinal order, the name is in the name set. */
+    protected static final int NAME_SET_MARK = -1;
+
     // ===================================================================================
     //                                                                           Attribute
     //                                                                           =========
-    /** The set of property names. (NullAllowed: lazy-loaded) */
+    /** The set of property names, non-column properties if ordinal mode. (NullAllowed: lazy-loaded) */
     protected Set<String> _propertyNameSet;
 
+    /** The owner entity to resolve DB meta for ordinals. (NullAllowed: if name-only mode) */
+    protected transient Entity _ownerEntity;
+
+    /** The DB meta to resolve column ordinals. (NullAllowed: lazy-loaded, null if name-only mode) */
+    protected transient AbstractDBMeta _ordinalDBMeta;
+
+    /** The bit-set of column ordinals of modified properties. (NullAllowed: lazy-loaded) */
+    protected transient long[] _ordinalBits;
+
+    /** The ordinals in registration order, also contains name-set marks for non-column. (NullAllowed: lazy-loaded) */
+    protected transient int[] _ordinalOrder;
+
+    /** The count of valid elements in the ordinal order. */
+    protected transient int _ordinalOrderSize;
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * Constructor for name-only mode, all properties are kept as name set.
+     */
+    public EntityModifiedProperties() {
+    }
+
+    /**
+     * Constructor for ordinal mode, column properties are kept as bit-set of column ordinals.
+     * @param ownerEntity The owner entity to resolve DB meta, called lazily. (NullAllowed: if null, name-only mode)
+     */
+    public EntityModifiedProperties(Entity ownerEntity) {
+        _ownerEntity = ownerEntity;
+    }
+
     // ===================================================================================
     //                                                                   Property Handling
     //                                                                   =================
@@ -50,7 +96,15 @@ public class EntityModifiedProperties implements Serializable, Cloneable {
      */
     public void addPropertyName(String propertyName) {
         assertPropertyNameNotNull(propertyName);
-        getPropertyNameSet().add(propertyName);
+        final AbstractDBMeta dbmeta = resolveOrdinalDBMeta();
+        final int ordinal = dbmeta != null ? dbmeta.findColumnOrdinal(propertyName) : -1;
+        if (ordinal >= 0) {
+            addOrdinal(ordinal);
+        } else {
+            if (getPropertyNameSet().add(propertyName) && dbmeta != null) { // mark only in ordinal mode
+                addOrdinalOrder(NAME_SET_MARK);
+            }
+        }
     }
 
     protected void assertPropertyNameNotNull(String propertyName) {
@@ -61,9 +115,12 @@ public class EntityModifiedProperties implements Serializable, Cloneable {
 
     /**
      * Get the set of properties.
-     * @return The set of properties, read-only. (NotNull)
+     * @return The set of properties, read-only, iterated in registration order. (NotNull)
      */
     public Set<String> getPropertyNames() {
+        if (_ordinalOrderSize > 0) {
+            return Collections.unmodifiableSet(new OrdinalPropertyNameSet()); // same as name set
+        }
         if (_propertyNameSet != null) {
             return Collections.unmodifiableSet(_propertyNameSet);
         }
@@ -76,6 +133,12 @@ public class EntityModifiedProperties implements Serializable, Cloneable {
      * @return The determination, true or false.
      */
     public boolean isModifiedProperty(String propertyName) {
+        if (_ordinalBits != null) {
+            final int ordinal = _ordinalDBMeta.findColumnOrdinal(propertyName);
+            if (ordinal >= 0) {
+                return isOrdinalMarked(ordinal);
+            }
+        }
         return _propertyNameSet != null && _propertyNameSet.contains(propertyName);
     }
 
@@ -84,13 +147,17 @@ public class EntityModifiedProperties implements Serializable, Cloneable {
      * @return The determination, true or false.
      */
     public boolean isEmpty() {
-        return _propertyNameSet == null || getPropertyNameSet().isEmpty();
+        return _ordinalOrderSize == 0 && (_propertyNameSet == null || getPropertyNameSet().isEmpty());
     }
 
     /**
      * Clear the set of properties.
      */
     public void clear() {
+        if (_ordinalBits != null) {
+            Arrays.fill(_ordinalBits, 0L);
+        }
+        _ordinalOrderSize = 0;
         if (_propertyNameSet != null) {
             getPropertyNameSet().clear();
         }
@@ -102,7 +169,20 @@ public class EntityModifiedProperties implements Serializable, Cloneable {
      */
     public void remove(String propertyName) {
         assertPropertyNameNotNull(propertyName);
+        if (_ordinalBits != null) {
+            final int ordinal = _ordinalDBMeta.findColumnOrdinal(propertyName);
+            if (ordinal >= 0) {
+                removeOrdinal(ordinal);
+                return;
+            }
+        }
         if (_propertyNameSet != null) {
+            if (_ordinalOrderSize > 0) { // needs to remove the mark
+                final int nameIndex = findNameSetIndex(propertyName);
+                if (nameIndex >= 0) {
+                    removeNameSetMark(nameIndex);
+                }
+            }
             getPropertyNameSet().remove(propertyName);
         }
     }
@@ -116,6 +196,15 @@ public class EntityModifiedProperties implements Serializable, Cloneable {
             throw new IllegalArgumentException("The argument 'properties' should not be null.");
         }
         clear();
+        if (properties._ordinalBits != null && resolveOrdinalDBMeta() == properties._ordinalDBMeta) { // fast copy
+            _ordinalBits = properties._ordinalBits.clone();
+            _ordinalOrder = properties._ordinalOrder.clone();
+            _ordinalOrderSize = properties._ordinalOrderSize;
+            if (properties._propertyNameSet != null && !properties._propertyNameSet.isEmpty()) {
+                getPropertyNameSet().addAll(properties._propertyNameSet);
+            }
+            return;
+        }
         for (String propertyName : properties.getPropertyNames()) {
             addPropertyName(propertyName);
         }
@@ -132,12 +221,154 @@ public class EntityModifiedProperties implements Serializable, Cloneable {
         return new LinkedHashSet<String>();
     }
 
+    // ===================================================================================
+    //                                                                    Ordinal Handling
+    //                                                                    ================
+    protected AbstractDBMeta resolveOrdinalDBMeta() {
+        if (_ordinalDBMeta != null) {
+            return _ordinalDBMeta;
+        }
+        if (_ownerEntity == null) { // name-only mode
+            return null;
+        }
+        final DBMeta dbmeta = _ownerEntity.asDBMeta();
+        _ownerEntity = null; // no longer needed
+        if (dbmeta instanceof AbstractDBMeta) {
+            _ordinalDBMeta = (AbstractDBMeta) dbmeta;
+        }
+        return _ordinalDBMeta;
+    }
+
+    protected void addOrdinal(int ordinal) {
+        if (_ordinalBits == null) {
+            _ordinalBits = new long[(_ordinalDBMeta.getColumnInfoList().size() + 63) >>> 6];
+        }
+        if (isOrdinalMarked(ordinal)) {
+            return; // already registered so keep the order
+        }
+        _ordinalBits[ordinal >>> 6] |= (1L << ordinal);
+        addOrdinalOrder(ordinal);
+    }
+
+    protected boolean isOrdinalMarked(int ordinal) {
+        return (_ordinalBits[ordinal >>> 6] & (1L << ordinal)) != 0;
+    }
+
+    protected void addOrdinalOrder(int ordinal) {
+        if (_ordinalOrder == null) {
+            _ordinalOrder = new int[4];
+        } else if (_ordinalOrderSize == _ordinalOrder.length) {
+            _ordinalOrder = Arrays.copyOf(_ordinalOrder, _ordinalOrderSize * 2);
+        }
+        _ordinalOrder[_ordinalOrderSize] = ordinal;
+        ++_ordinalOrderSize;
+    }
+
+    protected void removeOrdinal(int ordinal) {
+        if (!isOrdinalMarked(ordinal)) {
+            return;
+        }
+        _ordinalBits[ordinal >>> 6] &= ~(1L << ordinal);
+        for (int i = 0; i < _ordinalOrderSize; i++) {
+            if (_ordinalOrder[i] == ordinal) {
+                removeOrdinalOrderAt(i);
+                break;
+            }
+        }
+    }
+
+    protected int findNameSetIndex(String propertyName) {
+        int index = 0;
+        for (String name : _propertyNameSet) {
+            if (name.equals(propertyName)) {
+                return index;
+            }
+            ++index;
+        }
+        return -1;
+    }
+
+    protected void removeNameSetMark(int nameIndex) { // the n-th mark corresponds to the n-th name in the set
+        int markIndex = 0;
+        for (int i = 0; i < _ordinalOrderSize; i++) {
+            if (_ordinalOrder[i] == NAME_SET_MARK) {
+                if (markIndex == nameIndex) {
+                    removeOrdinalOrderAt(i);
+                    return;
+                }
+                ++markIndex;
+            }
+        }
+    }
+
+    protected void removeOrdinalOrderAt(int index) {
+        final int moved = _ordinalOrderSize - index - 1;
+        if (moved > 0) {
+            System.arraycopy(_ordinalOrder, index + 1, _ordinalOrder, index, moved);
+        }
+        --_ordinalOrderSize;
+    }
+
+    protected class OrdinalPropertyNameSet extends AbstractSet<String> {
+
+        @Override
+        public Iterator<String> iterator() {
+            final int orderSize = _ordinalOrderSize;
+            final Iterator<String> nameIte = _propertyNameSet != null ? _propertyNameSet.iterator() : null;
+            return new Iterator<String>() {
+                protected int _index;
+
+                public boolean hasNext() {
+                    return _index < orderSize;
+                }
+
+                public String next() {
+                    if (_index >= orderSize) {
+                        throw new NoSuchElementException("No more property: size=" + orderSize);
+                    }
+                    final int ordinal = _ordinalOrder[_index];
+                    ++_index;
+                    if (ordinal == NAME_SET_MARK) {
+                        return nameIte.next();
+                    }
+                    return _ordinalDBMeta.getColumnInfoList().get(ordinal).getPropertyName();
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return _ordinalOrderSize;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof String && isModifiedProperty((String) o);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                       Serialization
+    //                                                                       =============
+    private void writeObject(ObjectOutputStream out) throws IOException { // as name-only mode
+        final ObjectOutputStream.PutField fields = out.putFields();
+        final Set<String> nameSet;
+        if (_ordinalOrderSize > 0) {
+            nameSet = newPropertyNameSet();
+            nameSet.addAll(getPropertyNames());
+        } else {
+            nameSet = _propertyNameSet;
+        }
+        fields.put("_propertyNameSet", nameSet);
+        out.writeFields();
+    }
+
     // ===================================================================================
     //                                                                      Basic Override
     //                                                                      ==============
     @Override
     public String toString() {
-        return "modifiedProp:" + _propertyNameSet;
+        return "modifiedProp:" + (_ordinalOrderSize > 0 ? getPropertyNames() : _propertyNameSet);
     }
 
     @Override
@@ -149,6 +380,12 @@ public class EntityModifiedProperties implements Serializable, Cloneable {
                 copied.addAll(_propertyNameSet);
                 cloned._propertyNameSet = copied;
             }
+            if (_ordinalBits != null) {
+                cloned._ordinalBits = _ordinalBits.clone();
+            }
+            if (_ordinalOrder != null) {
+                cloned._ordinalOrder = _ordinalOrder.clone();
+            }
             return cloned;
         } catch (CloneNotSupportedException e) {
             throw new IllegalStateException("Failed to clone the properties: " + toString(), e);
@@ -18,6 +18,7 @@ package org.dbflute.dbway;
 import java.util.List;
 
 import org.dbflute.dbway.topic.OnQueryStringConnector;
+import org.dbflute.dbway.topic.UpsertSqlResource;
 
 /**
  * The interface of DB-way.
@@ -44,6 +45,70 @@ public interface DBWay {
      */
     String getIdentitySelectSql();
 
+    // ===================================================================================
+    //                                                                         Upsert Way
+    //                                                                         ==========
+    /**
+     * Does the DB support native upsert (single statement insert-or-update)?
+     * @return The determination, true or false. (default: false)
+     */
+    default boolean isNativeUpsertSupported() {
+        return false;
+    }
+
+    /**
+     * Build the SQL for native upsert, e.g. merge statement, insert with on-conflict clause. <br>
+     * Parameters are bound in order of insert columns of the resource.
+     * @param resource The resource of upsert SQL, e.g. table, key columns, insert columns. (NotNull)
+     * @return The SQL for native upsert. (NullAllowed: if native upsert is unsupported)
+     */
+    default String buildUpsertSql(UpsertSqlResource resource) {
+        return null;
+    }
+
+    // ===================================================================================
+    //                                                                   Array InScope Way
+    //                                                                   =================
+    /**
+     * Does the DB support in-scope condition bound as one array parameter? <br>
+     * The SQL text is stable whatever the size of the list, e.g. PostgreSQL's = any(?)
+     * @return The determination, true or false. (default: false)
+     */
+    default boolean isArrayInScopeSupported() {
+        return false;
+    }
+
+    /**
+     * Get the operand of in-scope condition bound as one array parameter.
+     * @param notInScope Is it for not-in-scope condition?
+     * @return The operand before array parameter e.g. "= any", "&lt;&gt; all". (NullAllowed: if unsupported)
+     */
+    default String getArrayInScopeOperand(boolean notInScope) {
+        return null;
+    }
+
+    /**
+     * Find the SQL type name of array element for JDBC's createArrayOf().
+     * @param elementType The type of array element. (NotNull)
+     * @return The SQL type name of the element. (NullAllowed: if unsupported type)
+     */
+    default String findArrayInScopeElementTypeName(Class<?> elementType) {
+        return null;
+    }
+
+    // ===================================================================================
+    //                                                                         Explain Way
+    //                                                                         ===========
+    /**
+     * Build the SQL to get execution plan of the SQL as result set, e.g. explain select ... <br>
+     * Parameters of the SQL are bound in the same order as original.
+     * @param sql The executed SQL with question marks. (NotNull)
+     * @return The SQL for execution plan. (NullAllowed: if unsupported by one statement, default: null)
+     */
+    default String buildExplainSql(String sql) {
+        return null;
+    }
+
     // ===================================================================================
     //                                                                         SQL Support
     //                                                                         ===========
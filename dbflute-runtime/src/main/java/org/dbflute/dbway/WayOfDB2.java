@@ -17,9 +17,13 @@ package org.dbflute.dbway;
 
 import java.io.Serializable;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.dbflute.dbway.topic.OnQueryStringConnector;
+import org.dbflute.dbway.topic.UpsertSqlResource;
+import org.dbflute.dbway.topic.UpsertSqlResource.UpsertColumnType;
 
 /**
  * The DB-way of DB2.
@@ -35,6 +39,13 @@ public class WayOfDB2 implements DBWay, Serializable {
 
     protected static final List<String> ORIGINAL_WILD_CARD_LIST = Arrays.asList("\uff05", "\uff3f");
 
+    /** The set of DB types with size in cast expression, e.g. VARCHAR(200). */
+    protected static final Set<String> SIZED_TYPE_SET = new HashSet<String>(Arrays.asList("CHAR", "CHARACTER", "VARCHAR", "GRAPHIC",
+            "VARGRAPHIC", "BINARY", "VARBINARY", "CLOB", "BLOB", "DBCLOB", "DECIMAL", "DEC", "NUMERIC"));
+
+    /** The set of DB types with decimal digits in cast expression, e.g. DECIMAL(8, 2). */
+    protected static final Set<String> DECIMAL_TYPE_SET = new HashSet<String>(Arrays.asList("DECIMAL", "DEC", "NUMERIC"));
+
     // ===================================================================================
     //                                                                        Sequence Way
     //                                                                        ============
@@ -49,6 +60,45 @@ public class WayOfDB2 implements DBWay, Serializable {
         return "values IDENTITY_VAL_LOCAL()";
     }
 
+    // ===================================================================================
+    //                                                                         Upsert Way
+    //                                                                         ==========
+    public boolean isNativeUpsertSupported() {
+        return true;
+    }
+
+    public String buildUpsertSql(UpsertSqlResource resource) {
+        final List<String> columnList = resource.getInsertColumnList();
+        final List<String> bindExpList = resource.getBindExpList();
+        final StringBuilder valuesSb = new StringBuilder();
+        for (int i = 0; i < columnList.size(); i++) {
+            final String castTypeExp = buildUpsertCastTypeExp(resource.findColumnType(columnList.get(i)));
+            if (castTypeExp == null) { // untyped marker in values causes SQL0418N
+                return null;
+            }
+            if (i > 0) {
+                valuesSb.append(", ");
+            }
+            valuesSb.append("cast(").append(bindExpList.get(i)).append(" as ").append(castTypeExp).append(")");
+        }
+        final String sourceExp = "(values (" + valuesSb + ")) as " + UpsertSqlResource.SOURCE_ALIAS // values
+                + " (" + resource.buildColumnExp(columnList, null) + ")";
+        return resource.buildStandardMergeSql(sourceExp, false);
+    }
+
+    protected String buildUpsertCastTypeExp(UpsertColumnType columnType) {
+        if (columnType == null || columnType.getDbType() == null || "UnknownType".equals(columnType.getDbType())) {
+            return null;
+        }
+        final String dbType = columnType.getDbType();
+        final Integer size = columnType.getSize();
+        if (size == null || !SIZED_TYPE_SET.contains(dbType.toUpperCase())) { // e.g. INTEGER, DATE, TIMESTAMP
+            return dbType;
+        }
+        final Integer digits = columnType.getDecimalDigits();
+        return dbType + "(" + size + (digits != null && DECIMAL_TYPE_SET.contains(dbType.toUpperCase()) ? ", " + digits : "") + ")";
+    }
+
     // ===================================================================================
     //                                                                         SQL Support
     //                                                                         ===========
@@ -16,10 +16,12 @@
 package org.dbflute.dbway;
 
 import java.io.Serializable;
+import java.math.BigDecimal;
 import java.util.Collections;
 import java.util.List;
 
 import org.dbflute.dbway.topic.OnQueryStringConnector;
+import org.dbflute.dbway.topic.UpsertSqlResource;
 
 /**
  * The DB-way of H2.
@@ -47,6 +49,52 @@ public class WayOfH2 implements DBWay, Serializable {
         return "CALL IDENTITY()";
     }
 
+    // ===================================================================================
+    //                                                                         Upsert Way
+    //                                                                         ==========
+    public boolean isNativeUpsertSupported() {
+        return true;
+    }
+
+    public String buildUpsertSql(UpsertSqlResource resource) {
+        final String sourceExp = "(values (" + resource.buildBindExp() + ")) as " + UpsertSqlResource.SOURCE_ALIAS // values
+                + " (" + resource.buildColumnExp(resource.getInsertColumnList(), null) + ")";
+        return resource.buildStandardMergeSql(sourceExp, false);
+    }
+
+    // ===================================================================================
+    //                                                                   Array InScope Way
+    //                                                                   =================
+    public boolean isArrayInScopeSupported() {
+        return true;
+    }
+
+    public String getArrayInScopeOperand(boolean notInScope) {
+        return notInScope ? "<> all" : "= any";
+    }
+
+    public String findArrayInScopeElementTypeName(Class<?> elementType) {
+        if (String.class.equals(elementType)) {
+            return "VARCHAR";
+        } else if (Integer.class.equals(elementType)) {
+            return "INTEGER";
+        } else if (Long.class.equals(elementType)) {
+            return "BIGINT";
+        } else if (Short.class.equals(elementType)) {
+            return "SMALLINT";
+        } else if (BigDecimal.class.equals(elementType)) {
+            return "NUMERIC";
+        }
+        return null; // e.g. date-time (driver conversion is not stable)
+    }
+
+    // ===================================================================================
+    //                                                                         Explain Way
+    //                                                                         ===========
+    public String buildExplainSql(String sql) {
+        return "explain " + sql;
+    }
+
     // ===================================================================================
     //                                                                         SQL Support
     //                                                                         ===========
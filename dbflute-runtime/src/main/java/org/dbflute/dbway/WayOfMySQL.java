@@ -22,6 +22,7 @@ import java.util.List;
 import java.util.Map;
 
 import org.dbflute.dbway.topic.OnQueryStringConnector;
+import org.dbflute.dbway.topic.UpsertSqlResource;
 import org.dbflute.optional.OptionalThing;
 
 /**
@@ -67,6 +68,44 @@ public class WayOfMySQL implements DBWay, Serializable {
         return "SELECT LAST_INSERT_ID()";
     }
 
+    // ===================================================================================
+    //                                                                         Upsert Way
+    //                                                                         ==========
+    public boolean isNativeUpsertSupported() {
+        return true;
+    }
+
+    public String buildUpsertSql(UpsertSqlResource resource) { // unique keys other than the key columns are also determined
+        final StringBuilder sb = new StringBuilder();
+        sb.append(resource.buildInsertClause());
+        sb.append(" on duplicate key update ");
+        if (resource.hasMatchedUpdate()) { // version-no is incremented even if no update column
+            int index = 0;
+            for (String column : resource.getUpdateColumnList()) {
+                if (index > 0) {
+                    sb.append(", ");
+                }
+                sb.append(column).append(" = values(").append(column).append(")");
+                ++index;
+            }
+            final String versionNo = resource.getVersionNoColumn();
+            if (versionNo != null) {
+                sb.append(index > 0 ? ", " : "").append(versionNo).append(" = ").append(versionNo).append(" + 1");
+            }
+        } else { // no-op update
+            final String firstKey = resource.getKeyColumnList().get(0);
+            sb.append(firstKey).append(" = ").append(firstKey);
+        }
+        return sb.toString();
+    }
+
+    // ===================================================================================
+    //                                                                         Explain Way
+    //                                                                         ===========
+    public String buildExplainSql(String sql) {
+        return "explain " + sql;
+    }
+
     // ===================================================================================
     //                                                                         SQL Support
     //                                                                         ===========
@@ -20,6 +20,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import org.dbflute.dbway.topic.OnQueryStringConnector;
+import org.dbflute.dbway.topic.UpsertSqlResource;
 
 /**
  * The DB-way of Oracle.
@@ -49,6 +50,28 @@ public class WayOfOracle implements DBWay, Serializable {
         return null;
     }
 
+    // ===================================================================================
+    //                                                                         Upsert Way
+    //                                                                         ==========
+    public boolean isNativeUpsertSupported() {
+        return true;
+    }
+
+    public String buildUpsertSql(UpsertSqlResource resource) {
+        final StringBuilder sourceSb = new StringBuilder();
+        sourceSb.append("(select ");
+        final List<String> columnList = resource.getInsertColumnList();
+        final List<String> bindExpList = resource.getBindExpList();
+        for (int i = 0; i < columnList.size(); i++) {
+            if (i > 0) {
+                sourceSb.append(", ");
+            }
+            sourceSb.append(bindExpList.get(i)).append(" as ").append(columnList.get(i));
+        }
+        sourceSb.append(" from dual) ").append(UpsertSqlResource.SOURCE_ALIAS);
+        return resource.buildStandardMergeSql(sourceSb.toString(), true);
+    }
+
     // ===================================================================================
     //                                                                         SQL Support
     //                                                                         ===========
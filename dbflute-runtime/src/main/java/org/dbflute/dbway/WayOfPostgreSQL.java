@@ -16,13 +16,16 @@
 package org.dbflute.dbway;
 
 import java.io.Serializable;
+import java.math.BigDecimal;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 import org.dbflute.dbway.topic.ExtensionOperand;
 import org.dbflute.dbway.topic.OnQueryStringConnector;
+import org.dbflute.dbway.topic.UpsertSqlResource;
 import org.dbflute.optional.OptionalThing;
 
 /**
@@ -51,6 +54,73 @@ public class WayOfPostgreSQL implements DBWay, Serializable {
         return null;
     }
 
+    // ===================================================================================
+    //                                                                         Upsert Way
+    //                                                                         ==========
+    public boolean isNativeUpsertSupported() {
+        return true;
+    }
+
+    public String buildUpsertSql(UpsertSqlResource resource) {
+        final StringBuilder sb = new StringBuilder();
+        sb.append(resource.buildInsertClause());
+        sb.append(" on conflict (").append(resource.buildColumnExp(resource.getKeyColumnList(), null)).append(")");
+        if (resource.hasMatchedUpdate()) { // version-no is incremented even if no update column
+            sb.append(" do update set ");
+            int index = 0;
+            for (String column : resource.getUpdateColumnList()) {
+                if (index > 0) {
+                    sb.append(", ");
+                }
+                sb.append(column).append(" = excluded.").append(column);
+                ++index;
+            }
+            final String versionNo = resource.getVersionNoColumn();
+            if (versionNo != null) {
+                sb.append(index > 0 ? ", " : "").append(versionNo);
+                sb.append(" = ").append(resource.getTableSqlName()).append(".").append(versionNo).append(" + 1");
+            }
+        } else {
+            sb.append(" do nothing");
+        }
+        return sb.toString();
+    }
+
+    // ===================================================================================
+    //                                                                   Array InScope Way
+    //                                                                   =================
+    public boolean isArrayInScopeSupported() {
+        return true;
+    }
+
+    public String getArrayInScopeOperand(boolean notInScope) {
+        return notInScope ? "<> all" : "= any";
+    }
+
+    public String findArrayInScopeElementTypeName(Class<?> elementType) {
+        if (String.class.equals(elementType)) {
+            return "varchar";
+        } else if (Integer.class.equals(elementType)) {
+            return "int4";
+        } else if (Long.class.equals(elementType)) {
+            return "int8";
+        } else if (Short.class.equals(elementType)) {
+            return "int2";
+        } else if (BigDecimal.class.equals(elementType)) {
+            return "numeric";
+        } else if (UUID.class.equals(elementType)) {
+            return "uuid";
+        }
+        return null; // e.g. date-time (driver conversion is not stable)
+    }
+
+    // ===================================================================================
+    //                                                                         Explain Way
+    //                                                                         ===========
+    public String buildExplainSql(String sql) {
+        return "explain " + sql;
+    }
+
     // ===================================================================================
     //                                                                         SQL Support
     //                                                                         ===========
@@ -20,6 +20,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import org.dbflute.dbway.topic.OnQueryStringConnector;
+import org.dbflute.dbway.topic.UpsertSqlResource;
 
 /**
  * The DB-way of SQLServer.
@@ -61,6 +62,19 @@ public class WayOfSQLServer implements DBWay, Serializable {
         return "set identity_insert " + tableSqlName + " " + (insertOn ? "on" : "off");
     }
 
+    // ===================================================================================
+    //                                                                         Upsert Way
+    //                                                                         ==========
+    public boolean isNativeUpsertSupported() {
+        return true;
+    }
+
+    public String buildUpsertSql(UpsertSqlResource resource) {
+        final String sourceExp = "(values (" + resource.buildBindExp() + ")) as " + UpsertSqlResource.SOURCE_ALIAS // values
+                + " (" + resource.buildColumnExp(resource.getInsertColumnList(), null) + ")";
+        return resource.buildStandardMergeSql(sourceExp, false) + ";"; // merge statement requires semicolon
+    }
+
     // ===================================================================================
     //                                                                         SQL Support
     //                                                                         ===========
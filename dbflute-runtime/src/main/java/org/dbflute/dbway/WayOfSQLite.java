@@ -20,6 +20,7 @@ import java.util.Collections;
 import java.util.List;
 
 import org.dbflute.dbway.topic.OnQueryStringConnector;
+import org.dbflute.dbway.topic.UpsertSqlResource;
 
 /**
  * The DB-way of SQLite.
@@ -47,6 +48,45 @@ public class WayOfSQLite implements DBWay, Serializable {
         return "select last_insert_rowid()";
     }
 
+    // ===================================================================================
+    //                                                                         Upsert Way
+    //                                                                         ==========
+    public boolean isNativeUpsertSupported() {
+        return true;
+    }
+
+    public String buildUpsertSql(UpsertSqlResource resource) {
+        final StringBuilder sb = new StringBuilder();
+        sb.append(resource.buildInsertClause());
+        sb.append(" on conflict (").append(resource.buildColumnExp(resource.getKeyColumnList(), null)).append(")");
+        if (resource.hasMatchedUpdate()) { // version-no is incremented even if no update column
+            sb.append(" do update set ");
+            int index = 0;
+            for (String column : resource.getUpdateColumnList()) {
+                if (index > 0) {
+                    sb.append(", ");
+                }
+                sb.append(column).append(" = excluded.").append(column);
+                ++index;
+            }
+            final String versionNo = resource.getVersionNoColumn();
+            if (versionNo != null) {
+                sb.append(index > 0 ? ", " : "").append(versionNo);
+                sb.append(" = ").append(resource.getTableSqlName()).append(".").append(versionNo).append(" + 1");
+            }
+        } else {
+            sb.append(" do nothing");
+        }
+        return sb.toString();
+    }
+
+    // ===================================================================================
+    //                                                                         Explain Way
+    //                                                                         ===========
+    public String buildExplainSql(String sql) {
+        return "explain query plan " + sql;
+    }
+
     // ===================================================================================
     //                                                                         SQL Support
     //                                                                         ===========
@@ -0,0 +1,271 @@
+/*
+ * Copyright 2014-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.dbway.topic;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The resource of native upsert SQL, which is built by DB-way. <br>
+ * Parameters (bind expressions) are bound in order of insert columns.
+ * @author jflute
+ * @since 1.3.0 (2026/10/19 Monday)
+ */
+public class UpsertSqlResource {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    /** The alias of target table in merge statement. */
+    public static final String TARGET_ALIAS = "dfloc";
+
+    /** The alias of source values in merge statement. */
+    public static final String SOURCE_ALIAS = "dfsrc";
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final String _tableSqlName; // not null
+    protected final List<String> _keyColumnList = new ArrayList<String>(); // SQL names of unique key e.g. PK
+    protected final List<String> _insertColumnList = new ArrayList<String>(); // SQL names, contains key columns
+    protected final List<String> _bindExpList = new ArrayList<String>(); // same size as insert columns, e.g. "?"
+    protected final List<String> _updateColumnList = new ArrayList<String>(); // updated when matched, subset of insert columns
+    protected String _versionNoColumn; // incremented when matched (null allowed)
+    protected final Map<String, UpsertColumnType> _columnTypeMap = new HashMap<String, UpsertColumnType>(); // for typed markers
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param tableSqlName The SQL name of target table. (NotNull)
+     */
+    public UpsertSqlResource(String tableSqlName) {
+        _tableSqlName = tableSqlName;
+    }
+
+    // ===================================================================================
+    //                                                                        Registration
+    //                                                                        ============
+    /**
+     * Add the column as unique key to determine existence. (should be also added as insert column)
+     * @param columnSqlName The SQL name of the column. (NotNull)
+     */
+    public void addKeyColumn(String columnSqlName) {
+        _keyColumnList.add(columnSqlName);
+    }
+
+    /**
+     * Add the column as insert column with its bind expression.
+     * @param columnSqlName The SQL name of the column. (NotNull)
+     * @param bindExp The bind expression of the column, e.g. "?". (NotNull)
+     * @param updated Is the column also updated when the record exists?
+     */
+    public void addInsertColumn(String columnSqlName, String bindExp, boolean updated) {
+        _insertColumnList.add(columnSqlName);
+        _bindExpList.add(bindExp);
+        if (updated) {
+            _updateColumnList.add(columnSqlName);
+        }
+    }
+
+    /**
+     * Register the column of version-no incremented when the record exists.
+     * @param versionNoColumn The SQL name of version-no column. (NullAllowed: if no version-no)
+     */
+    public void registerVersionNoColumn(String versionNoColumn) {
+        _versionNoColumn = versionNoColumn;
+    }
+
+    /**
+     * Register the type of the column, used by DB that needs typed parameter markers in source values (e.g. DB2).
+     * @param columnSqlName The SQL name of the column. (NotNull)
+     * @param dbType The DB type of the column, e.g. VARCHAR. (NotNull)
+     * @param size The size of the column. (NullAllowed: if the type has no size)
+     * @param decimalDigits The decimal digits of the column. (NullAllowed: if the type has no digits)
+     */
+    public void registerColumnType(String columnSqlName, String dbType, Integer size, Integer decimalDigits) {
+        _columnTypeMap.put(columnSqlName, new UpsertColumnType(dbType, size, decimalDigits));
+    }
+
+    /**
+     * @param columnSqlName The SQL name of the column. (NotNull)
+     * @return The type of the column. (NullAllowed: if not registered)
+     */
+    public UpsertColumnType findColumnType(String columnSqlName) {
+        return _columnTypeMap.get(columnSqlName);
+    }
+
+    // ===================================================================================
+    //                                                                      SQL Expression
+    //                                                                      ==============
+    /**
+     * @param columnList The list of column SQL names. (NotNull)
+     * @param qualifier The qualifier of columns, e.g. alias. (NullAllowed: if no qualifier)
+     * @return The comma-separated expression of columns. (NotNull)
+     */
+    public String buildColumnExp(List<String> columnList, String qualifier) {
+        final StringBuilder sb = new StringBuilder();
+        for (String column : columnList) {
+            if (sb.length() > 0) {
+                sb.append(", ");
+            }
+            if (qualifier != null) {
+                sb.append(qualifier).append(".");
+            }
+            sb.append(column);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @return The comma-separated expression of bind expressions, e.g. "?, ?, ?". (NotNull)
+     */
+    public String buildBindExp() {
+        return String.join(", ", _bindExpList);
+    }
+
+    /**
+     * @return The plain insert statement with column list and values. (NotNull)
+     */
+    public String buildInsertClause() {
+        final String columnExp = buildColumnExp(_insertColumnList, null);
+        return "insert into " + _tableSqlName + " (" + columnExp + ") values (" + buildBindExp() + ")";
+    }
+
+    /**
+     * Build standard merge statement.
+     * <pre>
+     * merge into MEMBER dfloc
+     * using (...source...) dfsrc
+     *    on (dfloc.MEMBER_ID = dfsrc.MEMBER_ID)
+     *  when matched then update set dfloc.MEMBER_NAME = dfsrc.MEMBER_NAME, ...
+     *  when not matched then insert (MEMBER_ID, MEMBER_NAME, ...) values (dfsrc.MEMBER_ID, dfsrc.MEMBER_NAME, ...)
+     * </pre>
+     * @param sourceExp The expression of source containing its alias, e.g. "(select ? as A from dual) dfsrc". (NotNull)
+     * @param qualifiedUpdateColumn Does it qualify the updated columns by target alias?
+     * @return The merge statement. (NotNull)
+     */
+    public String buildStandardMergeSql(String sourceExp, boolean qualifiedUpdateColumn) {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("merge into ").append(_tableSqlName).append(" ").append(TARGET_ALIAS);
+        sb.append(" using ").append(sourceExp);
+        sb.append(" on (");
+        for (int i = 0; i < _keyColumnList.size(); i++) {
+            final String column = _keyColumnList.get(i);
+            if (i > 0) {
+                sb.append(" and ");
+            }
+            sb.append(TARGET_ALIAS).append(".").append(column).append(" = ").append(SOURCE_ALIAS).append(".").append(column);
+        }
+        sb.append(")");
+        if (hasMatchedUpdate()) { // version-no is incremented even if no update column
+            final String targetPrefix = qualifiedUpdateColumn ? TARGET_ALIAS + "." : "";
+            sb.append(" when matched then update set ");
+            int index = 0;
+            for (String column : _updateColumnList) {
+                if (index > 0) {
+                    sb.append(", ");
+                }
+                sb.append(targetPrefix).append(column).append(" = ").append(SOURCE_ALIAS).append(".").append(column);
+                ++index;
+            }
+            if (_versionNoColumn != null) {
+                if (index > 0) {
+                    sb.append(", ");
+                }
+                sb.append(targetPrefix).append(_versionNoColumn);
+                sb.append(" = ").append(TARGET_ALIAS).append(".").append(_versionNoColumn).append(" + 1");
+            }
+        }
+        sb.append(" when not matched then insert (").append(buildColumnExp(_insertColumnList, null)).append(")");
+        sb.append(" values (").append(buildColumnExp(_insertColumnList, SOURCE_ALIAS)).append(")");
+        return sb.toString();
+    }
+
+    /**
+     * @return Does it have the column updated when the record exists? (version-no is not counted)
+     */
+    public boolean hasUpdateColumn() {
+        return !_updateColumnList.isEmpty();
+    }
+
+    /**
+     * @return Does it update the existing record? (true if update column or version-no exists)
+     */
+    public boolean hasMatchedUpdate() {
+        return hasUpdateColumn() || _versionNoColumn != null;
+    }
+
+    // ===================================================================================
+    //                                                                         Column Type
+    //                                                                         ===========
+    /**
+     * The type of column for typed parameter markers, immutable.
+     */
+    public static class UpsertColumnType {
+
+        protected final String _dbType; // not null
+        protected final Integer _size; // null allowed
+        protected final Integer _decimalDigits; // null allowed
+
+        public UpsertColumnType(String dbType, Integer size, Integer decimalDigits) {
+            _dbType = dbType;
+            _size = size;
+            _decimalDigits = decimalDigits;
+        }
+
+        public String getDbType() {
+            return _dbType;
+        }
+
+        public Integer getSize() {
+            return _size;
+        }
+
+        public Integer getDecimalDigits() {
+            return _decimalDigits;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public String getTableSqlName() {
+        return _tableSqlName;
+    }
+
+    public List<String> getKeyColumnList() {
+        return _keyColumnList;
+    }
+
+    public List<String> getInsertColumnList() {
+        return _insertColumnList;
+    }
+
+    public List<String> getBindExpList() {
+        return _bindExpList;
+    }
+
+    public List<String> getUpdateColumnList() {
+        return _updateColumnList;
+    }
+
+    public String getVersionNoColumn() {
+        return _versionNoColumn;
+    }
+}
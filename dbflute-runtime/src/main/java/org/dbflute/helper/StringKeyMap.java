@@ -35,6 +35,9 @@ public class StringKeyMap<VALUE> implements Map<String, VALUE>, Serializable {
     /** The serial version UID for object serialization. (Default) */
     private static final long serialVersionUID = 1L;
 
+    /** The limit size of exact search key map, no more registration if over it. */
+    protected static final int EXACT_SEARCH_KEY_LIMIT = 1024;
+
     // ===================================================================================
     //                                                                           Attribute
     //                                                                           =========
@@ -44,6 +47,9 @@ public class StringKeyMap<VALUE> implements Map<String, VALUE>, Serializable {
     protected final Map<String, VALUE> _plainMap; // invalid if concurrent
     protected final Map<String, String> _searchPlainKeyMap; // same life-cycle as plainMap
 
+    // exact key to search key for lookup fast path, it is memo of key conversion so no problem if stale
+    protected final Map<String, String> _exactSearchKeyMap;
+
     protected boolean _flexible;
 
     // ===================================================================================
@@ -59,6 +65,7 @@ public class StringKeyMap<VALUE> implements Map<String, VALUE>, Serializable {
             _searchMap = newConcurrentHashMap();
             _plainMap = null; // invalid if concurrent
             _searchPlainKeyMap = null; // same life-cycle as plainMap
+            _exactSearchKeyMap = newConcurrentHashMap();
         } else {
             if (order) {
                 _searchMap = newLinkedHashMap();
@@ -68,6 +75,7 @@ public class StringKeyMap<VALUE> implements Map<String, VALUE>, Serializable {
                 _plainMap = newHashMap();
             }
             _searchPlainKeyMap = newHashMap();
+            _exactSearchKeyMap = newHashMap();
         }
     }
 
@@ -138,12 +146,13 @@ public class StringKeyMap<VALUE> implements Map<String, VALUE>, Serializable {
     //                                           Key Related
     //                                           -----------
     public VALUE get(Object key) {
-        final String stringKey = convertStringKey(key);
+        final String stringKey = findSearchKey(key);
         return _searchMap.get(stringKey);
     }
 
     public VALUE put(String key, VALUE value) {
         final String stringKey = convertStringKey(key);
+        registerExactSearchKey(key, stringKey);
         if (_plainMap != null) { // non thread safe
             final String plainKey = generatePlainKey(key, stringKey);
             _plainMap.put(plainKey, value);
@@ -177,10 +186,29 @@ public class StringKeyMap<VALUE> implements Map<String, VALUE>, Serializable {
     }
 
     public boolean containsKey(Object key) {
-        final String stringKey = convertStringKey(key);
+        final String stringKey = findSearchKey(key);
         return _searchMap.containsKey(stringKey);
     }
 
+    protected String findSearchKey(Object key) {
+        if (key instanceof String) { // exact name fast path, e.g. column DB name, property name
+            final String searchKey = _exactSearchKeyMap.get(key);
+            if (searchKey != null) {
+                return searchKey;
+            }
+        }
+        return convertStringKey(key);
+    }
+
+    protected void registerExactSearchKey(String key, String stringKey) {
+        if (key == null || key == stringKey) { // null or no conversion (no need to memo)
+            return;
+        }
+        if (_exactSearchKeyMap.size() < EXACT_SEARCH_KEY_LIMIT) { // rough limit, no problem if a little over
+            _exactSearchKeyMap.put(key, stringKey);
+        }
+    }
+
     // -----------------------------------------------------
     //                                              Delegate
     //                                              --------
@@ -189,6 +217,7 @@ public class StringKeyMap<VALUE> implements Map<String, VALUE>, Serializable {
             _plainMap.clear();
             _searchPlainKeyMap.clear();
         }
+        _exactSearchKeyMap.clear();
         _searchMap.clear();
     }
 
@@ -258,7 +287,64 @@ public class StringKeyMap<VALUE> implements Map<String, VALUE>, Serializable {
         if (!(key instanceof String)) {
             return null;
         }
-        return toLowerCase(removeConnector((String) key));
+        final String plainKey = (String) key;
+        final String simpleKey = convertSimpleStringKey(plainKey);
+        if (simpleKey != null) { // mainly here
+            return simpleKey;
+        }
+        return toLowerCase(removeConnector(plainKey));
+    }
+
+    /**
+     * Convert the ASCII key to search key by one scan, without intermediate strings. <br>
+     * The same instance is returned if no conversion is needed.
+     * @param key The plain key. (NotNull)
+     * @return The converted search key. (NullAllowed: when non-ASCII, then general conversion)
+     */
+    protected String convertSimpleStringKey(String key) {
+        final int length = key.length();
+        int begin = 0;
+        int end = length;
+        if (_flexible && length > 1) { // both side quotations
+            final char first = key.charAt(0);
+            if ((first == '\'' || first == '"') && key.charAt(length - 1) == first) {
+                begin = 1;
+                end = length - 1;
+            }
+        }
+        boolean converted = begin > 0;
+        for (int i = begin; i < end; i++) {
+            final char ch = key.charAt(i);
+            if (ch >= 0x80) { // e.g. Japanese name, depends on locale
+                return null;
+            }
+            if (!converted && (isUpperCaseAscii(ch) || isFlexibleConnector(ch))) {
+                converted = true; // continue to check non-ASCII
+            }
+        }
+        if (!converted) {
+            return key;
+        }
+        final char[] chars = new char[end - begin];
+        int size = 0;
+        for (int i = begin; i < end; i++) {
+            final char ch = key.charAt(i);
+            if (isFlexibleConnector(ch)) {
+                continue;
+            }
+            chars[size] = isUpperCaseAscii(ch) ? (char) (ch + ('a' - 'A')) : ch;
+            ++size;
+        }
+        return new String(chars, 0, size);
+    }
+
+    protected boolean isUpperCaseAscii(char ch) {
+        return ch >= 'A' && ch <= 'Z';
+    }
+
+    protected boolean isFlexibleConnector(char ch) {
+        // a main target mark when flexible, and non-compilable marks in Java
+        return _flexible && (ch == '_' || ch == '-' || ch == ' ');
     }
 
     protected String removeConnector(String value) {
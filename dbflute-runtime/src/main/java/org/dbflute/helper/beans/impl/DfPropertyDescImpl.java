@@ -15,6 +15,9 @@
  */
 package org.dbflute.helper.beans.impl;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
@@ -29,6 +32,7 @@ import org.dbflute.helper.beans.DfPropertyDesc;
 import org.dbflute.helper.beans.exception.DfBeanIllegalPropertyException;
 import org.dbflute.helper.message.ExceptionMessageBuilder;
 import org.dbflute.util.DfReflectionUtil;
+import org.dbflute.util.DfReflectionUtil.ReflectionFailureException;
 import org.dbflute.util.DfTypeUtil;
 
 /**
@@ -40,6 +44,8 @@ public class DfPropertyDescImpl implements DfPropertyDesc {
     //                                                                          Definition
     //                                                                          ==========
     protected static final Object[] EMPTY_ARGS = new Object[0];
+    protected static final MethodType READ_HANDLE_TYPE = MethodType.methodType(Object.class, Object.class);
+    protected static final MethodType WRITE_HANDLE_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
 
     // ===================================================================================
     //                                                                           Attribute
@@ -49,6 +55,10 @@ public class DfPropertyDescImpl implements DfPropertyDesc {
     protected final Class<?> _propertyType;
     protected Method _readMethod;
     protected Method _writeMethod;
+    protected MethodHandle _readHandle; // null allowed: when no read method or not accessible by handle
+    protected MethodHandle _writeHandle; // null allowed: when no write method or not accessible by handle
+    protected Class<?> _writeValueType; // null allowed: when no write handle, wrapper type if primitive
+    protected boolean _writePrimitive; // true if parameter type of write method is primitive
     protected Field _field;
     protected Constructor<?> _stringConstructor;
     protected Method _valueOfMethod;
@@ -138,6 +148,7 @@ public class DfPropertyDescImpl implements DfPropertyDesc {
 
     public final void setReadMethod(Method readMethod) {
         _readMethod = readMethod;
+        _readHandle = readMethod != null ? prepareHandle(readMethod, READ_HANDLE_TYPE) : null;
         if (readMethod != null) {
             _readable = true;
         }
@@ -153,6 +164,10 @@ public class DfPropertyDescImpl implements DfPropertyDesc {
 
     public final void setWriteMethod(Method writeMethod) {
         _writeMethod = writeMethod;
+        _writeHandle = writeMethod != null ? prepareHandle(writeMethod, WRITE_HANDLE_TYPE) : null;
+        final Class<?> paramType = writeMethod != null ? writeMethod.getParameterTypes()[0] : null;
+        _writeValueType = _writeHandle != null ? toWrapperType(paramType) : null;
+        _writePrimitive = paramType != null && paramType.isPrimitive();
         if (writeMethod != null) {
             _writable = true;
         }
@@ -162,6 +177,62 @@ public class DfPropertyDescImpl implements DfPropertyDesc {
         return _writeMethod != null;
     }
 
+    // ===================================================================================
+    //                                                                       Method Handle
+    //                                                                       =============
+    /**
+     * Prepare the method handle of the accessor method, generated once when the property is described. <br>
+     * It is adapted to generic type so it can be called by invokeExact() without boxing arguments array.
+     * @param method The read or write method of the property. (NotNull)
+     * @param handleType The generic type of handle for the accessor. (NotNull)
+     * @return The prepared method handle. (NullAllowed: when not accessible, then reflection is used)
+     */
+    protected MethodHandle prepareHandle(Method method, MethodType handleType) {
+        try {
+            return MethodHandles.publicLookup().unreflect(method).asType(handleType);
+        } catch (IllegalAccessException | RuntimeException ignored) { // e.g. non-public class
+            return null;
+        }
+    }
+
+    protected Object invokeReadHandle(Object target) {
+        try {
+            return (Object) _readHandle.invokeExact(target);
+        } catch (RuntimeException | Error e) { // same as reflection
+            throw e;
+        } catch (Throwable e) { // checked exception from the method
+            throw new ReflectionFailureException("The exception occurred: method=" + _readMethod + " target=" + target, e);
+        }
+    }
+
+    protected void invokeWriteHandle(Object target, Object value) {
+        try {
+            _writeHandle.invokeExact(target, value);
+        } catch (RuntimeException | Error e) { // same as reflection
+            throw e;
+        } catch (Throwable e) { // checked exception from the method
+            throw new ReflectionFailureException("The exception occurred: method=" + _writeMethod + " target=" + target, e);
+        }
+    }
+
+    protected boolean canReadByHandle(Object target) {
+        // illegal target is handled by reflection to keep the failure message
+        return _readHandle != null && _readMethod.getDeclaringClass().isInstance(target);
+    }
+
+    protected boolean canWriteByHandle(Object target, Object value) {
+        // illegal target or value (e.g. null to primitive) is handled by reflection to keep the failure message
+        if (_writeHandle == null || !_writeMethod.getDeclaringClass().isInstance(target)) {
+            return false;
+        }
+        return value != null ? _writeValueType.isInstance(value) : !_writePrimitive;
+    }
+
+    protected Class<?> toWrapperType(Class<?> type) {
+        final Class<?> wrapperType = DfReflectionUtil.getWrapperClass(type);
+        return wrapperType != null ? wrapperType : type;
+    }
+
     // ===================================================================================
     //                                                                               Field
     //                                                                               =====
@@ -186,7 +257,9 @@ public class DfPropertyDescImpl implements DfPropertyDesc {
             throwPropertyNotReadableException(target);
         }
         try {
-            if (hasReadMethod()) {
+            if (canReadByHandle(target)) { // main case
+                return invokeReadHandle(target);
+            } else if (hasReadMethod()) {
                 return DfReflectionUtil.invoke(_readMethod, target, EMPTY_ARGS);
             } else {
                 return DfReflectionUtil.getValue(_field, target);
@@ -226,7 +299,9 @@ public class DfPropertyDescImpl implements DfPropertyDesc {
         }
         try {
             value = convertIfNeed(value);
-            if (hasWriteMethod()) {
+            if (canWriteByHandle(target, value)) { // main case
+                invokeWriteHandle(target, value);
+            } else if (hasWriteMethod()) {
                 DfReflectionUtil.invoke(_writeMethod, target, new Object[] { value });
             } else {
                 DfReflectionUtil.setValue(_field, target, value);
@@ -0,0 +1,295 @@
+/*
+ * Copyright 2014-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.hook;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.dbflute.bhv.core.BehaviorCommandMeta;
+import org.dbflute.bhv.core.context.InternalMapContext;
+import org.dbflute.bhv.core.context.InternalMapContext.InvokePathProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The detector of N+1 query in scope on thread, as SQL result handler. <br>
+ * It counts select executions per SQL shape (executed SQL with question marks) with distinct binds,
+ * and reports shapes over the threshold with their invoke path,
+ * which usually means selectByPK in entity loop where loadReferrer() or setupSelect belongs.
+ * <pre>
+ * NPlusOneDetector detector = new NPlusOneDetector(10); <span style="color: #3F7E5E">// as singleton</span>
+ * CallbackContext.setSqlResultHandlerOnThread(detector); <span style="color: #3F7E5E">// e.g. in request filter</span>
+ * detector.begin();
+ * try {
+ *     ...
+ * } finally {
+ *     List&lt;NPlusOneSuspect&gt; suspectList = detector.end(); <span style="color: #3F7E5E">// also logged as warning</span>
+ * }
+ * </pre>
+ * Selects out of the scope are ignored, so it costs nothing when no scope is begun.
+ * @author jflute
+ * @since 1.3.0 (2026/10/19 Monday)
+ */
+public class NPlusOneDetector implements SqlResultHandler {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    /** The logger instance for this class. (NotNull) */
+    private static final Logger _log = LoggerFactory.getLogger(NPlusOneDetector.class);
+
+    /** The limit count of SQL shapes in one scope, roughly, shapes over it are not counted. */
+    protected static final int SQL_SHAPE_LIMIT = 500;
+
+    /** The limit count of kept distinct binds per shape, binds over it are counted as distinct. */
+    protected static final int DISTINCT_BINDS_LIMIT = 1000;
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final int _threshold; // 2 or more
+    protected final ThreadLocal<DetectionScope> _scopeLocal = new ThreadLocal<DetectionScope>();
+    protected boolean _warningLogSuppressed; // true means only returned by end()
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param threshold The count of executions with distinct binds to be suspected. (2 or more)
+     */
+    public NPlusOneDetector(int threshold) {
+        if (threshold < 2) {
+            throw new IllegalArgumentException("The argument 'threshold' should be 2 or more: " + threshold);
+        }
+        _threshold = threshold;
+    }
+
+    /**
+     * Suppress warning log at the end of scope, e.g. you handle suspects by yourself.
+     * @return this. (NotNull)
+     */
+    public NPlusOneDetector suppressWarningLog() {
+        _warningLogSuppressed = true;
+        return this;
+    }
+
+    // ===================================================================================
+    //                                                                               Scope
+    //                                                                               =====
+    /**
+     * Begin the detection scope on the current thread.
+     * @throws IllegalStateException When the scope has already begun on the thread.
+     */
+    public void begin() {
+        if (_scopeLocal.get() != null) {
+            throw new IllegalStateException("The detection scope has already begun on the thread: " + Thread.currentThread());
+        }
+        _scopeLocal.set(new DetectionScope());
+    }
+
+    /**
+     * End the detection scope on the current thread, and report suspects. (no exception if not begun)
+     * @return The read-only list of N+1 suspects in the scope, most executed first. (NotNull, EmptyAllowed)
+     */
+    public List<NPlusOneSuspect> end() {
+        final DetectionScope scope = _scopeLocal.get();
+        if (scope == null) {
+            return Collections.emptyList();
+        }
+        _scopeLocal.remove();
+        final List<NPlusOneSuspect> suspectList = scope.extractSuspectList(_threshold);
+        if (!_warningLogSuppressed && !suspectList.isEmpty()) {
+            logSuspect(suspectList);
+        }
+        return suspectList;
+    }
+
+    /**
+     * @return Is the detection scope begun on the current thread?
+     */
+    public boolean isBegun() {
+        return _scopeLocal.get() != null;
+    }
+
+    protected void logSuspect(List<NPlusOneSuspect> suspectList) {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("*N+1 query suspected: threshold=").append(_threshold);
+        for (NPlusOneSuspect suspect : suspectList) {
+            sb.append("\n ").append(suspect);
+        }
+        _log.warn(sb.toString());
+    }
+
+    // ===================================================================================
+    //                                                                      Handle Result
+    //                                                                      =============
+    @Override
+    public void handle(SqlResultInfo info) {
+        final DetectionScope scope = _scopeLocal.get();
+        if (scope == null) { // no cost out of scope
+            return;
+        }
+        final BehaviorCommandMeta meta = info.getMeta();
+        if (!meta.isSelect() || info.getCause() != null) {
+            return;
+        }
+        final SqlLogInfo sqlLogInfo = info.getSqlLogInfo();
+        final String executedSql = sqlLogInfo.getExecutedSql(); // not display SQL
+        if (executedSql == null) {
+            return;
+        }
+        final ShapeCount count = scope.findShapeCount(executedSql, meta);
+        if (count != null && count.count(sqlLogInfo.getBindArgs()) == _threshold) { // only once per shape
+            count.setInvokePath(findInvokePath());
+        }
+    }
+
+    protected String findInvokePath() { // provided lazily because of stack trace cost
+        final InvokePathProvider provider = InternalMapContext.getInvokePathProvider();
+        return provider != null ? provider.provide() : null;
+    }
+
+    protected static String buildCommandExp(BehaviorCommandMeta meta) {
+        return meta.getTableDbName() + "." + meta.getCommandName() + "()";
+    }
+
+    // ===================================================================================
+    //                                                                     Detection Scope
+    //                                                                     ===============
+    protected static class DetectionScope { // on one thread so no synchronization
+
+        protected final Map<String, ShapeCount> _shapeCountMap = new LinkedHashMap<String, ShapeCount>();
+
+        public ShapeCount findShapeCount(String executedSql, BehaviorCommandMeta meta) {
+            ShapeCount count = _shapeCountMap.get(executedSql);
+            if (count == null) {
+                if (_shapeCountMap.size() >= SQL_SHAPE_LIMIT) {
+                    return null;
+                }
+                count = new ShapeCount(executedSql, buildCommandExp(meta));
+                _shapeCountMap.put(executedSql, count);
+            }
+            return count;
+        }
+
+        public List<NPlusOneSuspect> extractSuspectList(int threshold) {
+            final List<NPlusOneSuspect> suspectList = new ArrayList<NPlusOneSuspect>();
+            for (ShapeCount count : _shapeCountMap.values()) {
+                if (count.getDistinctCount() >= threshold) {
+                    suspectList.add(count.toSuspect());
+                }
+            }
+            suspectList.sort((o1, o2) -> Integer.compare(o2.getDistinctCount(), o1.getDistinctCount()));
+            return Collections.unmodifiableList(suspectList);
+        }
+    }
+
+    protected static class ShapeCount {
+
+        protected final String _executedSql;
+        protected final String _commandExp;
+        protected final Set<List<Object>> _bindsSet = new HashSet<List<Object>>();
+        protected int _executionCount;
+        protected int _distinctCount;
+        protected String _invokePath; // null allowed: until the threshold
+
+        public ShapeCount(String executedSql, String commandExp) {
+            _executedSql = executedSql;
+            _commandExp = commandExp;
+        }
+
+        /**
+         * @param bindArgs The array of bind arguments. (NullAllowed)
+         * @return The count of executions with distinct binds after this execution.
+         */
+        public int count(Object[] bindArgs) {
+            ++_executionCount;
+            if (_bindsSet.size() >= DISTINCT_BINDS_LIMIT) {
+                ++_distinctCount; // treated as distinct, enough to be suspected
+            } else if (_bindsSet.add(bindArgs != null ? Arrays.asList(bindArgs.clone()) : Collections.emptyList())) {
+                ++_distinctCount;
+            }
+            return _distinctCount;
+        }
+
+        public int getDistinctCount() {
+            return _distinctCount;
+        }
+
+        public void setInvokePath(String invokePath) {
+            _invokePath = invokePath;
+        }
+
+        public NPlusOneSuspect toSuspect() {
+            return new NPlusOneSuspect(_executedSql, _commandExp, _executionCount, _distinctCount, _invokePath);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                             Suspect
+    //                                                                             =======
+    /**
+     * The suspect of N+1 query, immutable.
+     */
+    public static class NPlusOneSuspect {
+
+        protected final String _executedSql; // not null, with question marks
+        protected final String _commandExp; // not null, e.g. MEMBER.selectEntity()
+        protected final int _executionCount;
+        protected final int _distinctCount;
+        protected final String _invokePath; // null allowed: if no provider
+
+        public NPlusOneSuspect(String executedSql, String commandExp, int executionCount, int distinctCount, String invokePath) {
+            _executedSql = executedSql;
+            _commandExp = commandExp;
+            _executionCount = executionCount;
+            _distinctCount = distinctCount;
+            _invokePath = invokePath;
+        }
+
+        @Override
+        public String toString() {
+            return "{" + _commandExp + " x" + _distinctCount + " (executed " + _executionCount + "), path=" + _invokePath + ", sql="
+                    + _executedSql + "}";
+        }
+
+        public String getExecutedSql() {
+            return _executedSql;
+        }
+
+        public String getCommandExp() {
+            return _commandExp;
+        }
+
+        public int getExecutionCount() {
+            return _executionCount;
+        }
+
+        public int getDistinctCount() {
+            return _distinctCount;
+        }
+
+        public String getInvokePath() {
+            return _invokePath;
+        }
+    }
+}
@@ -0,0 +1,460 @@
+/*
+ * Copyright 2014-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.hook;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.dbflute.bhv.core.BehaviorCommandMeta;
+import org.dbflute.jdbc.ExecutionTimeInfo;
+import org.dbflute.system.DBFluteSystem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The registry of SQL statistics aggregated per normalized SQL shape, as SQL result handler. <br>
+ * It counts calls, time, rows and errors by lock-free counters, and does not build display SQL. <br>
+ * The SQL shape is the executed SQL (with question marks) whose spaces and in-scope bind lists are normalized.
+ * <pre>
+ * SqlStatisticsRegistry registry = new SqlStatisticsRegistry(); <span style="color: #3F7E5E">// as singleton</span>
+ * CallbackContext.setSqlResultHandlerOnThread(registry); <span style="color: #3F7E5E">// e.g. in request filter</span>
+ * ...
+ * List&lt;SqlStatistics&gt; topList = registry.findTopByTotalTime(10);
+ * registry.startPeriodicDump(60, 10, true); <span style="color: #3F7E5E">// dump top 10 to log and reset every minute</span>
+ * </pre>
+ * @author jflute
+ * @since 1.3.0 (2026/10/19 Monday)
+ */
+public class SqlStatisticsRegistry implements SqlResultHandler {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    /** The logger instance for this class. (NotNull) */
+    private static final Logger _log = LoggerFactory.getLogger(SqlStatisticsRegistry.class);
+
+    /** The limit count of SQL shapes, roughly, SQLs over it are aggregated as one overflow shape. */
+    protected static final int SQL_SHAPE_LIMIT = 2000;
+
+    /** The shape key for SQLs over the limit. */
+    protected static final String OVERFLOW_SHAPE = "(overflow shapes)";
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    /** The holder of statistics maps, switched as one by reset. (NotNull) */
+    protected volatile StatisticsHolder _holder = new StatisticsHolder();
+
+    protected ScheduledExecutorService _dumpService; // null allowed, exists while periodic dump
+
+    // ===================================================================================
+    //                                                                      Handle Result
+    //                                                                      =============
+    @Override
+    public void handle(SqlResultInfo info) {
+        final SqlStatistics statistics = findStatistics(info);
+        final RuntimeException cause = info.getCause();
+        final ExecutionTimeInfo timeInfo = info.getExecutionTimeInfo();
+        statistics.record(deriveElapsedMillis(timeInfo), cause == null ? deriveRowCount(info) : 0L, cause != null);
+        statistics.recordPhase(timeInfo.getConnectionAcquisitionMillis(), timeInfo.getStatementPreparationMillis(),
+                timeInfo.getResultMappingMillis());
+    }
+
+    protected SqlStatistics findStatistics(SqlResultInfo info) {
+        final StatisticsHolder holder = _holder; // read once, raw map and shape map are always of same generation
+        final String executedSql = info.getSqlLogInfo().getExecutedSql(); // not display SQL
+        final String rawKey = executedSql != null ? executedSql : buildCommandExp(info.getMeta());
+        final SqlStatistics cached = holder._rawSqlMap.get(rawKey);
+        if (cached != null) {
+            return cached;
+        }
+        final String shape = executedSql != null ? normalizeSql(executedSql) : rawKey;
+        final SqlStatistics statistics = findOrCreateByShape(holder, shape, info.getMeta());
+        if (holder._rawSqlMap.size() < SQL_SHAPE_LIMIT * 4) { // rough limit
+            holder._rawSqlMap.putIfAbsent(rawKey, statistics);
+        }
+        return statistics;
+    }
+
+    protected SqlStatistics findOrCreateByShape(StatisticsHolder holder, String shape, BehaviorCommandMeta meta) {
+        final Map<String, SqlStatistics> statisticsMap = holder._statisticsMap;
+        final SqlStatistics existing = statisticsMap.get(shape);
+        if (existing != null) {
+            return existing;
+        }
+        final String realShape = statisticsMap.size() < SQL_SHAPE_LIMIT ? shape : OVERFLOW_SHAPE;
+        return statisticsMap.computeIfAbsent(realShape, key -> new SqlStatistics(key, buildCommandExp(meta)));
+    }
+
+    protected String buildCommandExp(BehaviorCommandMeta meta) {
+        return meta.getTableDbName() + "." + meta.getCommandName() + "()";
+    }
+
+    /**
+     * Normalize the executed SQL as shape: spaces are collapsed and bind lists like (?, ?, ?) become (?...).
+     * @param sql The executed SQL with question marks. (NotNull)
+     * @return The normalized SQL shape. (NotNull)
+     */
+    protected String normalizeSql(String sql) {
+        final int length = sql.length();
+        final StringBuilder sb = new StringBuilder(length);
+        boolean inQuote = false;
+        int i = 0;
+        while (i < length) {
+            final char ch = sql.charAt(i);
+            if (ch == '\'') {
+                inQuote = !inQuote;
+                sb.append(ch);
+                ++i;
+            } else if (inQuote) {
+                sb.append(ch);
+                ++i;
+            } else if (Character.isWhitespace(ch)) {
+                while (i < length && Character.isWhitespace(sql.charAt(i))) {
+                    ++i;
+                }
+                if (sb.length() > 0 && i < length) {
+                    sb.append(' ');
+                }
+            } else if (ch == '?') {
+                sb.append('?');
+                ++i;
+                final int listEnd = skipFollowingBindList(sql, i);
+                if (listEnd > i) {
+                    sb.append("...");
+                    i = listEnd;
+                }
+            } else {
+                sb.append(ch);
+                ++i;
+            }
+        }
+        return sb.toString();
+    }
+
+    protected int skipFollowingBindList(String sql, int from) { // returns end of ", ?, ?" or from if none
+        int end = from;
+        int i = from;
+        final int length = sql.length();
+        while (true) {
+            while (i < length && Character.isWhitespace(sql.charAt(i))) {
+                ++i;
+            }
+            if (i >= length || sql.charAt(i) != ',') {
+                return end;
+            }
+            ++i;
+            while (i < length && Character.isWhitespace(sql.charAt(i))) {
+                ++i;
+            }
+            if (i >= length || sql.charAt(i) != '?') {
+                return end;
+            }
+            ++i;
+            end = i;
+        }
+    }
+
+    protected long deriveElapsedMillis(ExecutionTimeInfo timeInfo) {
+        if (timeInfo.hasSqlTimeMillis()) { // SQL execution only
+            return timeInfo.getSqlAfterTimeMillis() - timeInfo.getSqlBeforeTimeMillis();
+        }
+        if (timeInfo.hasCommandTimeMillis()) { // e.g. failure before SQL after time
+            return timeInfo.getCommandAfterTimeMillis() - timeInfo.getCommandBeforeTimeMillis();
+        }
+        return 0L;
+    }
+
+    protected long deriveRowCount(SqlResultInfo info) {
+        final Object result = info.getResult();
+        final BehaviorCommandMeta meta = info.getMeta();
+        if (result == null || meta.isSelectCursor()) { // cursor rows are unknown here
+            return 0L;
+        }
+        if (result instanceof Collection<?>) { // e.g. select list
+            return ((Collection<?>) result).size();
+        }
+        if (result instanceof int[]) { // batch update
+            long sum = 0L;
+            for (int updated : (int[]) result) {
+                if (updated > 0) { // minus means unknown e.g. SUCCESS_NO_INFO
+                    sum += updated;
+                }
+            }
+            return sum;
+        }
+        if (result instanceof Number && !meta.isSelect()) { // update count
+            return ((Number) result).longValue();
+        }
+        return 1L; // e.g. select entity, select count
+    }
+
+    // ===================================================================================
+    //                                                                           Query API
+    //                                                                           =========
+    /**
+     * @return The snapshot list of all statistics, unordered. (NotNull)
+     */
+    public List<SqlStatistics> getStatisticsList() {
+        return new ArrayList<SqlStatistics>(_holder._statisticsMap.values());
+    }
+
+    /**
+     * @param sql The executed SQL, normalized here. (NotNull)
+     * @return The statistics of the SQL shape. (NullAllowed: if not executed)
+     */
+    public SqlStatistics findStatistics(String sql) {
+        return _holder._statisticsMap.get(normalizeSql(sql));
+    }
+
+    /**
+     * @param limit The max count of returned statistics. (NotMinus)
+     * @return The list of statistics ordered by total time descending. (NotNull)
+     */
+    public List<SqlStatistics> findTopByTotalTime(int limit) {
+        return findTop(limit, Comparator.comparingLong(SqlStatistics::getTotalMillis));
+    }
+
+    /**
+     * @param limit The max count of returned statistics. (NotMinus)
+     * @return The list of statistics ordered by max time descending. (NotNull)
+     */
+    public List<SqlStatistics> findTopByMaxTime(int limit) {
+        return findTop(limit, Comparator.comparingLong(SqlStatistics::getMaxMillis));
+    }
+
+    /**
+     * @param limit The max count of returned statistics. (NotMinus)
+     * @return The list of statistics ordered by call count descending. (NotNull)
+     */
+    public List<SqlStatistics> findTopByCallCount(int limit) {
+        return findTop(limit, Comparator.comparingLong(SqlStatistics::getCallCount));
+    }
+
+    protected List<SqlStatistics> findTop(int limit, Comparator<SqlStatistics> comparator) {
+        final List<SqlStatistics> statisticsList = getStatisticsList();
+        statisticsList.sort(comparator.reversed());
+        return statisticsList.size() > limit ? new ArrayList<SqlStatistics>(statisticsList.subList(0, limit)) : statisticsList;
+    }
+
+    /**
+     * Clear all statistics by switching to new empty maps at once. <br>
+     * Counting in progress at the time goes to the old statistics, so it is not shown after the reset.
+     */
+    public void reset() {
+        _holder = new StatisticsHolder(); // one volatile write, raw map never points to statistics of old generation
+    }
+
+    // ===================================================================================
+    //                                                                                Dump
+    //                                                                                ====
+    /**
+     * @param limit The max count of dumped statistics, ordered by total time. (NotMinus)
+     * @return The display string of top statistics. (NotNull)
+     */
+    public String buildDump(int limit) {
+        final List<SqlStatistics> topList = findTopByTotalTime(limit);
+        final StringBuilder sb = new StringBuilder();
+        sb.append("[SQL Statistics] shapes=").append(_holder._statisticsMap.size()).append(", top=").append(topList.size());
+        for (SqlStatistics statistics : topList) {
+            sb.append(ln()).append(" ").append(statistics);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Start dumping top statistics to log periodically in background daemon thread.
+     * @param intervalSeconds The interval of dump in seconds. (NotMinus, NotZero)
+     * @param limit The max count of dumped statistics. (NotMinus)
+     * @param resetAfterDump Does it reset statistics after each dump? (then each dump is per interval)
+     */
+    public synchronized void startPeriodicDump(long intervalSeconds, int limit, boolean resetAfterDump) {
+        if (intervalSeconds < 1) {
+            throw new IllegalArgumentException("The argument 'intervalSeconds' should not be minus or zero: " + intervalSeconds);
+        }
+        if (_dumpService != null) {
+            throw new IllegalStateException("The periodic dump is already started.");
+        }
+        _dumpService = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "dbflute-sql-statistics-dump");
+            thread.setDaemon(true); // not to prevent JVM shutdown
+            return thread;
+        });
+        _dumpService.scheduleAtFixedRate(() -> dumpPeriodically(limit, resetAfterDump), intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stop the periodic dump. (no exception if not started)
+     */
+    public synchronized void stopPeriodicDump() {
+        if (_dumpService != null) {
+            _dumpService.shutdown();
+            _dumpService = null;
+        }
+    }
+
+    protected void dumpPeriodically(int limit, boolean resetAfterDump) {
+        try {
+            if (_log.isInfoEnabled()) {
+                _log.info(buildDump(limit));
+            }
+            if (resetAfterDump) {
+                reset();
+            }
+        } catch (RuntimeException continued) { // not to stop next dumps
+            _log.warn("Failed to dump SQL statistics.", continued);
+        }
+    }
+
+    protected String ln() {
+        return DBFluteSystem.ln();
+    }
+
+    // ===================================================================================
+    //                                                                              Holder
+    //                                                                              ======
+    /**
+     * The holder of statistics maps of one generation, switched by reset.
+     */
+    protected static class StatisticsHolder {
+
+        /** The map of statistics, key is normalized SQL shape. (NotNull) */
+        protected final Map<String, SqlStatistics> _statisticsMap = new ConcurrentHashMap<String, SqlStatistics>();
+
+        /** The map of statistics, key is raw executed SQL, to avoid normalizing per call. (NotNull) */
+        protected final Map<String, SqlStatistics> _rawSqlMap = new ConcurrentHashMap<String, SqlStatistics>();
+    }
+
+    // ===================================================================================
+    //                                                                          Statistics
+    //                                                                          ==========
+    /**
+     * The statistics of one SQL shape, counted by lock-free counters.
+     */
+    public static class SqlStatistics {
+
+        protected final String _sqlShape; // not null
+        protected final String _firstCommandExp; // not null, e.g. Member.selectList()
+        protected final LongAdder _callCount = new LongAdder();
+        protected final LongAdder _totalMillis = new LongAdder();
+        protected final LongAccumulator _maxMillis = new LongAccumulator(Math::max, 0L);
+        protected final LongAdder _rowCount = new LongAdder();
+        protected final LongAdder _errorCount = new LongAdder();
+        protected final LongAdder _totalConnectionMillis = new LongAdder(); // pool wait appears here
+        protected final LongAccumulator _maxConnectionMillis = new LongAccumulator(Math::max, 0L);
+        protected final LongAdder _totalPreparationMillis = new LongAdder();
+        protected final LongAdder _totalMappingMillis = new LongAdder();
+
+        public SqlStatistics(String sqlShape, String firstCommandExp) {
+            _sqlShape = sqlShape;
+            _firstCommandExp = firstCommandExp;
+        }
+
+        public void record(long elapsedMillis, long rowCount, boolean error) {
+            _callCount.increment();
+            _totalMillis.add(elapsedMillis);
+            _maxMillis.accumulate(elapsedMillis);
+            if (rowCount > 0L) {
+                _rowCount.add(rowCount);
+            }
+            if (error) {
+                _errorCount.increment();
+            }
+        }
+
+        public void recordPhase(Long connectionMillis, Long preparationMillis, Long mappingMillis) { // null means not measured
+            if (connectionMillis != null) {
+                _totalConnectionMillis.add(connectionMillis);
+                _maxConnectionMillis.accumulate(connectionMillis);
+            }
+            if (preparationMillis != null) {
+                _totalPreparationMillis.add(preparationMillis);
+            }
+            if (mappingMillis != null) {
+                _totalMappingMillis.add(mappingMillis);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "{calls=" + getCallCount() + ", total=" + getTotalMillis() + "ms, mean=" + getMeanMillis() + "ms, max=" + getMaxMillis()
+                    + "ms, rows=" + getRowCount() + ", errors=" + getErrorCount() + ", connection=" + getTotalConnectionMillis() + "ms(max "
+                    + getMaxConnectionMillis() + "ms), prepare=" + getTotalPreparationMillis() + "ms, mapping=" + getTotalMappingMillis()
+                    + "ms, first=" + _firstCommandExp + ", sql=" + _sqlShape + "}";
+        }
+
+        public String getSqlShape() {
+            return _sqlShape;
+        }
+
+        public String getFirstCommandExp() {
+            return _firstCommandExp;
+        }
+
+        public long getCallCount() {
+            return _callCount.sum();
+        }
+
+        public long getTotalMillis() {
+            return _totalMillis.sum();
+        }
+
+        public long getMeanMillis() {
+            final long callCount = getCallCount();
+            return callCount > 0L ? getTotalMillis() / callCount : 0L;
+        }
+
+        public long getMaxMillis() {
+            return _maxMillis.get();
+        }
+
+        public long getRowCount() {
+            return _rowCount.sum();
+        }
+
+        public long getErrorCount() {
+            return _errorCount.sum();
+        }
+
+        /**
+         * @return The total time to acquire connections, long time means e.g. connection pool starvation. (NotMinus)
+         */
+        public long getTotalConnectionMillis() {
+            return _totalConnectionMillis.sum();
+        }
+
+        public long getMaxConnectionMillis() {
+            return _maxConnectionMillis.get();
+        }
+
+        public long getTotalPreparationMillis() {
+            return _totalPreparationMillis.sum();
+        }
+
+        public long getTotalMappingMillis() {
+            return _totalMappingMillis.sum();
+        }
+    }
+}
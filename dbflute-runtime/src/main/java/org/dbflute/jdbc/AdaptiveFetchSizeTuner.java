@@ -0,0 +1,186 @@
+/*
+ * Copyright 2014-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jdbc;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The tuner of fetch size that adapts to observed row counts per SQL execution key. <br>
+ * It keeps EWMA (exponentially weighted moving average) of row count for each key,
+ * and suggests the fetch size that matches it within the bounds,
+ * e.g. small for single-row lookups, large for bulk lists.
+ * <pre>
+ * AdaptiveFetchSizeTuner tuner = new AdaptiveFetchSizeTuner(10, 1000); <span style="color: #3F7E5E">// min 10, max 1000</span>
+ * resourceParameter.setAdaptiveFetchSizeTuner(tuner); <span style="color: #3F7E5E">// e.g. in DBFluteConfig</span>
+ * </pre>
+ * Explicit fetch size (statement config, cursor-select, entity-select, paging) has priority over the tuner,
+ * and the tuner has priority over default statement config.
+ * @author jflute
+ * @since 1.3.0 (2026/10/19 Monday)
+ */
+public class AdaptiveFetchSizeTuner {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    /** The limit count of tracked keys, roughly, keys over it are not tracked. */
+    protected static final int TRACKED_KEY_LIMIT = 5000;
+
+    /** The default weight of latest observation for EWMA. */
+    protected static final double DEFAULT_SMOOTHING_FACTOR = 0.3;
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final int _minFetchSize; // not minus, not zero
+    protected final int _maxFetchSize; // not minus, not zero, min or more
+    protected double _smoothingFactor = DEFAULT_SMOOTHING_FACTOR; // (0, 1]
+    protected final Map<String, RowCountAverage> _averageMap = new ConcurrentHashMap<String, RowCountAverage>();
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param minFetchSize The lower bound of suggested fetch size. (NotMinus, NotZero)
+     * @param maxFetchSize The upper bound of suggested fetch size. (NotMinus, NotZero: min or more)
+     */
+    public AdaptiveFetchSizeTuner(int minFetchSize, int maxFetchSize) {
+        if (minFetchSize < 1) {
+            throw new IllegalArgumentException("The argument 'minFetchSize' should not be minus or zero: " + minFetchSize);
+        }
+        if (maxFetchSize < minFetchSize) {
+            String msg = "The argument 'maxFetchSize' should be min or more: max=" + maxFetchSize + ", min=" + minFetchSize;
+            throw new IllegalArgumentException(msg);
+        }
+        _minFetchSize = minFetchSize;
+        _maxFetchSize = maxFetchSize;
+    }
+
+    /**
+     * @param smoothingFactor The weight of latest observation, larger reacts faster. (greater than 0, 1 or less: default 0.3)
+     * @return this. (NotNull)
+     */
+    public AdaptiveFetchSizeTuner smoothingFactor(double smoothingFactor) {
+        if (!(smoothingFactor > 0.0 && smoothingFactor <= 1.0)) {
+            throw new IllegalArgumentException("The argument 'smoothingFactor' should be greater than 0 and 1 or less: " + smoothingFactor);
+        }
+        _smoothingFactor = smoothingFactor;
+        return this;
+    }
+
+    // ===================================================================================
+    //                                                                             Observe
+    //                                                                             =======
+    /**
+     * Observe the row count of the executed select.
+     * @param executionKey The key of SQL execution. (NotNull)
+     * @param rowCount The count of fetched rows. (NotMinus)
+     */
+    public void observe(String executionKey, int rowCount) {
+        if (executionKey == null) {
+            throw new IllegalArgumentException("The argument 'executionKey' should not be null.");
+        }
+        if (rowCount < 0) {
+            throw new IllegalArgumentException("The argument 'rowCount' should not be minus: " + rowCount);
+        }
+        RowCountAverage average = _averageMap.get(executionKey);
+        if (average == null) {
+            if (_averageMap.size() >= TRACKED_KEY_LIMIT) { // rough limit
+                return;
+            }
+            average = _averageMap.computeIfAbsent(executionKey, key -> new RowCountAverage());
+        }
+        average.update(rowCount, _smoothingFactor);
+    }
+
+    // ===================================================================================
+    //                                                                             Suggest
+    //                                                                             =======
+    /**
+     * @param executionKey The key of SQL execution. (NotNull)
+     * @return The suggested fetch size within the bounds. (NullAllowed: when not observed yet)
+     */
+    public Integer suggestFetchSize(String executionKey) {
+        final RowCountAverage average = _averageMap.get(executionKey);
+        if (average == null) {
+            return null;
+        }
+        // plus one so that drivers can detect the end of rows in the same round trip
+        final long size = (long) Math.ceil(average.getAverage()) + 1L;
+        return (int) Math.max(_minFetchSize, Math.min(_maxFetchSize, size));
+    }
+
+    /**
+     * @param executionKey The key of SQL execution. (NotNull)
+     * @return The EWMA of row count. (NullAllowed: when not observed yet)
+     */
+    public Double findAverageRowCount(String executionKey) {
+        final RowCountAverage average = _averageMap.get(executionKey);
+        return average != null ? average.getAverage() : null;
+    }
+
+    /**
+     * @return The count of tracked execution keys. (NotMinus)
+     */
+    public int countTrackedKeys() {
+        return _averageMap.size();
+    }
+
+    /**
+     * Clear all observations, e.g. after data volume changes drastically.
+     */
+    public void clear() {
+        _averageMap.clear();
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public int getMinFetchSize() {
+        return _minFetchSize;
+    }
+
+    public int getMaxFetchSize() {
+        return _maxFetchSize;
+    }
+
+    public double getSmoothingFactor() {
+        return _smoothingFactor;
+    }
+
+    // ===================================================================================
+    //                                                                       Row Count Avg
+    //                                                                       =============
+    protected static class RowCountAverage {
+
+        protected double _average; // guarded by this
+        protected boolean _observed; // guarded by this
+
+        public synchronized void update(int rowCount, double smoothingFactor) {
+            if (_observed) {
+                _average = smoothingFactor * rowCount + (1.0 - smoothingFactor) * _average;
+            } else { // first observation is used as it is
+                _average = rowCount;
+                _observed = true;
+            }
+        }
+
+        public synchronized double getAverage() {
+            return _average;
+        }
+    }
+}
@@ -30,15 +30,26 @@ public class ExecutionTimeInfo {
     protected final Long _commandAfterTimeMillis;
     protected final Long _sqlBeforeTimeMillis;
     protected final Long _sqlAfterTimeMillis;
+    protected final Long _connectionAcquisitionMillis; // null allowed: not measured
+    protected final Long _statementPreparationMillis; // null allowed: not measured
+    protected final Long _resultMappingMillis; // null allowed: not measured or not select
 
     // ===================================================================================
     //                                                                         Constructor
     //                                                                         ===========
     public ExecutionTimeInfo(Long commandBeforeTimeMillis, Long commandAfterTimeMillis, Long sqlBeforeTimeMillis, Long sqlAfterTimeMillis) {
+        this(commandBeforeTimeMillis, commandAfterTimeMillis, sqlBeforeTimeMillis, sqlAfterTimeMillis, null, null, null);
+    }
+
+    public ExecutionTimeInfo(Long commandBeforeTimeMillis, Long commandAfterTimeMillis, Long sqlBeforeTimeMillis, Long sqlAfterTimeMillis,
+            Long connectionAcquisitionMillis, Long statementPreparationMillis, Long resultMappingMillis) {
         _commandBeforeTimeMillis = commandBeforeTimeMillis;
         _commandAfterTimeMillis = commandAfterTimeMillis;
         _sqlBeforeTimeMillis = sqlBeforeTimeMillis;
         _sqlAfterTimeMillis = sqlAfterTimeMillis;
+        _connectionAcquisitionMillis = connectionAcquisitionMillis;
+        _statementPreparationMillis = statementPreparationMillis;
+        _resultMappingMillis = resultMappingMillis;
     }
 
     // ===================================================================================
@@ -70,6 +81,30 @@ public class ExecutionTimeInfo {
         }
     }
 
+    /**
+     * The performance view of phases. e.g. connection=00m00s120ms, prepare=00m00s001ms, execute=..., mapping=... <br>
+     * Phases not measured are omitted, so you can see pool starvation as long connection acquisition.
+     * @return The view string of phases. (NotNull: if no phase, returns "*No time")
+     */
+    public String toPhasePerformanceView() {
+        final StringBuilder sb = new StringBuilder();
+        appendPhaseView(sb, "connection", _connectionAcquisitionMillis);
+        appendPhaseView(sb, "prepare", _statementPreparationMillis);
+        appendPhaseView(sb, "execute", getSqlExecutionMillis());
+        appendPhaseView(sb, "mapping", _resultMappingMillis);
+        return sb.length() > 0 ? sb.toString() : "*No time";
+    }
+
+    protected void appendPhaseView(StringBuilder sb, String phase, Long millis) {
+        if (millis == null) {
+            return;
+        }
+        if (sb.length() > 0) {
+            sb.append(", ");
+        }
+        sb.append(phase).append("=").append(convertToPerformanceView(millis));
+    }
+
     /**
      * Convert to performance view.
      * @param after_minus_before The difference between before time and after time.
@@ -111,6 +146,15 @@ public class ExecutionTimeInfo {
         sb.append(", commandAfter=").append(_commandAfterTimeMillis);
         sb.append(", sqlBefore=").append(_sqlBeforeTimeMillis);
         sb.append(", sqlAfter=").append(_sqlAfterTimeMillis);
+        if (_connectionAcquisitionMillis != null) {
+            sb.append(", connection=").append(_connectionAcquisitionMillis);
+        }
+        if (_statementPreparationMillis != null) {
+            sb.append(", prepare=").append(_statementPreparationMillis);
+        }
+        if (_resultMappingMillis != null) {
+            sb.append(", mapping=").append(_resultMappingMillis);
+        }
         sb.append("}");
         return sb.toString();
     }
@@ -153,4 +197,39 @@ public class ExecutionTimeInfo {
     public Long getSqlAfterTimeMillis() {
         return _sqlAfterTimeMillis;
     }
+
+    /**
+     * Get the time of SQL execution only (between before and after SQL fire).
+     * @return The long value of millisecond. (NullAllowed: when no SQL time)
+     */
+    public Long getSqlExecutionMillis() {
+        return hasSqlTimeMillis() ? _sqlAfterTimeMillis - _sqlBeforeTimeMillis : null;
+    }
+
+    /**
+     * Get the time to acquire connections from data source, e.g. wait for connection pool. <br>
+     * When several statements in the command, the times are summed up.
+     * @return The long value of millisecond. (NullAllowed: when not measured e.g. no hook and handler)
+     */
+    public Long getConnectionAcquisitionMillis() {
+        return _connectionAcquisitionMillis;
+    }
+
+    /**
+     * Get the time to prepare statements. <br>
+     * When several statements in the command, the times are summed up.
+     * @return The long value of millisecond. (NullAllowed: when not measured e.g. no hook and handler)
+     */
+    public Long getStatementPreparationMillis() {
+        return _statementPreparationMillis;
+    }
+
+    /**
+     * Get the time to fetch rows and map them to result (after SQL fire). <br>
+     * When several statements in the command, the times are summed up.
+     * @return The long value of millisecond. (NullAllowed: when not measured e.g. non-select, in SqlFireHook)
+     */
+    public Long getResultMappingMillis() {
+        return _resultMappingMillis;
+    }
 }
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2014-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jdbc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+/**
+ * The detector of slow query that keeps recent slow statements with their execution plans in bounded ring buffer. <br>
+ * SQL handlers re-run dialect-specific EXPLAIN (DBWay's buildExplainSql()) with the same binds
+ * when a statement exceeds the threshold, so you can read plans without reproducing queries by hand. <br>
+ * EXPLAIN runs only on the dedicated data source (not the transactional one of the caller), and is skipped without it.
+ * <pre>
+ * SlowQueryDetector detector = new SlowQueryDetector(3000L, 100); <span style="color: #3F7E5E">// 3 seconds, recent 100</span>
+ * detector.explainBy(explainDataSource); <span style="color: #3F7E5E">// e.g. non-transactional pool</span>
+ * resourceParameter.setSlowQueryDetector(detector); <span style="color: #3F7E5E">// e.g. in DBFluteConfig</span>
+ * ...
+ * List&lt;SlowQueryRecord&gt; recordList = detector.getRecordList(); <span style="color: #3F7E5E">// newest first</span>
+ * </pre>
+ * @author jflute
+ * @since 1.3.0 (2026/10/19 Monday)
+ */
+public class SlowQueryDetector {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final long _thresholdMillis; // not minus
+    protected final SlowQueryRecord[] _ringBuffer; // not null, guarded by this
+    protected long _recordedCount; // guarded by this
+    protected boolean _explainSuppressed; // true means only SQL is recorded
+    protected DataSource _explainDataSource; // null allowed: if null, only SQL is recorded
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param thresholdMillis The threshold of execution time to be slow in milliseconds. (NotMinus)
+     * @param capacity The capacity of kept records, older records are overwritten. (NotMinus, NotZero)
+     */
+    public SlowQueryDetector(long thresholdMillis, int capacity) {
+        if (thresholdMillis < 0L) {
+            throw new IllegalArgumentException("The argument 'thresholdMillis' should not be minus: " + thresholdMillis);
+        }
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The argument 'capacity' should not be minus or zero: " + capacity);
+        }
+        _thresholdMillis = thresholdMillis;
+        _ringBuffer = new SlowQueryRecord[capacity];
+    }
+
+    /**
+     * Suppress EXPLAIN execution, e.g. the plan costs too much or the DB user cannot explain.
+     * @return this. (NotNull)
+     */
+    public SlowQueryDetector suppressExplain() {
+        _explainSuppressed = true;
+        return this;
+    }
+
+    /**
+     * Use the data source for EXPLAIN, which should not share connections with transactions of application. <br>
+     * EXPLAIN on the transactional connection might change the state of the transaction (e.g. aborted one of PostgreSQL).
+     * @param explainDataSource The dedicated data source for EXPLAIN. (NotNull)
+     * @return this. (NotNull)
+     */
+    public SlowQueryDetector explainBy(DataSource explainDataSource) {
+        if (explainDataSource == null) {
+            throw new IllegalArgumentException("The argument 'explainDataSource' should not be null.");
+        }
+        _explainDataSource = explainDataSource;
+        return this;
+    }
+
+    // ===================================================================================
+    //                                                                           Detection
+    //                                                                           =========
+    /**
+     * @param executionMillis The execution time of the statement in milliseconds. (NotMinus)
+     * @return Is the statement slow?
+     */
+    public boolean isSlow(long executionMillis) {
+        return executionMillis >= _thresholdMillis;
+    }
+
+    public boolean isExplainSuppressed() {
+        return _explainSuppressed;
+    }
+
+    /**
+     * @return The dedicated data source for EXPLAIN. (NullAllowed: if null, EXPLAIN is skipped)
+     */
+    public DataSource getExplainDataSource() {
+        return _explainDataSource;
+    }
+
+    /**
+     * Record the slow query into the ring buffer.
+     * @param record The record of slow query. (NotNull)
+     */
+    public synchronized void record(SlowQueryRecord record) {
+        if (record == null) {
+            throw new IllegalArgumentException("The argument 'record' should not be null.");
+        }
+        _ringBuffer[(int) (_recordedCount % _ringBuffer.length)] = record;
+        ++_recordedCount;
+    }
+
+    // ===================================================================================
+    //                                                                           Query API
+    //                                                                           =========
+    /**
+     * @return The snapshot list of kept records, newest first. (NotNull)
+     */
+    public synchronized List<SlowQueryRecord> getRecordList() {
+        final int keptCount = (int) Math.min(_recordedCount, _ringBuffer.length);
+        final List<SlowQueryRecord> recordList = new ArrayList<SlowQueryRecord>(keptCount);
+        for (int i = 1; i <= keptCount; i++) {
+            recordList.add(_ringBuffer[(int) ((_recordedCount - i) % _ringBuffer.length)]);
+        }
+        return recordList;
+    }
+
+    /**
+     * @return The count of all recorded slow queries including overwritten ones. (NotMinus)
+     */
+    public synchronized long getRecordedCount() {
+        return _recordedCount;
+    }
+
+    /**
+     * Clear all kept records.
+     */
+    public synchronized void clear() {
+        for (int i = 0; i < _ringBuffer.length; i++) {
+            _ringBuffer[i] = null;
+        }
+        _recordedCount = 0L;
+    }
+
+    public long getThresholdMillis() {
+        return _thresholdMillis;
+    }
+
+    // ===================================================================================
+    //                                                                              Record
+    //                                                                              ======
+    /**
+     * The record of one slow query, immutable.
+     */
+    public static class SlowQueryRecord {
+
+        protected final String _executedSql; // not null, with question marks
+        protected final List<Object> _bindArgList; // not null, read-only
+        protected final long _executionMillis;
+        protected final long _detectedTimeMillis;
+        protected final String _executionPlan; // null allowed: if unsupported or failed
+        protected final String _explainFailureMessage; // null allowed: if succeeded or not explained
+
+        public SlowQueryRecord(String executedSql, List<Object> bindArgList, long executionMillis, long detectedTimeMillis,
+                String executionPlan, String explainFailureMessage) {
+            _executedSql = executedSql;
+            _bindArgList = bindArgList;
+            _executionMillis = executionMillis;
+            _detectedTimeMillis = detectedTimeMillis;
+            _executionPlan = executionPlan;
+            _explainFailureMessage = explainFailureMessage;
+        }
+
+        @Override
+        public String toString() {
+            return "{" + _executionMillis + "ms, sql=" + _executedSql + ", binds=" + _bindArgList + ", plan=" + _executionPlan
+                    + (_explainFailureMessage != null ? ", explainFailure=" + _explainFailureMessage : "") + "}";
+        }
+
+        public String getExecutedSql() {
+            return _executedSql;
+        }
+
+        public List<Object> getBindArgList() {
+            return _bindArgList;
+        }
+
+        public long getExecutionMillis() {
+            return _executionMillis;
+        }
+
+        public long getDetectedTimeMillis() {
+            return _detectedTimeMillis;
+        }
+
+        public String getExecutionPlan() {
+            return _executionPlan;
+        }
+
+        public String getExplainFailureMessage() {
+            return _explainFailureMessage;
+        }
+    }
+}
@@ -20,6 +20,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.dbflute.dbmeta.DBMeta;
 import org.dbflute.dbmeta.DBMetaProvider;
@@ -84,6 +86,64 @@ public class OutsideSqlContext {
         _threadLocal.set(null);
     }
 
+    // ===================================================================================
+    //                                                                     Preloaded Text
+    //                                                                     ==============
+    /** The map of preloaded text of outside-SQL, key is resource path. (NotNull) */
+    private static final Map<String, PreloadedOutsideSql> _preloadedSqlMap = new ConcurrentHashMap<String, PreloadedOutsideSql>();
+
+    /**
+     * Register the text of outside-SQL read beforehand, e.g. by preloader at application startup. <br>
+     * The text is used instead of reading the resource when the encoding is same.
+     * @param path The resource path of the outside-SQL, without initial separator '/'. (NotNull)
+     * @param sqlFileEncoding The encoding used for reading the text. (NotNull)
+     * @param text The plain text of the outside-SQL, as read from the resource. (NotNull)
+     */
+    public static void registerPreloadedText(String path, String sqlFileEncoding, String text) {
+        if (path == null || sqlFileEncoding == null || text == null) {
+            String msg = "The arguments should not be null: path=" + path + " encoding=" + sqlFileEncoding;
+            throw new IllegalArgumentException(msg);
+        }
+        _preloadedSqlMap.put(path, new PreloadedOutsideSql(sqlFileEncoding, text));
+    }
+
+    /**
+     * Remove the preloaded text of the outside-SQL, e.g. when the file is modified.
+     * @param path The resource path of the outside-SQL, without initial separator '/'. (NotNull)
+     */
+    public static void removePreloadedText(String path) {
+        _preloadedSqlMap.remove(path);
+    }
+
+    /**
+     * Clear all preloaded texts of outside-SQL.
+     */
+    public static void clearPreloadedText() {
+        _preloadedSqlMap.clear();
+    }
+
+    /**
+     * @return The count of preloaded texts of outside-SQL. (NotMinus)
+     */
+    public static int countPreloadedText() {
+        return _preloadedSqlMap.size();
+    }
+
+    protected static class PreloadedOutsideSql {
+
+        protected final String _sqlFileEncoding; // not null
+        protected final String _text; // not null
+
+        public PreloadedOutsideSql(String sqlFileEncoding, String text) {
+            _sqlFileEncoding = sqlFileEncoding;
+            _text = text;
+        }
+
+        public String findText(String sqlFileEncoding) {
+            return _sqlFileEncoding.equalsIgnoreCase(sqlFileEncoding) ? _text : null;
+        }
+    }
+
     // ===================================================================================
     //                                                                          Unique Key
     //                                                                          ==========
@@ -133,6 +193,9 @@ public class OutsideSqlContext {
     /** The path of outside-SQL. (The mark of specified outside-SQL) */
     protected String _outsideSqlPath;
 
+    /** The resource path of actually read outside-SQL, e.g. with DBMS suffix. (NullAllowed: until reading) */
+    protected String _readOutsideSqlPath;
+
     /** The instance of specified parameter bean. (NullAllowed: but almost not-null) */
     protected Object _parameterBean;
 
@@ -200,6 +263,15 @@ public class OutsideSqlContext {
     }
 
     protected String replaceOutsideSqlBindCharacterOnLineComment(String sql) {
+        return replaceBindCharacterOnLineComment(sql);
+    }
+
+    /**
+     * Replace bind characters '?' on line comments of the SQL, which are not for binding.
+     * @param sql The plain text of outside-SQL. (NotNull)
+     * @return The replaced SQL, or the same instance if no replacement. (NotNull)
+     */
+    public static String replaceBindCharacterOnLineComment(String sql) { // also used by preloader
         final String bindCharacter = "?";
         if (sql.indexOf(bindCharacter) < 0) {
             return sql;
@@ -277,12 +349,14 @@ public class OutsideSqlContext {
                 _log.debug("Found the outside-SQL for the DBMS: " + dbmsPath);
             }
             sql = readText(dbmsPath, sqlFileEncoding);
+            _readOutsideSqlPath = dbmsPath;
         } else {
             final String resolvedSql = doReadOutsideSqlWithAliasSuffix(standardPath, sqlFileEncoding, dbmsSuffix);
             if (resolvedSql != null) {
-                sql = resolvedSql;
+                sql = resolvedSql; // read path is saved in the method
             } else if (isExistResource(standardPath)) { // main
                 sql = readText(standardPath, sqlFileEncoding);
+                _readOutsideSqlPath = standardPath;
             } else {
                 return null; // means not found
             }
@@ -298,7 +372,9 @@ public class OutsideSqlContext {
             anotherPath = buildDbmsPath(standardPath, "_mssql");
         }
         if (anotherPath != null && isExistResource(anotherPath)) { // patch for name difference
-            return readText(anotherPath, sqlFileEncoding);
+            final String sql = readText(anotherPath, sqlFileEncoding);
+            _readOutsideSqlPath = anotherPath;
+            return sql;
         } else {
             return null;
         }
@@ -387,10 +463,17 @@ public class OutsideSqlContext {
     //                                                                      General Helper
     //                                                                      ==============
     protected boolean isExistResource(String path) {
-        return DfResourceUtil.isExist(path);
+        return _preloadedSqlMap.containsKey(path) || DfResourceUtil.isExist(path);
     }
 
     protected String readText(final String path, String sqlFileEncoding) {
+        final PreloadedOutsideSql preloaded = _preloadedSqlMap.get(path);
+        if (preloaded != null) {
+            final String text = preloaded.findText(sqlFileEncoding);
+            if (text != null) {
+                return text;
+            }
+        }
         final InputStream ins = DfResourceUtil.getResourceStream(path);
         Reader reader = null;
         try {
@@ -464,6 +547,14 @@ public class OutsideSqlContext {
         _outsideSqlPath = outsideSqlPath;
     }
 
+    /**
+     * Get the resource path of actually read outside-SQL, e.g. with DBMS suffix, for cache management.
+     * @return The resource path without initial '/'. (NullAllowed: when not read yet or procedure)
+     */
+    public String getReadOutsideSqlPath() {
+        return _readOutsideSqlPath;
+    }
+
     public Object getParameterBean() {
         return _parameterBean;
     }
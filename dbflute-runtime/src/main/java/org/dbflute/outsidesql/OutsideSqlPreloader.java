@@ -0,0 +1,342 @@
+/*
+ * Copyright 2014-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.outsidesql;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.JarURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+import org.dbflute.exception.OutsideSqlReadFailureException;
+import org.dbflute.helper.message.ExceptionMessageBuilder;
+import org.dbflute.twowaysql.SqlAnalyzer;
+import org.dbflute.twowaysql.factory.SqlAnalyzerFactory;
+import org.dbflute.util.DfResourceUtil;
+import org.dbflute.util.Srl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The preloader of outside-SQL files in parallel, basically called at application startup. <br>
+ * It finds all SQL files under the package on the classpath, reads and analyzes them,
+ * and registers the read texts to {@link OutsideSqlContext} so that first executions do not read resources. <br>
+ * Failures of reading or analyzing are thrown at once, so you can find broken SQL files at boot.
+ * <pre>
+ * OutsideSqlPreloader preloader = new OutsideSqlPreloader("com.example.dbflute.exbhv", "UTF-8");
+ * int preloadedCount = preloader.parallelism(4).preload();
+ * </pre>
+ * @author jflute
+ * @since 1.3.0 (2026/10/19 Monday)
+ */
+public class OutsideSqlPreloader {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    /** The logger instance for this class. (NotNull) */
+    private static final Logger _log = LoggerFactory.getLogger(OutsideSqlPreloader.class);
+
+    protected static final String SQL_EXTENSION = ".sql";
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final String _outsideSqlPackage; // not null, e.g. com.example.dbflute.exbhv
+    protected final String _sqlFileEncoding; // not null, e.g. UTF-8
+    protected int _parallelism = Runtime.getRuntime().availableProcessors();
+    protected ClassLoader _classLoader; // null allowed, if null, context class loader
+    protected SqlAnalyzerFactory _sqlAnalyzerFactory; // null allowed, if null, default analyzer
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param outsideSqlPackage The package that contains outside-SQL files, e.g. exbhv package. (NotNull)
+     * @param sqlFileEncoding The encoding of SQL files, same as behavior commands. (NotNull)
+     */
+    public OutsideSqlPreloader(String outsideSqlPackage, String sqlFileEncoding) {
+        if (outsideSqlPackage == null || outsideSqlPackage.trim().isEmpty()) {
+            throw new IllegalArgumentException("The argument 'outsideSqlPackage' should not be null or empty: " + outsideSqlPackage);
+        }
+        if (sqlFileEncoding == null) {
+            throw new IllegalArgumentException("The argument 'sqlFileEncoding' should not be null.");
+        }
+        _outsideSqlPackage = outsideSqlPackage;
+        _sqlFileEncoding = sqlFileEncoding;
+    }
+
+    /**
+     * Set the count of threads for preloading. (default is count of available processors)
+     * @param parallelism The count of threads. (NotMinus, NotZero)
+     * @return this. (NotNull)
+     */
+    public OutsideSqlPreloader parallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("The argument 'parallelism' should not be minus or zero: " + parallelism);
+        }
+        _parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Set the class loader to find SQL files. (default is context class loader)
+     * @param classLoader The class loader for resources. (NotNull)
+     * @return this. (NotNull)
+     */
+    public OutsideSqlPreloader classLoader(ClassLoader classLoader) {
+        if (classLoader == null) {
+            throw new IllegalArgumentException("The argument 'classLoader' should not be null.");
+        }
+        _classLoader = classLoader;
+        return this;
+    }
+
+    /**
+     * Set the factory of SQL analyzer, same as behavior commands if customized.
+     * @param sqlAnalyzerFactory The factory of SQL analyzer. (NotNull)
+     * @return this. (NotNull)
+     */
+    public OutsideSqlPreloader sqlAnalyzerFactory(SqlAnalyzerFactory sqlAnalyzerFactory) {
+        if (sqlAnalyzerFactory == null) {
+            throw new IllegalArgumentException("The argument 'sqlAnalyzerFactory' should not be null.");
+        }
+        _sqlAnalyzerFactory = sqlAnalyzerFactory;
+        return this;
+    }
+
+    // ===================================================================================
+    //                                                                             Preload
+    //                                                                             =======
+    /**
+     * Preload all outside-SQL files under the package: read, analyze and register them.
+     * @return The count of preloaded SQL files. (NotMinus)
+     * @throws IllegalStateException When it fails to read or analyze some SQL files.
+     */
+    public int preload() {
+        final long before = System.currentTimeMillis();
+        final Map<String, URL> sqlUrlMap = findSqlUrlMap();
+        if (sqlUrlMap.isEmpty()) {
+            if (_log.isDebugEnabled()) {
+                _log.debug("...Skipping preload of outside-SQL because of no SQL file: " + _outsideSqlPackage);
+            }
+            return 0;
+        }
+        final List<String> pathList = new ArrayList<String>(sqlUrlMap.keySet());
+        final int threadCount = Math.min(_parallelism, pathList.size());
+        final ExecutorService service = Executors.newFixedThreadPool(threadCount, createThreadFactory());
+        final List<Future<?>> futureList = new ArrayList<Future<?>>(pathList.size());
+        try {
+            for (String path : pathList) {
+                final URL url = sqlUrlMap.get(path);
+                futureList.add(service.submit(() -> preloadOne(path, url)));
+            }
+            handleFuture(pathList, futureList);
+        } finally {
+            service.shutdown();
+        }
+        if (_log.isInfoEnabled()) {
+            final long cost = System.currentTimeMillis() - before;
+            _log.info("...Preloading outside-SQL: files=" + pathList.size() + ", threads=" + threadCount + ", cost=" + cost + "ms");
+        }
+        return pathList.size();
+    }
+
+    protected void preloadOne(String path, URL url) {
+        final String text = readText(path, url);
+        analyzeSql(prepareAnalyzedSql(text)); // to find broken SQL at boot
+        OutsideSqlContext.registerPreloadedText(path, _sqlFileEncoding, text);
+    }
+
+    protected String prepareAnalyzedSql(String text) { // similar to reading in context
+        String sql = text;
+        if ("UTF-8".equalsIgnoreCase(_sqlFileEncoding) && sql.length() > 0 && sql.charAt(0) == '\uFEFF') {
+            sql = sql.substring(1);
+        }
+        return OutsideSqlContext.replaceBindCharacterOnLineComment(sql);
+    }
+
+    protected void analyzeSql(String sql) {
+        final SqlAnalyzer analyzer;
+        if (_sqlAnalyzerFactory != null) {
+            analyzer = _sqlAnalyzerFactory.create(sql, false);
+        } else {
+            analyzer = new SqlAnalyzer(sql, false);
+        }
+        analyzer.analyze();
+    }
+
+    // ===================================================================================
+    //                                                                            Find SQL
+    //                                                                            ========
+    /**
+     * @return The map of SQL URL, key is resource path without initial '/', ordered by found. (NotNull)
+     */
+    protected Map<String, URL> findSqlUrlMap() {
+        final String dirPath = Srl.replace(_outsideSqlPackage.trim(), ".", "/");
+        final Map<String, URL> sqlUrlMap = new LinkedHashMap<String, URL>();
+        final Enumeration<URL> dirUrls;
+        try {
+            dirUrls = getClassLoader().getResources(dirPath);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to get resources of the package: " + _outsideSqlPackage, e);
+        }
+        while (dirUrls.hasMoreElements()) {
+            final URL dirUrl = dirUrls.nextElement();
+            final String protocol = dirUrl.getProtocol();
+            if ("file".equals(protocol)) {
+                final File dir = new File(DfResourceUtil.decodeURL(dirUrl.getPath(), "UTF8"));
+                collectFileSql(dir, dirPath, sqlUrlMap);
+            } else if ("jar".equals(protocol)) {
+                collectJarSql(dirUrl, dirPath, sqlUrlMap);
+            } else {
+                if (_log.isDebugEnabled()) {
+                    _log.debug("...Skipping unsupported protocol for preload: " + dirUrl);
+                }
+            }
+        }
+        return sqlUrlMap;
+    }
+
+    protected void collectFileSql(File dir, String dirPath, Map<String, URL> sqlUrlMap) {
+        final File[] files = dir.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            final String path = dirPath + "/" + file.getName();
+            if (file.isDirectory()) {
+                collectFileSql(file, path, sqlUrlMap);
+            } else if (file.getName().endsWith(SQL_EXTENSION) && !sqlUrlMap.containsKey(path)) { // first wins like class loader
+                try {
+                    sqlUrlMap.put(path, file.toURI().toURL());
+                } catch (IOException e) {
+                    throw new IllegalStateException("Failed to convert the file to URL: " + file, e);
+                }
+            }
+        }
+    }
+
+    protected void collectJarSql(URL dirUrl, String dirPath, Map<String, URL> sqlUrlMap) {
+        final URLConnection conn = DfResourceUtil.openConnection(dirUrl);
+        if (!(conn instanceof JarURLConnection)) {
+            return;
+        }
+        final JarURLConnection jarConn = (JarURLConnection) conn;
+        final JarFile jarFile = DfResourceUtil.getJarFile(jarConn);
+        try {
+            final String jarBase = Srl.substringFirstFront(dirUrl.toString(), "!/");
+            final String prefix = dirPath + "/";
+            final Enumeration<JarEntry> entries = jarFile.entries();
+            while (entries.hasMoreElements()) {
+                final JarEntry entry = entries.nextElement();
+                final String name = entry.getName();
+                if (!entry.isDirectory() && name.startsWith(prefix) && name.endsWith(SQL_EXTENSION) && !sqlUrlMap.containsKey(name)) {
+                    sqlUrlMap.put(name, DfResourceUtil.createURL(jarBase + "!/" + name));
+                }
+            }
+        } finally {
+            if (!jarConn.getUseCaches()) { // cached jar file is shared so not closed here
+                DfResourceUtil.close(jarFile);
+            }
+        }
+    }
+
+    protected ClassLoader getClassLoader() {
+        if (_classLoader != null) {
+            return _classLoader;
+        }
+        final ClassLoader contextLoader = Thread.currentThread().getContextClassLoader();
+        return contextLoader != null ? contextLoader : OutsideSqlPreloader.class.getClassLoader();
+    }
+
+    // ===================================================================================
+    //                                                                           Read Text
+    //                                                                           =========
+    protected String readText(String path, URL url) {
+        try (InputStream ins = url.openStream()) {
+            return DfResourceUtil.readText(new InputStreamReader(ins, _sqlFileEncoding));
+        } catch (IOException | IllegalStateException e) {
+            final ExceptionMessageBuilder br = new ExceptionMessageBuilder();
+            br.addNotice("Failed to read the text for outside-SQL.");
+            br.addItem("OutsideSql Path");
+            br.addElement(path);
+            br.addItem("SQL File Encoding");
+            br.addElement(_sqlFileEncoding);
+            final String msg = br.buildExceptionMessage();
+            throw new OutsideSqlReadFailureException(msg, e);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                    Parallel Process
+    //                                                                    ================
+    protected ThreadFactory createThreadFactory() {
+        final AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            final Thread thread = new Thread(runnable, "dbflute-preload-outsidesql-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true); // not to prevent JVM shutdown
+            return thread;
+        };
+    }
+
+    protected void handleFuture(List<String> pathList, List<Future<?>> futureList) {
+        final Map<String, Throwable> failureMap = new LinkedHashMap<String, Throwable>();
+        int index = 0;
+        for (Future<?> future : futureList) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("The preload of outside-SQL was interrupted: " + _outsideSqlPackage, e);
+            } catch (ExecutionException e) {
+                failureMap.put(pathList.get(index), e.getCause());
+            }
+            ++index;
+        }
+        if (!failureMap.isEmpty()) {
+            final ExceptionMessageBuilder br = new ExceptionMessageBuilder();
+            br.addNotice("Failed to preload the outside-SQL files.");
+            br.addItem("OutsideSql Package");
+            br.addElement(_outsideSqlPackage);
+            br.addItem("Failed SQL");
+            for (Entry<String, Throwable> entry : failureMap.entrySet()) {
+                br.addElement(entry.getKey() + " // " + entry.getValue().getClass().getSimpleName());
+            }
+            final Throwable firstCause = failureMap.values().iterator().next();
+            br.addItem("First Cause");
+            br.addElement(firstCause);
+            final String msg = br.buildExceptionMessage();
+            throw new IllegalStateException(msg, firstCause);
+        }
+    }
+}
@@ -0,0 +1,393 @@
+/*
+ * Copyright 2014-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.s2dao.jdbc;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The LRU cache of prepared statement per connection. <br>
+ * Cached statements are handed as proxy whose close() returns the statement to the cache,
+ * and the statements of closed connection are discarded (found when accessing the cache).
+ * @author jflute
+ * @since 1.3.0 (2026/10/19 Monday)
+ */
+public class TnPreparedStatementCache {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    /** The logger instance for this class. (NotNull) */
+    private static final Logger _log = LoggerFactory.getLogger(TnPreparedStatementCache.class);
+
+    /** The default limit of connections holding cached statements, oldest is discarded if over. */
+    protected static final int DEFAULT_CONNECTION_LIMIT = 64;
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final int _statementLimit; // per connection, positive
+    protected final int _connectionLimit; // positive
+    protected final Map<Connection, Map<String, CachedStatement>> _connectionMap; // guarded by this, identity
+
+    // metrics
+    protected final AtomicLong _hitCount = new AtomicLong();
+    protected final AtomicLong _missCount = new AtomicLong();
+    protected final AtomicLong _evictedCount = new AtomicLong();
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param statementLimit The limit size of cached statements per connection. (Positive)
+     */
+    public TnPreparedStatementCache(int statementLimit) {
+        this(statementLimit, DEFAULT_CONNECTION_LIMIT);
+    }
+
+    /**
+     * @param statementLimit The limit size of cached statements per connection. (Positive)
+     * @param connectionLimit The limit size of connections holding cached statements. (Positive)
+     */
+    public TnPreparedStatementCache(int statementLimit, int connectionLimit) {
+        if (statementLimit <= 0) {
+            throw new IllegalArgumentException("The argument 'statementLimit' should be positive: " + statementLimit);
+        }
+        if (connectionLimit <= 0) {
+            throw new IllegalArgumentException("The argument 'connectionLimit' should be positive: " + connectionLimit);
+        }
+        _statementLimit = statementLimit;
+        _connectionLimit = connectionLimit;
+        _connectionMap = new IdentityHashMap<Connection, Map<String, CachedStatement>>();
+    }
+
+    // ===================================================================================
+    //                                                                            Checkout
+    //                                                                            ========
+    /**
+     * Check out the cached statement for the connection and SQL. <br>
+     * The returned statement is not handed to others until it is closed.
+     * @param conn The connection to prepare statement. (NotNull)
+     * @param sql The SQL for the statement. (NotNull)
+     * @param resultSetType The type of result set.
+     * @param resultSetConcurrency The concurrency of result set.
+     * @return The proxy of cached statement. (NullAllowed: if not cached, then prepare it and call wrap())
+     */
+    public PreparedStatement checkout(Connection conn, String sql, int resultSetType, int resultSetConcurrency) {
+        final String key = buildStatementKey(sql, resultSetType, resultSetConcurrency);
+        final CachedStatement cached;
+        synchronized (this) {
+            final Map<String, CachedStatement> statementMap = _connectionMap.get(conn);
+            cached = statementMap != null ? statementMap.remove(key) : null;
+        }
+        if (cached != null && cached.isReusable()) {
+            _hitCount.incrementAndGet();
+            return cached.checkout();
+        }
+        if (cached != null) { // e.g. closed by pool
+            cached.closeQuietly();
+        }
+        _missCount.incrementAndGet();
+        sweepClosedConnection();
+        return null;
+    }
+
+    /**
+     * Wrap the new-prepared statement as cacheable statement.
+     * @param conn The connection of the statement. (NotNull)
+     * @param sql The SQL for the statement. (NotNull)
+     * @param resultSetType The type of result set.
+     * @param resultSetConcurrency The concurrency of result set.
+     * @param ps The new-prepared statement. (NotNull)
+     * @return The proxy of the statement returned to cache when closed. (NotNull)
+     */
+    public PreparedStatement wrap(Connection conn, String sql, int resultSetType, int resultSetConcurrency, PreparedStatement ps) {
+        final String key = buildStatementKey(sql, resultSetType, resultSetConcurrency);
+        return new CachedStatement(conn, key, ps).checkout();
+    }
+
+    protected String buildStatementKey(String sql, int resultSetType, int resultSetConcurrency) {
+        return resultSetType + ":" + resultSetConcurrency + ":" + sql;
+    }
+
+    // ===================================================================================
+    //                                                                              Return
+    //                                                                              ======
+    protected void returnStatement(CachedStatement cached) {
+        if (!cached.isReusable() || !cached.resetForReuse()) {
+            cached.closeQuietly();
+            return;
+        }
+        final List<CachedStatement> discardedList = new ArrayList<CachedStatement>(2);
+        synchronized (this) {
+            Map<String, CachedStatement> statementMap = _connectionMap.get(cached._conn);
+            if (statementMap == null) {
+                if (_connectionMap.size() >= _connectionLimit) {
+                    discardOldestConnection(discardedList);
+                }
+                statementMap = newStatementLruMap();
+                _connectionMap.put(cached._conn, statementMap);
+            }
+            final CachedStatement existing = statementMap.put(cached._key, cached);
+            if (existing != null) { // e.g. same SQL executed in nest
+                discardedList.add(existing);
+            }
+            if (statementMap.size() > _statementLimit) {
+                final Iterator<CachedStatement> ite = statementMap.values().iterator();
+                discardedList.add(ite.next()); // least recently used
+                ite.remove();
+                _evictedCount.incrementAndGet();
+            }
+        }
+        for (CachedStatement discarded : discardedList) {
+            discarded.closeQuietly();
+        }
+    }
+
+    protected Map<String, CachedStatement> newStatementLruMap() {
+        return new LinkedHashMap<String, CachedStatement>(16, 0.75f, true); // access order
+    }
+
+    protected void discardOldestConnection(List<CachedStatement> discardedList) { // in synchronized
+        final Iterator<Entry<Connection, Map<String, CachedStatement>>> ite = _connectionMap.entrySet().iterator();
+        if (ite.hasNext()) { // not ordered (identity map) but no problem, it is only for safety limit
+            discardedList.addAll(ite.next().getValue().values());
+            ite.remove();
+        }
+    }
+
+    // ===================================================================================
+    //                                                                    Connection Sweep
+    //                                                                    ================
+    /**
+     * Discard cached statements of closed connections.
+     */
+    public void sweepClosedConnection() {
+        final List<CachedStatement> discardedList = new ArrayList<CachedStatement>();
+        synchronized (this) {
+            final Iterator<Entry<Connection, Map<String, CachedStatement>>> ite = _connectionMap.entrySet().iterator();
+            while (ite.hasNext()) {
+                final Entry<Connection, Map<String, CachedStatement>> entry = ite.next();
+                if (isClosedConnection(entry.getKey())) {
+                    discardedList.addAll(entry.getValue().values());
+                    ite.remove();
+                }
+            }
+        }
+        for (CachedStatement discarded : discardedList) {
+            discarded.closeQuietly();
+        }
+    }
+
+    protected static boolean isClosedConnection(Connection conn) {
+        try {
+            return conn.isClosed();
+        } catch (SQLException e) {
+            return true; // treated as closed
+        }
+    }
+
+    /**
+     * Close all cached statements and clear the cache. (metrics are kept)
+     */
+    public void clear() {
+        final List<CachedStatement> discardedList = new ArrayList<CachedStatement>();
+        synchronized (this) {
+            for (Map<String, CachedStatement> statementMap : _connectionMap.values()) {
+                discardedList.addAll(statementMap.values());
+            }
+            _connectionMap.clear();
+        }
+        for (CachedStatement discarded : discardedList) {
+            discarded.closeQuietly();
+        }
+    }
+
+    // ===================================================================================
+    //                                                                    Cached Statement
+    //                                                                    ================
+    protected class CachedStatement {
+
+        protected final Connection _conn;
+        protected final String _key;
+        protected final PreparedStatement _ps; // real statement
+        protected final int _initialFetchSize;
+        protected final int _initialMaxRows;
+        protected final int _initialQueryTimeout;
+
+        public CachedStatement(Connection conn, String key, PreparedStatement ps) {
+            _conn = conn;
+            _key = key;
+            _ps = ps;
+            _initialFetchSize = readInitialValue(() -> ps.getFetchSize());
+            _initialMaxRows = readInitialValue(() -> ps.getMaxRows());
+            _initialQueryTimeout = readInitialValue(() -> ps.getQueryTimeout());
+        }
+
+        public PreparedStatement checkout() { // new lease per checkout so old proxy cannot touch reused statement
+            final ClassLoader loader = PreparedStatement.class.getClassLoader();
+            final Class<?>[] interfaces = new Class<?>[] { PreparedStatement.class };
+            final ClassLoader actualLoader = loader != null ? loader : TnPreparedStatementCache.class.getClassLoader();
+            return (PreparedStatement) Proxy.newProxyInstance(actualLoader, interfaces, new StatementLease(this));
+        }
+
+        public boolean isReusable() {
+            return !isClosedConnection(_conn) && !isClosedStatement();
+        }
+
+        protected boolean isClosedStatement() {
+            try {
+                return _ps.isClosed();
+            } catch (SQLException e) {
+                return true;
+            }
+        }
+
+        public boolean resetForReuse() {
+            try {
+                _ps.clearParameters();
+                _ps.clearBatch();
+                _ps.clearWarnings();
+                if (_initialFetchSize >= 0 && _ps.getFetchSize() != _initialFetchSize) {
+                    _ps.setFetchSize(_initialFetchSize);
+                }
+                if (_initialMaxRows >= 0 && _ps.getMaxRows() != _initialMaxRows) {
+                    _ps.setMaxRows(_initialMaxRows);
+                }
+                if (_initialQueryTimeout >= 0 && _ps.getQueryTimeout() != _initialQueryTimeout) {
+                    _ps.setQueryTimeout(_initialQueryTimeout);
+                }
+                return true;
+            } catch (SQLException | RuntimeException e) { // e.g. unsupported operation
+                if (_log.isDebugEnabled()) {
+                    _log.debug("Failed to reset the statement for reuse so close it: " + _key, e);
+                }
+                return false;
+            }
+        }
+
+        public void closeQuietly() {
+            try {
+                _ps.close();
+            } catch (SQLException ignored) {}
+        }
+    }
+
+    protected class StatementLease implements InvocationHandler {
+
+        protected final CachedStatement _cached;
+        protected volatile boolean _closed;
+
+        public StatementLease(CachedStatement cached) {
+            _cached = cached;
+        }
+
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            final String methodName = method.getName();
+            final int parameterCount = method.getParameterCount();
+            if ("close".equals(methodName) && parameterCount == 0) {
+                if (!_closed) {
+                    _closed = true;
+                    returnStatement(_cached);
+                }
+                return null;
+            } else if ("isClosed".equals(methodName) && parameterCount == 0) {
+                return _closed || _cached._ps.isClosed();
+            } else if ("equals".equals(methodName) && parameterCount == 1) {
+                return proxy == args[0];
+            } else if ("hashCode".equals(methodName) && parameterCount == 0) {
+                return System.identityHashCode(proxy);
+            } else if ("toString".equals(methodName) && parameterCount == 0) {
+                return "cached:{" + _cached._ps + "}";
+            }
+            if (_closed) {
+                throw new SQLException("The statement was already closed (returned to cache): " + _cached._key);
+            }
+            try {
+                return method.invoke(_cached._ps, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    protected static interface InitialValueReader {
+
+        int read() throws SQLException;
+    }
+
+    protected static int readInitialValue(InitialValueReader reader) {
+        try {
+            return reader.read();
+        } catch (SQLException | RuntimeException e) {
+            return -1; // means no reset
+        }
+    }
+
+    // ===================================================================================
+    //                                                                             Metrics
+    //                                                                             =======
+    public long getHitCount() {
+        return _hitCount.get();
+    }
+
+    public long getMissCount() {
+        return _missCount.get();
+    }
+
+    public long getEvictedCount() {
+        return _evictedCount.get();
+    }
+
+    /**
+     * @return The rate of cache hit, between 0.0 and 1.0. (zero if no access)
+     */
+    public double getHitRate() {
+        final long hit = _hitCount.get();
+        final long total = hit + _missCount.get();
+        return total > 0 ? (double) hit / total : 0.0;
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        final int connectionCount;
+        synchronized (this) {
+            connectionCount = _connectionMap.size();
+        }
+        return "statementCache:{limit=" + _statementLimit + ", connections=" + connectionCount + ", hit=" + getHitCount() + ", miss="
+                + getMissCount() + ", evicted=" + getEvictedCount() + "}";
+    }
+}
@@ -29,6 +29,7 @@ import org.dbflute.bhv.exception.SQLExceptionHandler;
 import org.dbflute.bhv.exception.SQLExceptionResource;
 import org.dbflute.cbean.ConditionBean;
 import org.dbflute.cbean.sqlclause.SqlClause;
+import org.dbflute.jdbc.AdaptiveFetchSizeTuner;
 import org.dbflute.jdbc.FetchBean;
 import org.dbflute.jdbc.StatementConfig;
 import org.dbflute.jdbc.StatementFactory;
@@ -57,6 +58,8 @@ public class TnStatementFactoryImpl implements StatementFactory {
     protected Integer _entitySelectFetchSize;
     protected boolean _usePagingByCursorSkipSynchronizedFetchSize;
     protected Integer _fixedPagingByCursorSkipSynchronizedFetchSize;
+    protected int _preparedStatementCacheSize; // zero means no cache
+    protected volatile TnPreparedStatementCache _preparedStatementCache; // lazy-loaded if cache size exists
 
     // ===================================================================================
     //                                                                         Constructor
@@ -74,11 +77,27 @@ public class TnStatementFactoryImpl implements StatementFactory {
         if (isInternalDebugEnabled()) {
             _log.debug("...Preparing statement:(sql, " + resultSetType + ", " + resultSetConcurrency + ")");
         }
-        final PreparedStatement ps = prepareStatement(conn, sql, resultSetType, resultSetConcurrency);
+        final PreparedStatement ps = prepareCachedStatementIfNeeds(conn, sql, resultSetType, resultSetConcurrency);
         reflectStatementOptions(ps, config);
         return ps;
     }
 
+    protected PreparedStatement prepareCachedStatementIfNeeds(Connection conn, String sql, int resultSetType, int resultSetConcurrency) {
+        final TnPreparedStatementCache cache = getPreparedStatementCache();
+        if (cache == null) {
+            return prepareStatement(conn, sql, resultSetType, resultSetConcurrency);
+        }
+        final PreparedStatement cached = cache.checkout(conn, sql, resultSetType, resultSetConcurrency);
+        if (cached != null) {
+            if (isInternalDebugEnabled()) {
+                _log.debug("...Reusing cached statement: " + sql);
+            }
+            return cached;
+        }
+        final PreparedStatement ps = prepareStatement(conn, sql, resultSetType, resultSetConcurrency);
+        return cache.wrap(conn, sql, resultSetType, resultSetConcurrency, ps);
+    }
+
     protected PreparedStatement prepareStatement(Connection conn, String sql, int resultSetType, int resultSetConcurrency) {
         try {
             return conn.prepareStatement(sql, resultSetType, resultSetConcurrency);
@@ -236,7 +255,11 @@ public class TnStatementFactoryImpl implements StatementFactory {
         if (commandFetchSize != null) { // priority 3
             return commandFetchSize;
         }
-        if (defaultConfig != null && defaultConfig.hasFetchSize()) { // priority 4
+        final Integer adaptiveFetchSize = deriveAdaptiveFetchSize(config);
+        if (adaptiveFetchSize != null) { // priority 4
+            return adaptiveFetchSize;
+        }
+        if (defaultConfig != null && defaultConfig.hasFetchSize()) { // priority 5
             return defaultConfig.getFetchSize();
         }
         return null;
@@ -436,6 +459,28 @@ public class TnStatementFactoryImpl implements StatementFactory {
         return _fixedPagingByCursorSkipSynchronizedFetchSize;
     }
 
+    // -----------------------------------------------------
+    //                                              Adaptive
+    //                                              --------
+    protected Integer deriveAdaptiveFetchSize(StatementConfig config) {
+        if (config != null && config.isSuppressDefault()) {
+            return null; // suppressed
+        }
+        final AdaptiveFetchSizeTuner tuner = getAdaptiveFetchSizeTuner();
+        if (tuner == null) { // no cost if no tuner
+            return null;
+        }
+        final BehaviorCommand<?> command = getBehaviorCommand();
+        if (command == null || command.isSelectCursor()) { // cursor has no row count to be observed
+            return null;
+        }
+        return tuner.suggestFetchSize(command.buildSqlExecutionKey());
+    }
+
+    protected AdaptiveFetchSizeTuner getAdaptiveFetchSizeTuner() {
+        return ResourceContext.getAdaptiveFetchSizeTuner();
+    }
+
     // ===================================================================================
     //                                                                      Internal Debug
     //                                                                      ==============
@@ -469,4 +514,46 @@ public class TnStatementFactoryImpl implements StatementFactory {
     public void setFixedPagingByCursorSkipSynchronizedFetchSize(Integer fixedPagingByCursorSkipSynchronizedFetchSize) {
         _fixedPagingByCursorSkipSynchronizedFetchSize = fixedPagingByCursorSkipSynchronizedFetchSize;
     }
+
+    /**
+     * Set the size of prepared statement cache per connection. (default is zero: no cache) <br>
+     * Closed statements are returned to the LRU cache and reused for the same SQL on the same connection. <br>
+     * If the connection pool already caches statements, you don't need this.
+     * @param preparedStatementCacheSize The limit size of cached statements per connection. (NotMinus: zero means no cache)
+     */
+    public void setPreparedStatementCacheSize(int preparedStatementCacheSize) {
+        if (preparedStatementCacheSize < 0) {
+            throw new IllegalArgumentException("The argument 'preparedStatementCacheSize' should not be minus: " + preparedStatementCacheSize);
+        }
+        final TnPreparedStatementCache oldCache;
+        synchronized (this) {
+            _preparedStatementCacheSize = preparedStatementCacheSize;
+            oldCache = _preparedStatementCache;
+            _preparedStatementCache = null; // re-created lazily
+        }
+        if (oldCache != null) { // not to leak cached statements of the old cache
+            oldCache.clear(); // closes them
+        }
+    }
+
+    /**
+     * Get the prepared statement cache, which has also hit-rate metrics.
+     * @return The cache instance. (NullAllowed: when no cache size)
+     */
+    public TnPreparedStatementCache getPreparedStatementCache() {
+        if (_preparedStatementCacheSize <= 0) {
+            return null;
+        }
+        TnPreparedStatementCache cache = _preparedStatementCache;
+        if (cache == null) {
+            synchronized (this) {
+                cache = _preparedStatementCache;
+                if (cache == null) {
+                    cache = new TnPreparedStatementCache(_preparedStatementCacheSize);
+                    _preparedStatementCache = cache;
+                }
+            }
+        }
+        return cache;
+    }
 }
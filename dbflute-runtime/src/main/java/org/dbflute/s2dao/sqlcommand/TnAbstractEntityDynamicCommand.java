@@ -15,8 +15,12 @@
  */
 package org.dbflute.s2dao.sqlcommand;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 import javax.sql.DataSource;
 
@@ -38,6 +42,12 @@ import org.dbflute.system.DBFluteSystem;
  */
 public abstract class TnAbstractEntityDynamicCommand extends TnAbstractBasicSqlCommand {
 
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    /** The limit size of shape caches per command, no more caching if over it. */
+    protected static final int SHAPE_CACHE_LIMIT = 256;
+
     // ===================================================================================
     //                                                                           Attribute
     //                                                                           =========
@@ -50,6 +60,15 @@ public abstract class TnAbstractEntityDynamicCommand extends TnAbstractBasicSqlC
     /** The array of property name for persistent columns. (NotNull: after initialization) */
     protected String[] _propertyNames;
 
+    /** The map of index in property names keyed by property name. (NotNull: after initialization) */
+    protected Map<String, Integer> _propertyIndexMap;
+
+    /** The cache of bound property types keyed by bit-set of bound properties. (NotNull) */
+    protected final Map<TnDynamicSqlShapeKey, TnPropertyType[]> _boundPropertyTypesCache = newShapeCacheMap();
+
+    /** The cache of SQL (before filter) keyed by shape of SQL, bound properties and option flags. (NotNull) */
+    protected final Map<TnDynamicSqlShapeKey, String> _dynamicSqlCache = newShapeCacheMap();
+
     // ===================================================================================
     //                                                                         Constructor
     //                                                                         ===========
@@ -136,6 +155,89 @@ public abstract class TnAbstractEntityDynamicCommand extends TnAbstractBasicSqlC
         sb.setLength(sb.length() - connectorSuffix.length()); // for deleting extra ' and '
     }
 
+    // ===================================================================================
+    //                                                                         Shape Cache
+    //                                                                         ===========
+    protected <VALUE> Map<TnDynamicSqlShapeKey, VALUE> newShapeCacheMap() {
+        return new ConcurrentHashMap<TnDynamicSqlShapeKey, VALUE>();
+    }
+
+    /**
+     * Find the bound property types by the bit-set, cached for same-shape writes.
+     * @param boundBits The bit-set of bound properties, index is of persistent property names. (NotNull)
+     * @return The array of bound property types, shared so don't modify it. (NotNull, EmptyAllowed)
+     */
+    protected TnPropertyType[] findBoundPropertyTypes(long[] boundBits) {
+        final TnDynamicSqlShapeKey key = new TnDynamicSqlShapeKey(boundBits, 0, null);
+        final TnPropertyType[] cached = _boundPropertyTypesCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        final TnPropertyType[] propertyTypes = buildBoundPropertyTypes(boundBits);
+        if (_boundPropertyTypesCache.size() < SHAPE_CACHE_LIMIT) {
+            _boundPropertyTypesCache.put(key, propertyTypes);
+        }
+        return propertyTypes;
+    }
+
+    /**
+     * Convert the bound property types to the bit-set for key of SQL cache. <br>
+     * The types may be returned by overridden hook so they are checked here.
+     * @param propertyTypes The array of bound property types in order of property names. (NotNull)
+     * @return The bit-set of bound properties. (NullAllowed: when unknown property or different order, means no cache)
+     */
+    protected long[] toBoundBits(TnPropertyType[] propertyTypes) {
+        final Map<String, Integer> propertyIndexMap = _propertyIndexMap;
+        if (propertyIndexMap == null) { // basically no way (but just in case)
+            return null;
+        }
+        final long[] boundBits = TnDynamicSqlShapeKey.newBits(_propertyNames.length);
+        int previousIndex = -1;
+        for (TnPropertyType pt : propertyTypes) {
+            final Integer index = propertyIndexMap.get(pt.getPropertyName());
+            if (index == null || index <= previousIndex) { // SQL depends on order of properties
+                return null;
+            }
+            TnDynamicSqlShapeKey.markBit(boundBits, index);
+            previousIndex = index;
+        }
+        return boundBits;
+    }
+
+    protected TnPropertyType[] buildBoundPropertyTypes(long[] boundBits) {
+        final TnPropertyType[] propertyTypes = new TnPropertyType[TnDynamicSqlShapeKey.countBits(boundBits)];
+        final String[] propertyNames = _propertyNames;
+        int index = 0;
+        for (int i = 0; i < propertyNames.length; ++i) {
+            if (TnDynamicSqlShapeKey.isMarkedBit(boundBits, i)) {
+                propertyTypes[index] = _beanMetaData.getPropertyType(propertyNames[i]);
+                ++index;
+            }
+        }
+        return propertyTypes;
+    }
+
+    /**
+     * Find the SQL (before filter) by the shape key, created by the creator if not cached yet.
+     * @param key The key of SQL shape. (NullAllowed: if null, always created without cache)
+     * @param creator The creator of SQL called when cache miss. (NotNull)
+     * @return The SQL for the shape. (NotNull)
+     */
+    protected String findDynamicSql(TnDynamicSqlShapeKey key, Supplier<String> creator) {
+        if (key == null) { // e.g. bound properties by overridden hook
+            return creator.get();
+        }
+        final String cached = _dynamicSqlCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        final String sql = creator.get();
+        if (_dynamicSqlCache.size() < SHAPE_CACHE_LIMIT) {
+            _dynamicSqlCache.put(key, sql);
+        }
+        return sql;
+    }
+
     // ===================================================================================
     //                                                                       Filter Helper
     //                                                                       =============
@@ -188,5 +290,10 @@ public abstract class TnAbstractEntityDynamicCommand extends TnAbstractBasicSqlC
 
     public void setPropertyNames(String[] propertyNames) {
         _propertyNames = propertyNames;
+        final Map<String, Integer> propertyIndexMap = new HashMap<String, Integer>(propertyNames.length);
+        for (int i = 0; i < propertyNames.length; ++i) {
+            propertyIndexMap.put(propertyNames[i], i);
+        }
+        _propertyIndexMap = propertyIndexMap;
     }
 }
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2014-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.s2dao.sqlcommand;
+
+import java.util.Arrays;
+
+/**
+ * The key of SQL shape for entity dynamic commands. <br>
+ * The shape is determined by bit-set of bound properties (index of persistent property names)
+ * and option flags that change SQL text, e.g. version-no auto-increment.
+ * @author jflute
+ * @since 1.3.0 (2026/10/19 Monday)
+ */
+public class TnDynamicSqlShapeKey {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final long[] _boundBits; // not null, not modified after construction
+    protected final int _flags;
+    protected final Object[] _extras; // null allowed e.g. statement expressions, unique-driven properties
+    protected final int _hashCode; // cached because of frequent lookup
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param boundBits The bit-set of bound properties, index is of persistent property names. (NotNull)
+     * @param flags The flags of option that change SQL text. (zero if no flag)
+     * @param extras The extra elements that change SQL text. (NullAllowed: if nothing)
+     */
+    public TnDynamicSqlShapeKey(long[] boundBits, int flags, Object[] extras) {
+        _boundBits = boundBits;
+        _flags = flags;
+        _extras = extras;
+        _hashCode = calculateHashCode();
+    }
+
+    protected int calculateHashCode() {
+        int result = Arrays.hashCode(_boundBits);
+        result = 31 * result + _flags;
+        result = 31 * result + Arrays.hashCode(_extras);
+        return result;
+    }
+
+    // ===================================================================================
+    //                                                                        Bit Handling
+    //                                                                        ============
+    /**
+     * @param propertySize The size of persistent properties. (NotMinus)
+     * @return The new-created empty bit-set for the properties. (NotNull)
+     */
+    public static long[] newBits(int propertySize) {
+        return new long[(propertySize + 63) >>> 6];
+    }
+
+    /**
+     * @param bits The bit-set of bound properties. (NotNull)
+     * @param index The index of the property to be marked. (NotMinus)
+     */
+    public static void markBit(long[] bits, int index) {
+        bits[index >>> 6] |= (1L << index);
+    }
+
+    /**
+     * @param bits The bit-set of bound properties. (NotNull)
+     * @param index The index of the property to be determined. (NotMinus)
+     * @return Is the property marked?
+     */
+    public static boolean isMarkedBit(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * @param bits The bit-set of bound properties. (NotNull)
+     * @return The count of marked properties. (NotMinus)
+     */
+    public static int countBits(long[] bits) {
+        int count = 0;
+        for (long word : bits) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public int hashCode() {
+        return _hashCode;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || !(obj instanceof TnDynamicSqlShapeKey)) {
+            return false;
+        }
+        final TnDynamicSqlShapeKey target = (TnDynamicSqlShapeKey) obj;
+        return _hashCode == target._hashCode && _flags == target._flags && Arrays.equals(_boundBits, target._boundBits)
+                && Arrays.equals(_extras, target._extras);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("shape:{");
+        for (int i = _boundBits.length - 1; i >= 0; --i) {
+            sb.append(Long.toBinaryString(_boundBits[i]));
+            if (i > 0) {
+                sb.append("|");
+            }
+        }
+        sb.append(", flags=").append(_flags);
+        if (_extras != null) {
+            sb.append(", extras=").append(Arrays.asList(_extras));
+        }
+        sb.append("}");
+        return sb.toString();
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public long[] getBoundBits() {
+        return _boundBits; // no copy for performance, don't modify it
+    }
+
+    public int getFlags() {
+        return _flags;
+    }
+}
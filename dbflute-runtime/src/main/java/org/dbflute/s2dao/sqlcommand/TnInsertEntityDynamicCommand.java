@@ -15,17 +15,21 @@
  */
 package org.dbflute.s2dao.sqlcommand;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Set;
 
 import javax.sql.DataSource;
 
 import org.dbflute.Entity;
 import org.dbflute.bhv.core.context.InternalMapContext;
+import org.dbflute.bhv.core.context.ResourceContext;
 import org.dbflute.bhv.writable.InsertOption;
 import org.dbflute.cbean.ConditionBean;
+import org.dbflute.dbmeta.info.ColumnInfo;
 import org.dbflute.dbmeta.name.ColumnSqlName;
+import org.dbflute.dbway.DBDef;
+import org.dbflute.dbway.topic.UpsertSqlResource;
 import org.dbflute.helper.message.ExceptionMessageBuilder;
 import org.dbflute.jdbc.StatementConfig;
 import org.dbflute.jdbc.StatementFactory;
@@ -56,7 +60,8 @@ public class TnInsertEntityDynamicCommand extends TnAbstractEntityDynamicCommand
 
         final TnBeanMetaData bmd = _beanMetaData;
         final TnPropertyType[] propertyTypes = createInsertPropertyTypes(bmd, bean, _propertyNames, option);
-        final String sql = filterExecutedSql(createInsertSql(bmd, propertyTypes, option));
+        final long[] boundBits = toBoundBits(propertyTypes); // null allowed (means no cache)
+        final String sql = filterExecutedSql(prepareInsertSql(bmd, boundBits, propertyTypes, option));
         return doExecute(bean, propertyTypes, sql, option);
     }
 
@@ -87,13 +92,23 @@ public class TnInsertEntityDynamicCommand extends TnAbstractEntityDynamicCommand
     // ===================================================================================
     //                                                                       Insert Column
     //                                                                       =============
+    // the array of property types is shared per shape of bound properties (so don't modify it)
     protected TnPropertyType[] createInsertPropertyTypes(TnBeanMetaData bmd, Object bean, String[] propertyNames,
             InsertOption<ConditionBean> option) {
+        final TnPropertyType[] propertyTypes = findBoundPropertyTypes(createInsertBoundBits(bmd, bean, propertyNames, option));
+        if (propertyTypes.length == 0) {
+            throwEntityInsertPropertyNotFoundException(bmd, bean);
+        }
+        return propertyTypes;
+    }
+
+    // the bit-set is used as key of cache for both property types and SQL
+    protected long[] createInsertBoundBits(TnBeanMetaData bmd, Object bean, String[] propertyNames, InsertOption<ConditionBean> option) {
         if (0 == propertyNames.length) {
             String msg = "The property name was not found in the bean: " + bean;
             throw new IllegalStateException(msg);
         }
-        final List<TnPropertyType> typeList = new ArrayList<TnPropertyType>();
+        final long[] boundBits = TnDynamicSqlShapeKey.newBits(propertyNames.length);
         final Set<?> modifiedSet = getModifiedPropertyNames(bean);
         final String timestampProp = bmd.getTimestampPropertyName();
         final String versionNoProp = bmd.getVersionNoPropertyName();
@@ -107,18 +122,15 @@ public class TnInsertEntityDynamicCommand extends TnAbstractEntityDynamicCommand
                         continue;
                     }
                 }
-                typeList.add(pt);
+                TnDynamicSqlShapeKey.markBit(boundBits, i);
             } else {
                 if (isOptimisticLockProperty(timestampProp, versionNoProp, pt) // OptimisticLock
                         || isSpecifiedProperty(bean, option, modifiedSet, pt)) { // Specified
-                    typeList.add(pt);
+                    TnDynamicSqlShapeKey.markBit(boundBits, i);
                 }
             }
         }
-        if (typeList.isEmpty()) {
-            throwEntityInsertPropertyNotFoundException(bmd, bean);
-        }
-        return (TnPropertyType[]) typeList.toArray(new TnPropertyType[typeList.size()]);
+        return boundBits;
     }
 
     protected Set<?> getModifiedPropertyNames(Object bean) {
@@ -181,6 +193,32 @@ public class TnInsertEntityDynamicCommand extends TnAbstractEntityDynamicCommand
     // ===================================================================================
     //                                                                          Insert SQL
     //                                                                          ==========
+    /**
+     * Prepare insert SQL, which is cached per shape of the SQL (bound properties).
+     * @param bmd The meta data of bean. (NotNull)
+     * @param boundBits The bit-set of bound properties, index is of persistent property names. (NullAllowed: no cache)
+     * @param propertyTypes The types of property for insert. (NotNull)
+     * @param option An option of insert. (NullAllowed: not required)
+     * @return The insert SQL (before filter). (NotNull)
+     */
+    protected String prepareInsertSql(TnBeanMetaData bmd, long[] boundBits, TnPropertyType[] propertyTypes,
+            InsertOption<ConditionBean> option) {
+        final TnDynamicSqlShapeKey key = boundBits != null ? new TnDynamicSqlShapeKey(boundBits, 0, null) : null;
+        return findDynamicSql(key, () -> createInsertSql(bmd, propertyTypes, option));
+    }
+
+    /**
+     * Prepare native upsert SQL instead of insert SQL, for sub-classes of upsert (single and batch).
+     * @param bmd The meta data of bean. (NotNull)
+     * @param boundBits The bit-set of bound properties, index is of persistent property names. (NullAllowed: no cache)
+     * @param propertyTypes The types of property for insert. (NotNull)
+     * @return The upsert SQL (before filter). (NotNull)
+     */
+    protected String prepareUpsertSql(TnBeanMetaData bmd, long[] boundBits, TnPropertyType[] propertyTypes) {
+        final TnDynamicSqlShapeKey key = boundBits != null ? new TnDynamicSqlShapeKey(boundBits, 0, null) : null;
+        return findDynamicSql(key, () -> createUpsertSql(bmd, propertyTypes));
+    }
+
     protected String createInsertSql(TnBeanMetaData bmd, TnPropertyType[] propertyTypes, InsertOption<ConditionBean> option) {
         final String tableDbName = _targetDBMeta.getTableDbName();
         final StringBuilder columnSb = new StringBuilder(48);
@@ -203,6 +241,60 @@ public class TnInsertEntityDynamicCommand extends TnAbstractEntityDynamicCommand
         return sb.toString();
     }
 
+    // ===================================================================================
+    //                                                                          Upsert SQL
+    //                                                                          ==========
+    /**
+     * Create native upsert SQL by DB-way, bound properties are same as insert. <br>
+     * Primary key is used as unique key, and insert-only common columns and version-no are not updated by values.
+     * @param bmd The meta data of bean. (NotNull)
+     * @param propertyTypes The types of property for insert. (NotNull)
+     * @return The upsert SQL (before filter). (NotNull)
+     */
+    protected String createUpsertSql(TnBeanMetaData bmd, TnPropertyType[] propertyTypes) {
+        final String tableDbName = _targetDBMeta.getTableDbName();
+        final UpsertSqlResource resource = new UpsertSqlResource(_targetDBMeta.getTableSqlName().toString());
+        for (ColumnInfo primaryInfo : _targetDBMeta.getPrimaryInfo().getPrimaryColumnList()) {
+            resource.addKeyColumn(primaryInfo.getColumnSqlName().toString());
+        }
+        final Set<String> insertOnlySet = extractInsertOnlyColumnSet();
+        final String versionNoProp = bmd.getVersionNoPropertyName();
+        for (TnPropertyType pt : propertyTypes) {
+            final String columnSqlName = pt.getColumnSqlName().toString();
+            final String columnDbName = pt.getColumnDbName();
+            final boolean versionNo = pt.getPropertyName().equalsIgnoreCase(versionNoProp);
+            if (versionNo) {
+                resource.registerVersionNoColumn(columnSqlName);
+            }
+            final boolean updated = !pt.isPrimaryKey() && !versionNo && !insertOnlySet.contains(columnDbName);
+            resource.addInsertColumn(columnSqlName, encryptIfNeeds(tableDbName, columnDbName, "?"), updated);
+            final ColumnInfo columnInfo = _targetDBMeta.findColumnInfo(columnDbName);
+            resource.registerColumnType(columnSqlName, columnInfo.getColumnDbType(), columnInfo.getColumnSize(),
+                    columnInfo.getDecimalDigits()); // for typed markers
+        }
+        final DBDef currentDBDef = ResourceContext.currentDBDef();
+        final String sql = currentDBDef.dbway().buildUpsertSql(resource);
+        if (sql == null) {
+            String msg = "The native upsert is unsupported at the DB: " + currentDBDef + ", " + tableDbName;
+            throw new IllegalStateException(msg);
+        }
+        return sql;
+    }
+
+    protected Set<String> extractInsertOnlyColumnSet() { // e.g. REGISTER_DATETIME
+        if (!_targetDBMeta.hasCommonColumn()) {
+            return Collections.emptySet();
+        }
+        final Set<String> columnSet = new HashSet<String>();
+        for (ColumnInfo columnInfo : _targetDBMeta.getCommonColumnInfoBeforeInsertList()) {
+            columnSet.add(columnInfo.getColumnDbName());
+        }
+        for (ColumnInfo columnInfo : _targetDBMeta.getCommonColumnInfoBeforeUpdateList()) {
+            columnSet.remove(columnInfo.getColumnDbName());
+        }
+        return columnSet;
+    }
+
     // ===================================================================================
     //                                                                             Handler
     //                                                                             =======
@@ -74,7 +74,8 @@ public class TnUpdateEntityDynamicCommand extends TnAbstractEntityDynamicCommand
             }
             return getNonUpdateReturn();
         }
-        final String sql = filterExecutedSql(createUpdateSql(bean, updatePropertyTypes, option));
+        final long[] boundBits = toBoundBits(updatePropertyTypes); // null allowed (means no cache)
+        final String sql = filterExecutedSql(prepareUpdateSql(bean, boundBits, updatePropertyTypes, option));
         return doExecute(bean, updatePropertyTypes, sql, option);
     }
 
@@ -107,12 +108,18 @@ public class TnUpdateEntityDynamicCommand extends TnAbstractEntityDynamicCommand
     //                                                                       Update Column
     //                                                                       =============
     // this array of property types are related to update SQL and bind variables
+    // and it is shared per shape of bound properties (so don't modify it)
     protected TnPropertyType[] createUpdatePropertyTypes(Object bean, UpdateOption<ConditionBean> option) {
+        return findBoundPropertyTypes(createUpdateBoundBits(bean, option));
+    }
+
+    // the bit-set is used as key of cache for both property types and SQL
+    protected long[] createUpdateBoundBits(Object bean, UpdateOption<ConditionBean> option) {
         final Set<String> modifiedSet = getModifiedPropertyNames(bean);
-        final List<TnPropertyType> typeList = new ArrayList<TnPropertyType>();
         final String timestampProp = _beanMetaData.getTimestampPropertyName();
         final String versionNoProp = _beanMetaData.getVersionNoPropertyName();
         final String[] propertyNames = _propertyNames;
+        final long[] boundBits = TnDynamicSqlShapeKey.newBits(propertyNames.length);
         for (int i = 0; i < propertyNames.length; ++i) {
             final TnPropertyType pt = _beanMetaData.getPropertyType(propertyNames[i]);
             if (pt.isPrimaryKey()) {
@@ -124,10 +131,10 @@ public class TnUpdateEntityDynamicCommand extends TnAbstractEntityDynamicCommand
             if (isOptimisticLockProperty(timestampProp, versionNoProp, pt) // e.g. VERSION_NO
                     || isStatementProperty(option, pt) // e.g. SEA_COUNT = SEA_COUNT + 1
                     || isSpecifiedProperty(option, modifiedSet, pt)) { // means setter-called property
-                typeList.add(pt);
+                TnDynamicSqlShapeKey.markBit(boundBits, i);
             }
         }
-        return typeList.toArray(new TnPropertyType[typeList.size()]);
+        return boundBits;
     }
 
     protected Set<String> getModifiedPropertyNames(Object bean) {
@@ -171,6 +178,59 @@ public class TnUpdateEntityDynamicCommand extends TnAbstractEntityDynamicCommand
     // ===================================================================================
     //                                                                          Update SQL
     //                                                                          ==========
+    /**
+     * Prepare update SQL, which is cached per shape of the SQL. <br>
+     * The shape is determined by the bound properties, unique-driven properties and statements.
+     * @param bean The bean of the entity to update. (NotNull)
+     * @param boundBits The bit-set of bound properties, index is of persistent property names. (NullAllowed: no cache)
+     * @param updatePropertyTypes The types of property for update. (NotNull)
+     * @param option An option of update. (NullAllowed: not required)
+     * @return The update SQL (before filter). (NotNull)
+     */
+    protected String prepareUpdateSql(Object bean, long[] boundBits, TnPropertyType[] updatePropertyTypes,
+            UpdateOption<ConditionBean> option) {
+        if (boundBits == null) { // e.g. bound properties by overridden hook
+            return createUpdateSql(bean, updatePropertyTypes, option);
+        }
+        final int flags = buildUpdateSqlFlags(option);
+        final Object[] extras = buildUpdateSqlExtras(bean, updatePropertyTypes, option);
+        final TnDynamicSqlShapeKey key = new TnDynamicSqlShapeKey(boundBits, flags, extras);
+        return findDynamicSql(key, () -> createUpdateSql(bean, updatePropertyTypes, option));
+    }
+
+    protected int buildUpdateSqlFlags(UpdateOption<ConditionBean> option) {
+        int flags = 0;
+        if (isVersionNoAutoIncrementOnMemory()) {
+            flags |= 1;
+        }
+        if (_optimisticLockHandling) {
+            flags |= (1 << 1);
+        }
+        return flags;
+    }
+
+    protected Object[] buildUpdateSqlExtras(Object bean, TnPropertyType[] updatePropertyTypes, UpdateOption<ConditionBean> option) {
+        final Set<String> uniqueDrivenPropSet = extractUniqueDrivenPropSet(bean);
+        List<String> statementList = null;
+        if (option != null) {
+            for (TnPropertyType pt : updatePropertyTypes) {
+                final String columnDbName = pt.getColumnDbName();
+                if (option.hasStatement(columnDbName)) {
+                    if (statementList == null) {
+                        statementList = new ArrayList<String>(2);
+                    }
+                    statementList.add(columnDbName + ":" + option.buildStatement(columnDbName));
+                }
+            }
+        }
+        if (uniqueDrivenPropSet == null && statementList == null) { // mainly here
+            return null;
+        }
+        // unique-driven order is used in where clause so list
+        final List<String> uniqueDrivenList = uniqueDrivenPropSet != null ? new ArrayList<String>(uniqueDrivenPropSet) : null;
+        return new Object[] { uniqueDrivenList, statementList };
+    }
+
     /**
      * Create update SQL. The update is by the primary keys or unique keys.
      * @param bean The bean of the entity to update. (NotNull)
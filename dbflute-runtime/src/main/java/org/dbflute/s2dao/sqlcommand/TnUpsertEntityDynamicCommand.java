@@ -0,0 +1,49 @@
+/*
+ * Copyright 2014-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.s2dao.sqlcommand;
+
+import javax.sql.DataSource;
+
+import org.dbflute.bhv.writable.InsertOption;
+import org.dbflute.cbean.ConditionBean;
+import org.dbflute.jdbc.StatementFactory;
+import org.dbflute.s2dao.metadata.TnBeanMetaData;
+import org.dbflute.s2dao.metadata.TnPropertyType;
+
+/**
+ * The dynamic command of native upsert, single statement by DB-way. <br>
+ * Bound properties are same as insert, and the SQL is cached per shape of them.
+ * @author jflute
+ * @since 1.3.0 (2026/10/19 Monday)
+ */
+public class TnUpsertEntityDynamicCommand extends TnInsertEntityDynamicCommand {
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public TnUpsertEntityDynamicCommand(DataSource dataSource, StatementFactory statementFactory) {
+        super(dataSource, statementFactory);
+    }
+
+    // ===================================================================================
+    //                                                                          Upsert SQL
+    //                                                                          ==========
+    @Override
+    protected String prepareInsertSql(TnBeanMetaData bmd, long[] boundBits, TnPropertyType[] propertyTypes,
+            InsertOption<ConditionBean> option) {
+        return prepareUpsertSql(bmd, boundBits, propertyTypes); // same bound properties as insert
+    }
+}
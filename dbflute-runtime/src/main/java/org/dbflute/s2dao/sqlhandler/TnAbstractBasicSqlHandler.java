@@ -21,6 +21,8 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import javax.sql.DataSource;
@@ -44,11 +46,14 @@ import org.dbflute.jdbc.ExecutionTimeInfo;
 import org.dbflute.jdbc.HandlingDataSourceWrapper;
 import org.dbflute.jdbc.ManualThreadDataSourceHandler;
 import org.dbflute.jdbc.NotClosingConnectionWrapper;
+import org.dbflute.jdbc.SlowQueryDetector;
+import org.dbflute.jdbc.SlowQueryDetector.SlowQueryRecord;
 import org.dbflute.jdbc.StatementFactory;
 import org.dbflute.jdbc.ValueType;
 import org.dbflute.s2dao.valuetype.TnValueTypes;
 import org.dbflute.system.DBFluteSystem;
 import org.dbflute.system.QLog;
+import org.dbflute.system.QLogSampler;
 import org.dbflute.twowaysql.DisplaySqlBuilder;
 import org.dbflute.twowaysql.style.BoundDateDisplayStyle;
 import org.dbflute.twowaysql.style.BoundDateDisplayTimeZoneProvider;
@@ -76,6 +81,10 @@ public abstract class TnAbstractBasicSqlHandler {
     protected final StatementFactory _statementFactory;
     protected final String _sql;
     protected Object[] _exceptionMessageSqlArgs; // not required
+    protected boolean _sampledOut; // skipped by query log sampler, logged after execution if slow
+    protected Object[] _sampledOutArgs; // null allowed, bound arguments of the skipped statement
+    protected Object[] _slowQueryArgs; // null allowed, kept only when slow query detector exists
+    protected Class<?>[] _slowQueryArgTypes; // null allowed, same as arguments
 
     // ===================================================================================
     //                                                                         Constructor
@@ -188,7 +197,8 @@ public abstract class TnAbstractBasicSqlHandler {
     //                                           SQL Logging
     //                                           -----------
     protected void logSql(Object[] args, Class<?>[] argTypes) {
-        final boolean logEnabled = isLogEnabled();
+        keepSlowQueryArgsIfNeeds(args, argTypes);
+        final boolean logEnabled = isLogEnabled() && determineSampledLogging(args);
         final boolean hasSqlFireHook = hasSqlFireHook();
         final boolean hasSqlLog = hasSqlLogHandler();
         final boolean hasSqlResult = hasSqlResultHandler();
@@ -205,6 +215,22 @@ public abstract class TnAbstractBasicSqlHandler {
         }
     }
 
+    protected boolean determineSampledLogging(Object[] args) {
+        final QLogSampler sampler = getQLogSampler();
+        if (sampler == null || sampler.determineLogging(_sql)) {
+            return true;
+        }
+        if (sampler.isSlowLoggingEnabled()) { // keep them to build display SQL if slow
+            _sampledOut = true;
+            _sampledOutArgs = args;
+        }
+        return false;
+    }
+
+    protected QLogSampler getQLogSampler() {
+        return QLog.getQLogSampler();
+    }
+
     protected boolean processBeforeLogging(Object[] args, Class<?>[] argTypes, boolean logEnabled, boolean hasSqlFireHook,
             boolean hasSqlLog, boolean hasSqlResult) {
         return false;
@@ -243,6 +269,117 @@ public abstract class TnAbstractBasicSqlHandler {
         }
     }
 
+    // -----------------------------------------------------
+    //                                      Sampled-out Slow
+    //                                      ----------------
+    protected long prepareSampledOutBeforeTime() {
+        return _sampledOut ? systemTime() : 0L;
+    }
+
+    protected void logSampledOutSqlIfSlow(long before) {
+        if (!_sampledOut) {
+            return;
+        }
+        _sampledOut = false; // once per statement
+        final Object[] args = _sampledOutArgs;
+        _sampledOutArgs = null;
+        final long cost = systemTime() - before;
+        final QLogSampler sampler = getQLogSampler();
+        if (sampler != null && sampler.isSlow(cost)) {
+            log("...Logging the slow SQL skipped by sampling: cost=" + cost + "ms");
+            logDisplaySql(buildDisplaySql(_sql, args)); // built only here
+        }
+    }
+
+    // -----------------------------------------------------
+    //                                            Slow Query
+    //                                            ----------
+    protected void keepSlowQueryArgsIfNeeds(Object[] args, Class<?>[] argTypes) {
+        if (getSlowQueryDetector() != null) { // no cost if no detector
+            _slowQueryArgs = args;
+            _slowQueryArgTypes = argTypes;
+        }
+    }
+
+    protected SlowQueryDetector getSlowQueryDetector() {
+        return ResourceContext.getSlowQueryDetector();
+    }
+
+    protected long prepareSlowQueryBeforeTime() {
+        return getSlowQueryDetector() != null ? systemTime() : 0L;
+    }
+
+    protected void detectSlowQueryIfNeeds(long before) {
+        final SlowQueryDetector detector = getSlowQueryDetector();
+        if (detector == null) {
+            return;
+        }
+        final long cost = systemTime() - before;
+        if (!detector.isSlow(cost)) {
+            return;
+        }
+        final Object[] args = _slowQueryArgs;
+        final List<Object> bindArgList = args != null ? Collections.unmodifiableList(Arrays.asList(args.clone())) : Collections.emptyList();
+        String executionPlan = null;
+        String explainFailureMessage = null;
+        final DataSource explainDataSource = detector.getExplainDataSource(); // not transactional one
+        if (!detector.isExplainSuppressed() && explainDataSource != null) {
+            final String explainSql = ResourceContext.currentDBDef().dbway().buildExplainSql(_sql);
+            if (explainSql != null) {
+                try {
+                    executionPlan = explainSlowQuery(explainDataSource, explainSql, args, _slowQueryArgTypes);
+                } catch (SQLException | RuntimeException continued) { // not to break the main execution
+                    explainFailureMessage = continued.getClass().getSimpleName() + ": " + continued.getMessage();
+                }
+            }
+        }
+        detector.record(new SlowQueryRecord(_sql, bindArgList, cost, systemTime(), executionPlan, explainFailureMessage));
+        if (_log.isDebugEnabled()) {
+            _log.debug("...Detecting slow query: cost=" + cost + "ms, sql=" + _sql);
+        }
+    }
+
+    /**
+     * Execute the EXPLAIN of the statement on a connection of the dedicated data source, with the same binds.
+     * @param explainDataSource The dedicated data source for EXPLAIN, not transactional one. (NotNull)
+     * @param explainSql The SQL for execution plan. (NotNull)
+     * @param args The arguments for binding. (NullAllowed)
+     * @param argTypes The types of arguments. (NullAllowed)
+     * @return The text of execution plan, rows are separated by line separator. (NotNull)
+     * @throws SQLException When it fails to explain.
+     */
+    protected String explainSlowQuery(DataSource explainDataSource, String explainSql, Object[] args, Class<?>[] argTypes)
+            throws SQLException {
+        final Connection conn = explainDataSource.getConnection(); // not to break the transaction of caller
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+        try {
+            ps = conn.prepareStatement(explainSql); // not by statement factory, no logging and no config
+            if (args != null && argTypes != null) {
+                bindArgs(conn, ps, args, argTypes);
+            }
+            rs = ps.executeQuery();
+            final int columnCount = rs.getMetaData().getColumnCount();
+            final StringBuilder sb = new StringBuilder();
+            while (rs.next()) {
+                if (sb.length() > 0) {
+                    sb.append(ln());
+                }
+                for (int i = 1; i <= columnCount; i++) {
+                    if (i > 1) {
+                        sb.append(" | ");
+                    }
+                    sb.append(rs.getString(i));
+                }
+            }
+            return sb.toString();
+        } finally {
+            close(rs);
+            close(ps);
+            close(conn);
+        }
+    }
+
     // -----------------------------------------------------
     //                                            DisplaySql
     //                                            ----------
@@ -413,6 +550,7 @@ public abstract class TnAbstractBasicSqlHandler {
      * @return The new-created or inherited instance of connection. (NotNull)
      */
     protected Connection getConnection() {
+        final long before = preparePhaseBeforeTime();
         try {
             final ManualThreadDataSourceHandler handler = getManualThreadDataSourceHandler();
             if (handler != null) {
@@ -425,6 +563,10 @@ public abstract class TnAbstractBasicSqlHandler {
             resource.setNotice("Failed to get database connection.");
             handleSQLException(e, resource);
             return null; // unreachable
+        } finally {
+            if (before > 0L) { // also when failure e.g. pool timeout
+                saveConnectionAcquisitionMillis(before);
+            }
         }
     }
 
@@ -444,7 +586,14 @@ public abstract class TnAbstractBasicSqlHandler {
         if (_sql == null) {
             throw new IllegalStateException("The SQL should not be null.");
         }
-        return _statementFactory.createPreparedStatement(conn, _sql);
+        final long before = preparePhaseBeforeTime();
+        try {
+            return _statementFactory.createPreparedStatement(conn, _sql);
+        } finally {
+            if (before > 0L) {
+                saveStatementPreparationMillis(before);
+            }
+        }
     }
 
     /**
@@ -455,7 +604,14 @@ public abstract class TnAbstractBasicSqlHandler {
         if (_sql == null) {
             throw new IllegalStateException("The SQL should not be null.");
         }
-        return _statementFactory.createCallableStatement(conn, _sql);
+        final long before = preparePhaseBeforeTime();
+        try {
+            return _statementFactory.createCallableStatement(conn, _sql);
+        } finally {
+            if (before > 0L) {
+                saveStatementPreparationMillis(before);
+            }
+        }
     }
 
     /**
@@ -487,6 +643,8 @@ public abstract class TnAbstractBasicSqlHandler {
             saveBeforeSqlTimeMillis();
         }
         hookSqlFireBefore();
+        final long sampledOutBefore = prepareSampledOutBeforeTime();
+        final long slowQueryBefore = prepareSlowQueryBeforeTime();
         ResultSet rs = null;
         SQLException nativeCause = null;
         try {
@@ -494,6 +652,8 @@ public abstract class TnAbstractBasicSqlHandler {
             if (saveMillis) {
                 saveAfterSqlTimeMillis();
             }
+            logSampledOutSqlIfSlow(sampledOutBefore);
+            detectSlowQueryIfNeeds(slowQueryBefore);
             return rs;
         } catch (SQLException e) {
             nativeCause = e;
@@ -509,6 +669,8 @@ public abstract class TnAbstractBasicSqlHandler {
             saveBeforeSqlTimeMillis();
         }
         hookSqlFireBefore();
+        final long sampledOutBefore = prepareSampledOutBeforeTime();
+        final long slowQueryBefore = prepareSlowQueryBeforeTime();
         Integer updated = null;
         SQLException nativeCause = null;
         try {
@@ -516,6 +678,8 @@ public abstract class TnAbstractBasicSqlHandler {
             if (saveMillis) {
                 saveAfterSqlTimeMillis();
             }
+            logSampledOutSqlIfSlow(sampledOutBefore);
+            detectSlowQueryIfNeeds(slowQueryBefore);
             return updated;
         } catch (SQLException e) {
             nativeCause = e;
@@ -540,6 +704,7 @@ public abstract class TnAbstractBasicSqlHandler {
             saveBeforeSqlTimeMillis();
         }
         hookSqlFireBefore();
+        final long sampledOutBefore = prepareSampledOutBeforeTime();
         int[] batchResult = null;
         SQLException nativeCause = null;
         try {
@@ -547,6 +712,7 @@ public abstract class TnAbstractBasicSqlHandler {
             if (saveMillis) {
                 saveAfterSqlTimeMillis();
             }
+            logSampledOutSqlIfSlow(sampledOutBefore);
             return batchResult;
         } catch (SQLException e) {
             nativeCause = e;
@@ -583,6 +749,7 @@ public abstract class TnAbstractBasicSqlHandler {
             saveBeforeSqlTimeMillis();
         }
         hookSqlFireBefore();
+        final long sampledOutBefore = prepareSampledOutBeforeTime();
         Boolean executed = null;
         SQLException nativeCause = null;
         try {
@@ -590,6 +757,7 @@ public abstract class TnAbstractBasicSqlHandler {
             if (saveMillis) {
                 saveAfterSqlTimeMillis();
             }
+            logSampledOutSqlIfSlow(sampledOutBefore);
             return executed;
         } catch (SQLException e) {
             nativeCause = e;
@@ -614,6 +782,33 @@ public abstract class TnAbstractBasicSqlHandler {
         InternalMapContext.setSqlAfterTimeMillis(systemTime());
     }
 
+    // -----------------------------------------------------
+    //                                            Phase Time
+    //                                            ----------
+    /**
+     * @return The time before the phase, or zero if no need to measure. (NotMinus)
+     */
+    protected long preparePhaseBeforeTime() { // phase times are summed up in the command
+        return isSaveMillis() ? systemTime() : 0L;
+    }
+
+    protected void saveConnectionAcquisitionMillis(long before) {
+        InternalMapContext.setConnectionAcquisitionMillis(sumPhaseMillis(InternalMapContext.getConnectionAcquisitionMillis(), before));
+    }
+
+    protected void saveStatementPreparationMillis(long before) {
+        InternalMapContext.setStatementPreparationMillis(sumPhaseMillis(InternalMapContext.getStatementPreparationMillis(), before));
+    }
+
+    protected void saveResultMappingMillis(long before) {
+        InternalMapContext.setResultMappingMillis(sumPhaseMillis(InternalMapContext.getResultMappingMillis(), before));
+    }
+
+    protected Long sumPhaseMillis(Long existingMillis, long before) {
+        final long cost = systemTime() - before;
+        return existingMillis != null ? existingMillis + cost : cost;
+    }
+
     // -----------------------------------------------------
     //                                           SqlFireHook
     //                                           -----------
@@ -633,7 +828,10 @@ public abstract class TnAbstractBasicSqlHandler {
         final SqlLogInfo sqlLogInfo = InternalMapContext.getHookSqlLogInfo();
         final Long sqlBefore = InternalMapContext.getSqlBeforeTimeMillis();
         final Long sqlAfter = InternalMapContext.getSqlAfterTimeMillis();
-        final ExecutionTimeInfo timeInfo = new ExecutionTimeInfo(null, null, sqlBefore, sqlAfter);
+        final Long connectionMillis = InternalMapContext.getConnectionAcquisitionMillis();
+        final Long preparationMillis = InternalMapContext.getStatementPreparationMillis();
+        final ExecutionTimeInfo timeInfo = // mapping is after SQL fire so not here
+                new ExecutionTimeInfo(null, null, sqlBefore, sqlAfter, connectionMillis, preparationMillis, null);
         final SqlFireResultInfo fireResultInfo = new SqlFireResultInfo(nativeResult, sqlLogInfo, timeInfo, nativeCause);
         getSqlFireHook().hookFinally(ResourceContext.behaviorCommand(), fireResultInfo);
     }
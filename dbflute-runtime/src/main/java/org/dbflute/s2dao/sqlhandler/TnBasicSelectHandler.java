@@ -19,13 +19,17 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Collection;
 
 import javax.sql.DataSource;
 
+import org.dbflute.bhv.core.BehaviorCommand;
 import org.dbflute.bhv.core.context.FetchAssistContext;
+import org.dbflute.bhv.core.context.ResourceContext;
 import org.dbflute.bhv.exception.SQLExceptionResource;
 import org.dbflute.cbean.paging.FetchNarrowingBean;
 import org.dbflute.exception.FetchingOverSafetySizeException;
+import org.dbflute.jdbc.AdaptiveFetchSizeTuner;
 import org.dbflute.jdbc.FetchBean;
 import org.dbflute.jdbc.StatementFactory;
 import org.dbflute.outsidesql.OutsideSqlContext;
@@ -83,7 +87,13 @@ public class TnBasicSelectHandler extends TnBasicParameterHandler {
         ResultSet rs = null;
         try {
             rs = doQueryResult(ps);
-            return _resultSetHandler.handle(rs);
+            final long mappingBefore = preparePhaseBeforeTime();
+            final Object result = _resultSetHandler.handle(rs);
+            if (mappingBefore > 0L) { // not in finally, mapping failure has no meaning as time
+                saveResultMappingMillis(mappingBefore);
+            }
+            observeRowCountIfNeeds(result);
+            return result;
         } catch (FetchingOverSafetySizeException e) { // from fetch assist
             if (OutsideSqlContext.isExistOutsideSqlContextOnThread()) {
                 // OutsideSql only, ConditionBean uses its toDisplaySql()
@@ -96,6 +106,27 @@ public class TnBasicSelectHandler extends TnBasicParameterHandler {
         }
     }
 
+    protected void observeRowCountIfNeeds(Object result) {
+        final AdaptiveFetchSizeTuner tuner = ResourceContext.getAdaptiveFetchSizeTuner();
+        if (tuner == null) { // no cost if no tuner
+            return;
+        }
+        if (!ResourceContext.isExistResourceContextOnThread()) { // basically no way, just in case
+            return;
+        }
+        final BehaviorCommand<?> command = ResourceContext.behaviorCommand();
+        if (command.isSelectCursor()) { // cursor handler returns callback result
+            return;
+        }
+        final int rowCount;
+        if (result instanceof Collection<?>) {
+            rowCount = ((Collection<?>) result).size();
+        } else {
+            rowCount = result != null ? 1 : 0;
+        }
+        tuner.observe(command.buildSqlExecutionKey(), rowCount);
+    }
+
     protected ResultSet doQueryResult(PreparedStatement ps) throws SQLException {
         // /- - - - - - - - - - - - - - - - - - - - - - - - - - -
         // All select statements on DBFlute use this result set. 
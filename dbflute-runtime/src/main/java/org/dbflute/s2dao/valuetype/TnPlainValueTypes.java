@@ -28,6 +28,7 @@ import static org.dbflute.s2dao.valuetype.TnValueTypes.DEFAULT_OBJECT;
 import static org.dbflute.s2dao.valuetype.TnValueTypes.DOUBLE;
 import static org.dbflute.s2dao.valuetype.TnValueTypes.FLOAT;
 import static org.dbflute.s2dao.valuetype.TnValueTypes.INTEGER;
+import static org.dbflute.s2dao.valuetype.TnValueTypes.IN_SCOPE_ARRAY;
 import static org.dbflute.s2dao.valuetype.TnValueTypes.LOCALDATETIME_AS_TIMESTAMP;
 import static org.dbflute.s2dao.valuetype.TnValueTypes.LOCALDATE_AS_SQLDATE;
 import static org.dbflute.s2dao.valuetype.TnValueTypes.LOCALTIME_AS_TIME;
@@ -55,6 +56,7 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
+import org.dbflute.cbean.cvalue.InScopeArrayValue;
 import org.dbflute.jdbc.Classification;
 import org.dbflute.jdbc.ValueType;
 import org.dbflute.s2dao.valuetype.basic.ObjectType;
@@ -140,6 +142,9 @@ public class TnPlainValueTypes {
         // << Classification >>
         registerBasicValueType(Classification.class, CLASSIFICATION); // DBFlute original class
 
+        // << InScope Array >>
+        registerBasicValueType(InScopeArrayValue.class, IN_SCOPE_ARRAY); // DBFlute original class
+
         // Because object type is to be handle as special type.
         //registerBasicValueType(Object.class, OBJECT);
 
@@ -32,6 +32,7 @@ import org.dbflute.s2dao.valuetype.basic.CharacterType;
 import org.dbflute.s2dao.valuetype.basic.ClassificationType;
 import org.dbflute.s2dao.valuetype.basic.DoubleType;
 import org.dbflute.s2dao.valuetype.basic.FloatType;
+import org.dbflute.s2dao.valuetype.basic.InScopeArrayType;
 import org.dbflute.s2dao.valuetype.basic.IntegerType;
 import org.dbflute.s2dao.valuetype.basic.LocalDateAsSqlDateType;
 import org.dbflute.s2dao.valuetype.basic.LocalDateAsTimestampType;
@@ -91,6 +92,7 @@ public class TnValueTypes {
     public static final ValueType BOOLEAN = new BooleanType();
     public static final ValueType UUID_AS_DIRECT = new UUIDAsDirectType();
     public static final ValueType UUID_AS_STRING = new UUIDAsStringType();
+    public static final ValueType IN_SCOPE_ARRAY = new InScopeArrayType();
 
     // basic (interface)
     public static final ValueType CLASSIFICATION = new ClassificationType(); // DBFlute original class
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2014-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.s2dao.valuetype.basic;
+
+import java.sql.Array;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+
+import org.dbflute.cbean.cvalue.InScopeArrayValue;
+import org.dbflute.s2dao.valuetype.TnAbstractValueType;
+
+/**
+ * The value type of in-scope array, which binds the list as one JDBC array. (binding only)
+ * @author jflute
+ * @since 1.3.0 (2026/10/19 Monday)
+ */
+public class InScopeArrayType extends TnAbstractValueType {
+
+    public InScopeArrayType() {
+        super(Types.ARRAY);
+    }
+
+    public Object getValue(ResultSet rs, int index) throws SQLException {
+        return rs.getArray(index);
+    }
+
+    public Object getValue(ResultSet rs, String columnName) throws SQLException {
+        return rs.getArray(columnName);
+    }
+
+    public Object getValue(CallableStatement cs, int index) throws SQLException {
+        return cs.getArray(index);
+    }
+
+    public Object getValue(CallableStatement cs, String parameterName) throws SQLException {
+        return cs.getArray(parameterName);
+    }
+
+    public void bindValue(Connection conn, PreparedStatement ps, int index, Object value) throws SQLException {
+        if (value == null) {
+            setNull(ps, index);
+        } else {
+            ps.setArray(index, toArray(conn, value));
+        }
+    }
+
+    public void bindValue(Connection conn, CallableStatement cs, String parameterName, Object value) throws SQLException {
+        if (value == null) {
+            setNull(cs, parameterName);
+        } else {
+            cs.setObject(parameterName, toArray(conn, value), getSqlType());
+        }
+    }
+
+    protected Array toArray(Connection conn, Object value) throws SQLException {
+        final InScopeArrayValue arrayValue = (InScopeArrayValue) value;
+        return conn.createArrayOf(arrayValue.getElementTypeName(), arrayValue.toElementArray());
+    }
+}
@@ -31,6 +31,7 @@ public class QLog {
 
     protected static boolean _queryLogLevelInfo;
     protected static boolean _loggingInHolidayMood;
+    protected static QLogSampler _qlogSampler; // null allowed, if null, all statements are logged
     protected static boolean _locked = true;
 
     // ===================================================================================
@@ -84,6 +85,23 @@ public class QLog {
         lock(); // auto-lock here, because of deep world
     }
 
+    public static QLogSampler getQLogSampler() { // very internal
+        return _qlogSampler;
+    }
+
+    /**
+     * Set the sampler of query log for sampled and rate-limited logging, e.g. on production.
+     * @param qlogSampler The sampler of query log. (NullAllowed: if null, all statements are logged)
+     */
+    public static void setQLogSampler(QLogSampler qlogSampler) {
+        assertUnlocked();
+        if (_log.isInfoEnabled()) {
+            _log.info("...Setting qlogSampler: " + qlogSampler);
+        }
+        _qlogSampler = qlogSampler;
+        lock(); // auto-lock here, because of deep world
+    }
+
     // ===================================================================================
     //                                                                        Logging Lock
     //                                                                        ============
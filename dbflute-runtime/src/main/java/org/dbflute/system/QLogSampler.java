@@ -0,0 +1,183 @@
+/*
+ * Copyright 2014-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.system;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The sampler of query log to keep SQL visibility on production without per-statement cost. <br>
+ * Query log of a statement is output when both sampling (1-in-N per SQL) and rate limit (token bucket per SQL) allow it,
+ * and statements skipped by them are still output after execution if they are slower than the threshold. <br>
+ * Display SQL (with bound values) is built only for logged statements.
+ * <pre>
+ * QLog.unlock();
+ * QLog.setQLogSampler(new QLogSampler().sampleOneIn(100).rateLimit(1.0, 5).slowThreshold(3000L));
+ * </pre>
+ * @author jflute
+ * @since 1.3.0 (2026/10/19 Monday)
+ */
+public class QLogSampler {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    /** The limit count of SQL states, roughly, SQLs over it share one state. */
+    protected static final int SQL_STATE_LIMIT = 1000;
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected int _sampleInterval = 1; // 1-in-N, 1 means all statements
+    protected double _permitsPerSecond; // zero means no rate limit
+    protected int _burstSize = 1; // max tokens of bucket
+    protected long _slowThresholdMillis = -1L; // minus means no slow logging
+    protected final Map<String, SqlLogState> _sqlStateMap = new ConcurrentHashMap<String, SqlLogState>();
+    protected final SqlLogState _sharedState = new SqlLogState(); // for SQLs over limit
+
+    // ===================================================================================
+    //                                                                              Option
+    //                                                                              ======
+    /**
+     * Log only one statement in N executions per SQL.
+     * @param sampleInterval The interval of sampling, e.g. 100 means 1-in-100. (NotMinus, NotZero: 1 means all)
+     * @return this. (NotNull)
+     */
+    public QLogSampler sampleOneIn(int sampleInterval) {
+        if (sampleInterval < 1) {
+            throw new IllegalArgumentException("The argument 'sampleInterval' should not be minus or zero: " + sampleInterval);
+        }
+        _sampleInterval = sampleInterval;
+        return this;
+    }
+
+    /**
+     * Limit logged statements per SQL by token bucket.
+     * @param permitsPerSecond The count of refilled tokens per second. (NotMinus, NotZero)
+     * @param burstSize The max count of tokens, statements logged at once. (NotMinus, NotZero)
+     * @return this. (NotNull)
+     */
+    public QLogSampler rateLimit(double permitsPerSecond, int burstSize) {
+        if (permitsPerSecond <= 0.0) {
+            throw new IllegalArgumentException("The argument 'permitsPerSecond' should be positive: " + permitsPerSecond);
+        }
+        if (burstSize < 1) {
+            throw new IllegalArgumentException("The argument 'burstSize' should not be minus or zero: " + burstSize);
+        }
+        _permitsPerSecond = permitsPerSecond;
+        _burstSize = burstSize;
+        return this;
+    }
+
+    /**
+     * Always log statements slower than the threshold even if skipped by sampling or rate limit.
+     * @param slowThresholdMillis The threshold of execution time in milliseconds. (NotMinus)
+     * @return this. (NotNull)
+     */
+    public QLogSampler slowThreshold(long slowThresholdMillis) {
+        if (slowThresholdMillis < 0L) {
+            throw new IllegalArgumentException("The argument 'slowThresholdMillis' should not be minus: " + slowThresholdMillis);
+        }
+        _slowThresholdMillis = slowThresholdMillis;
+        return this;
+    }
+
+    // ===================================================================================
+    //                                                                       Determination
+    //                                                                       =============
+    /**
+     * Determine whether the statement is logged before execution.
+     * @param sql The executed SQL (with question marks) as the shape of statement. (NotNull)
+     * @return The determination, true if logged now.
+     */
+    public boolean determineLogging(String sql) {
+        final SqlLogState state = findState(sql);
+        if (!state.sample(_sampleInterval)) {
+            return false;
+        }
+        if (_permitsPerSecond <= 0.0) {
+            return true;
+        }
+        return state.tryAcquire(currentNanoTime(), _permitsPerSecond, _burstSize);
+    }
+
+    /**
+     * @return Is the slow logging for skipped statements enabled?
+     */
+    public boolean isSlowLoggingEnabled() {
+        return _slowThresholdMillis >= 0L;
+    }
+
+    /**
+     * @param executionMillis The execution time of the statement in milliseconds. (NotMinus)
+     * @return Is the statement slower than the threshold? (false if slow logging is disabled)
+     */
+    public boolean isSlow(long executionMillis) {
+        return isSlowLoggingEnabled() && executionMillis >= _slowThresholdMillis;
+    }
+
+    protected SqlLogState findState(String sql) {
+        final SqlLogState existing = _sqlStateMap.get(sql);
+        if (existing != null) {
+            return existing;
+        }
+        if (_sqlStateMap.size() >= SQL_STATE_LIMIT) { // rough limit to avoid memory leak by dynamic SQLs
+            return _sharedState;
+        }
+        final SqlLogState created = new SqlLogState();
+        final SqlLogState concurrent = _sqlStateMap.putIfAbsent(sql, created);
+        return concurrent != null ? concurrent : created;
+    }
+
+    protected long currentNanoTime() { // for test
+        return System.nanoTime();
+    }
+
+    // ===================================================================================
+    //                                                                           SQL State
+    //                                                                           =========
+    protected static class SqlLogState {
+
+        protected final AtomicLong _executionCount = new AtomicLong();
+        protected double _tokens = -1.0; // minus means not initialized, synchronized
+        protected long _lastRefillNanos; // synchronized
+
+        public boolean sample(int sampleInterval) {
+            if (sampleInterval == 1) {
+                return true;
+            }
+            return _executionCount.getAndIncrement() % sampleInterval == 0; // first is logged
+        }
+
+        public synchronized boolean tryAcquire(long nowNanos, double permitsPerSecond, int burstSize) {
+            if (_tokens < 0.0) { // first time
+                _tokens = burstSize;
+            } else {
+                final long elapsed = nowNanos - _lastRefillNanos;
+                if (elapsed > 0L) {
+                    _tokens = Math.min(burstSize, _tokens + (elapsed / 1_000_000_000.0) * permitsPerSecond);
+                }
+            }
+            _lastRefillNanos = nowNanos;
+            if (_tokens >= 1.0) {
+                _tokens = _tokens - 1.0;
+                return true;
+            }
+            return false;
+        }
+    }
+}
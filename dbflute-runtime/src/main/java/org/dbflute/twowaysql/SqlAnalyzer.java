@@ -251,8 +251,7 @@ public class SqlAnalyzer {
             if (isFrequentlyMistakePattern(comment)) {
                 throwParameterCommentNotAllowedInitialCharacterException(comment);
             }
-            final String before = _tokenizer.getBefore();
-            final String content = before.substring(before.lastIndexOf("/*"));
+            final String content = _tokenizer.getBeforeFromLast("/*");
             peek().addChild(createSqlPartsNode(content));
         }
     }
@@ -32,6 +32,15 @@ public class SqlTokenizer {
     public static final int BIND_VARIABLE = 4;
     public static final int EOF = 99;
 
+    // index of searched mark, for the cache of mark positions
+    protected static final int MARK_BLOCK_COMMENT_BEGIN = 0; // "/*"
+    protected static final int MARK_HASH_COMMENT_BEGIN = 1; // "#*"
+    protected static final int MARK_NATIVE_BINDING = 2; // "?"
+    protected static final int MARK_LINE_COMMENT = 3; // "--"
+    protected static final int MARK_BLOCK_COMMENT_END = 4; // "*/"
+    protected static final int MARK_HASH_COMMENT_END = 5; // "*#"
+    protected static final String[] MARKS = new String[] { "/*", "#*", "?", "--", "*/", "*#" };
+
     // ===================================================================================
     //                                                                           Attribute
     //                                                                           =========
@@ -43,6 +52,11 @@ public class SqlTokenizer {
     protected int _bindVariableNum = 0;
     protected boolean _overlookNativeBinding; // treats native binding as plain question mark on SQL
 
+    // the search of mark always goes forward, so the found position can be reused until passed
+    // (without this, e.g. missing '#*' is searched until the end of SQL for every token)
+    protected final int[] _markSearchedFroms = new int[] { -1, -1, -1, -1, -1, -1 }; // -1 means not searched yet
+    protected final int[] _markFoundPositions = new int[MARKS.length]; // -1 means not found
+
     // ===================================================================================
     //                                                                         Constructor
     //                                                                         ===========
@@ -89,18 +103,18 @@ public class SqlTokenizer {
     //                                                                           Parse SQL
     //                                                                           =========
     protected void parseSql() {
-        int commentStartPos = _sql.indexOf("/*", _position);
-        int commentStartPos2 = _sql.indexOf("#*", _position);
+        int commentStartPos = indexOfMark(MARK_BLOCK_COMMENT_BEGIN, _position);
+        int commentStartPos2 = indexOfMark(MARK_HASH_COMMENT_BEGIN, _position);
         if (0 < commentStartPos2 && commentStartPos2 < commentStartPos) {
             commentStartPos = commentStartPos2;
         }
         // native binding is unused on DBFlute, check it later or overlook
-        final int bindVariableStartPos = !_overlookNativeBinding ? _sql.indexOf("?", _position) : -1;
+        final int bindVariableStartPos = !_overlookNativeBinding ? indexOfMark(MARK_NATIVE_BINDING, _position) : -1;
         int elseCommentStartPos = -1;
         int elseCommentLength = -1;
         int elseCommentSearchCurrentPosition = _position;
         while (true) { // searching nearest next ELSE comment
-            final int lineCommentStartPos = _sql.indexOf("--", elseCommentSearchCurrentPosition);
+            final int lineCommentStartPos = indexOfMark(MARK_LINE_COMMENT, elseCommentSearchCurrentPosition);
             if (lineCommentStartPos < 0) {
                 break;
             }
@@ -108,7 +122,7 @@ public class SqlTokenizer {
                 break;
             }
             int skipPos = skipWhitespace(lineCommentStartPos + 2);
-            if (skipPos + 4 < _sql.length() && "ELSE".equals(_sql.substring(skipPos, skipPos + 4))) {
+            if (skipPos + 4 < _sql.length() && _sql.startsWith("ELSE", skipPos)) { // no substring
                 elseCommentStartPos = lineCommentStartPos;
                 elseCommentLength = skipPos + 4 - lineCommentStartPos;
                 break;
@@ -155,12 +169,32 @@ public class SqlTokenizer {
         return nextStartPos;
     }
 
+    /**
+     * Find the position of the mark from the position, reusing the previous search if possible.
+     * @param markIndex The index of the mark in MARKS. (NotMinus)
+     * @param fromIndex The index to start the search from. (NotMinus)
+     * @return The position of the found mark. (minus one if not found)
+     */
+    protected int indexOfMark(int markIndex, int fromIndex) {
+        final int searchedFrom = _markSearchedFroms[markIndex];
+        if (searchedFrom >= 0 && searchedFrom <= fromIndex) {
+            final int found = _markFoundPositions[markIndex];
+            if (found < 0 || found >= fromIndex) { // no mark between the searched and found position
+                return found;
+            }
+        }
+        final int found = _sql.indexOf(MARKS[markIndex], fromIndex);
+        _markSearchedFroms[markIndex] = fromIndex;
+        _markFoundPositions[markIndex] = found;
+        return found;
+    }
+
     // ===================================================================================
     //                                                                       Parse Comment
     //                                                                       =============
     protected void parseComment() {
-        int commentEndPos = _sql.indexOf("*/", _position);
-        int commentEndPos2 = _sql.indexOf("*#", _position);
+        int commentEndPos = indexOfMark(MARK_BLOCK_COMMENT_END, _position);
+        int commentEndPos2 = indexOfMark(MARK_HASH_COMMENT_END, _position);
         if (0 < commentEndPos2 && commentEndPos2 < commentEndPos) {
             commentEndPos = commentEndPos2;
         }
@@ -278,27 +312,16 @@ public class SqlTokenizer {
         if (firstChar != 'd' && firstChar != 'D' && firstChar != 't' && firstChar != 'T') {
             return null;
         }
-        final String rear;
-        {
-            final String tmpRear = currentSql.substring(position);
-            final int maxlength = "timestamp '".length();
-            if (tmpRear.length() > maxlength) {
-                // get only the quantity needed for performance
-                rear = tmpRear.substring(0, maxlength);
-            } else {
-                rear = tmpRear;
-            }
-        }
-        final String lowerRear = rear.toLowerCase();
+        // matching in place without substring of the rear SQL for performance
         String literalPrefix = null;
-        if (lowerRear.startsWith("date '")) {
-            literalPrefix = rear.substring(0, "date ".length());
-        } else if (lowerRear.startsWith("date'")) {
-            literalPrefix = rear.substring(0, "date".length());
-        } else if (lowerRear.startsWith("timestamp '")) { // has max length
-            literalPrefix = rear.substring(0, "timestamp ".length());
-        } else if (lowerRear.startsWith("timestamp'")) {
-            literalPrefix = rear.substring(0, "timestamp".length());
+        if (currentSql.regionMatches(true, position, "date '", 0, "date '".length())) {
+            literalPrefix = currentSql.substring(position, position + "date ".length());
+        } else if (currentSql.regionMatches(true, position, "date'", 0, "date'".length())) {
+            literalPrefix = currentSql.substring(position, position + "date".length());
+        } else if (currentSql.regionMatches(true, position, "timestamp '", 0, "timestamp '".length())) {
+            literalPrefix = currentSql.substring(position, position + "timestamp ".length());
+        } else if (currentSql.regionMatches(true, position, "timestamp'", 0, "timestamp'".length())) {
+            literalPrefix = currentSql.substring(position, position + "timestamp".length());
         }
         return literalPrefix;
     }
@@ -367,6 +390,19 @@ public class SqlTokenizer {
         return _sql.substring(_position);
     }
 
+    /**
+     * Get the part of before from the last mark, same as getBefore() and substring from last index of the mark.
+     * @param mark The mark to search backward e.g. "/*". (NotNull)
+     * @return The part of SQL from the last mark to the current position. (NotNull)
+     */
+    public String getBeforeFromLast(String mark) {
+        final int lastIndex = _sql.lastIndexOf(mark, _position - mark.length()); // without copy of before
+        if (lastIndex < 0) { // same as substring(-1) of before
+            throw new StringIndexOutOfBoundsException(lastIndex);
+        }
+        return _sql.substring(lastIndex, _position);
+    }
+
     public int getTokenType() {
         return _tokenType;
     }
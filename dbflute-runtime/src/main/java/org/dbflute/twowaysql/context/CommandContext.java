@@ -47,4 +47,12 @@ public interface CommandContext {
     boolean isAlreadySkippedConnector();
 
     void setAlreadySkippedConnector(boolean alreadySkippedConnector);
+
+    /**
+     * Record the decision of dynamic node that determines the SQL output, e.g. IF result, FOR loop count. <br>
+     * The decisions are used as key of SQL output cache, so every decision point should record one. (default: no record)
+     * @param decision The decision value, should implement equals() and hashCode(). (NullAllowed)
+     */
+    default void recordSqlDecision(Object decision) {
+    }
 }
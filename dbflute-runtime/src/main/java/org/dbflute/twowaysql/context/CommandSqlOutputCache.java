@@ -0,0 +1,151 @@
+/*
+ * Copyright 2014-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.twowaysql.context;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The cache of finished SQL for one two-way SQL template (root node). <br>
+ * The key is the compact list of decisions recorded by the nodes while accepting, e.g. IF results,
+ * FOR loop counts, in-scope element counts and embedded values. The walk of the template is determined
+ * by the decisions, so same decisions always emit same SQL, and the finished SQL string is not rebuilt
+ * (by copying characters of e.g. 300 lines report SQL) at every execution.
+ * @author jflute
+ * @since 1.3.0 (2026/10/19 Monday)
+ */
+public class CommandSqlOutputCache {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    /** The limit size of output for one template, no more caching if over it. (e.g. embedded values are various) */
+    protected static final int OUTPUT_CACHE_LIMIT = 100;
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final Map<SqlDecisionKey, String> _outputMap = new ConcurrentHashMap<SqlDecisionKey, String>();
+    protected final AtomicLong _hitCount = new AtomicLong();
+    protected final AtomicLong _missCount = new AtomicLong();
+
+    // ===================================================================================
+    //                                                                              Output
+    //                                                                              ======
+    /**
+     * Find the finished SQL for the decisions, or build and cache it if not found.
+     * @param decisionList The list of decisions recorded by the nodes. (NotNull, EmptyAllowed: no dynamic node)
+     * @param sqlPartList The list of SQL parts emitted by the nodes, used only when not found. (NotNull)
+     * @return The finished SQL. (NotNull)
+     */
+    public String findOrBuild(List<Object> decisionList, List<String> sqlPartList) {
+        final SqlDecisionKey key = new SqlDecisionKey(decisionList.toArray()); // small, decisions only
+        final String cached = _outputMap.get(key);
+        if (cached != null) {
+            _hitCount.incrementAndGet();
+            return cached;
+        }
+        _missCount.incrementAndGet();
+        final String sql = buildSql(sqlPartList);
+        if (_outputMap.size() < OUTPUT_CACHE_LIMIT) { // rough limit, no problem if a little over
+            _outputMap.putIfAbsent(key, sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Build the SQL string by joining the parts.
+     * @param sqlPartList The list of SQL parts. (NotNull)
+     * @return The joined SQL string. (NotNull)
+     */
+    public static String buildSql(List<String> sqlPartList) {
+        final int partSize = sqlPartList.size();
+        if (partSize == 1) {
+            return sqlPartList.get(0);
+        }
+        int length = 0;
+        for (int i = 0; i < partSize; i++) {
+            length += sqlPartList.get(i).length();
+        }
+        final StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < partSize; i++) {
+            sb.append(sqlPartList.get(i));
+        }
+        return sb.toString();
+    }
+
+    // ===================================================================================
+    //                                                                        Decision Key
+    //                                                                        ============
+    protected static class SqlDecisionKey {
+
+        protected final Object[] _decisions; // not null, element null allowed e.g. no rear option
+        protected final int _hashCode;
+
+        public SqlDecisionKey(Object[] decisions) {
+            _decisions = decisions;
+            _hashCode = Arrays.hashCode(decisions);
+        }
+
+        @Override
+        public int hashCode() {
+            return _hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof SqlDecisionKey)) {
+                return false;
+            }
+            final SqlDecisionKey other = (SqlDecisionKey) obj;
+            return _hashCode == other._hashCode && Arrays.equals(_decisions, other._decisions);
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.toString(_decisions);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "sqlOutputCache:{outputs=" + _outputMap.size() + ", hit=" + _hitCount.get() + ", miss=" + _missCount.get() + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public int getOutputCount() {
+        return _outputMap.size();
+    }
+
+    public long getHitCount() {
+        return _hitCount.get();
+    }
+
+    public long getMissCount() {
+        return _missCount.get();
+    }
+}
@@ -15,10 +15,12 @@
  */
 package org.dbflute.twowaysql.context.impl;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.dbflute.helper.StringKeyMap;
 import org.dbflute.twowaysql.context.CommandContext;
+import org.dbflute.twowaysql.context.CommandSqlOutputCache;
 import org.dbflute.util.DfCollectionUtil;
 
 /**
@@ -35,7 +37,11 @@ public class CommandContextImpl implements CommandContext {
     /** The types of argument. it should be allowed null value. */
     protected final StringKeyMap<Class<?>> _argTypes = StringKeyMap.createAsCaseInsensitive();
 
-    protected final StringBuilder _sqlSb = new StringBuilder(100);
+    /** The list of SQL parts, joined (or found in output cache) when getting SQL. */
+    protected final List<String> _sqlPartList = new ArrayList<String>(32);
+    protected String _builtSql; // null allowed: cleared when SQL is added
+    protected CommandSqlOutputCache _sqlOutputCache; // null allowed: when no cache e.g. one-time SQL
+    protected List<Object> _sqlDecisionList; // null allowed: only when output cache exists
     protected final List<Object> _bindVariables = DfCollectionUtil.newArrayList();
     protected final List<Class<?>> _bindVariableTypes = DfCollectionUtil.newArrayList();
     protected final CommandContext _parent;
@@ -126,7 +132,21 @@ public class CommandContextImpl implements CommandContext {
     }
 
     public String getSql() {
-        return _sqlSb.toString();
+        if (_builtSql == null) {
+            if (_sqlPartList.isEmpty()) {
+                _builtSql = "";
+            } else if (_sqlOutputCache != null) {
+                _builtSql = _sqlOutputCache.findOrBuild(_sqlDecisionList, _sqlPartList);
+            } else {
+                _builtSql = CommandSqlOutputCache.buildSql(_sqlPartList);
+            }
+        }
+        return _builtSql;
+    }
+
+    protected void appendSql(String sql) {
+        _sqlPartList.add(sql != null ? sql : "null"); // same as string builder
+        _builtSql = null;
     }
 
     public Object[] getBindVariables() {
@@ -138,19 +158,19 @@ public class CommandContextImpl implements CommandContext {
     }
 
     public CommandContext addSql(String sql) {
-        _sqlSb.append(sql);
+        appendSql(sql);
         return this;
     }
 
     public CommandContext addSql(String sql, Object bindVariable, Class<?> bindVariableType) {
-        _sqlSb.append(sql);
+        appendSql(sql);
         _bindVariables.add(bindVariable);
         _bindVariableTypes.add(bindVariableType);
         return this;
     }
 
     public CommandContext addSql(String sql, Object[] bindVariables, Class<?>[] bindVariableTypes) {
-        _sqlSb.append(sql);
+        appendSql(sql);
         for (int i = 0; i < bindVariables.length; ++i) {
             _bindVariables.add(bindVariables[i]);
             _bindVariableTypes.add(bindVariableTypes[i]);
@@ -158,6 +178,14 @@ public class CommandContextImpl implements CommandContext {
         return this;
     }
 
+    public void recordSqlDecision(Object decision) {
+        if (_parent != null) { // e.g. BEGIN child, the decisions belong to the root
+            _parent.recordSqlDecision(decision);
+        } else if (_sqlDecisionList != null) {
+            _sqlDecisionList.add(decision);
+        }
+    }
+
     // ===================================================================================
     //                                                                      Basic Override
     //                                                                      ==============
@@ -165,7 +193,7 @@ public class CommandContextImpl implements CommandContext {
     public String toString() {
         StringBuilder sb = new StringBuilder();
         sb.append("{");
-        sb.append(_sqlSb).append(", ");
+        sb.append(getSql()).append(", ");
         sb.append(_enabled).append(", ");
         sb.append(_beginChild).append(", ");
         sb.append(_alreadySkippedConnector).append(", ");
@@ -185,6 +213,15 @@ public class CommandContextImpl implements CommandContext {
         _enabled = enabled;
     }
 
+    /**
+     * Accept the output cache of SQL for the two-way SQL template, basically by root node.
+     * @param sqlOutputCache The output cache of SQL for the template. (NullAllowed: if null, no cache)
+     */
+    public void acceptSqlOutputCache(CommandSqlOutputCache sqlOutputCache) {
+        _sqlOutputCache = sqlOutputCache;
+        _sqlDecisionList = sqlOutputCache != null ? new ArrayList<Object>(16) : null;
+    }
+
     public boolean isBeginChild() {
         return _beginChild;
     }
@@ -54,8 +54,10 @@ public class BindVariableNode extends VariableNode {
             }
         } else {
             ctx.addSql("?", finalValue, finalType); // if null, bind as null
-            if (isAcceptableLikeSearch(loopInfo)) {
-                setupRearOption(ctx, boundValue);
+            final String rearOption = isAcceptableLikeSearch(loopInfo) ? findRearOption(boundValue) : null;
+            ctx.recordSqlDecision(rearOption); // e.g. escape of like-search, null if none
+            if (rearOption != null) {
+                ctx.addSql(rearOption);
             }
         }
     }
@@ -91,6 +93,7 @@ public class BindVariableNode extends VariableNode {
                 ++validCount;
             }
         }
+        ctx.recordSqlDecision(validCount); // count of question marks
         ctx.addSql(")");
     }
 
@@ -18,6 +18,7 @@ package org.dbflute.twowaysql.node;
 import java.lang.reflect.Method;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.dbflute.helper.beans.DfBeanDesc;
 import org.dbflute.helper.beans.DfPropertyDesc;
@@ -51,6 +52,13 @@ public class BoundValueTracer {
     //                                                                          ==========
     protected static final String LIKE_SEARCH_OPTION_SUFFIX = "InternalLikeSearchOption";
 
+    /** The limit size of resolved path cache, no more caching if over it. */
+    protected static final int RESOLVED_PATH_CACHE_LIMIT = 1000;
+
+    /** The cache of resolved steps keyed by root type and expression e.g. pmb.conditionQuery.memberId.fixedQuery.equal (NotNull) */
+    protected static final Map<ResolvedPathKey, ResolvedStep[]> _resolvedPathCacheMap =
+            new ConcurrentHashMap<ResolvedPathKey, ResolvedStep[]>();
+
     // ===================================================================================
     //                                                                           Attribute
     //                                                                           =========
@@ -89,11 +97,32 @@ public class BoundValueTracer {
         // LikeSearchOption handling here is for OutsideSql.
         FilteringBindOption filteringBindOption = null;
 
+        // steps resolved by previous trace of the same expression from the same root type, e.g. condition-bean binding
+        final ResolvedPathKey pathKey = new ResolvedPathKey(clazz, _expression);
+        final ResolvedStep[] resolvedSteps = findResolvedPath(pathKey);
+        ResolvedStep[] recordingSteps = null; // lazy-loaded when new step is resolved
+
         for (int pos = 1; pos < _nameList.size(); pos++) {
             if (value == null) {
                 break;
             }
             final String currentName = _nameList.get(pos);
+            final ResolvedStep resolved = resolvedSteps != null ? resolvedSteps[pos] : null;
+            if (resolved != null && resolved.isMatched(clazz, value)) { // fast path, no bean description lookup
+                final FilteringBindOption currentOption = resolved.findFilteringBindOption(value);
+                if (currentOption != null) { // if exists, override option
+                    filteringBindOption = currentOption;
+                }
+                final DfPropertyDesc pd = resolved.getPropertyDesc();
+                if (pd != null) {
+                    value = getPropertyValue(clazz, value, currentName, pd);
+                    clazz = (value != null ? value.getClass() : pd.getPropertyType());
+                } else { // plain map
+                    value = ((Map<?, ?>) value).get(currentName);
+                    clazz = (value != null ? value.getClass() : null);
+                }
+                continue;
+            }
             final DfBeanDesc beanDesc = getBeanDesc(clazz);
             if (hasLikeSearchProperty(beanDesc, currentName, value)) {
                 final FilteringBindOption currentOption = getFilteringBindOption(beanDesc, currentName, value);
@@ -101,6 +130,13 @@ public class BoundValueTracer {
                     filteringBindOption = currentOption;
                 }
             }
+            final ResolvedStep newlyResolved = resolveStep(beanDesc, clazz, currentName, value);
+            if (newlyResolved != null) {
+                if (recordingSteps == null) {
+                    recordingSteps = resolvedSteps != null ? resolvedSteps.clone() : new ResolvedStep[_nameList.size()];
+                }
+                recordingSteps[pos] = newlyResolved;
+            }
             if (beanDesc.hasPropertyDesc(currentName)) { // main case
                 final DfPropertyDesc pd = beanDesc.getPropertyDesc(currentName);
                 value = getPropertyValue(clazz, value, currentName, pd);
@@ -142,6 +178,9 @@ public class BoundValueTracer {
             }
             throwNotFoundPropertyException(clazz, currentName);
         }
+        if (recordingSteps != null) {
+            cacheResolvedPath(pathKey, recordingSteps);
+        }
         adjustLikeSearchDBWay(filteringBindOption);
         boundValue.setTargetValue(value);
         boundValue.setTargetType(clazz);
@@ -152,6 +191,126 @@ public class BoundValueTracer {
         return DfBeanDescFactory.getBeanDesc(clazz);
     }
 
+    // -----------------------------------------------------
+    //                                         Resolved Path
+    //                                         -------------
+    protected ResolvedStep[] findResolvedPath(ResolvedPathKey pathKey) {
+        final ResolvedStep[] steps = _resolvedPathCacheMap.get(pathKey);
+        return steps != null && steps.length == _nameList.size() ? steps : null; // just in case
+    }
+
+    protected void cacheResolvedPath(ResolvedPathKey pathKey, ResolvedStep[] steps) {
+        if (_resolvedPathCacheMap.size() < RESOLVED_PATH_CACHE_LIMIT || _resolvedPathCacheMap.containsKey(pathKey)) {
+            _resolvedPathCacheMap.put(pathKey, steps); // overridden if value types under the root change (rare case)
+        }
+    }
+
+    /**
+     * Clear the cache of resolved path, basically for test or hot deploy.
+     */
+    public static void clearResolvedPathCache() {
+        _resolvedPathCacheMap.clear();
+    }
+
+    /**
+     * Resolve the step to be reused if it is determined by only the types.
+     * @param beanDesc The bean description of the current type. (NotNull)
+     * @param clazz The current type. (NotNull)
+     * @param currentName The property name of the step. (NotNull)
+     * @param value The current value. (NotNull)
+     * @return The resolved step. (NullAllowed: when it depends on the value, e.g. list, map parameter-bean)
+     */
+    protected ResolvedStep resolveStep(DfBeanDesc beanDesc, Class<?> clazz, String currentName, Object value) {
+        if (MapParameterBean.class.isInstance(value)) { // depends on the keys
+            return null;
+        }
+        final String likeSearchName = buildLikeSearchPropertyName(currentName);
+        final DfPropertyDesc likeSearchPd = beanDesc.hasPropertyDesc(likeSearchName) ? beanDesc.getPropertyDesc(likeSearchName) : null;
+        final boolean plainMap = Map.class.isInstance(value);
+        if (beanDesc.hasPropertyDesc(currentName)) {
+            if (plainMap && likeSearchPd == null) { // like-search depends on the keys
+                return null;
+            }
+            return new ResolvedStep(clazz, value.getClass(), beanDesc.getPropertyDesc(currentName), likeSearchPd, null);
+        }
+        if (plainMap) {
+            return likeSearchPd == null ? new ResolvedStep(clazz, value.getClass(), null, null, likeSearchName) : null;
+        }
+        return null; // e.g. list or not found
+    }
+
+    /**
+     * The key of resolved path, same expression from different parameter-bean types is cached separately.
+     */
+    protected static class ResolvedPathKey {
+
+        protected final Class<?> _rootType; // not null, e.g. type of parameter-bean
+        protected final String _expression; // not null
+
+        public ResolvedPathKey(Class<?> rootType, String expression) {
+            _rootType = rootType;
+            _expression = expression;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * _rootType.hashCode() + _expression.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof ResolvedPathKey)) {
+                return false;
+            }
+            final ResolvedPathKey other = (ResolvedPathKey) obj;
+            return _rootType == other._rootType && _expression.equals(other._expression);
+        }
+
+        @Override
+        public String toString() {
+            return _rootType.getSimpleName() + ":" + _expression;
+        }
+    }
+
+    /**
+     * The step of bound value path resolved by the types. <br>
+     * It is reused while the same types come, so that binding of condition-bean does not look up bean descriptions.
+     */
+    protected static class ResolvedStep {
+
+        protected final Class<?> _beanType; // not null, type determined by previous step
+        protected final Class<?> _valueType; // not null, actual type of the value
+        protected final DfPropertyDesc _propertyDesc; // null allowed: when plain map
+        protected final DfPropertyDesc _likeSearchPropertyDesc; // null allowed: when no like-search
+        protected final String _likeSearchMapKey; // null allowed: when not plain map
+
+        public ResolvedStep(Class<?> beanType, Class<?> valueType, DfPropertyDesc propertyDesc, DfPropertyDesc likeSearchPropertyDesc,
+                String likeSearchMapKey) {
+            _beanType = beanType;
+            _valueType = valueType;
+            _propertyDesc = propertyDesc;
+            _likeSearchPropertyDesc = likeSearchPropertyDesc;
+            _likeSearchMapKey = likeSearchMapKey;
+        }
+
+        public boolean isMatched(Class<?> beanType, Object value) {
+            return _beanType == beanType && _valueType == value.getClass();
+        }
+
+        public FilteringBindOption findFilteringBindOption(Object value) {
+            if (_likeSearchPropertyDesc != null) {
+                return (FilteringBindOption) _likeSearchPropertyDesc.getValue(value);
+            } else if (_likeSearchMapKey != null) {
+                return (FilteringBindOption) ((Map<?, ?>) value).get(_likeSearchMapKey);
+            }
+            return null;
+        }
+
+        public DfPropertyDesc getPropertyDesc() {
+            return _propertyDesc;
+        }
+    }
+
     // -----------------------------------------------------
     //                             LikeSearch for OutsideSql
     //                             -------------------------
@@ -16,7 +16,9 @@
 package org.dbflute.twowaysql.node;
 
 import java.lang.reflect.Array;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 import org.dbflute.helper.message.ExceptionMessageBuilder;
 import org.dbflute.twowaysql.SqlAnalyzer;
@@ -77,29 +79,34 @@ public class EmbeddedVariableNode extends VariableNode {
             }
         } else {
             if (finalValue == null) {
-                ctx.addSql("null");
+                addEmbeddedSql(ctx, "null");
             } else if (!(finalValue instanceof String)) {
                 final String embeddedValue = finalValue.toString();
                 if (isQuotedScalar()) { // basically for condition value
-                    ctx.addSql(quote(embeddedValue));
+                    addEmbeddedSql(ctx, quote(embeddedValue));
                 } else { // basically for cannot-bound condition (for example, paging)
-                    ctx.addSql(embeddedValue);
+                    addEmbeddedSql(ctx, embeddedValue);
                 }
             } else {
                 // string type here
                 final String embeddedStr = (String) finalValue;
                 assertNotContainBindSymbol(embeddedStr);
                 if (isQuotedScalar()) { // basically for condition value
-                    ctx.addSql(quote(embeddedStr));
-                    if (isAcceptableLikeSearch(loopInfo)) {
-                        setupRearOption(ctx, boundValue);
+                    final String quoted = quote(embeddedStr);
+                    final String rearOption = isAcceptableLikeSearch(loopInfo) ? findRearOption(boundValue) : null;
+                    if (rearOption != null) {
+                        ctx.recordSqlDecision(quoted + rearOption);
+                        ctx.addSql(quoted);
+                        ctx.addSql(rearOption);
+                    } else {
+                        addEmbeddedSql(ctx, quoted);
                     }
                 } else {
                     final Object firstValue = boundValue.getFirstValue();
                     final Class<?> firstType = boundValue.getFirstType();
                     final boolean bound = processDynamicBinding(ctx, firstValue, firstType, embeddedStr);
                     if (!bound) {
-                        ctx.addSql(embeddedStr);
+                        addEmbeddedSql(ctx, embeddedStr);
                     }
                 }
             }
@@ -125,6 +132,7 @@ public class EmbeddedVariableNode extends VariableNode {
             throwBindOrEmbeddedCommentParameterEmptyListException();
         }
         final boolean quotedInScope = isQuotedInScope();
+        final List<String> embeddedList = new ArrayList<String>(length); // as one decision
         ctx.addSql("(");
         int validCount = 0;
         for (int i = 0; i < length; ++i) {
@@ -135,20 +143,24 @@ public class EmbeddedVariableNode extends VariableNode {
                 }
                 final String currentStr = currentElement.toString();
                 assertNotContainBindSymbol(currentStr);
-                if (quotedInScope) {
-                    ctx.addSql(quote(currentStr));
-                } else {
-                    ctx.addSql(currentStr);
-                }
+                final String embeddedStr = quotedInScope ? quote(currentStr) : currentStr;
+                embeddedList.add(embeddedStr);
+                ctx.addSql(embeddedStr);
                 ++validCount;
             }
         }
         if (validCount == 0) {
             throwBindOrEmbeddedCommentParameterNullOnlyListException();
         }
+        ctx.recordSqlDecision(embeddedList);
         ctx.addSql(")");
     }
 
+    protected void addEmbeddedSql(CommandContext ctx, String embeddedSql) {
+        ctx.recordSqlDecision(embeddedSql); // the value itself is the decision
+        ctx.addSql(embeddedSql);
+    }
+
     protected void assertNotContainBindSymbol(String value) {
         if (_overlookNativeBinding) { // for general purpose e.g. MailFlute (to avoid question mark headache)
             return;
@@ -202,6 +214,7 @@ public class EmbeddedVariableNode extends VariableNode {
         final CommandContext rootCtx = creator.createCommandContext(new Object[] { firstValue });
         rootNode.accept(rootCtx);
         final String sql = rootCtx.getSql();
+        ctx.recordSqlDecision(sql); // the nested template is fixed by the embedded string
         ctx.addSql(sql, rootCtx.getBindVariables(), rootCtx.getBindVariableTypes());
         return true;
     }
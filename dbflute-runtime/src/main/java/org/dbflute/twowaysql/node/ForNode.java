@@ -88,6 +88,7 @@ public class ForNode extends ScopeNode implements SqlConnectorAdjustable, LoopAc
 
     public void doAccept(CommandContext ctx, Object firstValue, Class<?> firstType, LoopInfo parentLoop, boolean inheritLoop) {
         if (firstValue == null) {
+            ctx.recordSqlDecision(0); // same as empty list
             return; // if base object is null, do nothing at FOR comment
         }
         final BoundValue boundValue = new BoundValue();
@@ -99,11 +100,13 @@ public class ForNode extends ScopeNode implements SqlConnectorAdjustable, LoopAc
         }
         final Object targetValue = boundValue.getTargetValue();
         if (targetValue == null) {
+            ctx.recordSqlDecision(0); // same as empty list
             return; // if target value is null, do nothing at FOR comment
         }
         assertParameterList(targetValue);
         final List<?> parameterList = (List<?>) targetValue;
         final int loopSize = parameterList.size();
+        ctx.recordSqlDecision(loopSize); // loop nodes (FIRST, NEXT, LAST) are determined by it
         final LoopInfo loopInfo = new LoopInfo();
         loopInfo.setParentLoop(parentLoop);
         loopInfo.setExpression(_expression);
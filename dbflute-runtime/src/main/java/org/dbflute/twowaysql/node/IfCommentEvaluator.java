@@ -72,6 +72,9 @@ public class IfCommentEvaluator {
     protected static final String BOOLEAN_NOT = "!";
     protected static final String METHOD_SUFFIX = "()";
 
+    protected static final String[] COMPARE_OPERANDS = // determination order
+            new String[] { EQUAL, NOT_EQUAL, GREATER_THAN, LESS_THAN, GREATER_EQUAL, LESS_EQUAL };
+
     protected static final String[] CONNECTORS = new String[] { AND.trim(), OR.trim() };
     protected static final String[] OPERANDS =
             new String[] { EQUAL.trim(), NOT_EQUAL.trim(), GREATER_THAN.trim(), LESS_THAN.trim(), GREATER_EQUAL.trim(), LESS_EQUAL.trim() };
@@ -104,6 +107,20 @@ public class IfCommentEvaluator {
         return isBooleanNotStatement(target) ? Srl.substringFirstRear(target, BOOLEAN_NOT) : target;
     }
 
+    /**
+     * Find the compare operand in the boolean clause by the determination order.
+     * @param booleanClause The boolean clause of IF comment. (NotNull)
+     * @return The operand with spaces e.g. " == ". (NullAllowed: when stand-alone value)
+     */
+    public static String findCompareOperand(String booleanClause) {
+        for (String operand : COMPARE_OPERANDS) {
+            if (booleanClause.contains(operand)) {
+                return operand;
+            }
+        }
+        return null;
+    }
+
     // ===================================================================================
     //                                                                           Attribute
     //                                                                           =========
@@ -111,13 +128,24 @@ public class IfCommentEvaluator {
     protected final String _expression;
     protected final String _specifiedSql;
     protected final LoopInfo _loopInfo;
+    protected final IfCommentExpression _compiledExpression; // null allowed: when plain expression
 
     // ===================================================================================
     //                                                                         Constructor
     //                                                                         ===========
     public IfCommentEvaluator(ParameterFinder finder, String expression, String specifiedSql, LoopInfo loopInfo) {
+        this(finder, expression, null, specifiedSql, loopInfo);
+    }
+
+    public IfCommentEvaluator(ParameterFinder finder, IfCommentExpression compiledExpression, String specifiedSql, LoopInfo loopInfo) {
+        this(finder, compiledExpression.getExpression(), compiledExpression, specifiedSql, loopInfo);
+    }
+
+    protected IfCommentEvaluator(ParameterFinder finder, String expression, IfCommentExpression compiledExpression, String specifiedSql,
+            LoopInfo loopInfo) {
         this._finder = finder;
         this._expression = expression != null ? expression.trim() : null;
+        this._compiledExpression = compiledExpression;
         this._specifiedSql = specifiedSql;
         this._loopInfo = loopInfo;
     }
@@ -126,6 +154,9 @@ public class IfCommentEvaluator {
     //                                                                              Accept
     //                                                                              ======
     public boolean evaluate() {
+        if (_compiledExpression != null) { // already asserted when compiled
+            return evaluateCompiled();
+        }
         assertExpression();
         if (_expression.contains(AND)) {
             final List<String> clauseList = splitList(_expression, AND);
@@ -173,90 +204,11 @@ public class IfCommentEvaluator {
     }
 
     protected boolean evaluateBooleanClause(final String booleanClause) {
-        if (booleanClause.contains(EQUAL)) {
-            return evaluateCompareClause(booleanClause, EQUAL, new OperandEvaluator() {
-                public boolean evaluate(Object leftResult, Object rightResult) {
-                    if (leftResult instanceof Number && rightResult instanceof Number) {
-                        leftResult = new BigDecimal(leftResult.toString());
-                        rightResult = new BigDecimal(rightResult.toString());
-                    }
-                    assertCompareType(leftResult, rightResult, booleanClause);
-                    return leftResult != null ? leftResult.equals(rightResult) : rightResult == null;
-                }
-            });
-        } else if (booleanClause.contains(NOT_EQUAL)) {
-            return evaluateCompareClause(booleanClause, NOT_EQUAL, new OperandEvaluator() {
-                public boolean evaluate(Object leftResult, Object rightResult) {
-                    if (leftResult instanceof Number && rightResult instanceof Number) {
-                        leftResult = new BigDecimal(leftResult.toString());
-                        rightResult = new BigDecimal(rightResult.toString());
-                    }
-                    assertCompareType(leftResult, rightResult, booleanClause);
-                    return leftResult != null ? !leftResult.equals(rightResult) : rightResult != null;
-                }
-            });
-        } else if (booleanClause.contains(GREATER_THAN)) {
-            return evaluateCompareClause(booleanClause, GREATER_THAN, new OperandEvaluator() {
-                public boolean evaluate(Object leftResult, Object rightResult) {
-                    if (leftResult == null) {
-                        return false;
-                    }
-                    if (rightResult == null) {
-                        return true;
-                    }
-                    return compareLeftRight(leftResult, rightResult, new ComparaDeterminer() {
-                        public boolean compare(int compareResult) {
-                            return compareResult > 0;
-                        }
-                    }, booleanClause);
-                }
-            });
-        } else if (booleanClause.contains(LESS_THAN)) {
-            return evaluateCompareClause(booleanClause, LESS_THAN, new OperandEvaluator() {
-                public boolean evaluate(Object leftResult, Object rightResult) {
-                    if (leftResult == null) {
-                        return true;
-                    }
-                    if (rightResult == null) {
-                        return false;
-                    }
-                    return compareLeftRight(leftResult, rightResult, new ComparaDeterminer() {
-                        public boolean compare(int compareResult) {
-                            return compareResult < 0;
-                        }
-                    }, booleanClause);
-                }
-            });
-        } else if (booleanClause.contains(GREATER_EQUAL)) {
-            return evaluateCompareClause(booleanClause, GREATER_EQUAL, new OperandEvaluator() {
-                public boolean evaluate(Object leftResult, Object rightResult) {
-                    if (leftResult == null) {
-                        return rightResult == null;
-                    }
-                    if (rightResult == null) {
-                        return true;
-                    }
-                    return compareLeftRight(leftResult, rightResult, new ComparaDeterminer() {
-                        public boolean compare(int compareResult) {
-                            return compareResult >= 0;
-                        }
-                    }, booleanClause);
-                }
-            });
-        } else if (booleanClause.contains(LESS_EQUAL)) {
-            return evaluateCompareClause(booleanClause, LESS_EQUAL, new OperandEvaluator() {
+        final String operand = findCompareOperand(booleanClause);
+        if (operand != null) {
+            return evaluateCompareClause(booleanClause, operand, new OperandEvaluator() {
                 public boolean evaluate(Object leftResult, Object rightResult) {
-                    if (leftResult == null) {
-                        return true;
-                    }
-                    if (rightResult == null) {
-                        return false;
-                    }
-                    return compareLeftRight(leftResult, rightResult, new ComparaDeterminer() {
-                        public boolean compare(int compareResult) {
-                            return compareResult <= 0;
-                        }
-                    }, booleanClause);
+                    return evaluateCompareResult(operand, leftResult, rightResult, booleanClause);
                 }
             });
         } else {
@@ -264,6 +216,58 @@ public class IfCommentEvaluator {
         }
     }
 
+    protected boolean evaluateCompareResult(String operand, Object leftResult, Object rightResult, String booleanClause) {
+        if (EQUAL.equals(operand)) {
+            if (leftResult instanceof Number && rightResult instanceof Number) {
+                leftResult = new BigDecimal(leftResult.toString());
+                rightResult = new BigDecimal(rightResult.toString());
+            }
+            assertCompareType(leftResult, rightResult, booleanClause);
+            return leftResult != null ? leftResult.equals(rightResult) : rightResult == null;
+        } else if (NOT_EQUAL.equals(operand)) {
+            if (leftResult instanceof Number && rightResult instanceof Number) {
+                leftResult = new BigDecimal(leftResult.toString());
+                rightResult = new BigDecimal(rightResult.toString());
+            }
+            assertCompareType(leftResult, rightResult, booleanClause);
+            return leftResult != null ? !leftResult.equals(rightResult) : rightResult != null;
+        } else if (GREATER_THAN.equals(operand)) {
+            if (leftResult == null) {
+                return false;
+            }
+            if (rightResult == null) {
+                return true;
+            }
+            return compareLeftRight(leftResult, rightResult, compareResult -> compareResult > 0, booleanClause);
+        } else if (LESS_THAN.equals(operand)) {
+            if (leftResult == null) {
+                return true;
+            }
+            if (rightResult == null) {
+                return false;
+            }
+            return compareLeftRight(leftResult, rightResult, compareResult -> compareResult < 0, booleanClause);
+        } else if (GREATER_EQUAL.equals(operand)) {
+            if (leftResult == null) {
+                return rightResult == null;
+            }
+            if (rightResult == null) {
+                return true;
+            }
+            return compareLeftRight(leftResult, rightResult, compareResult -> compareResult >= 0, booleanClause);
+        } else if (LESS_EQUAL.equals(operand)) {
+            if (leftResult == null) {
+                return true;
+            }
+            if (rightResult == null) {
+                return false;
+            }
+            return compareLeftRight(leftResult, rightResult, compareResult -> compareResult <= 0, booleanClause);
+        } else { // no way
+            throw new IllegalStateException("Unknown operand: " + operand);
+        }
+    }
+
     protected boolean compareLeftRight(Object leftResult, Object rightResult, ComparaDeterminer determiner, String booleanClause) {
         assertCompareType(leftResult, rightResult, booleanClause);
         if (leftResult instanceof Number) {
@@ -346,15 +350,7 @@ public class IfCommentEvaluator {
                 if (rearValue.startsWith(quote) && rearValue.endsWith(quote)) {
                     final String literal = rearValue.substring(qlen, rearValue.length() - qlen).trim();
                     try {
-                        if (leftResult instanceof LocalDate) { // #date_parade
-                            return toLocalDate(literal);
-                        } else if (leftResult instanceof LocalDateTime) {
-                            return toLocalDateTime(literal);
-                        } else if (leftResult instanceof LocalTime) {
-                            return toLocalTime(literal);
-                        } else {
-                            return DfTypeUtil.toTimestamp(literal);
-                        }
+                        return parseDateLiteral(literal, leftResult);
                     } catch (ParseTimestampException ignored) {}
                 }
             }
@@ -372,6 +368,18 @@ public class IfCommentEvaluator {
         return baseObject;
     }
 
+    protected Object parseDateLiteral(String literal, Object leftResult) {
+        if (leftResult instanceof LocalDate) { // #date_parade
+            return toLocalDate(literal);
+        } else if (leftResult instanceof LocalDateTime) {
+            return toLocalDateTime(literal);
+        } else if (leftResult instanceof LocalTime) {
+            return toLocalTime(literal);
+        } else {
+            return DfTypeUtil.toTimestamp(literal);
+        }
+    }
+
     protected boolean evaluateStandAloneValue(String piece) {
         piece = piece.trim();
         boolean not = false;
@@ -443,31 +451,46 @@ public class IfCommentEvaluator {
     }
 
     protected Object processOneProperty(Object baseObject, String firstProperty, String property) {
+        return processOneProperty(baseObject, firstProperty, property, null);
+    }
+
+    protected Object processOneProperty(Object baseObject, String firstProperty, String property, IfCommentExpression.PropertyStep step) {
         if (baseObject == null) {
             throwIfCommentNullPointerException(firstProperty);
         }
-        final DfBeanDesc beanDesc = DfBeanDescFactory.getBeanDesc(baseObject.getClass());
+        final Class<?> beanType = baseObject.getClass();
+        if (step != null) { // compiled expression
+            final IfCommentExpression.StepAccessor accessor = step.findAccessor(beanType);
+            if (accessor != null) { // no bean description lookup
+                final DfPropertyDesc propertyDesc = accessor.getPropertyDesc();
+                if (propertyDesc != null) {
+                    return readPropertyValue(baseObject, propertyDesc);
+                }
+                final Method method = accessor.getMethod();
+                return invokePropertyMethod(baseObject, method, method.getName());
+            }
+        }
+        final DfBeanDesc beanDesc = DfBeanDescFactory.getBeanDesc(beanType);
         if (beanDesc.hasPropertyDesc(property)) { // main case
             final DfPropertyDesc propertyDesc = beanDesc.getPropertyDesc(property);
-            try {
-                return propertyDesc.getValue(baseObject);
-            } catch (DfBeanIllegalPropertyException e) {
-                throwIfCommentPropertyReadFailureException(baseObject, propertyDesc.getPropertyName(), e);
-                return null; // unreachable
+            if (step != null) {
+                step.cacheAccessor(new IfCommentExpression.StepAccessor(beanType, propertyDesc, null));
             }
+            return readPropertyValue(baseObject, propertyDesc);
         }
         if (property.endsWith(METHOD_SUFFIX)) { // sub-main case
             final String methodName = property.substring(0, property.length() - METHOD_SUFFIX.length());
+            final Method method;
             try {
-                final Method method = beanDesc.getMethod(methodName);
-                return DfReflectionUtil.invoke(method, baseObject, (Object[]) null);
+                method = beanDesc.getMethod(methodName);
             } catch (DfBeanMethodNotFoundException e) {
                 throwIfCommentNotFoundMethodException(baseObject, methodName);
                 return null; // unreachable
-            } catch (ReflectionFailureException e) {
-                throwIfCommentMethodInvocationFailureException(baseObject, methodName, e);
-                return null; // unreachable
             }
+            if (step != null) {
+                step.cacheAccessor(new IfCommentExpression.StepAccessor(beanType, null, method));
+            }
+            return invokePropertyMethod(baseObject, method, methodName);
         }
         if (MapParameterBean.class.isInstance(baseObject)) { // used by union-query internally
             // if the key does not exist, it does not process
@@ -502,6 +525,87 @@ public class IfCommentEvaluator {
         return null; // unreachable
     }
 
+    protected Object readPropertyValue(Object baseObject, DfPropertyDesc propertyDesc) {
+        try {
+            return propertyDesc.getValue(baseObject);
+        } catch (DfBeanIllegalPropertyException e) {
+            throwIfCommentPropertyReadFailureException(baseObject, propertyDesc.getPropertyName(), e);
+            return null; // unreachable
+        }
+    }
+
+    protected Object invokePropertyMethod(Object baseObject, Method method, String methodName) {
+        try {
+            return DfReflectionUtil.invoke(method, baseObject, (Object[]) null);
+        } catch (ReflectionFailureException e) {
+            throwIfCommentMethodInvocationFailureException(baseObject, methodName, e);
+            return null; // unreachable
+        }
+    }
+
+    // ===================================================================================
+    //                                                                 Compiled Expression
+    //                                                                 ===================
+    protected boolean evaluateCompiled() {
+        final boolean orConnected = _compiledExpression.isOrConnected();
+        for (IfCommentExpression.CompiledClause clause : _compiledExpression.getClauseList()) {
+            final boolean result = evaluateCompiledClause(clause);
+            if (orConnected && result) {
+                return true;
+            }
+            if (!orConnected && !result) {
+                return false;
+            }
+        }
+        return !orConnected;
+    }
+
+    protected boolean evaluateCompiledClause(IfCommentExpression.CompiledClause clause) {
+        if (clause.isStandAlone()) {
+            final IfCommentExpression.CompiledPiece piece = clause.getLeftPiece();
+            final boolean result;
+            if (piece.isLiteral()) { // true or false
+                result = (Boolean) piece.getLiteralValue();
+            } else {
+                final Object baseObject = navigateCompiledProperty(piece);
+                if (baseObject == null) {
+                    throwIfCommentNotBooleanResultException();
+                }
+                result = Boolean.valueOf(baseObject.toString());
+            }
+            return clause.isNot() ? !result : result;
+        }
+        final Object leftResult = evaluateCompiledPiece(clause.getLeftPiece(), null);
+        final Object rightResult = evaluateCompiledPiece(clause.getRightPiece(), leftResult);
+        return evaluateCompareResult(clause.getOperand(), leftResult, rightResult, clause.getBooleanClause());
+    }
+
+    protected Object evaluateCompiledPiece(IfCommentExpression.CompiledPiece piece, Object leftResult) {
+        if (piece.isDateLiteral()) {
+            try {
+                return parseDateLiteral(piece.getDateLiteral(), leftResult);
+            } catch (ParseTimestampException ignored) {
+                return evaluateCompiledPiece(piece.getDateFallbackPiece(), leftResult);
+            }
+        }
+        if (piece.isLiteral()) {
+            return piece.getLiteralValue();
+        }
+        return navigateCompiledProperty(piece);
+    }
+
+    protected Object navigateCompiledProperty(IfCommentExpression.CompiledPiece piece) {
+        String preProperty = piece.getFirstName();
+        assertFirstName(preProperty);
+        Object baseObject = findBaseObject(preProperty);
+        for (IfCommentExpression.PropertyStep step : piece.getStepList()) {
+            final String property = step.getProperty();
+            baseObject = processOneProperty(baseObject, preProperty, property, step);
+            preProperty = property;
+        }
+        return baseObject;
+    }
+
     // ===================================================================================
     //                                                                         Base Object
     //                                                                         ===========
@@ -0,0 +1,361 @@
+/*
+ * Copyright 2014-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.twowaysql.node;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.dbflute.helper.beans.DfPropertyDesc;
+import org.dbflute.util.DfTypeUtil;
+import org.dbflute.util.Srl;
+
+/**
+ * The compiled expression of IF comment, built once when the IF node is analyzed. <br>
+ * Clauses, operands and literals are parsed here, and property accessors are cached per step,
+ * so evaluation at each execution only walks the tree. (it is immutable except accessor cache)
+ * @author jflute
+ * @since 1.3.0 (2026/10/19 Monday)
+ */
+public class IfCommentExpression {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final String _expression; // not null, trimmed
+    protected final boolean _orConnected; // false if 'and' or single clause
+    protected final List<CompiledClause> _clauseList; // not null, not empty, read-only
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    protected IfCommentExpression(String expression, boolean orConnected, List<CompiledClause> clauseList) {
+        _expression = expression;
+        _orConnected = orConnected;
+        _clauseList = Collections.unmodifiableList(clauseList);
+    }
+
+    // ===================================================================================
+    //                                                                             Compile
+    //                                                                             =======
+    /**
+     * Compile the expression of IF comment.
+     * @param expression The expression of IF comment. (NullAllowed)
+     * @return The compiled expression. (NullAllowed: when empty or unsupported, evaluated as plain expression to throw)
+     */
+    public static IfCommentExpression compile(String expression) {
+        if (expression == null || expression.trim().length() == 0) {
+            return null;
+        }
+        final String trimmed = expression.trim();
+        if (!isSupportedExpression(trimmed)) {
+            return null;
+        }
+        final List<String> booleanClauseList;
+        final boolean orConnected;
+        if (trimmed.contains(IfCommentEvaluator.AND)) {
+            booleanClauseList = Srl.splitList(trimmed, IfCommentEvaluator.AND);
+            orConnected = false;
+        } else if (trimmed.contains(IfCommentEvaluator.OR)) {
+            booleanClauseList = Srl.splitList(trimmed, IfCommentEvaluator.OR);
+            orConnected = true;
+        } else {
+            booleanClauseList = Collections.singletonList(trimmed);
+            orConnected = false;
+        }
+        final List<CompiledClause> clauseList = new ArrayList<CompiledClause>(booleanClauseList.size());
+        for (String booleanClause : booleanClauseList) {
+            clauseList.add(compileClause(booleanClause));
+        }
+        return new IfCommentExpression(trimmed, orConnected, clauseList);
+    }
+
+    protected static boolean isSupportedExpression(String expression) { // same as assertExpression() of evaluator
+        String filtered = Srl.replace(expression, "()", "");
+        filtered = Srl.replace(filtered, ".get(", "");
+        if (filtered.contains("(")) {
+            return false;
+        }
+        if (expression.contains(IfCommentEvaluator.AND) && expression.contains(IfCommentEvaluator.OR)) {
+            return false;
+        }
+        if (expression.contains(" = ") || expression.contains(" <> ")) {
+            return false;
+        }
+        return !expression.contains("\"");
+    }
+
+    protected static CompiledClause compileClause(String booleanClause) {
+        final String operand = IfCommentEvaluator.findCompareOperand(booleanClause);
+        if (operand != null) {
+            final int operandIndex = booleanClause.indexOf(operand);
+            final String left = booleanClause.substring(0, operandIndex).trim();
+            final String right = booleanClause.substring(operandIndex + operand.length()).trim();
+            return new CompiledClause(booleanClause, operand, compileComparePiece(left), compileComparePiece(right), false);
+        }
+        String piece = booleanClause.trim();
+        boolean not = false;
+        if (piece.startsWith(IfCommentEvaluator.BOOLEAN_NOT)) {
+            not = true;
+            piece = piece.substring(IfCommentEvaluator.BOOLEAN_NOT.length());
+        }
+        final CompiledPiece standAlone;
+        if (!startsWithParameterBean(piece) && ("true".equalsIgnoreCase(piece) || "false".equalsIgnoreCase(piece))) {
+            standAlone = CompiledPiece.ofLiteral(Boolean.valueOf(piece.toLowerCase()));
+        } else {
+            standAlone = compilePropertyPiece(piece);
+        }
+        return new CompiledClause(booleanClause, null, standAlone, null, not);
+    }
+
+    protected static CompiledPiece compileComparePiece(String piece) { // same order as evaluateComparePiece()
+        piece = piece.trim();
+        if (!startsWithParameterBean(piece)) {
+            if ("null".equalsIgnoreCase(piece)) {
+                return CompiledPiece.ofLiteral(null);
+            }
+            if ("true".equalsIgnoreCase(piece)) {
+                return CompiledPiece.ofLiteral(true);
+            }
+            if ("false".equalsIgnoreCase(piece)) {
+                return CompiledPiece.ofLiteral(false);
+            }
+            final String quote = "'";
+            final int qlen = quote.length();
+            if (piece.startsWith(quote) && piece.endsWith(quote)) {
+                return CompiledPiece.ofLiteral(piece.substring(qlen, piece.length() - qlen));
+            }
+            final String dateMark = "date ";
+            if (piece.toLowerCase().startsWith(dateMark)) {
+                final String rearValue = piece.substring(dateMark.length()).trim();
+                if (rearValue.startsWith(quote) && rearValue.endsWith(quote)) {
+                    final String literal = rearValue.substring(qlen, rearValue.length() - qlen).trim();
+                    // parsed by left type at evaluation, and fallback to the rear process if failed
+                    return CompiledPiece.ofDateLiteral(literal, compileNumberOrPropertyPiece(piece));
+                }
+            }
+        }
+        return compileNumberOrPropertyPiece(piece);
+    }
+
+    protected static CompiledPiece compileNumberOrPropertyPiece(String piece) {
+        if (!startsWithParameterBean(piece)) {
+            try {
+                return CompiledPiece.ofLiteral(DfTypeUtil.toBigDecimal(piece));
+            } catch (NumberFormatException ignored) {}
+        }
+        return compilePropertyPiece(piece);
+    }
+
+    protected static CompiledPiece compilePropertyPiece(String piece) {
+        final List<String> tokenList = Srl.splitList(piece, ".");
+        final List<PropertyStep> stepList = new ArrayList<PropertyStep>(tokenList.size() - 1);
+        for (int i = 1; i < tokenList.size(); i++) {
+            stepList.add(new PropertyStep(tokenList.get(i)));
+        }
+        return CompiledPiece.ofProperty(tokenList.get(0), stepList);
+    }
+
+    protected static boolean startsWithParameterBean(String piece) {
+        return piece.startsWith("pmb");
+    }
+
+    // ===================================================================================
+    //                                                                     Compiled Clause
+    //                                                                     ===============
+    public static class CompiledClause {
+
+        protected final String _booleanClause; // not null, for message
+        protected final String _operand; // null allowed: when stand-alone value
+        protected final CompiledPiece _leftPiece; // not null, stand-alone piece if no operand
+        protected final CompiledPiece _rightPiece; // null allowed: when stand-alone value
+        protected final boolean _not; // only for stand-alone value
+
+        public CompiledClause(String booleanClause, String operand, CompiledPiece leftPiece, CompiledPiece rightPiece, boolean not) {
+            _booleanClause = booleanClause;
+            _operand = operand;
+            _leftPiece = leftPiece;
+            _rightPiece = rightPiece;
+            _not = not;
+        }
+
+        public boolean isStandAlone() {
+            return _operand == null;
+        }
+
+        public String getBooleanClause() {
+            return _booleanClause;
+        }
+
+        public String getOperand() {
+            return _operand;
+        }
+
+        public CompiledPiece getLeftPiece() {
+            return _leftPiece;
+        }
+
+        public CompiledPiece getRightPiece() {
+            return _rightPiece;
+        }
+
+        public boolean isNot() {
+            return _not;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                      Compiled Piece
+    //                                                                      ==============
+    public static class CompiledPiece {
+
+        protected final boolean _literal; // true if literal (also date literal)
+        protected final Object _literalValue; // null allowed
+        protected final String _dateLiteral; // null allowed: when not date literal
+        protected final CompiledPiece _dateFallbackPiece; // null allowed: when not date literal
+        protected final String _firstName; // null allowed: when literal
+        protected final List<PropertyStep> _stepList; // null allowed: when literal, read-only
+
+        protected CompiledPiece(boolean literal, Object literalValue, String dateLiteral, CompiledPiece dateFallbackPiece, String firstName,
+                List<PropertyStep> stepList) {
+            _literal = literal;
+            _literalValue = literalValue;
+            _dateLiteral = dateLiteral;
+            _dateFallbackPiece = dateFallbackPiece;
+            _firstName = firstName;
+            _stepList = stepList != null ? Collections.unmodifiableList(stepList) : null;
+        }
+
+        public static CompiledPiece ofLiteral(Object literalValue) {
+            return new CompiledPiece(true, literalValue, null, null, null, null);
+        }
+
+        public static CompiledPiece ofDateLiteral(String dateLiteral, CompiledPiece fallbackPiece) {
+            return new CompiledPiece(true, null, dateLiteral, fallbackPiece, null, null);
+        }
+
+        public static CompiledPiece ofProperty(String firstName, List<PropertyStep> stepList) {
+            return new CompiledPiece(false, null, null, null, firstName, stepList);
+        }
+
+        public boolean isLiteral() {
+            return _literal;
+        }
+
+        public boolean isDateLiteral() {
+            return _dateLiteral != null;
+        }
+
+        public Object getLiteralValue() {
+            return _literalValue;
+        }
+
+        public String getDateLiteral() {
+            return _dateLiteral;
+        }
+
+        public CompiledPiece getDateFallbackPiece() {
+            return _dateFallbackPiece;
+        }
+
+        public String getFirstName() {
+            return _firstName;
+        }
+
+        public List<PropertyStep> getStepList() {
+            return _stepList;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                       Property Step
+    //                                                                       =============
+    /**
+     * The step of property navigation, which caches the accessor for the last bean type. <br>
+     * The bean type at the step is basically fixed (e.g. parameter-bean class) so one entry is enough.
+     */
+    public static class PropertyStep {
+
+        protected final String _property; // not null, e.g. memberName, getMemberName(), get(0)
+        protected volatile StepAccessor _cachedAccessor; // null allowed, replaced when other type comes
+
+        public PropertyStep(String property) {
+            _property = property;
+        }
+
+        public StepAccessor findAccessor(Class<?> beanType) {
+            final StepAccessor accessor = _cachedAccessor;
+            return accessor != null && accessor.getBeanType() == beanType ? accessor : null;
+        }
+
+        public void cacheAccessor(StepAccessor accessor) {
+            _cachedAccessor = accessor;
+        }
+
+        public String getProperty() {
+            return _property;
+        }
+    }
+
+    public static class StepAccessor {
+
+        protected final Class<?> _beanType; // not null
+        protected final DfPropertyDesc _propertyDesc; // null allowed: when method
+        protected final Method _method; // null allowed: when property
+
+        public StepAccessor(Class<?> beanType, DfPropertyDesc propertyDesc, Method method) {
+            _beanType = beanType;
+            _propertyDesc = propertyDesc;
+            _method = method;
+        }
+
+        public Class<?> getBeanType() {
+            return _beanType;
+        }
+
+        public DfPropertyDesc getPropertyDesc() {
+            return _propertyDesc;
+        }
+
+        public Method getMethod() {
+            return _method;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "compiled:{" + _expression + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public String getExpression() {
+        return _expression;
+    }
+
+    public boolean isOrConnected() {
+        return _orConnected;
+    }
+
+    public List<CompiledClause> getClauseList() {
+        return _clauseList;
+    }
+}
@@ -34,6 +34,7 @@ public class IfNode extends ScopeNode implements LoopAcceptable, SqlConnectorAdj
     //                                                                           =========
     protected final String _expression;
     protected final String _specifiedSql;
+    protected final IfCommentExpression _compiledExpression; // null allowed: when empty or unsupported
     protected ElseNode _elseNode; // lazy setting
 
     // ===================================================================================
@@ -42,6 +43,7 @@ public class IfNode extends ScopeNode implements LoopAcceptable, SqlConnectorAdj
     public IfNode(String expression, String specifiedSql) {
         this._expression = expression;
         this._specifiedSql = specifiedSql;
+        this._compiledExpression = IfCommentExpression.compile(expression); // once per node
     }
 
     // ===================================================================================
@@ -58,6 +60,7 @@ public class IfNode extends ScopeNode implements LoopAcceptable, SqlConnectorAdj
     protected void doAcceptByEvaluator(CommandContext ctx, LoopInfo loopInfo) {
         final IfCommentEvaluator evaluator = createIfCommentEvaluator(ctx, loopInfo);
         final boolean result = evaluator.evaluate();
+        ctx.recordSqlDecision(result); // else branch is implied by false
         if (result) {
             processAcceptingChildren(ctx, loopInfo);
             ctx.setEnabled(true);
@@ -71,6 +74,10 @@ public class IfNode extends ScopeNode implements LoopAcceptable, SqlConnectorAdj
     }
 
     protected IfCommentEvaluator createIfCommentEvaluator(final CommandContext ctx, final LoopInfo loopInfo) {
+        if (_compiledExpression != null) { // basically here
+            return new IfCommentEvaluator(name -> ctx.getArg(name), _compiledExpression, _specifiedSql, loopInfo);
+        }
+        // empty or unsupported expression, the evaluator throws the exception
         return new IfCommentEvaluator(name -> ctx.getArg(name), _expression, _specifiedSql, loopInfo);
     }
 
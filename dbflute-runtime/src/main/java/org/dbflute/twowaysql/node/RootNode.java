@@ -16,12 +16,20 @@
 package org.dbflute.twowaysql.node;
 
 import org.dbflute.twowaysql.context.CommandContext;
+import org.dbflute.twowaysql.context.CommandSqlOutputCache;
+import org.dbflute.twowaysql.context.impl.CommandContextImpl;
 
 /**
  * @author modified by jflute (originated in S2Dao)
  */
 public class RootNode extends AbstractNode {
 
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected volatile boolean _alreadyAccepted; // to determine reused node e.g. outside-SQL
+    protected volatile CommandSqlOutputCache _sqlOutputCache; // null allowed: lazy-loaded when reused
+
     // ===================================================================================
     //                                                                         Constructor
     //                                                                         ===========
@@ -32,9 +40,36 @@ public class RootNode extends AbstractNode {
     //                                                                              Accept
     //                                                                              ======
     public void accept(CommandContext ctx) {
+        prepareSqlOutputCacheIfNeeds(ctx);
         final int childSize = getChildSize();
         for (int i = 0; i < childSize; i++) {
             getChild(i).accept(ctx);
         }
     }
-}
\ No newline at end of file
+
+    // ===================================================================================
+    //                                                                    SQL Output Cache
+    //                                                                    ================
+    protected void prepareSqlOutputCacheIfNeeds(CommandContext ctx) {
+        if (!(ctx instanceof CommandContextImpl)) {
+            return;
+        }
+        if (!_alreadyAccepted) { // first time, might be one-time node e.g. condition-bean
+            _alreadyAccepted = true;
+            return;
+        }
+        CommandSqlOutputCache cache = _sqlOutputCache;
+        if (cache == null) { // no problem if created twice by other thread
+            cache = new CommandSqlOutputCache();
+            _sqlOutputCache = cache;
+        }
+        ((CommandContextImpl) ctx).acceptSqlOutputCache(cache);
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public CommandSqlOutputCache getSqlOutputCache() {
+        return _sqlOutputCache;
+    }
+}
@@ -186,12 +186,17 @@ public abstract class VariableNode extends AbstractNode implements LoopAcceptabl
     }
 
     protected void setupRearOption(CommandContext ctx, BoundValue boundValue) { // for sub-class
-        final String rearOption = boundValue.buildRearOptionOnSql();
-        if (Srl.is_NotNull_and_NotTrimmedEmpty(rearOption)) {
+        final String rearOption = findRearOption(boundValue);
+        if (rearOption != null) {
             ctx.addSql(rearOption);
         }
     }
 
+    protected String findRearOption(BoundValue boundValue) { // null allowed: when no option
+        final String rearOption = boundValue.buildRearOptionOnSql();
+        return Srl.is_NotNull_and_NotTrimmedEmpty(rearOption) ? rearOption : null;
+    }
+
     // ===================================================================================
     //                                                                      InScope Helper
     //                                                                      ==============
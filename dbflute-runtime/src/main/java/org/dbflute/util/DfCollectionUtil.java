@@ -118,6 +118,43 @@ public class DfCollectionUtil {
         return valueList;
     }
 
+    /**
+     * Pad the list up to bucket size (power of two) by repeating the last non-null element. <br>
+     * e.g. [1, 2, 3] to [1, 2, 3, 3], [1, 2, 3, 4, 5] to [1, 2, 3, 4, 5, 5, 5, 5]
+     * @param elementList The list of element to be padded. (NotNull)
+     * @param limit The limit of bucket size. (zero or minus if no limit)
+     * @return The padded new list or the argument list if no padding. (NotNull)
+     */
+    public static List<?> padByPowerOfTwoBucket(List<?> elementList, int limit) {
+        final int size = elementList.size();
+        int bucketSize = Integer.highestOneBit(size);
+        if (bucketSize < size) {
+            bucketSize = bucketSize << 1;
+        }
+        if (limit > 0 && bucketSize > limit) {
+            bucketSize = limit;
+        }
+        if (bucketSize <= size) {
+            return elementList;
+        }
+        Object lastElement = null;
+        for (int i = size - 1; i >= 0; --i) {
+            lastElement = elementList.get(i);
+            if (lastElement != null) { // null element is not bound
+                break;
+            }
+        }
+        if (lastElement == null) { // null only list is checked later
+            return elementList;
+        }
+        final List<Object> paddedList = new ArrayList<Object>(bucketSize);
+        paddedList.addAll(elementList);
+        while (paddedList.size() < bucketSize) {
+            paddedList.add(lastElement);
+        }
+        return paddedList;
+    }
+
     // -----------------------------------------------------
     //                                               Advance
     //                                               -------
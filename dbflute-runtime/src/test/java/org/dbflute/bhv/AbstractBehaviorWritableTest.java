@@ -0,0 +1,476 @@
+/*
+ * Copyright 2014-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.bhv;
+
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.dbflute.Entity;
+import org.dbflute.bhv.referrer.LoadReferrerOption;
+import org.dbflute.bhv.writable.InsertOption;
+import org.dbflute.bhv.writable.UpdateOption;
+import org.dbflute.bhv.writable.WriteBehindUnit;
+import org.dbflute.bhv.writable.chunk.QueryChunkCondition;
+import org.dbflute.bhv.writable.chunk.QueryChunkOption;
+import org.dbflute.cbean.ConditionBean;
+import org.dbflute.cbean.sqlclause.SqlClause;
+import org.dbflute.cbean.sqlclause.SqlClauseH2;
+import org.dbflute.cbean.sqlclause.SqlClauseOracle;
+import org.dbflute.cbean.sqlclause.clause.SelectClauseType;
+import org.dbflute.dbmeta.DBMeta;
+import org.dbflute.dbmeta.info.ColumnInfo;
+import org.dbflute.dbmeta.property.PropertyGateway;
+import org.dbflute.dbmeta.property.PropertyMethodFinder;
+import org.dbflute.exception.EntityAlreadyDeletedException;
+import org.dbflute.exception.SQLFailureException;
+import org.dbflute.mock.MockConditionBean;
+import org.dbflute.mock.MockDBMeta;
+import org.dbflute.mock.MockEntity;
+import org.dbflute.unit.RuntimeTestCase;
+
+/**
+ * @author jflute
+ * @since 1.3.0 (2026/10/19 Monday)
+ */
+public class AbstractBehaviorWritableTest extends RuntimeTestCase {
+
+    // ===================================================================================
+    //                                                                        Write-Behind
+    //                                                                        ============
+    public void test_createOrModify_writeBehind_insertWhenNotFound() {
+        // ## Arrange ##
+        List<String> callList = new ArrayList<String>();
+        MockWritableBehavior bhv = new MockWritableBehavior(callList, 0); // means not found
+
+        // ## Act ##
+        WriteBehindUnit.scope(unit -> {
+            bhv.createOrModify(new MockEntity(), null, null);
+            assertEquals(0, unit.getQueuedCount()); // executed immediately
+        });
+
+        // ## Assert ##
+        assertEquals("[update, insert]", callList.toString());
+    }
+
+    public void test_createOrModify_writeBehind_updateWhenFound() {
+        // ## Arrange ##
+        List<String> callList = new ArrayList<String>();
+        MockWritableBehavior bhv = new MockWritableBehavior(callList, 1);
+
+        // ## Act ##
+        WriteBehindUnit.scope(unit -> {
+            bhv.createOrModifyNonstrict(new MockEntity(), null, null);
+            assertEquals(0, unit.getQueuedCount());
+            bhv.modify(new MockEntity(), null);
+            assertEquals(1, unit.getQueuedCount()); // plain update is still queued
+        });
+
+        // ## Assert ##
+        assertEquals("[update]", callList.toString()); // lump of the queued is not recorded
+    }
+
+    // ===================================================================================
+    //                                                                         Lump Upsert
+    //                                                                         ===========
+    public void test_lumpUpsert_filteredMappedByIndex() {
+        // ## Arrange ##
+        List<String> callList = new ArrayList<String>();
+        MockEntity first = new MockEntity();
+        MockEntity filtered = new MockEntity();
+        MockEntity fallback = new MockEntity();
+        MockEntity last = new MockEntity();
+        MockWritableBehavior bhv = new MockWritableBehavior(callList, 1) {
+            @Override
+            protected boolean determineNativeUpsert(Entity entity) {
+                return entity != fallback;
+            }
+
+            @Override
+            protected <ELEMENT extends MockEntity> void prepareBatchInsertOption(List<ELEMENT> entityList,
+                    InsertOption<MockConditionBean> option) {
+                // no common column here
+            }
+
+            @Override
+            protected int[] delegateBatchUpsert(List<? extends Entity> entityList, InsertOption<? extends ConditionBean> option) {
+                entityList.remove(1); // the second, e.g. filtered in batch insert adjustment
+                _callList.add("upsert:" + entityList.size());
+                return new int[] { 2, 3 };
+            }
+        };
+
+        // ## Act ##
+        int[] result = bhv.lumpUpsert(Arrays.asList(first, filtered, fallback, last));
+
+        // ## Assert ##
+        assertEquals("[upsert:2, update]", callList.toString());
+        assertEquals("[2, 0, 1, 3]", Arrays.toString(result)); // zero for the filtered
+    }
+
+    // ===================================================================================
+    //                                                                         Query Chunk
+    //                                                                         ===========
+    public void test_doQueryChunkByInScope_basic() {
+        // ## Arrange ##
+        List<String> callList = new ArrayList<String>();
+        MockWritableBehavior bhv = new ChunkWritableBehavior(callList, newArrayList(1, 2, 3, 4, 5));
+        MockConditionBean cb = createChunkConditionBean(new SqlClauseH2("MEMBER")); // no in-scope limit
+
+        // ## Act ##
+        int totalCount = bhv.doQueryChunkByInScope(cb, null, new QueryChunkOption(2), () -> 2);
+
+        // ## Assert ##
+        assertEquals("[register:[1, 2], switch:[3, 4], switch:[5]]", callList.toString());
+        assertEquals(6, totalCount); // sum of returned counts
+    }
+
+    public void test_doQueryChunkByInScope_cappedByInScopeLimit() {
+        // ## Arrange ##
+        List<String> callList = new ArrayList<String>();
+        List<Object> keyList = new ArrayList<Object>();
+        for (int i = 0; i < 2500; i++) {
+            keyList.add(i);
+        }
+        MockWritableBehavior bhv = new ChunkWritableBehavior(callList, keyList) {
+            @Override
+            protected String buildChunkExp(String title, List<?> valueList) {
+                return title + ":" + valueList.size();
+            }
+        };
+        MockConditionBean cb = createChunkConditionBean(new SqlClauseOracle("MEMBER")); // limit 1000
+
+        // ## Act ##
+        bhv.doQueryChunkByInScope(cb, null, new QueryChunkOption(3000), () -> 0);
+
+        // ## Assert ##
+        assertEquals("[register:1000, switch:1000, switch:500]", callList.toString()); // not split as or-scope
+    }
+
+    public void test_doQueryChunkByInScope_noKey() {
+        // ## Arrange ##
+        List<String> callList = new ArrayList<String>();
+        MockWritableBehavior bhv = new ChunkWritableBehavior(callList, new ArrayList<Object>());
+
+        // ## Act ##
+        int totalCount = bhv.doQueryChunkByInScope(createChunkConditionBean(new SqlClauseH2("MEMBER")), null, new QueryChunkOption(2),
+                () -> {
+                    throw new IllegalStateException("should not be executed");
+                });
+
+        // ## Assert ##
+        assertEquals(0, totalCount);
+        assertTrue(callList.isEmpty()); // no in-scope registration for empty
+    }
+
+    public void test_doQueryChunkByRange_basic() {
+        // ## Arrange ##
+        List<String> callList = new ArrayList<String>();
+        MockWritableBehavior bhv = new ChunkWritableBehavior(callList, null);
+        List<Integer> progressList = new ArrayList<Integer>();
+        QueryChunkOption option = new QueryChunkOption(10).sliceByMinMaxRange().handleProgress(progress -> {
+            progressList.add(progress.getChunkCount());
+        });
+
+        // ## Act ##
+        int totalCount = bhv.doQueryChunkByRange(new MockConditionBean(), createLongPrimaryInfo(), option, () -> 1);
+
+        // ## Assert ##
+        assertEquals("[range, switch:1-11, switch:11-21, switch:21-31]", callList.toString()); // min 1, max 25
+        assertEquals(3, totalCount);
+        assertEquals(newArrayList(3, 3, 3), progressList);
+    }
+
+    public void test_doQueryChunkByRange_skipGap() {
+        // ## Arrange ##
+        List<String> callList = new ArrayList<String>();
+        ChunkWritableBehavior bhv = new ChunkWritableBehavior(callList, null, 1L, 10000000000L); // 1,000,000,000 ranges
+        bhv._nextLowerList.add(new BigDecimal("9999999995"));
+        List<Integer> countList = new ArrayList<Integer>(Arrays.asList(0, 4, 1)); // empty first range
+        List<Integer> progressList = new ArrayList<Integer>();
+        QueryChunkOption option = new QueryChunkOption(10).sliceByMinMaxRange().handleProgress(progress -> {
+            progressList.add(progress.getChunkNumber());
+        });
+
+        // ## Act ##
+        int totalCount = bhv.doQueryChunkByRange(new MockConditionBean(), createLongPrimaryInfo(), option, () -> countList.remove(0));
+
+        // ## Assert ##
+        assertEquals("[range, switch:1-11, next:11, switch:9999999995-10000000005]", callList.toString());
+        assertEquals(4, totalCount); // the last count is not used
+        assertEquals(Arrays.asList(1, 2), progressList);
+    }
+
+    public void test_doQueryChunkByRange_tooWide() {
+        // ## Arrange ##
+        List<String> callList = new ArrayList<String>();
+        MockWritableBehavior bhv = new ChunkWritableBehavior(callList, new ArrayList<Object>(Arrays.asList(1L, Long.MAX_VALUE)), 1L,
+                Long.MAX_VALUE);
+        QueryChunkOption option = new QueryChunkOption(2).sliceByMinMaxRange();
+
+        // ## Act ##
+        int totalCount = bhv.doQueryChunkByRange(createChunkConditionBean(new SqlClauseH2("MEMBER")), createLongPrimaryInfo(), option,
+                () -> 2);
+
+        // ## Assert ##
+        assertEquals("[register:[1, " + Long.MAX_VALUE + "]]", callList.toString()); // as primary key list
+        assertEquals(2, totalCount);
+    }
+
+    public void test_executeQueryChunk_retry_transient() {
+        // ## Arrange ##
+        MockWritableBehavior bhv = new MockWritableBehavior(new ArrayList<String>(), 0);
+        List<Integer> retryList = new ArrayList<Integer>();
+        QueryChunkOption option = new QueryChunkOption(10).retryChunk(2).wrapChunkTransaction(execution -> execution.getAsInt());
+        option.handleProgress(progress -> retryList.add(progress.getRetryCount()));
+        int[] executedCount = new int[1];
+
+        // ## Act ##
+        int totalCount = bhv.executeQueryChunk(new MockConditionBean(), option, 1, 1, 0, () -> {
+            if (++executedCount[0] == 1) {
+                throw new SQLFailureException("mock", new SQLException("deadlock", "40001"));
+            }
+            return 3;
+        });
+
+        // ## Assert ##
+        assertEquals(3, totalCount);
+        assertEquals(2, executedCount[0]);
+        assertEquals(newArrayList(1), retryList);
+    }
+
+    public void test_executeQueryChunk_retry_notRetryable() {
+        // ## Arrange ##
+        MockWritableBehavior bhv = new MockWritableBehavior(new ArrayList<String>(), 0);
+        QueryChunkOption txOption = new QueryChunkOption(10).retryChunk(2).wrapChunkTransaction(execution -> execution.getAsInt());
+        QueryChunkOption noTxOption = new QueryChunkOption(10).retryChunk(2);
+        int[] executedCount = new int[1];
+
+        // ## Act ##
+        // ## Assert ##
+        assertException(IllegalStateException.class, () -> bhv.executeQueryChunk(new MockConditionBean(), txOption, 1, 1, 0, () -> {
+            ++executedCount[0];
+            throw new IllegalStateException("not transient");
+        }));
+        assertEquals(1, executedCount[0]);
+        assertException(SQLFailureException.class, () -> bhv.executeQueryChunk(new MockConditionBean(), noTxOption, 1, 1, 0, () -> {
+            ++executedCount[0];
+            throw new SQLFailureException("mock", new SQLException("deadlock", "40001")); // e.g. aborted transaction
+        }));
+        assertEquals(2, executedCount[0]);
+    }
+
+    // ===================================================================================
+    //                                                                       Load Referrer
+    //                                                                       =============
+    public void test_xsetupLoadReferrerInScopeBucketPadding() {
+        // ## Arrange ##
+        MockWritableBehavior bhv = new MockWritableBehavior(new ArrayList<String>(), 0);
+        MockConditionBean paddingCB = createChunkConditionBean(new SqlClauseOracle("MEMBER"));
+        MockConditionBean plainCB = createChunkConditionBean(new SqlClauseOracle("MEMBER"));
+
+        // ## Act ##
+        bhv.xsetupLoadReferrerInScopeBucketPadding(paddingCB, new LoadReferrerOption<MockConditionBean, MockEntity>()
+                .enableInScopeBucketPadding());
+        bhv.xsetupLoadReferrerInScopeBucketPadding(plainCB, new LoadReferrerOption<MockConditionBean, MockEntity>());
+
+        // ## Assert ##
+        assertTrue(paddingCB.getSqlClause().isInScopeBucketPaddingEnabled());
+        assertFalse(plainCB.getSqlClause().isInScopeBucketPaddingEnabled());
+    }
+
+    // ===================================================================================
+    //                                                                         Test Helper
+    //                                                                         ===========
+    protected MockConditionBean createChunkConditionBean(SqlClause sqlClause) {
+        return new MockConditionBean() {
+            @Override
+            public SqlClause getSqlClause() {
+                return sqlClause;
+            }
+        };
+    }
+
+    protected ColumnInfo createLongPrimaryInfo() {
+        PropertyMethodFinder finder = new PropertyMethodFinder() {
+            public Method findReadMethod(Class<?> beanType, String propertyName, Class<?> propertyType) {
+                return null;
+            }
+
+            public Method findWriteMethod(Class<?> beanType, String propertyName, Class<?> propertyType) {
+                return null;
+            }
+        };
+        return new ColumnInfo(new MockDBMeta(), "MEMBER_ID", "MEMBER_ID", null, null, Long.class, "memberId", Long.class, true, false,
+                true, "BIGINT", 19, 0, null, null, false, null, null, null, null, null, false, finder) {
+            @Override
+            protected PropertyGateway findPropertyGateway() {
+                return null; // not used here
+            }
+        };
+    }
+
+    protected static class ChunkWritableBehavior extends MockWritableBehavior {
+
+        protected final List<Object> _primaryKeyList; // null allowed: if range
+        protected final Long _min;
+        protected final Long _max;
+        protected final List<BigDecimal> _nextLowerList = new ArrayList<BigDecimal>();
+
+        public ChunkWritableBehavior(List<String> callList, List<Object> primaryKeyList) {
+            this(callList, primaryKeyList, 1L, 25L);
+        }
+
+        public ChunkWritableBehavior(List<String> callList, List<Object> primaryKeyList, Long min, Long max) {
+            super(callList, 0);
+            _primaryKeyList = primaryKeyList;
+            _min = min;
+            _max = max;
+        }
+
+        @Override
+        protected List<Object> selectQueryChunkPrimaryKeyList(ConditionBean cb, ColumnInfo primaryInfo) {
+            return _primaryKeyList;
+        }
+
+        @Override
+        protected Object selectQueryChunkScalar(ConditionBean cb, ColumnInfo primaryInfo, SelectClauseType clauseType) {
+            return SelectClauseType.MIN.equals(clauseType) ? _min : _max;
+        }
+
+        @Override
+        protected BigDecimal selectQueryChunkNextLower(ConditionBean cb, ColumnInfo primaryInfo, QueryChunkCondition chunkCondition,
+                BigDecimal from, BigDecimal maxDecimal) {
+            _callList.add("next:" + from);
+            return !_nextLowerList.isEmpty() ? _nextLowerList.remove(0) : null;
+        }
+
+        @Override
+        protected QueryChunkCondition registerQueryChunkInScope(ConditionBean cb, ColumnInfo primaryInfo, List<Object> firstKeyList) {
+            _callList.add(buildChunkExp("register", firstKeyList));
+            return createRecordingCondition();
+        }
+
+        @Override
+        protected QueryChunkCondition registerQueryChunkRange(ConditionBean cb, ColumnInfo primaryInfo) {
+            _callList.add("range");
+            return createRecordingCondition();
+        }
+
+        protected QueryChunkCondition createRecordingCondition() {
+            return new QueryChunkCondition(null, null, null, -1, -1) {
+                @Override
+                public void switchInScope(List<?> valueList) {
+                    _callList.add(buildChunkExp("switch", valueList));
+                }
+
+                @Override
+                public void switchRange(Object lowerBound, Object upperBound) {
+                    _callList.add("switch:" + lowerBound + "-" + upperBound);
+                }
+            };
+        }
+
+        protected String buildChunkExp(String title, List<?> valueList) {
+            return title + ":" + valueList;
+        }
+    }
+
+    protected static class MockWritableBehavior extends AbstractBehaviorWritable<MockEntity, MockConditionBean> {
+
+        protected final List<String> _callList;
+        protected final int _updatedCount;
+
+        public MockWritableBehavior(List<String> callList, int updatedCount) {
+            _callList = callList;
+            _updatedCount = updatedCount;
+        }
+
+        @Override
+        protected boolean helpDetermineInsertOrUpdateDirectInsert(Entity entity, InsertOption<MockConditionBean> insertOption,
+                UpdateOption<MockConditionBean> updateOption) {
+            return false; // as the entity has primary key
+        }
+
+        @Override
+        protected int delegateUpdate(Entity entity, UpdateOption<? extends ConditionBean> option) {
+            _callList.add("update");
+            return _updatedCount;
+        }
+
+        @Override
+        protected void throwUpdateEntityAlreadyDeletedException(MockEntity entity) {
+            throw new EntityAlreadyDeletedException("mock");
+        }
+
+        @Override
+        public int readCount(ConditionBean cb) {
+            return 0;
+        }
+
+        @Override
+        protected int delegateInsert(Entity entity, InsertOption<? extends ConditionBean> option) {
+            _callList.add("insert");
+            return 1;
+        }
+
+        @Override
+        public int[] lumpModify(List<? extends Entity> entityList, UpdateOption<? extends ConditionBean> option) {
+            return new int[entityList.size()]; // not to execute actually
+        }
+
+        @Override
+        public MockConditionBean newConditionBean() {
+            return new MockConditionBean();
+        }
+
+        public DBMeta asDBMeta() {
+            return new MockDBMeta();
+        }
+
+        public String asTableDbName() {
+            return "MEMBER";
+        }
+
+        @Override
+        protected Entity doReadEntity(ConditionBean cb) {
+            return null;
+        }
+
+        @Override
+        protected Number doReadNextVal() {
+            return null;
+        }
+
+        @Override
+        protected Class<? extends MockEntity> typeOfSelectedEntity() {
+            return MockEntity.class;
+        }
+
+        @Override
+        protected Class<MockEntity> typeOfHandlingEntity() {
+            return MockEntity.class;
+        }
+
+        @Override
+        protected Class<MockConditionBean> typeOfHandlingConditionBean() {
+            return MockConditionBean.class;
+        }
+    }
+}
@@ -20,6 +20,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -429,6 +430,145 @@ public class BehaviorCommandInvokerTest extends RuntimeTestCase {
         }
     }
 
+    public void test_clearExecutionCache_preloadedText() {
+        // ## Arrange ##
+        BehaviorCommandInvoker invoker = new BehaviorCommandInvoker();
+        OutsideSqlContext.registerPreloadedText("exbhv/MemberBhv_selectFoo.sql", "UTF-8", "select * from MEMBER");
+        try {
+            assertEquals(1, OutsideSqlContext.countPreloadedText());
+
+            // ## Act ##
+            invoker.clearExecutionCache();
+
+            // ## Assert ##
+            assertEquals(0, OutsideSqlContext.countPreloadedText());
+        } finally {
+            OutsideSqlContext.clearPreloadedText();
+        }
+    }
+
+    public void test_clearExecutionCache_waitsForCreation() throws Exception {
+        // ## Arrange ##
+        BehaviorCommandInvoker invoker = new BehaviorCommandInvoker() {
+            @Override
+            protected void toBeDisposable() {
+            }
+        };
+        CountDownLatch creatingLatch = new CountDownLatch(1);
+        CountDownLatch releaseLatch = new CountDownLatch(1);
+        SqlExecutionCreator creator = () -> {
+            creatingLatch.countDown();
+            try {
+                releaseLatch.await();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            return args -> null; // created from stale resources
+        };
+        Thread creating = new Thread(() -> invoker.getOrCreateSqlExecution("foo:stale", creator));
+        creating.start();
+        creatingLatch.await();
+
+        // ## Act ##
+        Thread clearing = new Thread(() -> invoker.clearExecutionCache());
+        clearing.start();
+        clearing.join(300L);
+        assertTrue(clearing.isAlive()); // waiting for the creation
+        releaseLatch.countDown();
+        creating.join();
+        clearing.join();
+
+        // ## Assert ##
+        assertTrue(invoker.isExecutionCacheEmpty()); // stale execution is not left
+    }
+
+    public void test_evictOutsideSqlExecution_basic() {
+        // ## Arrange ##
+        BehaviorCommandInvoker invoker = new BehaviorCommandInvoker() {
+            @Override
+            protected void toBeDisposable() {
+            }
+        };
+        SqlExecutionCreator creator = () -> args -> null;
+        try {
+            OutsideSqlContext.setOutsideSqlContextOnThread(createReadOutsideSqlContext("exbhv/MemberBhv_selectFoo.sql"));
+            invoker.getOrCreateSqlExecution("foo:pmbA", creator);
+            invoker.getOrCreateSqlExecution("foo:pmbB", creator);
+            OutsideSqlContext.setOutsideSqlContextOnThread(createReadOutsideSqlContext("exbhv/MemberBhv_selectBar.sql"));
+            invoker.getOrCreateSqlExecution("bar:pmbA", creator);
+        } finally {
+            OutsideSqlContext.clearOutsideSqlContextOnThread();
+        }
+        invoker.getOrCreateSqlExecution("cb:selectList", creator);
+        assertEquals(4, invoker.getExecutionCacheSize());
+
+        // ## Act ##
+        int evictedCount = invoker.evictOutsideSqlExecution("exbhv/MemberBhv_selectFoo.sql");
+
+        // ## Assert ##
+        assertEquals(2, evictedCount);
+        assertEquals(2, invoker.getExecutionCacheSize());
+        assertNull(invoker.getSqlExecution("foo:pmbA"));
+        assertNotNull(invoker.getSqlExecution("bar:pmbA"));
+        assertNotNull(invoker.getSqlExecution("cb:selectList"));
+        assertEquals(0, invoker.evictOutsideSqlExecution("exbhv/MemberBhv_selectFoo.sql"));
+        assertEquals(0, invoker.evictOutsideSqlExecution("exbhv/MemberBhv_selectNone.sql"));
+    }
+
+    public void test_evictOutsideSqlExecution_waitsForCreation() throws Exception {
+        // ## Arrange ##
+        BehaviorCommandInvoker invoker = new BehaviorCommandInvoker() {
+            @Override
+            protected void toBeDisposable() {
+            }
+        };
+        String path = "exbhv/MemberBhv_selectFoo.sql";
+        CountDownLatch creatingLatch = new CountDownLatch(1);
+        CountDownLatch releaseLatch = new CountDownLatch(1);
+        SqlExecutionCreator creator = () -> {
+            creatingLatch.countDown();
+            try {
+                releaseLatch.await();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            return args -> null;
+        };
+        Thread creating = new Thread(() -> {
+            try {
+                OutsideSqlContext.setOutsideSqlContextOnThread(createReadOutsideSqlContext(path));
+                invoker.getOrCreateSqlExecution("foo:pmbA", creator);
+            } finally {
+                OutsideSqlContext.clearOutsideSqlContextOnThread();
+            }
+        });
+        creating.start();
+        creatingLatch.await();
+
+        // ## Act ##
+        int[] evictedCount = new int[1];
+        Thread evicting = new Thread(() -> evictedCount[0] = invoker.evictOutsideSqlExecution(path));
+        evicting.start();
+        evicting.join(300L);
+        assertTrue(evicting.isAlive()); // waiting for the put with path index
+        releaseLatch.countDown();
+        creating.join();
+        evicting.join();
+
+        // ## Assert ##
+        assertEquals(1, evictedCount[0]);
+        assertTrue(invoker.isExecutionCacheEmpty());
+    }
+
+    protected OutsideSqlContext createReadOutsideSqlContext(String readPath) {
+        return new MockOutsideSqlContext() {
+            @Override
+            public String getReadOutsideSqlPath() {
+                return readPath;
+            }
+        };
+    }
+
     public void test_clearContext() {
         // ## Arrange ##
         BehaviorCommandInvoker invoker = new BehaviorCommandInvoker();
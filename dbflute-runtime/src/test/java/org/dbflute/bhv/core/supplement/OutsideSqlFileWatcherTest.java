@@ -0,0 +1,143 @@
+/*
+ * Copyright 2014-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.bhv.core.supplement;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.dbflute.bhv.core.BehaviorCommandInvoker;
+import org.dbflute.unit.RuntimeTestCase;
+
+/**
+ * @author jflute
+ * @since 1.3.0 (2026/10/19 Monday)
+ */
+public class OutsideSqlFileWatcherTest extends RuntimeTestCase {
+
+    public void test_watch_basic() throws Exception {
+        // ## Arrange ##
+        File rootDir = Files.createTempDirectory("watcher").toFile();
+        File sqlFile = new File(rootDir, "org/docksidestage/exbhv/sub/MemberBhv_selectFoo.sql");
+        sqlFile.getParentFile().mkdirs();
+        Files.write(sqlFile.toPath(), "select 1".getBytes(StandardCharsets.UTF_8));
+        List<String> evictedList = new CopyOnWriteArrayList<String>();
+        BehaviorCommandInvoker invoker = new BehaviorCommandInvoker() {
+            @Override
+            public int evictOutsideSqlExecution(String outsideSqlPath) {
+                evictedList.add(outsideSqlPath);
+                return 0;
+            }
+        };
+        OutsideSqlFileWatcher watcher = new OutsideSqlFileWatcher(invoker, rootDir, "org.docksidestage.exbhv");
+
+        // ## Act ##
+        watcher.start();
+        try {
+            Files.write(sqlFile.toPath(), "select 2".getBytes(StandardCharsets.UTF_8));
+            Files.write(new File(sqlFile.getParentFile(), "readme.txt").toPath(), "ignored".getBytes(StandardCharsets.UTF_8));
+            waitUntilEvicted(evictedList);
+
+            // ## Assert ##
+            assertTrue(watcher.isWatching());
+            log(evictedList);
+            assertFalse(evictedList.isEmpty());
+            for (String evicted : evictedList) {
+                assertEquals("org/docksidestage/exbhv/sub/MemberBhv_selectFoo.sql", evicted);
+            }
+        } finally {
+            watcher.stop();
+        }
+        assertFalse(watcher.isWatching());
+    }
+
+    public void test_watch_createDbmsFile() throws Exception {
+        // ## Arrange ##
+        File rootDir = Files.createTempDirectory("watcher").toFile();
+        File sqlDir = new File(rootDir, "org/docksidestage/exbhv");
+        sqlDir.mkdirs();
+        Files.write(new File(sqlDir, "MemberBhv_selectFoo.sql").toPath(), "select 1".getBytes(StandardCharsets.UTF_8));
+        List<String> evictedList = new CopyOnWriteArrayList<String>();
+        BehaviorCommandInvoker invoker = new BehaviorCommandInvoker() {
+            @Override
+            public int evictOutsideSqlExecution(String outsideSqlPath) {
+                evictedList.add(outsideSqlPath);
+                return 0;
+            }
+        };
+        OutsideSqlFileWatcher watcher = new OutsideSqlFileWatcher(invoker, rootDir, "org.docksidestage.exbhv");
+
+        // ## Act ##
+        watcher.start();
+        try {
+            File dbmsFile = new File(sqlDir, "MemberBhv_selectFoo_postgresql.sql");
+            Files.write(dbmsFile.toPath(), "select 2".getBytes(StandardCharsets.UTF_8));
+            waitUntilEvicted(evictedList, "org/docksidestage/exbhv/MemberBhv_selectFoo.sql");
+
+            // ## Assert ##
+            log(evictedList);
+            assertTrue(evictedList.contains("org/docksidestage/exbhv/MemberBhv_selectFoo_postgresql.sql"));
+            assertTrue(evictedList.contains("org/docksidestage/exbhv/MemberBhv_selectFoo.sql")); // standard path
+        } finally {
+            watcher.stop();
+        }
+    }
+
+    public void test_findStandardResourcePath() throws Exception {
+        // ## Arrange ##
+        File rootDir = Files.createTempDirectory("watcher").toFile();
+        OutsideSqlFileWatcher watcher = new OutsideSqlFileWatcher(new BehaviorCommandInvoker(), rootDir, "org.docksidestage.exbhv");
+
+        // ## Act ##
+        // ## Assert ##
+        assertEquals("sub/MemberBhv_selectFoo.sql", watcher.findStandardResourcePath("sub/MemberBhv_selectFoo_postgresql.sql"));
+        assertEquals("sub/MemberBhv_selectFoo.sql", watcher.findStandardResourcePath("sub/MemberBhv_selectFoo_mysql.sql"));
+        assertNull(watcher.findStandardResourcePath("sub/MemberBhv_selectFoo.sql"));
+        assertNull(watcher.findStandardResourcePath("sub/MemberBhv_selectFoo_bar.sql"));
+    }
+
+    public void test_start_noDirectory() throws Exception {
+        // ## Arrange ##
+        File rootDir = Files.createTempDirectory("watcher").toFile();
+        OutsideSqlFileWatcher watcher = new OutsideSqlFileWatcher(new BehaviorCommandInvoker(), rootDir, "org.docksidestage.exbhv");
+
+        // ## Act ##
+        // ## Assert ##
+        try {
+            watcher.start();
+            fail();
+        } catch (IllegalStateException e) {
+            log(e.getMessage());
+        }
+        assertFalse(watcher.isWatching());
+    }
+
+    protected void waitUntilEvicted(List<String> evictedList) throws InterruptedException {
+        final long limit = System.currentTimeMillis() + 10000L; // polling watch service may be slow on some platforms
+        while (evictedList.isEmpty() && System.currentTimeMillis() < limit) {
+            Thread.sleep(50L);
+        }
+    }
+
+    protected void waitUntilEvicted(List<String> evictedList, String expectedPath) throws InterruptedException {
+        final long limit = System.currentTimeMillis() + 10000L;
+        while (!evictedList.contains(expectedPath) && System.currentTimeMillis() < limit) {
+            Thread.sleep(50L);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2014-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.bhv.core.supplement;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.dbflute.bhv.BehaviorReadable;
+import org.dbflute.bhv.BehaviorSelector;
+import org.dbflute.dbmeta.DBMeta;
+import org.dbflute.exception.IllegalBehaviorStateException;
+import org.dbflute.unit.RuntimeTestCase;
+
+/**
+ * @author jflute
+ * @since 1.3.0 (2026/10/19 Monday)
+ */
+public class ParallelWarmUpperTest extends RuntimeTestCase {
+
+    // ===================================================================================
+    //                                                                              DBMeta
+    //                                                                              ======
+    public void test_warmUpDBMeta_basic() throws Exception {
+        // ## Arrange ##
+        AtomicInteger calledCount = new AtomicInteger();
+        List<DBMeta> dbmetaList = new ArrayList<DBMeta>();
+        for (int i = 0; i < 10; i++) {
+            dbmetaList.add(mockDBMeta("TABLE_" + i, calledCount));
+        }
+        ParallelWarmUpper warmUpper = new ParallelWarmUpper(dbmetaList).parallelism(3);
+
+        // ## Act ##
+        warmUpper.warmUpDBMeta();
+
+        // ## Assert ##
+        assertEquals(10, calledCount.get());
+    }
+
+    // ===================================================================================
+    //                                                                            Behavior
+    //                                                                            ========
+    public void test_warmUpBehavior_basic() throws Exception {
+        // ## Arrange ##
+        List<DBMeta> dbmetaList = new ArrayList<DBMeta>();
+        for (int i = 0; i < 10; i++) {
+            dbmetaList.add(mockDBMeta("TABLE_" + i, new AtomicInteger()));
+        }
+        Set<String> warmedSet = ConcurrentHashMap.newKeySet();
+        BehaviorSelector selector = mockSelector(warmedSet, "TABLE_3");
+        ParallelWarmUpper warmUpper = new ParallelWarmUpper(dbmetaList).parallelism(4);
+
+        // ## Act ##
+        warmUpper.warmUpBehavior(selector);
+
+        // ## Assert ##
+        assertEquals(9, warmedSet.size()); // suppressed one is skipped
+        assertFalse(warmedSet.contains("TABLE_3"));
+    }
+
+    public void test_warmUpBehavior_failure() throws Exception {
+        // ## Arrange ##
+        List<DBMeta> dbmetaList = new ArrayList<DBMeta>();
+        dbmetaList.add(mockDBMeta("TABLE_OK", new AtomicInteger()));
+        dbmetaList.add(mockDBMeta("TABLE_NG", new AtomicInteger()));
+        BehaviorSelector selector = mockSelector(ConcurrentHashMap.newKeySet(), null);
+        ParallelWarmUpper warmUpper = new ParallelWarmUpper(dbmetaList);
+
+        // ## Act ##
+        try {
+            warmUpper.warmUpBehavior(selector);
+            // ## Assert ##
+            fail();
+        } catch (IllegalStateException e) {
+            String msg = e.getMessage();
+            log(msg);
+            assertContains(msg, "TABLE_NG");
+            assertNotContains(msg, "TABLE_OK");
+        }
+    }
+
+    // ===================================================================================
+    //                                                                         Mock Helper
+    //                                                                         ===========
+    protected DBMeta mockDBMeta(String tableDbName, AtomicInteger calledCount) {
+        return (DBMeta) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { DBMeta.class }, (proxy, method, args) -> {
+            String name = method.getName();
+            if ("getTableDbName".equals(name)) {
+                return tableDbName;
+            } else if ("getColumnInfoList".equals(name)) {
+                calledCount.incrementAndGet();
+            } else if ("hasPrimaryKey".equals(name)) {
+                return false;
+            }
+            return null;
+        });
+    }
+
+    protected BehaviorSelector mockSelector(Set<String> warmedSet, String suppressedTable) {
+        return new BehaviorSelector() {
+            public void initializeConditionBeanMetaData() {
+            }
+
+            public <BEHAVIOR extends BehaviorReadable> BEHAVIOR select(Class<BEHAVIOR> behaviorType) {
+                return null;
+            }
+
+            public BehaviorReadable byName(String tableFlexibleName) {
+                if (tableFlexibleName.equals(suppressedTable)) {
+                    throw new IllegalBehaviorStateException("suppressed");
+                }
+                return (BehaviorReadable) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { BehaviorReadable.class },
+                        (proxy, method, args) -> {
+                            if ("warmUpCommand".equals(method.getName())) {
+                                if (tableFlexibleName.endsWith("_NG")) {
+                                    throw new IllegalStateException("failed: " + tableFlexibleName);
+                                }
+                                warmedSet.add(tableFlexibleName);
+                            }
+                            return null;
+                        });
+            }
+        };
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2014-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.bhv.writable;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.dbflute.Entity;
+import org.dbflute.bhv.BehaviorWritable;
+import org.dbflute.bhv.core.context.WriteBehindContext;
+import org.dbflute.bhv.writable.WriteBehindUnit.WriteBehindType;
+import org.dbflute.dbmeta.DBMeta;
+import org.dbflute.mock.MockDBMeta;
+import org.dbflute.mock.MockEntity;
+import org.dbflute.unit.RuntimeTestCase;
+
+/**
+ * @author jflute
+ * @since 1.3.0 (2026/10/19 Monday)
+ */
+public class WriteBehindUnitTest extends RuntimeTestCase {
+
+    // ===================================================================================
+    //                                                                               Flush
+    //                                                                               =====
+    public void test_flush_order_and_group() {
+        // ## Arrange ##
+        List<String> callList = new ArrayList<String>();
+        BehaviorWritable bhv = createRecordingBehavior(callList);
+        WriteBehindUnit unit = new WriteBehindUnit(0);
+
+        // ## Act ##
+        unit.queue(WriteBehindType.DELETE, bhv, new MockEntity());
+        unit.queue(WriteBehindType.INSERT, bhv, new MockEntity());
+        unit.queue(WriteBehindType.INSERT, bhv, new MockEntity());
+        unit.queue(WriteBehindType.UPDATE, bhv, new MockEntity());
+        unit.queue(WriteBehindType.INSERT, bhv, new MockEntity());
+        int flushed = unit.flush();
+
+        // ## Assert ##
+        assertEquals(5, flushed);
+        assertEquals(0, unit.getQueuedCount());
+        assertEquals("[lumpRemove:1, lumpCreate:2, lumpModify:1, lumpCreate:1]", callList.toString()); // called order
+        assertEquals(0, unit.flush());
+    }
+
+    public void test_flush_samePrimaryKey_deleteAndInsert() {
+        // ## Arrange ##
+        List<String> callList = new ArrayList<String>();
+        BehaviorWritable bhv = createRecordingBehavior(callList);
+        WriteBehindUnit unit = new WriteBehindUnit(0);
+
+        // ## Act ##
+        unit.queue(WriteBehindType.DELETE, bhv, new KeyedEntity(1));
+        unit.queue(WriteBehindType.DELETE, bhv, new KeyedEntity(2));
+        unit.queue(WriteBehindType.INSERT, bhv, new KeyedEntity(1));
+        unit.flush();
+
+        // ## Assert ##
+        assertEquals("[lumpRemove:2, lumpCreate:1]", callList.toString());
+    }
+
+    public void test_flush_samePrimaryKey_updateTwice() {
+        // ## Arrange ##
+        List<String> callList = new ArrayList<String>();
+        BehaviorWritable bhv = createRecordingBehavior(callList);
+        WriteBehindUnit unit = new WriteBehindUnit(0);
+        KeyedEntity entity = new KeyedEntity(1);
+
+        // ## Act ##
+        unit.queue(WriteBehindType.UPDATE, bhv, entity);
+        unit.queue(WriteBehindType.UPDATE, bhv, new KeyedEntity(2));
+        unit.queue(WriteBehindType.UPDATE, bhv, entity); // same entity, next batch for optimistic lock
+        unit.queue(WriteBehindType.UPDATE, bhv, new KeyedEntity(3));
+        unit.flush();
+
+        // ## Assert ##
+        assertEquals("[lumpModify:2, lumpModify:2]", callList.toString());
+    }
+
+    public void test_flush_modifiedProperties_snapshot() {
+        // ## Arrange ##
+        List<String> callList = new ArrayList<String>();
+        BehaviorWritable bhv = createRecordingBehavior(callList);
+        WriteBehindUnit unit = new WriteBehindUnit(0);
+        KeyedEntity first = new KeyedEntity(1);
+        first.mymodifyProperty("memberName");
+        KeyedEntity second = new KeyedEntity(2);
+        second.mymodifyProperty("memberName");
+
+        // ## Act ##
+        unit.queue(WriteBehindType.UPDATE, bhv, first);
+        unit.queue(WriteBehindType.UPDATE, bhv, second);
+        first.mymodifyProperty("birthdate"); // after queueing
+        unit.flush();
+
+        // ## Assert ##
+        assertEquals("[lumpModify:2]", callList.toString()); // same shape at queueing
+        assertEquals("[memberName]", first.mymodifiedProperties().toString());
+    }
+
+    public void test_queue_threshold() {
+        // ## Arrange ##
+        List<String> callList = new ArrayList<String>();
+        BehaviorWritable bhv = createRecordingBehavior(callList);
+        WriteBehindUnit unit = new WriteBehindUnit(2);
+
+        // ## Act ##
+        unit.queue(WriteBehindType.INSERT, bhv, new MockEntity());
+        assertTrue(callList.isEmpty());
+        unit.queue(WriteBehindType.INSERT, bhv, new MockEntity());
+
+        // ## Assert ##
+        assertEquals("[lumpCreate:2]", callList.toString());
+        assertEquals(2, unit.getFlushedCount());
+    }
+
+    // ===================================================================================
+    //                                                                               Scope
+    //                                                                               =====
+    public void test_scope_basic() {
+        // ## Arrange ##
+        List<String> callList = new ArrayList<String>();
+        BehaviorWritable bhv = createRecordingBehavior(callList);
+
+        // ## Act ##
+        WriteBehindUnit.scope(unit -> {
+            assertSame(unit, WriteBehindUnit.findQueueableUnitOnThread());
+            unit.queue(WriteBehindType.UPDATE_NONSTRICT, bhv, new MockEntity());
+            WriteBehindUnit.scope(nested -> {
+                assertSame(unit, nested);
+                nested.queue(WriteBehindType.DELETE_NONSTRICT, bhv, new MockEntity());
+            });
+            assertTrue(unit.hasQueued("MEMBER"));
+            assertTrue(callList.isEmpty());
+        });
+
+        // ## Assert ##
+        assertEquals("[lumpModifyNonstrict:1, lumpRemoveNonstrict:1]", callList.toString());
+        assertFalse(WriteBehindContext.isExistWriteBehindUnitOnThread());
+    }
+
+    public void test_scope_exception() {
+        // ## Arrange ##
+        List<String> callList = new ArrayList<String>();
+        BehaviorWritable bhv = createRecordingBehavior(callList);
+
+        // ## Act ##
+        try {
+            WriteBehindUnit.scope(unit -> {
+                unit.queue(WriteBehindType.INSERT, bhv, new MockEntity());
+                throw new IllegalStateException("foo");
+            });
+            fail();
+        } catch (IllegalStateException e) {
+            log(e.getMessage());
+        }
+
+        // ## Assert ##
+        assertTrue(callList.isEmpty());
+        assertFalse(WriteBehindContext.isExistWriteBehindUnitOnThread());
+    }
+
+    // ===================================================================================
+    //                                                                         Test Helper
+    //                                                                         ===========
+    protected static class KeyedEntity extends MockEntity {
+
+        protected final Set<String> _modifiedSet = new LinkedHashSet<String>();
+
+        public KeyedEntity(Integer memberId) {
+            _memberId = memberId;
+        }
+
+        @Override
+        public DBMeta asDBMeta() {
+            return new MockDBMeta() {
+                @Override
+                public Map<String, Object> extractPrimaryKeyMap(Entity entity) {
+                    return Collections.singletonMap("memberId", ((KeyedEntity) entity)._memberId);
+                }
+            };
+        }
+
+        @Override
+        public Set<String> mymodifiedProperties() {
+            return _modifiedSet;
+        }
+
+        @Override
+        public void mymodifyProperty(String propertyName) {
+            _modifiedSet.add(propertyName);
+        }
+
+        @Override
+        public void clearModifiedInfo() {
+            _modifiedSet.clear();
+        }
+    }
+
+    protected BehaviorWritable createRecordingBehavior(List<String> callList) {
+        return (BehaviorWritable) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { BehaviorWritable.class },
+                (proxy, method, args) -> {
+                    if (method.getName().startsWith("lump")) {
+                        callList.add(method.getName() + ":" + ((List<?>) args[0]).size());
+                        for (Object entity : (List<?>) args[0]) {
+                            assertTrue(entity instanceof Entity);
+                        }
+                        return new int[] {};
+                    }
+                    return method.getName().equals("hashCode") ? System.identityHashCode(proxy) : null;
+                });
+    }
+}
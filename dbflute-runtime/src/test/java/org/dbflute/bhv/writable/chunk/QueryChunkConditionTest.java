@@ -0,0 +1,70 @@
+/*
+ * Copyright 2014-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.bhv.writable.chunk;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.dbflute.cbean.cvalue.ConditionValue;
+import org.dbflute.unit.RuntimeTestCase;
+
+/**
+ * @author jflute
+ * @since 1.3.0 (2026/10/19 Monday)
+ */
+public class QueryChunkConditionTest extends RuntimeTestCase {
+
+    // ===================================================================================
+    //                                                                        Switch Chunk
+    //                                                                        ============
+    public void test_switchInScope_bucketPadding() {
+        // ## Arrange ##
+        List<Object> overriddenList = new ArrayList<Object>();
+        QueryChunkCondition condition = new QueryChunkCondition(null, createRecordingValue(overriddenList), null, -1, -1);
+        condition._inScopeBucketPadding = true;
+        condition._inScopeLimit = 6;
+
+        // ## Act ##
+        condition.switchInScope(Arrays.asList(1, 2, 3));
+        condition.switchInScope(Arrays.asList(4, 5, 6, 7, 8));
+        condition.switchInScope(Arrays.asList(9));
+
+        // ## Assert ##
+        assertEquals("[[1, 2, 3, 3], [4, 5, 6, 7, 8, 8], [9]]", overriddenList.toString()); // every chunk, capped by limit
+    }
+
+    public void test_switchInScope_noPadding() {
+        // ## Arrange ##
+        List<Object> overriddenList = new ArrayList<Object>();
+        QueryChunkCondition condition = new QueryChunkCondition(null, createRecordingValue(overriddenList), null, -1, -1);
+
+        // ## Act ##
+        condition.switchInScope(Arrays.asList(1, 2, 3));
+
+        // ## Assert ##
+        assertEquals("[[1, 2, 3]]", overriddenList.toString());
+    }
+
+    protected ConditionValue createRecordingValue(List<Object> overriddenList) {
+        return new ConditionValue() {
+            @Override
+            public void overrideInScopeLatestValue(Object value) {
+                overriddenList.add(value);
+            }
+        };
+    }
+}
@@ -15,7 +15,14 @@
  */
 package org.dbflute.cbean;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
 import org.dbflute.cbean.ckey.ConditionKey;
+import org.dbflute.cbean.sqlclause.SqlClause;
+import org.dbflute.cbean.sqlclause.SqlClauseOracle;
+import org.dbflute.dbmeta.DBMetaProvider;
 import org.dbflute.unit.RuntimeTestCase;
 
 /**
@@ -29,4 +36,86 @@ public class AbstractConditionQueryTest extends RuntimeTestCase {
         assertTrue(AbstractConditionQuery.isConditionKeyInScope(ConditionKey.CK_IN_SCOPE));
         assertFalse(AbstractConditionQuery.isConditionKeyInScope(ConditionKey.CK_NOT_IN_SCOPE));
     }
+
+    // ===================================================================================
+    //                                                                      Bucket Padding
+    //                                                                      ==============
+    public void test_xpadInScopeBucketIfNeeds_bucketSize() {
+        // ## Arrange ##
+        SqlClause sqlClause = new SqlClauseOracle("MEMBER");
+        sqlClause.enableInScopeBucketPadding();
+        AbstractConditionQuery cq = createConditionQuery(sqlClause);
+
+        // ## Act & Assert ##
+        assertEquals(1, cq.xpadInScopeBucketIfNeeds(newArrayList(1), 1000).size());
+        assertEquals(2, cq.xpadInScopeBucketIfNeeds(newArrayList(1, 2), 1000).size());
+        assertEquals(4, cq.xpadInScopeBucketIfNeeds(newArrayList(1, 2, 3), 1000).size());
+        assertEquals(4, cq.xpadInScopeBucketIfNeeds(newArrayList(1, 2, 3, 4), 1000).size());
+        assertEquals(8, cq.xpadInScopeBucketIfNeeds(newArrayList(1, 2, 3, 4, 5), 1000).size());
+        List<Integer> nine = Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9);
+        assertEquals(16, cq.xpadInScopeBucketIfNeeds(nine, 1000).size());
+        assertEquals(16, cq.xpadInScopeBucketIfNeeds(nine, 0).size()); // no limit
+    }
+
+    public void test_xpadInScopeBucketIfNeeds_capByLimit() {
+        // ## Arrange ##
+        SqlClause sqlClause = new SqlClauseOracle("MEMBER");
+        sqlClause.enableInScopeBucketPadding();
+        AbstractConditionQuery cq = createConditionQuery(sqlClause);
+        List<Integer> value = newArrayList(1, 2, 3, 4, 5);
+
+        // ## Act ##
+        List<?> padded = cq.xpadInScopeBucketIfNeeds(value, 6);
+        List<?> notPadded = cq.xpadInScopeBucketIfNeeds(value, 5);
+
+        // ## Assert ##
+        assertEquals(6, padded.size()); // not 8
+        assertSame(value, notPadded);
+    }
+
+    public void test_xpadInScopeBucketIfNeeds_paddingValue() {
+        // ## Arrange ##
+        SqlClause sqlClause = new SqlClauseOracle("MEMBER");
+        sqlClause.enableInScopeBucketPadding();
+        AbstractConditionQuery cq = createConditionQuery(sqlClause);
+        List<Integer> value = newArrayList(7, 8, null);
+
+        // ## Act ##
+        List<?> padded = cq.xpadInScopeBucketIfNeeds(value, 1000);
+
+        // ## Assert ##
+        assertEquals(newArrayList(7, 8, null, 8), padded); // last non-null value
+        assertEquals(3, value.size()); // not modified
+    }
+
+    public void test_xpadInScopeBucketIfNeeds_disabled() {
+        // ## Arrange ##
+        AbstractConditionQuery cq = createConditionQuery(new SqlClauseOracle("MEMBER"));
+        List<Integer> value = newArrayList(1, 2, 3);
+
+        // ## Act & Assert ##
+        assertSame(value, cq.xpadInScopeBucketIfNeeds(value, 1000));
+    }
+
+    protected AbstractConditionQuery createConditionQuery(SqlClause sqlClause) {
+        return new AbstractConditionQuery(null, sqlClause, "dfloc", 0) {
+            public String asTableDbName() {
+                return "MEMBER";
+            }
+
+            @Override
+            protected DBMetaProvider xgetDBMetaProvider() {
+                return null;
+            }
+
+            @Override
+            protected Map<String, Object> xfindFixedConditionDynamicParameterMap(String property) {
+                return null;
+            }
+
+            @Override
+            protected void reflectRelationOnUnionQuery(ConditionQuery baseQueryAsSuper, ConditionQuery unionQueryAsSuper) {
+            }
+        };
+    }
 }
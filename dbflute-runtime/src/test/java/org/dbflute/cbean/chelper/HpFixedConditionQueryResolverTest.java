@@ -0,0 +1,446 @@
+/*
+ * Copyright 2014-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.cbean.chelper;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.dbflute.cbean.ConditionQuery;
+import org.dbflute.dbmeta.DBMeta;
+import org.dbflute.dbmeta.DBMetaProvider;
+import org.dbflute.dbmeta.info.ColumnInfo;
+import org.dbflute.dbmeta.info.ForeignInfo;
+import org.dbflute.dbmeta.name.TableSqlName;
+import org.dbflute.dbmeta.property.PropertyGateway;
+import org.dbflute.dbmeta.property.PropertyMethodFinder;
+import org.dbflute.exception.DBMetaNotFoundException;
+import org.dbflute.exception.FixedConditionIllegalOverRelationException;
+import org.dbflute.mock.MockDBMeta;
+import org.dbflute.unit.RuntimeTestCase;
+
+/**
+ * @author jflute
+ * @since 1.3.0 (2026/10/19 Monday)
+ */
+public class HpFixedConditionQueryResolverTest extends RuntimeTestCase {
+
+    protected final List<String> _invokedRelationList = new ArrayList<String>();
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        HpFixedConditionTemplate.clearCache();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        HpFixedConditionTemplate.clearCache();
+        super.tearDown();
+    }
+
+    // ===================================================================================
+    //                                                                    Resolve Variable
+    //                                                                    ================
+    public void test_resolveVariable_template_basic() throws Exception {
+        // ## Arrange ##
+        String fixedCondition = "$$foreignAlias$$.MEMBER_ID = $$localAlias$$.MEMBER_ID" + ln() // line 1
+                + "  and $$over($localTable.memberSecurity)$$.REMINDER_QUESTION = /*$$locationBase$$.parameterMapMember.question*/null";
+        String expected = "dfrel_0.MEMBER_ID = dfloc.MEMBER_ID" + ln() // line 1
+                + "  and dfloc_memberSecurity.REMINDER_QUESTION = /*pmb.conditionQuery.parameterMapMember.question*/null";
+
+        // ## Act ##
+        String first = createResolver("dfrel_0", "conditionQuery.").resolveVariable(fixedCondition, false); // compiled
+        String second = createResolver("dfrel_0", "conditionQuery.").resolveVariable(fixedCondition, false); // cached
+
+        // ## Assert ##
+        log(first);
+        assertEquals(expected, first);
+        assertEquals(expected, second);
+        assertEquals(newArrayList("memberSecurity", "memberSecurity"), _invokedRelationList); // per query
+    }
+
+    public void test_resolveVariable_template_locationDiffers() throws Exception {
+        // ## Arrange ##
+        String fixedCondition = "$$foreignAlias$$.STATUS = /*$$locationBase$$.parameterMapStatus.code*/null";
+
+        // ## Act ##
+        String first = createResolver("dfrel_0", "conditionQuery.").resolveVariable(fixedCondition, false);
+        String second = createResolver("dfrel_0", "conditionQuery.queryMember().").resolveVariable(fixedCondition, false);
+
+        // ## Assert ##
+        assertEquals("dfrel_0.STATUS = /*pmb.conditionQuery.parameterMapStatus.code*/null", first);
+        assertEquals("dfrel_0.STATUS = /*pmb.conditionQuery.queryMember().parameterMapStatus.code*/null", second);
+    }
+
+    public void test_resolveVariable_template_aliasDiffers() throws Exception {
+        // ## Arrange ##
+        String fixedCondition = "$$alias$$.MEMBER_ID in ($$sqbegin$$" + ln() + "select sub.MEMBER_ID" + ln() + "  from PURCHASE sub"
+                + "\n)$$sqend$$";
+
+        // ## Act ##
+        String first = createResolver("dfrel_0", "conditionQuery.").resolveVariable(fixedCondition, false);
+        String second = createResolver("dfrel_3", "conditionQuery.").resolveVariable(fixedCondition, false);
+
+        // ## Assert ##
+        String expectedRear = "select sub.MEMBER_ID" + ln() + "  from PURCHASE sub" + "\n         )";
+        assertEquals("dfrel_0.MEMBER_ID in (--#df:sqbegin#fixed_dfrel_0#df:idterm#" + ln() + expectedRear
+                + "--#df:sqend#fixed_dfrel_0#df:idterm#", first);
+        assertEquals("dfrel_3.MEMBER_ID in (--#df:sqbegin#fixed_dfrel_3#df:idterm#" + ln() + expectedRear
+                + "--#df:sqend#fixed_dfrel_3#df:idterm#", second);
+    }
+
+    public void test_resolveVariable_template_referrer() throws Exception {
+        // ## Arrange ##
+        String fixedCondition = "$$over(PURCHASE.product)$$.PRODUCT_NAME = $$foreignAlias$$.NAME and $$over(PURCHASE)$$.PURCHASE_ID = 1";
+
+        // ## Act ##
+        String first = createResolver("dfrel_0", "conditionQuery.").resolveVariable(fixedCondition, false);
+        String second = createResolver("dfrel_0", "conditionQuery.").resolveVariable(fixedCondition, false);
+
+        // ## Assert ##
+        assertEquals("dfrefer_product.PRODUCT_NAME = dfrel_0.NAME and dfrefer.PURCHASE_ID = 1", first);
+        assertEquals(first, second);
+    }
+
+    public void test_resolveVariable_template_sameRelation() throws Exception {
+        // ## Arrange ##
+        String fixedCondition = "$$localAlias$$.A = $$over($localTable.memberSecurity)$$.A and $$over($localTable.memberSecurity)$$.B = 1";
+
+        // ## Act ##
+        String resolved = createResolver("dfrel_0", "conditionQuery.").resolveVariable(fixedCondition, false);
+
+        // ## Assert ##
+        assertEquals("dfloc.A = dfloc_memberSecurity.A and dfloc_memberSecurity.B = 1", resolved);
+        assertEquals(newArrayList("memberSecurity", "memberSecurity"), _invokedRelationList); // same as before template
+    }
+
+    // ===================================================================================
+    //                                                                       Over Relation
+    //                                                                       =============
+    public void test_resolveVariable_illegal_noRelation() throws Exception {
+        // ## Arrange ##
+        String fixedCondition = "$$over($localTable)$$.REMINDER_QUESTION = 'a'";
+
+        // ## Act ##
+        // ## Assert ##
+        assertException(FixedConditionIllegalOverRelationException.class, () -> {
+            createResolver("dfrel_0", "conditionQuery.").resolveVariable(fixedCondition, false);
+        }).handle(cause -> {
+            assertContains(cause.getMessage(), "The relation on fixed condition is required");
+            assertContains(cause.getMessage(), fixedCondition);
+        });
+    }
+
+    public void test_resolveVariable_illegal_tableNotExists() throws Exception {
+        // ## Arrange ##
+        String fixedCondition = "$$over(NOTHING.product)$$.PRODUCT_NAME = 'a'";
+
+        // ## Act ##
+        // ## Assert ##
+        assertException(FixedConditionIllegalOverRelationException.class, () -> {
+            createResolver("dfrel_0", "conditionQuery.").resolveVariable(fixedCondition, false);
+        }).handle(cause -> {
+            assertContains(cause.getMessage(), "does not exist");
+            assertEquals(DBMetaNotFoundException.class, cause.getCause().getClass());
+        });
+    }
+
+    public void test_resolveVariable_illegal_notInScope() throws Exception {
+        // ## Arrange ##
+        String fixedCondition = "$$over(MEMBER)$$.MEMBER_NAME = 'a'"; // compiled but not referrer of local
+
+        // ## Act ##
+        // ## Assert ##
+        for (int i = 0; i < 2; i++) { // compiled and cached
+            assertException(FixedConditionIllegalOverRelationException.class, () -> {
+                createResolver("dfrel_0", "conditionQuery.").resolveVariable(fixedCondition, false);
+            }).handle(cause -> {
+                assertContains(cause.getMessage(), "was not found in the scope");
+            });
+        }
+    }
+
+    // ===================================================================================
+    //                                                                          InlineView
+    //                                                                          ==========
+    public void test_resolveFixedInlineView_wholeOptimized() throws Exception {
+        // ## Arrange ##
+        String fixedCondition = "$$over($foreignTable.memberStatus)$$.DISPLAY_ORDER = /*$$locationBase$$.parameterMapStatus.order*/null";
+
+        for (int i = 0; i < 2; i++) { // compiled and cached
+            HpFixedConditionQueryResolver resolver = createResolver("dfrel_0", "conditionQuery.");
+
+            // ## Act ##
+            String resolved = resolver.resolveVariable(fixedCondition, false);
+            String outer = resolver.resolveFixedInlineView("MEMBER", false);
+            String inner = resolver.resolveFixedInlineView("MEMBER", true);
+
+            // ## Assert ##
+            log(ln() + outer);
+            assertEquals(HpFixedConditionQueryResolver.OPTIMIZED_MARK, resolved);
+            String outerIndent = "                    ";
+            assertEquals("(select dffixedbase.*" + ln() // select
+                    + outerIndent + "   from MEMBER dffixedbase" + ln() // from
+                    + outerIndent + "     left outer join MEMBER_STATUS dffixedjoin_0_0" // join
+                    + " on dffixedbase.MEMBER_STATUS_CODE = dffixedjoin_0_0.MEMBER_STATUS_CODE" + ln() // on
+                    + outerIndent + "  where dffixedjoin_0_0.DISPLAY_ORDER = /*pmb.conditionQuery.parameterMapStatus.order*/null" + ln()
+                    + outerIndent + ")", outer);
+            String innerIndent = "               ";
+            assertEquals("(select dffixedbase.*" + ln() // select
+                    + innerIndent + "   from MEMBER dffixedbase" + ln() // from
+                    + innerIndent + "     left outer join MEMBER_STATUS dffixedjoin_0_0" // join
+                    + " on dffixedbase.MEMBER_STATUS_CODE = dffixedjoin_0_0.MEMBER_STATUS_CODE" + ln() // on
+                    + innerIndent + "  where dffixedjoin_0_0.DISPLAY_ORDER = /*pmb.conditionQuery.parameterMapStatus.order*/null" + ln()
+                    + innerIndent + ")", inner);
+        }
+    }
+
+    public void test_resolveFixedInlineView_partOptimized() throws Exception {
+        // ## Arrange ##
+        String fixedCondition = "$$foreignAlias$$.MEMBER_ID = $$localAlias$$.MEMBER_ID" + ln() // line 1
+                + "  and $$over($foreignTable.memberStatus, DISPLAY_ORDER)$$.ORDER_NO = 1" + ln() // line 2
+                + "  and $$over($foreignTable.memberStatus)$$.STATUS_NAME = 'a'";
+        HpFixedConditionQueryResolver resolver = createResolver("dfrel_0", "conditionQuery.");
+
+        // ## Act ##
+        String resolved = resolver.resolveVariable(fixedCondition, false);
+        String outer = resolver.resolveFixedInlineView("MEMBER", false);
+
+        // ## Assert ##
+        log(ln() + outer);
+        assertEquals("dfrel_0.MEMBER_ID = dfloc.MEMBER_ID", resolved);
+        String indent = "                    ";
+        assertEquals("(select dffixedbase.*" + ln() // select
+                + indent + "   from MEMBER dffixedbase" + ln() // from
+                + indent + "     left outer join MEMBER_STATUS dffixedjoin_0_0" // join
+                + " on dffixedbase.MEMBER_STATUS_CODE = dffixedjoin_0_0.MEMBER_STATUS_CODE" + ln() // on
+                + indent + "  where dffixedjoin_0_0.DISPLAY_ORDER = 1" + ln() // where
+                + indent + "    and dffixedjoin_0_0.STATUS_NAME = 'a'" + ln() // and
+                + indent + ")", outer);
+    }
+
+    public void test_resolveFixedInlineView_subQuery() throws Exception {
+        // ## Arrange ##
+        String fixedCondition = "$$over($foreignTable.memberStatus)$$.DISPLAY_ORDER = 1" + ln() // line 1
+                + "  and $$foreignAlias$$.MEMBER_ID in ($$sqbegin$$" + ln() + "select sub.MEMBER_ID" + ln() + "  from PURCHASE sub"
+                + "\n)$$sqend$$";
+
+        for (String foreignAlias : new String[] { "dfrel_0", "dfrel_3" }) { // compiled and cached
+            HpFixedConditionQueryResolver resolver = createResolver(foreignAlias, "conditionQuery.");
+
+            // ## Act ##
+            String resolved = resolver.resolveVariable(fixedCondition, false);
+            String outer = resolver.resolveFixedInlineView("MEMBER", false);
+
+            // ## Assert ##
+            log(ln() + outer);
+            assertEquals(HpFixedConditionQueryResolver.OPTIMIZED_MARK, resolved);
+            String indent = "                    ";
+            String identity = "fixed_" + foreignAlias + "#df:idterm#";
+            assertEquals("(select dffixedbase.*" + ln() // select
+                    + indent + "   from MEMBER dffixedbase" + ln() // from
+                    + indent + "     left outer join MEMBER_STATUS dffixedjoin_0_0" // join
+                    + " on dffixedbase.MEMBER_STATUS_CODE = dffixedjoin_0_0.MEMBER_STATUS_CODE" + ln() // on
+                    + indent + "  where dffixedjoin_0_0.DISPLAY_ORDER = 1" + ln() // where
+                    + indent + "    and dffixedbase.MEMBER_ID in (--#df:sqbegin#" + identity + ln() // sub-query
+                    + "select sub.MEMBER_ID" + ln() + "  from PURCHASE sub" + ln() // sub-query body
+                    + indent + "        )--#df:sqend#" + identity + ln() // end
+                    + indent + ")", outer);
+        }
+    }
+
+    public void test_resolveFixedInlineView_fixedInline() throws Exception {
+        // ## Arrange ##
+        String fixedCondition = "$$foreignAlias$$.MEMBER_ID = $$localAlias$$.MEMBER_ID" + ln() // line 1
+                + "  and $$over($foreignTable.memberStatus, DISPLAY_ORDER)$$.ORDER_NO = 1" + ln() // line 2
+                + "  and $$over($foreignTable.memberStatus)$$.STATUS_NAME = 'a'";
+        HpFixedConditionQueryResolver resolver = createResolver("dfrel_0", "conditionQuery.");
+
+        // ## Act ##
+        String resolved = resolver.resolveVariable(fixedCondition, true);
+        String inner = resolver.resolveFixedInlineView("MEMBER", true);
+
+        // ## Assert ##
+        log(ln() + inner);
+        assertEquals("dfrel_0.MEMBER_ID = dfloc.MEMBER_ID" + ln() // line 1
+                + "  and dfrel_0.ORDER_NO = 1" + ln() // line 2
+                + "  and dfrel_0.STATUS_NAME = 'a'", resolved);
+        String indent = "               ";
+        assertEquals("(select dffixedbase.*, dffixedjoin_0_0.DISPLAY_ORDER as ORDER_NO, dffixedjoin_0_0.STATUS_NAME" + ln() // select
+                + indent + "   from MEMBER dffixedbase" + ln() // from
+                + indent + "     left outer join MEMBER_STATUS dffixedjoin_0_0" // join
+                + " on dffixedbase.MEMBER_STATUS_CODE = dffixedjoin_0_0.MEMBER_STATUS_CODE" + ln() // on
+                + indent + ")", inner);
+    }
+
+    public void test_resolveFixedInlineView_noInlineView() throws Exception {
+        // ## Arrange ##
+        HpFixedConditionQueryResolver resolver = createResolver("dfrel_0", "conditionQuery.");
+        resolver.resolveVariable("$$foreignAlias$$.MEMBER_ID = $$localAlias$$.MEMBER_ID", false);
+
+        // ## Act ##
+        String view = resolver.resolveFixedInlineView("MEMBER", false);
+
+        // ## Assert ##
+        assertEquals("MEMBER", view);
+    }
+
+    // ===================================================================================
+    //                                                                     Filter (Compat)
+    //                                                                     ===============
+    @SuppressWarnings("deprecation")
+    public void test_filterMark_compatible() throws Exception {
+        // ## Arrange ##
+        HpFixedConditionQueryResolver resolver = createResolver("dfrel_0", "conditionQuery.");
+        String sqCondition = "$$alias$$.MEMBER_ID in ($$sqbegin$$" + ln() + "select sub.MEMBER_ID" + "\n)$$sqend$$";
+
+        // ## Act ##
+        String location = resolver.filterLocationMark("dfrel_0.STATUS = /*$$locationBase$$.status*/null", false);
+        String basic = resolver.filterBasicMark("$$foreignAlias$$.MEMBER_ID = $$localAlias$$.MEMBER_ID", false);
+        String subQuery = resolver.filterSubQueryIndentMark(sqCondition, false, false);
+        String overRelation = resolver.resolveOverRelation("$$over($localTable.memberSecurity)$$.REMINDER_QUESTION = 'Q'", false);
+
+        // ## Assert ##
+        assertEquals("dfrel_0.STATUS = /*pmb.conditionQuery.status*/null", location);
+        assertEquals("dfrel_0.MEMBER_ID = dfloc.MEMBER_ID", basic);
+        assertEquals("$$alias$$.MEMBER_ID in (--#df:sqbegin#fixed_dfrel_0#df:idterm#" + ln() + "select sub.MEMBER_ID"
+                + "\n         )--#df:sqend#fixed_dfrel_0#df:idterm#", subQuery); // only sub-query marks
+        assertEquals("dfloc_memberSecurity.REMINDER_QUESTION = 'Q'", overRelation);
+        assertEquals(newArrayList("memberSecurity"), _invokedRelationList);
+    }
+
+    // ===================================================================================
+    //                                                                         Mock Helper
+    //                                                                         ===========
+    protected HpFixedConditionQueryResolver createResolver(String foreignAlias, String locationBase) {
+        ConditionQuery referrerCQ = mockQuery("dfrefer", "PURCHASE", locationBase, null);
+        ConditionQuery localCQ = mockQuery("dfloc", "MEMBER_LOGIN", locationBase, referrerCQ);
+        ConditionQuery foreignCQ = mockQuery(foreignAlias, "MEMBER", locationBase, null);
+        return new HpFixedConditionQueryResolver(localCQ, foreignCQ, createDBMetaProvider());
+    }
+
+    protected ConditionQuery mockQuery(String aliasName, String tableDbName, String locationBase, ConditionQuery referrerCQ) {
+        return (ConditionQuery) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { ConditionQuery.class },
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if ("xgetAliasName".equals(name)) {
+                        return aliasName;
+                    } else if ("xgetLocationBase".equals(name)) {
+                        return locationBase;
+                    } else if ("asTableDbName".equals(name)) {
+                        return tableDbName;
+                    } else if ("xgetReferrerQuery".equals(name)) {
+                        return referrerCQ;
+                    } else if ("invokeForeignCQ".equals(name)) {
+                        String relation = (String) args[0];
+                        _invokedRelationList.add(relation);
+                        return mockQuery(aliasName + "_" + relation, "MEMBER_SECURITY", locationBase, null);
+                    }
+                    return null;
+                });
+    }
+
+    protected DBMetaProvider createDBMetaProvider() {
+        TableDBMeta statusMeta = new TableDBMeta("MEMBER_STATUS", null);
+        TableDBMeta memberMeta = new TableDBMeta("MEMBER", statusMeta);
+        TableDBMeta purchaseMeta = new TableDBMeta("PURCHASE", null);
+        return new DBMetaProvider() {
+            public DBMeta provideDBMeta(String tableFlexibleName) {
+                if ("MEMBER".equals(tableFlexibleName)) {
+                    return memberMeta;
+                } else if ("PURCHASE".equals(tableFlexibleName)) {
+                    return purchaseMeta;
+                }
+                throw new DBMetaNotFoundException("Not found the DB meta: " + tableFlexibleName);
+            }
+
+            public DBMeta provideDBMeta(Class<?> entityType) {
+                return null;
+            }
+
+            public DBMeta provideDBMetaChecked(String tableFlexibleName) {
+                return provideDBMeta(tableFlexibleName);
+            }
+
+            public DBMeta provideDBMetaChecked(Class<?> entityType) {
+                return null;
+            }
+        };
+    }
+
+    protected static class TableDBMeta extends MockDBMeta {
+
+        protected final String _tableDbName;
+        protected final TableDBMeta _memberStatusMeta; // null allowed
+
+        public TableDBMeta(String tableDbName, TableDBMeta memberStatusMeta) {
+            _tableDbName = tableDbName;
+            _memberStatusMeta = memberStatusMeta;
+        }
+
+        @Override
+        public String getTableDbName() {
+            return _tableDbName;
+        }
+
+        @Override
+        public TableSqlName getTableSqlName() {
+            return new TableSqlName(_tableDbName, _tableDbName);
+        }
+
+        @Override
+        public ForeignInfo findForeignInfo(String foreignPropName) {
+            if (_memberStatusMeta == null || !"memberStatus".equals(foreignPropName)) {
+                throw new IllegalStateException("Not found the foreign info: " + foreignPropName);
+            }
+            Map<ColumnInfo, ColumnInfo> columnMap = new LinkedHashMap<ColumnInfo, ColumnInfo>();
+            columnMap.put(createColumnInfo(this, "MEMBER_STATUS_CODE"), createColumnInfo(_memberStatusMeta, "MEMBER_STATUS_CODE"));
+            return new ForeignInfo("FK_MEMBER_MEMBER_STATUS", foreignPropName, this, _memberStatusMeta, columnMap, 0, Object.class,
+                    false, false, false, false, null, null, false, null, false, createPropertyMethodFinder()) {
+                @Override
+                protected PropertyGateway findPropertyGateway() {
+                    return null; // not used here
+                }
+            };
+        }
+    }
+
+    protected static ColumnInfo createColumnInfo(DBMeta dbmeta, String columnName) {
+        return new ColumnInfo(dbmeta, columnName, columnName, null, null, String.class, "memberStatusCode", String.class, false, false,
+                true, "CHAR", 3, 0, null, null, false, null, null, null, null, null, false, createPropertyMethodFinder()) {
+            @Override
+            protected PropertyGateway findPropertyGateway() {
+                return null; // not used here
+            }
+        };
+    }
+
+    protected static PropertyMethodFinder createPropertyMethodFinder() {
+        return new PropertyMethodFinder() {
+            public Method findReadMethod(Class<?> beanType, String propertyName, Class<?> propertyType) {
+                return null;
+            }
+
+            public Method findWriteMethod(Class<?> beanType, String propertyName, Class<?> propertyType) {
+                return null;
+            }
+        };
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2014-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.cbean.ckey;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.dbflute.cbean.coption.InScopeArrayOption;
+import org.dbflute.cbean.cvalue.ConditionValue;
+import org.dbflute.cbean.cvalue.ConditionValue.QueryModeProvider;
+import org.dbflute.cbean.cvalue.InScopeArrayValue;
+import org.dbflute.cbean.sqlclause.query.QueryClause;
+import org.dbflute.dbmeta.name.ColumnRealName;
+import org.dbflute.dbmeta.name.ColumnSqlName;
+import org.dbflute.unit.RuntimeTestCase;
+
+/**
+ * @author jflute
+ * @since 1.3.0 (2026/10/19 Monday)
+ */
+public class ConditionKeyInScopeTest extends RuntimeTestCase {
+
+    // ===================================================================================
+    //                                                                       Array InScope
+    //                                                                       =============
+    public void test_arrayOption_inScope() {
+        // ## Arrange ##
+        ConditionValue cvalue = new ConditionValue();
+        InScopeArrayOption option = new InScopeArrayOption("= any", "int4");
+        List<Integer> valueList = newArrayList(1, 2, 3);
+
+        // ## Act ##
+        String clause = registerInScope(ConditionKey.CK_IN_SCOPE, cvalue, valueList, option);
+
+        // ## Assert ##
+        log(clause);
+        assertEquals("dfloc.MEMBER_ID = any (/*pmb." + cvalue.getInScopeLatestLocation() + "*/null)", clause);
+        Object bound = cvalue.getVarying().get("inScope").get("inScope0");
+        assertTrue(bound instanceof InScopeArrayValue);
+        InScopeArrayValue arrayValue = (InScopeArrayValue) bound;
+        assertEquals(valueList, arrayValue.getElementList());
+        assertEquals("int4", arrayValue.getElementTypeName());
+        assertEquals("{1,2,3}", arrayValue.toString());
+    }
+
+    public void test_arrayOption_notInScope() {
+        // ## Arrange ##
+        ConditionValue cvalue = new ConditionValue();
+        InScopeArrayOption option = new InScopeArrayOption("<> all", "varchar");
+
+        // ## Act ##
+        String clause = registerInScope(ConditionKey.CK_NOT_IN_SCOPE, cvalue, newArrayList("sea", "land"), option);
+
+        // ## Assert ##
+        log(clause);
+        assertContains(clause, "dfloc.MEMBER_ID <> all (/*pmb.");
+        assertTrue(clause.endsWith("*/null)"));
+    }
+
+    public void test_arrayOption_noOption() {
+        // ## Arrange ##
+        ConditionValue cvalue = new ConditionValue();
+        List<Integer> valueList = newArrayList(1, 2, 3);
+
+        // ## Act ##
+        String clause = registerInScope(ConditionKey.CK_IN_SCOPE, cvalue, valueList, null);
+
+        // ## Assert ##
+        assertEquals("dfloc.MEMBER_ID in /*pmb." + cvalue.getInScopeLatestLocation() + "*/('a1', 'a2')", clause);
+        assertEquals(valueList, cvalue.getVarying().get("inScope").get("inScope0"));
+    }
+
+    protected String registerInScope(ConditionKey key, ConditionValue cvalue, List<?> valueList, InScopeArrayOption option) {
+        QueryModeProvider provider = new QueryModeProvider() {
+            public boolean isOrScopeQuery() {
+                return false;
+            }
+
+            public boolean isInline() {
+                return false;
+            }
+
+            public boolean isOnClause() {
+                return false;
+            }
+        };
+        key.setupConditionValue(provider, cvalue, valueList, "conditionQuery.memberId", option);
+        List<QueryClause> conditionList = new ArrayList<QueryClause>();
+        ColumnRealName columnRealName = ColumnRealName.create("dfloc", new ColumnSqlName("MEMBER_ID"));
+        key.addWhereClause(provider, conditionList, columnRealName, cvalue, null, option);
+        assertEquals(1, conditionList.size());
+        return conditionList.get(0).toString();
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2014-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.cbean.cvalue;
+
+import java.util.List;
+
+import org.dbflute.unit.RuntimeTestCase;
+
+/**
+ * @author jflute
+ * @since 1.3.0 (2026/10/19 Monday)
+ */
+public class ConditionValueTest extends RuntimeTestCase {
+
+    // ===================================================================================
+    //                                                                            In Scope
+    //                                                                            ========
+    public void test_overrideInScopeLatestValue_basic() {
+        // ## Arrange ##
+        ConditionValue cvalue = new ConditionValue();
+        List<Integer> firstList = newArrayList(1, 2);
+        cvalue.setupInScope(firstList, "pmb.conditionQuery.memberId");
+        String location = cvalue.getInScopeLatestLocation();
+
+        // ## Act ##
+        cvalue.overrideInScopeLatestValue(newArrayList(3));
+
+        // ## Assert ##
+        assertEquals(location, cvalue.getInScopeLatestLocation()); // same where clause
+        assertEquals(newArrayList(3), cvalue.getVarying().get("inScope").get("inScope0"));
+        assertEquals(newArrayList(1, 2), firstList);
+    }
+
+    public void test_overrideInScopeLatestValue_notRegistered() {
+        assertException(IllegalStateException.class, () -> new ConditionValue().overrideInScopeLatestValue(newArrayList(1)));
+    }
+}
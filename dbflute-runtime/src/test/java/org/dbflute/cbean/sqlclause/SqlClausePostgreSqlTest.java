@@ -0,0 +1,71 @@
+/*
+ * Copyright 2014-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.cbean.sqlclause;
+
+import java.time.LocalDate;
+
+import org.dbflute.cbean.ckey.ConditionKey;
+import org.dbflute.cbean.coption.InScopeArrayOption;
+import org.dbflute.unit.RuntimeTestCase;
+
+/**
+ * @author jflute
+ * @since 1.3.0 (2026/10/19 Monday)
+ */
+public class SqlClausePostgreSqlTest extends RuntimeTestCase {
+
+    // ===================================================================================
+    //                                                                       Array InScope
+    //                                                                       =============
+    public void test_prepareInScopeArrayOption_basic() {
+        // ## Arrange ##
+        SqlClausePostgreSql sqlClause = new SqlClausePostgreSql("MEMBER");
+        sqlClause.enableInScopeArrayBind();
+
+        // ## Act ##
+        InScopeArrayOption inOption = sqlClause.prepareInScopeArrayOption(ConditionKey.CK_IN_SCOPE, newArrayList(1, 2, 3));
+        InScopeArrayOption notOption = sqlClause.prepareInScopeArrayOption(ConditionKey.CK_NOT_IN_SCOPE, newArrayList("sea", "land"));
+
+        // ## Assert ##
+        assertEquals("= any", inOption.getOperand());
+        assertEquals("int4", inOption.getElementTypeName());
+        assertEquals("<> all", notOption.getOperand());
+        assertEquals("varchar", notOption.getElementTypeName());
+    }
+
+    public void test_prepareInScopeArrayOption_disabled() {
+        SqlClausePostgreSql sqlClause = new SqlClausePostgreSql("MEMBER");
+        assertNull(sqlClause.prepareInScopeArrayOption(ConditionKey.CK_IN_SCOPE, newArrayList(1, 2, 3)));
+    }
+
+    public void test_prepareInScopeArrayOption_elementType() {
+        // ## Arrange ##
+        SqlClausePostgreSql sqlClause = new SqlClausePostgreSql("MEMBER");
+        sqlClause.enableInScopeArrayBind();
+
+        // ## Act & Assert ##
+        assertEquals("int8", sqlClause.prepareInScopeArrayOption(ConditionKey.CK_IN_SCOPE, newArrayList(1L, 2L)).getElementTypeName());
+        assertNull(sqlClause.prepareInScopeArrayOption(ConditionKey.CK_IN_SCOPE, newArrayList(1, 2L))); // mixed
+        assertNull(sqlClause.prepareInScopeArrayOption(ConditionKey.CK_IN_SCOPE, newArrayList(1, null))); // null element
+        assertNull(sqlClause.prepareInScopeArrayOption(ConditionKey.CK_IN_SCOPE, newArrayList(LocalDate.now()))); // unsupported
+    }
+
+    public void test_prepareInScopeArrayOption_unsupportedDB() {
+        SqlClauseOracle sqlClause = new SqlClauseOracle("MEMBER");
+        sqlClause.enableInScopeArrayBind();
+        assertNull(sqlClause.prepareInScopeArrayOption(ConditionKey.CK_IN_SCOPE, newArrayList(1, 2, 3)));
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2014-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.cbean.sqlclause.select;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.dbflute.helper.StringKeyMap;
+import org.dbflute.unit.RuntimeTestCase;
+
+/**
+ * @author jflute
+ * @since 1.3.0 (2026/10/19 Monday)
+ */
+public class SelectClauseFragmentTest extends RuntimeTestCase {
+
+    @Override
+    protected void tearDown() throws Exception {
+        SelectClauseFragment.clearCache();
+        super.tearDown();
+    }
+
+    public void test_readOnly_flexibleLookup() {
+        // ## Arrange ##
+        Map<String, Map<String, Integer>> indexMap = new HashMap<String, Map<String, Integer>>();
+        Map<String, Integer> innerMap = StringKeyMap.createAsFlexible();
+        innerMap.put("MEMBER_ID", 1);
+        indexMap.put("_0", innerMap);
+        Map<String, String> aliasMap = new HashMap<String, String>();
+        aliasMap.put("dfloc.MEMBER_ID", "MEMBER_ID");
+
+        // ## Act ##
+        SelectClauseFragment fragment = new SelectClauseFragment("select dfloc.MEMBER_ID as MEMBER_ID", indexMap, null, aliasMap,
+                new HashMap<String, Map<String, String>>());
+
+        // ## Assert ##
+        assertEquals(1, fragment.getSelectIndexMap().get("_0").get("memberId"));
+        assertNull(fragment.getSelectColumnKeyNameMap());
+        assertEquals("MEMBER_ID", fragment.getRealColumnAliasMap().get("dfloc.MEMBER_ID"));
+        try {
+            fragment.getSelectIndexMap().get("_0").put("MEMBER_NAME", 2);
+            fail();
+        } catch (UnsupportedOperationException e) {
+            log(e.getClass());
+        }
+    }
+
+    public void test_cache_basic() {
+        // ## Arrange ##
+        SelectClauseFragment first = new SelectClauseFragment("select first", null, null, new HashMap<String, String>(),
+                new HashMap<String, Map<String, String>>());
+        SelectClauseFragment second = new SelectClauseFragment("select second", null, null, new HashMap<String, String>(),
+                new HashMap<String, Map<String, String>>());
+
+        // ## Act ##
+        assertNull(SelectClauseFragment.findCached("key"));
+        SelectClauseFragment.cache("key", first);
+        SelectClauseFragment.cache("key", second);
+
+        // ## Assert ##
+        assertEquals("select first", SelectClauseFragment.findCached("key").getSelectClause());
+    }
+}
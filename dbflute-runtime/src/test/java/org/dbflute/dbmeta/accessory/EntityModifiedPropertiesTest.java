@@ -0,0 +1,180 @@
+/*
+ * Copyright 2014-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.dbmeta.accessory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import org.dbflute.dbmeta.DBMeta;
+import org.dbflute.dbmeta.info.ColumnInfo;
+import org.dbflute.mock.MockColumnInfo;
+import org.dbflute.mock.MockDBMeta;
+import org.dbflute.mock.MockEntity;
+import org.dbflute.unit.RuntimeTestCase;
+
+/**
+ * @author jflute
+ */
+public class EntityModifiedPropertiesTest extends RuntimeTestCase {
+
+    // ===================================================================================
+    //                                                                        Ordinal Mode
+    //                                                                        ============
+    public void test_ordinalMode_registrationOrder() {
+        // ## Arrange ##
+        EntityModifiedProperties properties = new EntityModifiedProperties(createOwnerEntity());
+
+        // ## Act ##
+        properties.addPropertyName("memberName");
+        properties.addPropertyName("sea"); // not column
+        properties.addPropertyName("memberId");
+        properties.addPropertyName("memberName"); // duplicate
+
+        // ## Assert ##
+        Set<String> names = properties.getPropertyNames();
+        log(names);
+        assertEquals(3, names.size());
+        assertEquals(newArrayList("memberName", "sea", "memberId"), new ArrayList<String>(names));
+        assertTrue(properties.isModifiedProperty("memberId"));
+        assertTrue(properties.isModifiedProperty("sea"));
+        assertFalse(properties.isModifiedProperty("birthdate"));
+        assertTrue(names.contains("memberName"));
+        assertFalse(names.contains("birthdate"));
+        assertEquals(newLinkedHashSet(Arrays.asList("memberId", "memberName", "sea")), names);
+    }
+
+    public void test_ordinalMode_unmodifiable() {
+        // ## Arrange ##
+        EntityModifiedProperties properties = new EntityModifiedProperties(createOwnerEntity());
+        properties.addPropertyName("memberName");
+        properties.addPropertyName("sea");
+        Set<String> names = properties.getPropertyNames();
+
+        // ## Act ##
+        // ## Assert ##
+        assertException(UnsupportedOperationException.class, () -> names.add("memberId"));
+        assertException(UnsupportedOperationException.class, () -> names.remove("birthdate")); // even if not found
+        assertException(UnsupportedOperationException.class, () -> names.clear());
+        assertEquals(newArrayList("memberName", "sea"), new ArrayList<String>(properties.getPropertyNames()));
+    }
+
+    public void test_ordinalMode_remove() {
+        // ## Arrange ##
+        EntityModifiedProperties properties = new EntityModifiedProperties(createOwnerEntity());
+        properties.addPropertyName("memberName");
+        properties.addPropertyName("sea");
+        properties.addPropertyName("land");
+        properties.addPropertyName("birthdate");
+
+        // ## Act ##
+        properties.remove("memberName");
+        properties.remove("sea");
+
+        // ## Assert ##
+        assertEquals(newArrayList("land", "birthdate"), new ArrayList<String>(properties.getPropertyNames()));
+        assertFalse(properties.isModifiedProperty("memberName"));
+        properties.clear();
+        assertTrue(properties.isEmpty());
+        assertHasZeroElement(properties.getPropertyNames());
+    }
+
+    public void test_ordinalMode_accept_clone() {
+        // ## Arrange ##
+        EntityModifiedProperties properties = new EntityModifiedProperties(createOwnerEntity());
+        properties.addPropertyName("birthdate");
+        properties.addPropertyName("sea");
+        properties.addPropertyName("memberId");
+
+        // ## Act ##
+        EntityModifiedProperties accepted = new EntityModifiedProperties(createOwnerEntity());
+        accepted.accept(properties);
+        EntityModifiedProperties cloned = properties.clone();
+        properties.remove("birthdate");
+
+        // ## Assert ##
+        assertEquals(newArrayList("birthdate", "sea", "memberId"), new ArrayList<String>(accepted.getPropertyNames()));
+        assertEquals(newArrayList("birthdate", "sea", "memberId"), new ArrayList<String>(cloned.getPropertyNames()));
+        assertEquals(newArrayList("sea", "memberId"), new ArrayList<String>(properties.getPropertyNames()));
+    }
+
+    public void test_ordinalMode_serialize() throws Exception {
+        // ## Arrange ##
+        EntityModifiedProperties properties = new EntityModifiedProperties(createOwnerEntity());
+        properties.addPropertyName("birthdate");
+        properties.addPropertyName("sea");
+
+        // ## Act ##
+        ByteArrayOutputStream bao = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bao)) {
+            oos.writeObject(properties);
+        }
+        EntityModifiedProperties deserialized;
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bao.toByteArray()))) {
+            deserialized = (EntityModifiedProperties) ois.readObject();
+        }
+
+        // ## Assert ##
+        assertEquals(newArrayList("birthdate", "sea"), new ArrayList<String>(deserialized.getPropertyNames()));
+        deserialized.addPropertyName("memberId"); // as name-only mode
+        assertEquals(newArrayList("birthdate", "sea", "memberId"), new ArrayList<String>(deserialized.getPropertyNames()));
+    }
+
+    // ===================================================================================
+    //                                                                      Name-only Mode
+    //                                                                      ==============
+    public void test_nameOnlyMode_basic() {
+        // ## Arrange ##
+        EntityModifiedProperties properties = new EntityModifiedProperties();
+
+        // ## Act ##
+        properties.addPropertyName("memberName");
+        properties.addPropertyName("memberId");
+        properties.remove("memberName");
+
+        // ## Assert ##
+        assertEquals(newArrayList("memberId"), new ArrayList<String>(properties.getPropertyNames()));
+        assertTrue(properties.isModifiedProperty("memberId"));
+    }
+
+    // ===================================================================================
+    //                                                                         Test Helper
+    //                                                                         ===========
+    protected MockEntity createOwnerEntity() {
+        final List<ColumnInfo> columnInfoList = new ArrayList<ColumnInfo>();
+        final MockDBMeta dbmeta = new MockDBMeta() {
+            @Override
+            public List<ColumnInfo> getColumnInfoList() {
+                return columnInfoList;
+            }
+        };
+        columnInfoList.add(new MockColumnInfo(dbmeta, "memberId"));
+        columnInfoList.add(new MockColumnInfo(dbmeta, "memberName"));
+        columnInfoList.add(new MockColumnInfo(dbmeta, "birthdate"));
+        columnInfoList.add(new MockColumnInfo(dbmeta, "land"));
+        return new MockEntity() {
+            @Override
+            public DBMeta asDBMeta() {
+                return dbmeta;
+            }
+        };
+    }
+}
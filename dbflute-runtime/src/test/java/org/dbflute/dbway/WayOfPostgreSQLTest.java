@@ -15,7 +15,10 @@
  */
 package org.dbflute.dbway;
 
+import java.time.LocalDate;
+
 import org.dbflute.dbway.WayOfPostgreSQL.OperandOfLikeSearch;
+import org.dbflute.dbway.topic.UpsertSqlResource;
 import org.dbflute.optional.OptionalThing;
 import org.dbflute.unit.RuntimeTestCase;
 
@@ -44,4 +47,85 @@ public class WayOfPostgreSQLTest extends RuntimeTestCase {
         assertNull(OperandOfLikeSearch.codeOf(null));
         assertNull(OperandOfLikeSearch.codeOf("none"));
     }
+
+    // ===================================================================================
+    //                                                                              Upsert
+    //                                                                              ======
+    public void test_buildUpsertSql_basic() {
+        // ## Arrange ##
+        UpsertSqlResource resource = new UpsertSqlResource("MEMBER");
+        resource.addKeyColumn("MEMBER_ID");
+        resource.addInsertColumn("MEMBER_ID", "?", false);
+        resource.addInsertColumn("MEMBER_NAME", "?", true);
+        resource.addInsertColumn("REGISTER_DATETIME", "?", false);
+        resource.addInsertColumn("VERSION_NO", "?", false);
+        resource.registerVersionNoColumn("VERSION_NO");
+
+        // ## Act ##
+        String sql = new WayOfPostgreSQL().buildUpsertSql(resource);
+
+        // ## Assert ##
+        log(sql);
+        assertEquals("insert into MEMBER (MEMBER_ID, MEMBER_NAME, REGISTER_DATETIME, VERSION_NO) values (?, ?, ?, ?)"
+                + " on conflict (MEMBER_ID) do update set MEMBER_NAME = excluded.MEMBER_NAME, VERSION_NO = MEMBER.VERSION_NO + 1", sql);
+    }
+
+    public void test_buildUpsertSql_keyOnly() {
+        // ## Arrange ##
+        UpsertSqlResource resource = new UpsertSqlResource("MEMBER_LOGIN");
+        resource.addKeyColumn("MEMBER_ID");
+        resource.addKeyColumn("LOGIN_DATE");
+        resource.addInsertColumn("MEMBER_ID", "?", false);
+        resource.addInsertColumn("LOGIN_DATE", "?", false);
+
+        // ## Act ##
+        String sql = new WayOfPostgreSQL().buildUpsertSql(resource);
+
+        // ## Assert ##
+        log(sql);
+        assertEquals("insert into MEMBER_LOGIN (MEMBER_ID, LOGIN_DATE) values (?, ?) on conflict (MEMBER_ID, LOGIN_DATE) do nothing", sql);
+    }
+
+    public void test_buildUpsertSql_versionNoOnly() {
+        // ## Arrange ##
+        UpsertSqlResource resource = new UpsertSqlResource("MEMBER_LOGIN");
+        resource.addKeyColumn("MEMBER_LOGIN_ID");
+        resource.addInsertColumn("MEMBER_LOGIN_ID", "?", false);
+        resource.addInsertColumn("VERSION_NO", "?", false);
+        resource.registerVersionNoColumn("VERSION_NO");
+
+        // ## Act ##
+        String sql = new WayOfPostgreSQL().buildUpsertSql(resource);
+
+        // ## Assert ##
+        log(sql);
+        assertEquals("insert into MEMBER_LOGIN (MEMBER_LOGIN_ID, VERSION_NO) values (?, ?)"
+                + " on conflict (MEMBER_LOGIN_ID) do update set VERSION_NO = MEMBER_LOGIN.VERSION_NO + 1", sql);
+    }
+
+    // ===================================================================================
+    //                                                                       Array InScope
+    //                                                                       =============
+    public void test_arrayInScope_basic() {
+        WayOfPostgreSQL dbway = new WayOfPostgreSQL();
+        assertTrue(dbway.isArrayInScopeSupported());
+        assertEquals("= any", dbway.getArrayInScopeOperand(false));
+        assertEquals("<> all", dbway.getArrayInScopeOperand(true));
+        assertEquals("int4", dbway.findArrayInScopeElementTypeName(Integer.class));
+        assertEquals("varchar", dbway.findArrayInScopeElementTypeName(String.class));
+        assertNull(dbway.findArrayInScopeElementTypeName(LocalDate.class));
+    }
+
+    public void test_arrayInScope_unsupported() {
+        WayOfOracle dbway = new WayOfOracle(); // by default methods of DB-way
+        assertFalse(dbway.isArrayInScopeSupported());
+        assertNull(dbway.getArrayInScopeOperand(false));
+        assertNull(dbway.findArrayInScopeElementTypeName(Integer.class));
+    }
+
+    public void test_buildExplainSql_basic() {
+        String sql = "select * from MEMBER where MEMBER_ID = ?";
+        assertEquals("explain " + sql, new WayOfPostgreSQL().buildExplainSql(sql));
+        assertNull(new WayOfOracle().buildExplainSql("select * from MEMBER"));
+    }
 }
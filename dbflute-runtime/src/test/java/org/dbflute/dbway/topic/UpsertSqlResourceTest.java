@@ -0,0 +1,118 @@
+/*
+ * Copyright 2014-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.dbway.topic;
+
+import org.dbflute.dbway.WayOfDB2;
+import org.dbflute.dbway.WayOfDerby;
+import org.dbflute.dbway.WayOfH2;
+import org.dbflute.dbway.WayOfOracle;
+import org.dbflute.dbway.WayOfSQLServer;
+import org.dbflute.unit.RuntimeTestCase;
+
+/**
+ * @author jflute
+ * @since 1.3.0 (2026/10/19 Monday)
+ */
+public class UpsertSqlResourceTest extends RuntimeTestCase {
+
+    public void test_buildStandardMergeSql_oracle() {
+        // ## Arrange ##
+        UpsertSqlResource resource = prepareMemberResource();
+
+        // ## Act ##
+        String sql = new WayOfOracle().buildUpsertSql(resource);
+
+        // ## Assert ##
+        log(sql);
+        assertEquals("merge into MEMBER dfloc using (select ? as MEMBER_ID, ? as MEMBER_NAME, ? as VERSION_NO from dual) dfsrc"
+                + " on (dfloc.MEMBER_ID = dfsrc.MEMBER_ID)"
+                + " when matched then update set dfloc.MEMBER_NAME = dfsrc.MEMBER_NAME, dfloc.VERSION_NO = dfloc.VERSION_NO + 1"
+                + " when not matched then insert (MEMBER_ID, MEMBER_NAME, VERSION_NO)"
+                + " values (dfsrc.MEMBER_ID, dfsrc.MEMBER_NAME, dfsrc.VERSION_NO)", sql);
+    }
+
+    public void test_buildStandardMergeSql_sqlserver() {
+        // ## Arrange ##
+        UpsertSqlResource resource = prepareMemberResource();
+
+        // ## Act ##
+        String sql = new WayOfSQLServer().buildUpsertSql(resource);
+
+        // ## Assert ##
+        log(sql);
+        assertTrue(sql.startsWith("merge into MEMBER dfloc using (values (?, ?, ?)) as dfsrc (MEMBER_ID, MEMBER_NAME, VERSION_NO)"));
+        assertContains(sql, "when matched then update set MEMBER_NAME = dfsrc.MEMBER_NAME, VERSION_NO = dfloc.VERSION_NO + 1");
+        assertTrue(sql.endsWith(";"));
+    }
+
+    public void test_buildStandardMergeSql_versionNoOnly() {
+        // ## Arrange ##
+        UpsertSqlResource resource = new UpsertSqlResource("MEMBER_LOGIN");
+        resource.addKeyColumn("MEMBER_LOGIN_ID");
+        resource.addInsertColumn("MEMBER_LOGIN_ID", "?", false);
+        resource.addInsertColumn("VERSION_NO", "?", false);
+        resource.registerVersionNoColumn("VERSION_NO");
+
+        // ## Act ##
+        String sql = new WayOfH2().buildUpsertSql(resource);
+
+        // ## Assert ##
+        log(sql);
+        assertContains(sql, " when matched then update set VERSION_NO = dfloc.VERSION_NO + 1 when not matched");
+    }
+
+    public void test_buildUpsertSql_db2_typedMarker() {
+        // ## Arrange ##
+        UpsertSqlResource resource = prepareMemberResource();
+        resource.registerColumnType("MEMBER_ID", "INTEGER", 10, 0);
+        resource.registerColumnType("MEMBER_NAME", "VARCHAR", 200, null);
+        resource.registerColumnType("VERSION_NO", "DECIMAL", 8, 2);
+
+        // ## Act ##
+        String sql = new WayOfDB2().buildUpsertSql(resource);
+
+        // ## Assert ##
+        log(sql);
+        assertTrue(sql.startsWith("merge into MEMBER dfloc using (values (cast(? as INTEGER), cast(? as VARCHAR(200))"
+                + ", cast(? as DECIMAL(8, 2)))) as dfsrc (MEMBER_ID, MEMBER_NAME, VERSION_NO)"));
+    }
+
+    public void test_buildUpsertSql_db2_unknownType() {
+        // ## Arrange ##
+        UpsertSqlResource resource = prepareMemberResource();
+        resource.registerColumnType("MEMBER_ID", "INTEGER", 10, 0);
+        resource.registerColumnType("MEMBER_NAME", "UnknownType", null, null);
+
+        // ## Act ##
+        // ## Assert ##
+        assertNull(new WayOfDB2().buildUpsertSql(resource)); // untyped marker is not allowed
+    }
+
+    public void test_buildUpsertSql_unsupported() {
+        assertFalse(new WayOfDerby().isNativeUpsertSupported());
+        assertNull(new WayOfDerby().buildUpsertSql(prepareMemberResource()));
+    }
+
+    protected UpsertSqlResource prepareMemberResource() {
+        UpsertSqlResource resource = new UpsertSqlResource("MEMBER");
+        resource.addKeyColumn("MEMBER_ID");
+        resource.addInsertColumn("MEMBER_ID", "?", false);
+        resource.addInsertColumn("MEMBER_NAME", "?", true);
+        resource.addInsertColumn("VERSION_NO", "?", false);
+        resource.registerVersionNoColumn("VERSION_NO");
+        return resource;
+    }
+}
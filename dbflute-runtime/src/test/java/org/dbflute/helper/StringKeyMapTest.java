@@ -390,6 +390,42 @@ public class StringKeyMapTest extends RuntimeTestCase {
         log(map.keySet());
     }
 
+    public void test_createAsFlexible_exactKey() throws Exception {
+        // ## Arrange ##
+        StringKeyMap<Object> map = StringKeyMap.createAsFlexibleConcurrent();
+        map.put("MEMBER_ID", 1);
+        map.put("memberId", 1);
+        map.put("\u4f1a\u54e1_ID", 2); // non-ASCII
+
+        // ## Act ##
+        // ## Assert ##
+        assertEquals(1, map.get("MEMBER_ID"));
+        assertEquals(1, map.get("memberId"));
+        assertEquals(1, map.get("member_id"));
+        assertEquals(1, map.get("'Member-Id'"));
+        assertEquals(2, map.get("\u4f1a\u54e1_ID"));
+        assertEquals(2, map.get("\u4f1a\u54e1id"));
+        map.remove("MemberId");
+        assertNull(map.get("MEMBER_ID"));
+        assertFalse(map.containsKey("memberId"));
+        map.put("memberId", 3);
+        assertEquals(3, map.get("MEMBER_ID"));
+    }
+
+    public void test_convertSimpleStringKey_noConversion() throws Exception {
+        // ## Arrange ##
+        StringKeyMap<Object> map = StringKeyMap.createAsFlexible();
+        String key = "memberid";
+
+        // ## Act ##
+        // ## Assert ##
+        assertSame(key, map.convertSimpleStringKey(key));
+        assertEquals("memberid", map.convertSimpleStringKey("Member_Id"));
+        assertEquals("memberid", map.convertSimpleStringKey("\"MEMBER ID\""));
+        assertEquals("", map.convertSimpleStringKey("''"));
+        assertNull(map.convertSimpleStringKey("\u4f1a\u54e1ID"));
+    }
+
     public void test_createAsFlexible_plainKey_kept() throws Exception {
         // ## Arrange ##
         StringKeyMap<Object> map = StringKeyMap.createAsFlexible();
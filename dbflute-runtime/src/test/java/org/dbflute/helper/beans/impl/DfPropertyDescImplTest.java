@@ -63,6 +63,87 @@ public class DfPropertyDescImplTest extends RuntimeTestCase {
         }
     }
 
+    public void test_getValue_setValue_byHandle() throws Exception {
+        // ## Arrange ##
+        DfBeanDesc beanDesc = DfBeanDescFactory.getBeanDesc(HandleBean.class);
+        DfPropertyDescImpl namePd = (DfPropertyDescImpl) beanDesc.getPropertyDesc("memberName");
+        DfPropertyDescImpl countPd = (DfPropertyDescImpl) beanDesc.getPropertyDesc("loginCount");
+        HandleBean bean = new HandleBean();
+
+        // ## Act ##
+        namePd.setValue(bean, "foo");
+        countPd.setValue(bean, 3);
+
+        // ## Assert ##
+        assertNotNull(namePd._readHandle);
+        assertNotNull(namePd._writeHandle);
+        assertNotNull(countPd._writeHandle);
+        assertEquals("foo", namePd.getValue(bean));
+        assertEquals(3, countPd.getValue(bean));
+        namePd.setValue(bean, null);
+        assertNull(namePd.getValue(bean));
+        countPd.setValue(bean, "4"); // converted
+        assertEquals(4, countPd.getValue(bean));
+    }
+
+    public void test_setValue_byHandle_nullToPrimitive() throws Exception {
+        // ## Arrange ##
+        DfBeanDesc beanDesc = DfBeanDescFactory.getBeanDesc(HandleBean.class);
+        DfPropertyDesc pd = beanDesc.getPropertyDesc("loginCount");
+        HandleBean bean = new HandleBean();
+        bean.setLoginCount(3);
+
+        // ## Act ##
+        pd.setValue(bean, null); // converted to default value
+
+        // ## Assert ##
+        assertEquals(0, bean.getLoginCount());
+    }
+
+    public void test_getValue_byHandle_exception() throws Exception {
+        // ## Arrange ##
+        DfBeanDesc beanDesc = DfBeanDescFactory.getBeanDesc(HandleBean.class);
+        DfPropertyDesc pd = beanDesc.getPropertyDesc("brokenName");
+        HandleBean bean = new HandleBean();
+
+        // ## Act ##
+        try {
+            pd.getValue(bean);
+
+            // ## Assert ##
+            fail();
+        } catch (DfBeanIllegalPropertyException e) {
+            // OK
+            log(e.getMessage());
+            assertEquals(IllegalStateException.class, e.getCause().getClass());
+        }
+    }
+
+    public static class HandleBean {
+        protected String _memberName;
+        protected int _loginCount;
+
+        public String getMemberName() {
+            return _memberName;
+        }
+
+        public void setMemberName(String memberName) {
+            this._memberName = memberName;
+        }
+
+        public int getLoginCount() {
+            return _loginCount;
+        }
+
+        public void setLoginCount(int loginCount) {
+            this._loginCount = loginCount;
+        }
+
+        public String getBrokenName() {
+            throw new IllegalStateException("broken");
+        }
+    }
+
     protected static class MockBean {
         protected String _readOnlyName;
         protected String _writeOnlyName;
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2014-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.hook;
+
+import java.util.List;
+
+import org.dbflute.bhv.core.context.InternalMapContext;
+import org.dbflute.hook.NPlusOneDetector.NPlusOneSuspect;
+import org.dbflute.jdbc.ExecutionTimeInfo;
+import org.dbflute.mock.MockBehaviorCommand;
+import org.dbflute.unit.RuntimeTestCase;
+
+/**
+ * @author jflute
+ * @since 1.3.0 (2026/10/19 Monday)
+ */
+public class NPlusOneDetectorTest extends RuntimeTestCase {
+
+    // ===================================================================================
+    //                                                                            Settings
+    //                                                                            ========
+    @Override
+    protected void tearDown() throws Exception {
+        InternalMapContext.clearInternalMapContextOnThread();
+        super.tearDown();
+    }
+
+    // ===================================================================================
+    //                                                                              Detect
+    //                                                                              ======
+    public void test_end_basic() {
+        // ## Arrange ##
+        NPlusOneDetector detector = new NPlusOneDetector(3);
+        MockBehaviorCommand selectCommand = new MockBehaviorCommand() {
+            @Override
+            public boolean isSelect() {
+                return true;
+            }
+        };
+        String loopSql = "select * from MEMBER_STATUS where MEMBER_STATUS_CODE = ?";
+        String onceSql = "select * from MEMBER";
+        InternalMapContext.setInvokePathProvider(() -> "MemberAction.index() > MemberStatusBhv.selectByPK()");
+
+        // ## Act ##
+        detector.begin();
+        detector.handle(createInfo(selectCommand, onceSql, new Object[] {}));
+        detector.handle(createInfo(selectCommand, loopSql, new Object[] { "FML" }));
+        detector.handle(createInfo(selectCommand, loopSql, new Object[] { "FML" })); // same binds
+        detector.handle(createInfo(selectCommand, loopSql, new Object[] { "PRV" }));
+        detector.handle(createInfo(selectCommand, loopSql, new Object[] { "WDL" }));
+        detector.handle(createInfo(new MockBehaviorCommand(), "update MEMBER set VERSION_NO = ?", new Object[] { 1 }));
+        detector.handle(createInfo(new MockBehaviorCommand(), "update MEMBER set VERSION_NO = ?", new Object[] { 2 }));
+        detector.handle(createInfo(new MockBehaviorCommand(), "update MEMBER set VERSION_NO = ?", new Object[] { 3 }));
+        List<NPlusOneSuspect> suspectList = detector.end();
+
+        // ## Assert ##
+        log(suspectList);
+        assertEquals(1, suspectList.size());
+        NPlusOneSuspect suspect = suspectList.get(0);
+        assertEquals(loopSql, suspect.getExecutedSql());
+        assertEquals("FooTable.FooCommand()", suspect.getCommandExp());
+        assertEquals(4, suspect.getExecutionCount());
+        assertEquals(3, suspect.getDistinctCount());
+        assertEquals("MemberAction.index() > MemberStatusBhv.selectByPK()", suspect.getInvokePath());
+        assertFalse(detector.isBegun());
+    }
+
+    public void test_handle_outOfScope() {
+        // ## Arrange ##
+        NPlusOneDetector detector = new NPlusOneDetector(2).suppressWarningLog();
+        MockBehaviorCommand selectCommand = new MockBehaviorCommand() {
+            @Override
+            public boolean isSelect() {
+                return true;
+            }
+        };
+        String sql = "select * from MEMBER where MEMBER_ID = ?";
+
+        // ## Act ##
+        detector.handle(createInfo(selectCommand, sql, new Object[] { 1 }));
+        detector.handle(createInfo(selectCommand, sql, new Object[] { 2 }));
+        detector.begin();
+        detector.handle(createInfo(selectCommand, sql, new Object[] { 3 }));
+        List<NPlusOneSuspect> suspectList = detector.end();
+
+        // ## Assert ##
+        assertTrue(suspectList.isEmpty());
+        assertTrue(detector.end().isEmpty()); // no exception if not begun
+    }
+
+    public void test_begin_already() {
+        // ## Arrange ##
+        NPlusOneDetector detector = new NPlusOneDetector(2);
+        detector.begin();
+
+        // ## Act ##
+        // ## Assert ##
+        try {
+            detector.begin();
+            fail();
+        } catch (IllegalStateException e) {
+            log(e.getMessage());
+        } finally {
+            detector.end();
+        }
+    }
+
+    // ===================================================================================
+    //                                                                         Test Helper
+    //                                                                         ===========
+    protected SqlResultInfo createInfo(MockBehaviorCommand command, String sql, Object[] bindArgs) {
+        SqlLogInfo sqlLogInfo = new SqlLogInfo(command, sql, bindArgs, new Class<?>[] {}, (executedSql, args, argTypes) -> {
+            throw new IllegalStateException("display SQL should not be built");
+        });
+        return new SqlResultInfo(command, null, sqlLogInfo, new ExecutionTimeInfo(null, null, 0L, 1L), null);
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2014-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.hook;
+
+import java.util.List;
+
+import org.dbflute.hook.SqlStatisticsRegistry.SqlStatistics;
+import org.dbflute.jdbc.ExecutionTimeInfo;
+import org.dbflute.mock.MockBehaviorCommand;
+import org.dbflute.unit.RuntimeTestCase;
+
+/**
+ * @author jflute
+ * @since 1.3.0 (2026/10/19 Monday)
+ */
+public class SqlStatisticsRegistryTest extends RuntimeTestCase {
+
+    // ===================================================================================
+    //                                                                      Handle Result
+    //                                                                      =============
+    public void test_handle_basic() {
+        // ## Arrange ##
+        SqlStatisticsRegistry registry = new SqlStatisticsRegistry();
+        MockBehaviorCommand selectCommand = new MockBehaviorCommand() {
+            @Override
+            public boolean isSelect() {
+                return true;
+            }
+        };
+        String sql = "select *\n  from MEMBER where MEMBER_ID in (?, ?, ?)";
+
+        // ## Act ##
+        registry.handle(createInfo(selectCommand, sql, newArrayList("a", "b"), 100L, 130L, null));
+        registry.handle(createInfo(selectCommand, "select * from MEMBER where MEMBER_ID in (?,?)", newArrayList("c"), 200L, 210L, null));
+        registry.handle(createInfo(selectCommand, sql, null, 300L, 350L, new IllegalStateException("mock")));
+        registry.handle(createInfo(new MockBehaviorCommand(), "update MEMBER set MEMBER_NAME = ?", 3, 0L, 5L, null));
+
+        // ## Assert ##
+        assertEquals(2, registry.getStatisticsList().size());
+        SqlStatistics statistics = registry.findStatistics(sql);
+        log(statistics);
+        assertEquals("select * from MEMBER where MEMBER_ID in (?...)", statistics.getSqlShape());
+        assertEquals("FooTable.FooCommand()", statistics.getFirstCommandExp());
+        assertEquals(3, statistics.getCallCount());
+        assertEquals(90, statistics.getTotalMillis());
+        assertEquals(30, statistics.getMeanMillis());
+        assertEquals(50, statistics.getMaxMillis());
+        assertEquals(3, statistics.getRowCount());
+        assertEquals(1, statistics.getErrorCount());
+        SqlStatistics updateStatistics = registry.findStatistics("update MEMBER set MEMBER_NAME = ?");
+        assertEquals(3, updateStatistics.getRowCount());
+        assertEquals(5, updateStatistics.getTotalMillis());
+    }
+
+    public void test_handle_phase() {
+        // ## Arrange ##
+        SqlStatisticsRegistry registry = new SqlStatisticsRegistry();
+        MockBehaviorCommand selectCommand = new MockBehaviorCommand() {
+            @Override
+            public boolean isSelect() {
+                return true;
+            }
+        };
+        String sql = "select * from MEMBER where MEMBER_ID = ?";
+        SqlLogInfo sqlLogInfo = new SqlLogInfo(selectCommand, sql, new Object[] {}, new Class<?>[] {}, (executedSql, args, argTypes) -> {
+            throw new IllegalStateException("display SQL should not be built");
+        });
+
+        // ## Act ##
+        registry.handle(new SqlResultInfo(selectCommand, null, sqlLogInfo, new ExecutionTimeInfo(null, null, 0L, 5L, 300L, 2L, 7L), null));
+        registry.handle(new SqlResultInfo(selectCommand, null, sqlLogInfo, new ExecutionTimeInfo(null, null, 0L, 5L, 100L, 1L, 3L), null));
+        registry.handle(createInfo(selectCommand, sql, null, 0L, 5L, null)); // not measured
+
+        // ## Assert ##
+        SqlStatistics statistics = registry.findStatistics(sql);
+        log(statistics);
+        assertEquals(3, statistics.getCallCount());
+        assertEquals(400, statistics.getTotalConnectionMillis());
+        assertEquals(300, statistics.getMaxConnectionMillis());
+        assertEquals(3, statistics.getTotalPreparationMillis());
+        assertEquals(10, statistics.getTotalMappingMillis());
+    }
+
+    public void test_normalizeSql_quote() {
+        // ## Arrange ##
+        SqlStatisticsRegistry registry = new SqlStatisticsRegistry();
+
+        // ## Act ##
+        // ## Assert ##
+        assertEquals("select 'a  ?, ?' from DUAL where ID = ?", registry.normalizeSql("select 'a  ?, ?'\n from DUAL where ID = ? "));
+        assertEquals("values (?..., 'x', ?)", registry.normalizeSql("values (?, ?, 'x', ?)"));
+    }
+
+    // ===================================================================================
+    //                                                                           Query API
+    //                                                                           =========
+    public void test_findTop_and_reset() {
+        // ## Arrange ##
+        SqlStatisticsRegistry registry = new SqlStatisticsRegistry();
+        MockBehaviorCommand command = new MockBehaviorCommand();
+        registry.handle(createInfo(command, "select 1", null, 0L, 10L, null));
+        registry.handle(createInfo(command, "select 2", null, 0L, 30L, null));
+        registry.handle(createInfo(command, "select 2", null, 0L, 1L, null));
+        registry.handle(createInfo(command, "select 3", null, 0L, 20L, null));
+
+        // ## Act ##
+        List<SqlStatistics> totalList = registry.findTopByTotalTime(2);
+        List<SqlStatistics> callList = registry.findTopByCallCount(1);
+        String dump = registry.buildDump(2);
+
+        // ## Assert ##
+        log(dump);
+        assertEquals(2, totalList.size());
+        assertEquals("select 2", totalList.get(0).getSqlShape());
+        assertEquals("select 3", totalList.get(1).getSqlShape());
+        assertEquals("select 2", callList.get(0).getSqlShape());
+        assertContains(dump, "shapes=3");
+        registry.reset();
+        assertEquals(0, registry.getStatisticsList().size());
+        assertNull(registry.findStatistics("select 2"));
+    }
+
+    public void test_reset_countAgain() {
+        // ## Arrange ##
+        SqlStatisticsRegistry registry = new SqlStatisticsRegistry();
+        MockBehaviorCommand command = new MockBehaviorCommand();
+        registry.handle(createInfo(command, "select 1", null, 0L, 10L, null));
+        SqlStatistics old = registry.findStatistics("select 1");
+
+        // ## Act ##
+        registry.reset();
+        registry.handle(createInfo(command, "select 1", null, 0L, 20L, null)); // same raw SQL
+
+        // ## Assert ##
+        SqlStatistics statistics = registry.findStatistics("select 1");
+        assertNotSame(old, statistics);
+        assertEquals(1, statistics.getCallCount());
+        assertEquals(20, statistics.getTotalMillis());
+        assertEquals(1, old.getCallCount()); // not counted into old generation
+    }
+
+    // ===================================================================================
+    //                                                                         Test Helper
+    //                                                                         ===========
+    protected SqlResultInfo createInfo(MockBehaviorCommand command, String sql, Object result, long before, long after,
+            RuntimeException cause) {
+        SqlLogInfo sqlLogInfo = new SqlLogInfo(command, sql, new Object[] {}, new Class<?>[] {}, (executedSql, bindArgs, bindArgTypes) -> {
+            throw new IllegalStateException("display SQL should not be built");
+        });
+        ExecutionTimeInfo timeInfo = new ExecutionTimeInfo(null, null, before, after);
+        return new SqlResultInfo(command, result, sqlLogInfo, timeInfo, cause);
+    }
+}
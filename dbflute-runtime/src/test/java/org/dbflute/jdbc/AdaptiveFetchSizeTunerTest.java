@@ -0,0 +1,94 @@
+/*
+ * Copyright 2014-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jdbc;
+
+import org.dbflute.unit.RuntimeTestCase;
+
+/**
+ * @author jflute
+ * @since 1.3.0 (2026/10/19 Monday)
+ */
+public class AdaptiveFetchSizeTunerTest extends RuntimeTestCase {
+
+    // ===================================================================================
+    //                                                                             Suggest
+    //                                                                             =======
+    public void test_suggestFetchSize_basic() {
+        // ## Arrange ##
+        AdaptiveFetchSizeTuner tuner = new AdaptiveFetchSizeTuner(2, 1000);
+
+        // ## Act ##
+        tuner.observe("single", 1);
+        tuner.observe("bulk", 300);
+
+        // ## Assert ##
+        assertNull(tuner.suggestFetchSize("none"));
+        assertEquals(Integer.valueOf(2), tuner.suggestFetchSize("single"));
+        assertEquals(Integer.valueOf(301), tuner.suggestFetchSize("bulk"));
+        assertEquals(2, tuner.countTrackedKeys());
+    }
+
+    public void test_suggestFetchSize_bounds() {
+        // ## Arrange ##
+        AdaptiveFetchSizeTuner tuner = new AdaptiveFetchSizeTuner(10, 100);
+
+        // ## Act ##
+        tuner.observe("empty", 0);
+        tuner.observe("huge", 99999);
+
+        // ## Assert ##
+        assertEquals(Integer.valueOf(10), tuner.suggestFetchSize("empty"));
+        assertEquals(Integer.valueOf(100), tuner.suggestFetchSize("huge"));
+    }
+
+    public void test_observe_ewma() {
+        // ## Arrange ##
+        AdaptiveFetchSizeTuner tuner = new AdaptiveFetchSizeTuner(1, 1000).smoothingFactor(0.5);
+
+        // ## Act ##
+        tuner.observe("sea", 100);
+        tuner.observe("sea", 200);
+        tuner.observe("sea", 0);
+
+        // ## Assert ##
+        assertEquals(75.0, tuner.findAverageRowCount("sea"), 0.0001); // (100 * 0.5 + 200 * 0.5) * 0.5 + 0
+        assertEquals(Integer.valueOf(76), tuner.suggestFetchSize("sea"));
+        tuner.clear();
+        assertNull(tuner.findAverageRowCount("sea"));
+        assertEquals(0, tuner.countTrackedKeys());
+    }
+
+    public void test_constructor_illegal() {
+        try {
+            new AdaptiveFetchSizeTuner(0, 10);
+            fail();
+        } catch (IllegalArgumentException e) {
+            log(e.getMessage());
+        }
+        try {
+            new AdaptiveFetchSizeTuner(10, 9);
+            fail();
+        } catch (IllegalArgumentException e) {
+            log(e.getMessage());
+        }
+        try {
+            new AdaptiveFetchSizeTuner(1, 10).smoothingFactor(0.0);
+            fail();
+        } catch (IllegalArgumentException e) {
+            log(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2014-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.jdbc;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.dbflute.jdbc.SlowQueryDetector.SlowQueryRecord;
+import org.dbflute.unit.RuntimeTestCase;
+
+/**
+ * @author jflute
+ * @since 1.3.0 (2026/10/19 Monday)
+ */
+public class SlowQueryDetectorTest extends RuntimeTestCase {
+
+    public void test_record_ringBuffer() {
+        // ## Arrange ##
+        SlowQueryDetector detector = new SlowQueryDetector(100L, 3);
+
+        // ## Act ##
+        for (int i = 1; i <= 5; i++) {
+            detector.record(createRecord("select " + i));
+        }
+
+        // ## Assert ##
+        List<SlowQueryRecord> recordList = detector.getRecordList();
+        log(recordList);
+        assertEquals(3, recordList.size());
+        assertEquals("select 5", recordList.get(0).getExecutedSql());
+        assertEquals("select 4", recordList.get(1).getExecutedSql());
+        assertEquals("select 3", recordList.get(2).getExecutedSql());
+        assertEquals(5L, detector.getRecordedCount());
+        detector.clear();
+        assertTrue(detector.getRecordList().isEmpty());
+    }
+
+    public void test_isSlow_basic() {
+        SlowQueryDetector detector = new SlowQueryDetector(100L, 1);
+        assertFalse(detector.isSlow(99L));
+        assertTrue(detector.isSlow(100L));
+        assertFalse(detector.isExplainSuppressed());
+        assertTrue(detector.suppressExplain().isExplainSuppressed());
+    }
+
+    protected SlowQueryRecord createRecord(String sql) {
+        return new SlowQueryRecord(sql, Collections.emptyList(), 100L, 1L, "plan", null);
+    }
+}
@@ -28,8 +28,12 @@ import org.dbflute.dbmeta.property.PropertyMethodFinder;
 public class MockColumnInfo extends ColumnInfo {
 
     public MockColumnInfo() {
-        super(new MockDBMeta(), "mock", "mock", null, "mock", Integer.class, "mock", Integer.class, true, false, true, "INTEGER", 3, 0,
-                null, null, false, OptimisticLockType.NONE, "mock", null, null, null, false, createPropertyMethodFinder());
+        this(new MockDBMeta(), "mock");
+    }
+
+    public MockColumnInfo(MockDBMeta dbmeta, String propertyName) {
+        super(dbmeta, "mock", "mock", null, "mock", Integer.class, propertyName, Integer.class, true, false, true, "INTEGER", 3, 0, null,
+                null, false, OptimisticLockType.NONE, "mock", null, null, null, false, createPropertyMethodFinder());
     }
 
     protected static PropertyMethodFinder createPropertyMethodFinder() {
@@ -294,6 +294,18 @@ public class MockConditionBean implements ConditionBean {
     public void disableOverridingQuery() {
     }
 
+    public void enableInScopeArrayBind() {
+    }
+
+    public void disableInScopeArrayBind() {
+    }
+
+    public void enableInScopeBucketPadding() {
+    }
+
+    public void disableInScopeBucketPadding() {
+    }
+
     public void enableInnerJoinAutoDetect() {
     }
 
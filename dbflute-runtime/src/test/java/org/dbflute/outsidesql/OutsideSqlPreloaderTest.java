@@ -0,0 +1,144 @@
+/*
+ * Copyright 2014-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.outsidesql;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.dbflute.dbmeta.DBMetaProvider;
+import org.dbflute.unit.RuntimeTestCase;
+
+/**
+ * @author jflute
+ * @since 1.3.0 (2026/10/19 Monday)
+ */
+public class OutsideSqlPreloaderTest extends RuntimeTestCase {
+
+    @Override
+    protected void tearDown() throws Exception {
+        OutsideSqlContext.clearPreloadedText();
+        super.tearDown();
+    }
+
+    // ===================================================================================
+    //                                                                             Preload
+    //                                                                             =======
+    public void test_preload_file_basic() throws Exception {
+        // ## Arrange ##
+        File rootDir = Files.createTempDirectory("preload").toFile();
+        writeText(new File(rootDir, "org/docksidestage/exbhv/MemberBhv_selectMember.sql"), "select * from MEMBER -- ?\n");
+        writeText(new File(rootDir, "org/docksidestage/exbhv/sub/MemberBhv_selectSub.sql"), "select /*pmb.memberId*/3 from MEMBER");
+        writeText(new File(rootDir, "org/docksidestage/exbhv/readme.txt"), "/*IF broken");
+        OutsideSqlPreloader preloader = createPreloader(rootDir.toURI().toURL());
+
+        // ## Act ##
+        int preloadedCount = preloader.preload();
+
+        // ## Assert ##
+        assertEquals(2, preloadedCount);
+        assertEquals(2, OutsideSqlContext.countPreloadedText());
+        OutsideSqlContext context = createContext("org/docksidestage/exbhv/MemberBhv_selectMember.sql");
+        String sql = context.readFilteredOutsideSql("UTF-8", "_h2"); // not on real classpath
+        log(sql);
+        assertEquals("select * from MEMBER -- Q\n", sql);
+        assertEquals("org/docksidestage/exbhv/MemberBhv_selectMember.sql", context.getReadOutsideSqlPath());
+    }
+
+    public void test_preload_jar_basic() throws Exception {
+        // ## Arrange ##
+        File jarFile = File.createTempFile("preload", ".jar");
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jarFile))) {
+            out.putNextEntry(new JarEntry("org/docksidestage/exbhv/"));
+            out.closeEntry();
+            out.putNextEntry(new JarEntry("org/docksidestage/exbhv/MemberBhv_selectJar.sql"));
+            out.write("select /*IF pmb.memberId != null*/1/*END*/".getBytes(StandardCharsets.UTF_8));
+            out.closeEntry();
+            out.putNextEntry(new JarEntry("org/docksidestage/other/MemberBhv_selectOther.sql"));
+            out.write("select 2".getBytes(StandardCharsets.UTF_8));
+            out.closeEntry();
+        }
+        OutsideSqlPreloader preloader = createPreloader(jarFile.toURI().toURL());
+
+        // ## Act ##
+        int preloadedCount = preloader.preload();
+
+        // ## Assert ##
+        assertEquals(1, preloadedCount);
+        OutsideSqlContext context = createContext("org/docksidestage/exbhv/MemberBhv_selectJar.sql");
+        assertEquals("select /*IF pmb.memberId != null*/1/*END*/", context.readFilteredOutsideSql("UTF-8", "_h2"));
+    }
+
+    public void test_preload_failure() throws Exception {
+        // ## Arrange ##
+        File rootDir = Files.createTempDirectory("preload").toFile();
+        writeText(new File(rootDir, "org/docksidestage/exbhv/MemberBhv_selectOk.sql"), "select 1");
+        writeText(new File(rootDir, "org/docksidestage/exbhv/MemberBhv_selectBroken.sql"), "select /*IF pmb.memberId != null*/1");
+        OutsideSqlPreloader preloader = createPreloader(rootDir.toURI().toURL());
+
+        // ## Act ##
+        // ## Assert ##
+        try {
+            preloader.preload();
+            fail();
+        } catch (IllegalStateException e) {
+            String msg = e.getMessage();
+            log(msg);
+            assertContains(msg, "MemberBhv_selectBroken.sql");
+            assertFalse(msg.contains("MemberBhv_selectOk.sql"));
+        }
+    }
+
+    public void test_preload_noSqlFile() throws Exception {
+        // ## Arrange ##
+        File rootDir = Files.createTempDirectory("preload").toFile();
+        OutsideSqlPreloader preloader = createPreloader(rootDir.toURI().toURL());
+
+        // ## Act ##
+        int preloadedCount = preloader.preload();
+
+        // ## Assert ##
+        assertEquals(0, preloadedCount);
+    }
+
+    // ===================================================================================
+    //                                                                         Test Helper
+    //                                                                         ===========
+    protected OutsideSqlPreloader createPreloader(URL rootUrl) {
+        URLClassLoader loader = new URLClassLoader(new URL[] { rootUrl }, null);
+        return new OutsideSqlPreloader("org.docksidestage.exbhv", "UTF-8").classLoader(loader).parallelism(2);
+    }
+
+    protected OutsideSqlContext createContext(String path) {
+        DBMetaProvider provider = (DBMetaProvider) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { DBMetaProvider.class }, (proxy, method, args) -> null);
+        OutsideSqlContext context = new OutsideSqlContext(provider, null);
+        context.setOutsideSqlPath(path);
+        return context;
+    }
+
+    protected void writeText(File file, String text) throws IOException {
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), text.getBytes(StandardCharsets.UTF_8));
+    }
+}
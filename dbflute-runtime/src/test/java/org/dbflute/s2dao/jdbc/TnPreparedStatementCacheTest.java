@@ -0,0 +1,129 @@
+/*
+ * Copyright 2014-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.s2dao.jdbc;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.dbflute.unit.RuntimeTestCase;
+
+/**
+ * @author jflute
+ * @since 1.3.0 (2026/10/19 Monday)
+ */
+public class TnPreparedStatementCacheTest extends RuntimeTestCase {
+
+    private static final int TYPE = ResultSet.TYPE_FORWARD_ONLY;
+    private static final int CONC = ResultSet.CONCUR_READ_ONLY;
+
+    // ===================================================================================
+    //                                                                               Basic
+    //                                                                               =====
+    public void test_checkout_reuseAfterClose() throws Exception {
+        // ## Arrange ##
+        TnPreparedStatementCache cache = new TnPreparedStatementCache(2);
+        AtomicBoolean connClosed = new AtomicBoolean();
+        Connection conn = mockConnection(connClosed);
+        AtomicInteger realCloseCount = new AtomicInteger();
+        assertNull(cache.checkout(conn, "select 1", TYPE, CONC));
+        PreparedStatement first = cache.wrap(conn, "select 1", TYPE, CONC, mockStatement(realCloseCount));
+
+        // ## Act ##
+        first.close();
+        PreparedStatement second = cache.checkout(conn, "select 1", TYPE, CONC);
+
+        // ## Assert ##
+        assertNotNull(second);
+        assertTrue(first.isClosed());
+        assertFalse(second.isClosed());
+        assertEquals(0, realCloseCount.get());
+        assertEquals(1L, cache.getHitCount());
+        assertEquals(1L, cache.getMissCount());
+        assertEquals(0.5d, cache.getHitRate());
+        assertNull(cache.checkout(conn, "select 1", TYPE, CONC)); // checked-out is not shared
+    }
+
+    public void test_checkout_evictLeastRecentlyUsed() throws Exception {
+        // ## Arrange ##
+        TnPreparedStatementCache cache = new TnPreparedStatementCache(1);
+        Connection conn = mockConnection(new AtomicBoolean());
+        AtomicInteger realCloseCount = new AtomicInteger();
+        PreparedStatement first = cache.wrap(conn, "select 1", TYPE, CONC, mockStatement(realCloseCount));
+        PreparedStatement second = cache.wrap(conn, "select 2", TYPE, CONC, mockStatement(realCloseCount));
+
+        // ## Act ##
+        first.close();
+        second.close();
+
+        // ## Assert ##
+        assertEquals(1, realCloseCount.get());
+        assertEquals(1L, cache.getEvictedCount());
+        assertNull(cache.checkout(conn, "select 1", TYPE, CONC));
+        assertNotNull(cache.checkout(conn, "select 2", TYPE, CONC));
+    }
+
+    public void test_checkout_closedConnection() throws Exception {
+        // ## Arrange ##
+        TnPreparedStatementCache cache = new TnPreparedStatementCache(2);
+        AtomicBoolean connClosed = new AtomicBoolean();
+        Connection conn = mockConnection(connClosed);
+        AtomicInteger realCloseCount = new AtomicInteger();
+        cache.wrap(conn, "select 1", TYPE, CONC, mockStatement(realCloseCount)).close();
+
+        // ## Act ##
+        connClosed.set(true);
+        PreparedStatement ps = cache.checkout(conn, "select 1", TYPE, CONC);
+
+        // ## Assert ##
+        assertNull(ps);
+        assertEquals(1, realCloseCount.get());
+        assertEquals(0L, cache.getHitCount());
+    }
+
+    // ===================================================================================
+    //                                                                         Mock Helper
+    //                                                                         ===========
+    private Connection mockConnection(AtomicBoolean closed) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+            if ("isClosed".equals(method.getName())) {
+                return closed.get();
+            }
+            return null;
+        });
+    }
+
+    private PreparedStatement mockStatement(AtomicInteger realCloseCount) {
+        AtomicBoolean closed = new AtomicBoolean();
+        return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { PreparedStatement.class },
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if ("close".equals(name)) {
+                        closed.set(true);
+                        realCloseCount.incrementAndGet();
+                        return null;
+                    } else if ("isClosed".equals(name)) {
+                        return closed.get();
+                    } else if (name.startsWith("get") && method.getReturnType() == int.class) {
+                        return 0;
+                    }
+                    return null;
+                });
+    }
+}
@@ -15,10 +15,16 @@
  */
 package org.dbflute.s2dao.jdbc;
 
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.dbflute.bhv.core.BehaviorCommand;
+import org.dbflute.jdbc.AdaptiveFetchSizeTuner;
 import org.dbflute.jdbc.StatementConfig;
+import org.dbflute.mock.MockBehaviorCommand;
 import org.dbflute.unit.RuntimeTestCase;
 
 /**
@@ -422,4 +428,114 @@ public class TnStatementFactoryImplTest extends RuntimeTestCase {
         assertEquals(null, actual.getFetchSize());
         assertEquals(null, actual.getMaxRows());
     }
+
+    // ===================================================================================
+    //                                                                 Adaptive Fetch Size
+    //                                                                 ===================
+    public void test_getActualStatementConfig_adaptiveFetchSize_observed() throws Exception {
+        // ## Arrange ##
+        final AdaptiveFetchSizeTuner tuner = new AdaptiveFetchSizeTuner(5, 500);
+        tuner.observe("sea", 300);
+        TnStatementFactoryImpl impl = createAdaptiveStatementFactory(tuner, "sea");
+        {
+            StatementConfig defaultConfig = new StatementConfig();
+            defaultConfig.queryTimeout(10).fetchSize(20).maxRows(30);
+            impl.setDefaultStatementConfig(defaultConfig);
+        }
+
+        // ## Act ##
+        StatementConfig actual = impl.getActualStatementConfig(null);
+
+        // ## Assert ##
+        assertNotNull(actual);
+        assertEquals(10, actual.getQueryTimeout());
+        assertEquals(301, actual.getFetchSize());
+        assertEquals(30, actual.getMaxRows());
+    }
+
+    public void test_getActualStatementConfig_adaptiveFetchSize_notObserved() throws Exception {
+        // ## Arrange ##
+        final AdaptiveFetchSizeTuner tuner = new AdaptiveFetchSizeTuner(5, 500);
+        tuner.observe("sea", 300);
+        TnStatementFactoryImpl impl = createAdaptiveStatementFactory(tuner, "land");
+        {
+            StatementConfig defaultConfig = new StatementConfig();
+            defaultConfig.fetchSize(20);
+            impl.setDefaultStatementConfig(defaultConfig);
+        }
+
+        // ## Act ##
+        StatementConfig actual = impl.getActualStatementConfig(null);
+
+        // ## Assert ##
+        assertNotNull(actual);
+        assertEquals(20, actual.getFetchSize());
+    }
+
+    public void test_getActualStatementConfig_adaptiveFetchSize_request() throws Exception {
+        // ## Arrange ##
+        final AdaptiveFetchSizeTuner tuner = new AdaptiveFetchSizeTuner(5, 500);
+        tuner.observe("sea", 300);
+        TnStatementFactoryImpl impl = createAdaptiveStatementFactory(tuner, "sea");
+        StatementConfig config = new StatementConfig();
+        config.fetchSize(2);
+
+        // ## Act ##
+        StatementConfig actual = impl.getActualStatementConfig(config);
+
+        // ## Assert ##
+        assertNotNull(actual);
+        assertEquals(2, actual.getFetchSize());
+    }
+
+    // ===================================================================================
+    //                                                            PreparedStatement Cache
+    //                                                            =======================
+    public void test_setPreparedStatementCacheSize_closeOldCache() throws Exception {
+        // ## Arrange ##
+        TnStatementFactoryImpl impl = new TnStatementFactoryImpl();
+        impl.setPreparedStatementCacheSize(2);
+        TnPreparedStatementCache oldCache = impl.getPreparedStatementCache();
+        Connection conn = (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Connection.class },
+                (proxy, method, args) -> "isClosed".equals(method.getName()) ? false : null);
+        AtomicInteger realCloseCount = new AtomicInteger();
+        PreparedStatement ps = (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { PreparedStatement.class }, (proxy, method, args) -> {
+                    if ("close".equals(method.getName())) {
+                        realCloseCount.incrementAndGet();
+                    }
+                    return method.getReturnType() == boolean.class ? false : null;
+                });
+        int type = ResultSet.TYPE_FORWARD_ONLY;
+        int conc = ResultSet.CONCUR_READ_ONLY;
+        oldCache.wrap(conn, "select 1", type, conc, ps).close(); // returned to cache
+
+        // ## Act ##
+        impl.setPreparedStatementCacheSize(3);
+
+        // ## Assert ##
+        assertEquals(1, realCloseCount.get()); // closed by clearing old cache
+        assertNull(oldCache.checkout(conn, "select 1", type, conc));
+        assertNotNull(impl.getPreparedStatementCache());
+        assertNotSame(oldCache, impl.getPreparedStatementCache());
+    }
+
+    protected TnStatementFactoryImpl createAdaptiveStatementFactory(final AdaptiveFetchSizeTuner tuner, final String key) {
+        return new TnStatementFactoryImpl() {
+            @Override
+            protected AdaptiveFetchSizeTuner getAdaptiveFetchSizeTuner() {
+                return tuner;
+            }
+
+            @Override
+            protected BehaviorCommand<?> getBehaviorCommand() {
+                return new MockBehaviorCommand() {
+                    @Override
+                    public String buildSqlExecutionKey() {
+                        return key;
+                    }
+                };
+            }
+        };
+    }
 }
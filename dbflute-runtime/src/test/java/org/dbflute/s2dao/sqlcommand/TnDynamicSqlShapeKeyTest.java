@@ -0,0 +1,75 @@
+/*
+ * Copyright 2014-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.s2dao.sqlcommand;
+
+import java.util.Arrays;
+
+import org.dbflute.unit.RuntimeTestCase;
+
+/**
+ * @author jflute
+ */
+public class TnDynamicSqlShapeKeyTest extends RuntimeTestCase {
+
+    public void test_bits_basic() throws Exception {
+        // ## Arrange ##
+        long[] bits = TnDynamicSqlShapeKey.newBits(70);
+
+        // ## Act ##
+        TnDynamicSqlShapeKey.markBit(bits, 0);
+        TnDynamicSqlShapeKey.markBit(bits, 63);
+        TnDynamicSqlShapeKey.markBit(bits, 64);
+        TnDynamicSqlShapeKey.markBit(bits, 69);
+
+        // ## Assert ##
+        assertEquals(2, bits.length);
+        assertTrue(TnDynamicSqlShapeKey.isMarkedBit(bits, 0));
+        assertFalse(TnDynamicSqlShapeKey.isMarkedBit(bits, 1));
+        assertTrue(TnDynamicSqlShapeKey.isMarkedBit(bits, 63));
+        assertTrue(TnDynamicSqlShapeKey.isMarkedBit(bits, 64));
+        assertFalse(TnDynamicSqlShapeKey.isMarkedBit(bits, 65));
+        assertTrue(TnDynamicSqlShapeKey.isMarkedBit(bits, 69));
+        assertEquals(4, TnDynamicSqlShapeKey.countBits(bits));
+    }
+
+    public void test_equals_basic() throws Exception {
+        // ## Arrange ##
+        long[] firstBits = TnDynamicSqlShapeKey.newBits(3);
+        TnDynamicSqlShapeKey.markBit(firstBits, 1);
+        long[] secondBits = TnDynamicSqlShapeKey.newBits(3);
+        TnDynamicSqlShapeKey.markBit(secondBits, 1);
+        long[] thirdBits = TnDynamicSqlShapeKey.newBits(3);
+        TnDynamicSqlShapeKey.markBit(thirdBits, 2);
+
+        // ## Act ##
+        TnDynamicSqlShapeKey first = new TnDynamicSqlShapeKey(firstBits, 1, null);
+        TnDynamicSqlShapeKey second = new TnDynamicSqlShapeKey(secondBits, 1, null);
+        TnDynamicSqlShapeKey differentBits = new TnDynamicSqlShapeKey(thirdBits, 1, null);
+        TnDynamicSqlShapeKey differentFlags = new TnDynamicSqlShapeKey(secondBits, 0, null);
+        Object[] extras = new Object[] { Arrays.asList("memberName"), null };
+        TnDynamicSqlShapeKey withExtras = new TnDynamicSqlShapeKey(secondBits, 1, extras);
+        TnDynamicSqlShapeKey sameExtras = new TnDynamicSqlShapeKey(firstBits, 1, new Object[] { Arrays.asList("memberName"), null });
+
+        // ## Assert ##
+        log(first, withExtras);
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+        assertFalse(first.equals(differentBits));
+        assertFalse(first.equals(differentFlags));
+        assertFalse(first.equals(withExtras));
+        assertEquals(withExtras, sameExtras);
+    }
+}
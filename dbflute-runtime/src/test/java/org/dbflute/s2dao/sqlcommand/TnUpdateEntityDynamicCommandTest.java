@@ -0,0 +1,237 @@
+/*
+ * Copyright 2014-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.s2dao.sqlcommand;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.dbflute.bhv.writable.UpdateOption;
+import org.dbflute.cbean.ConditionBean;
+import org.dbflute.jdbc.StatementFactory;
+import org.dbflute.mock.MockDBMeta;
+import org.dbflute.s2dao.metadata.TnBeanMetaData;
+import org.dbflute.s2dao.metadata.TnPropertyType;
+import org.dbflute.unit.RuntimeTestCase;
+
+/**
+ * @author jflute
+ * @since 1.3.0 (2026/10/19 Monday)
+ */
+public class TnUpdateEntityDynamicCommandTest extends RuntimeTestCase {
+
+    protected static final List<String> PROPERTY_NAMES =
+            Arrays.asList("memberId", "memberName", "memberAccount", "memberStatusCode", "birthdate", "formalizedDatetime",
+                    "registerUser", "updateUser", "versionNo");
+
+    // ===================================================================================
+    //                                                                         Shape Cache
+    //                                                                         ===========
+    public void test_execute_shapeCache_hit() throws Exception {
+        // ## Arrange ##
+        MockUpdateCommand command = createCommand();
+        Set<String> firstBean = modifiedSet("memberId", "memberName");
+        Set<String> secondBean = modifiedSet("memberId", "memberName"); // same shape
+        Set<String> thirdBean = modifiedSet("memberId", "birthdate");
+
+        // ## Act ##
+        command.execute(new Object[] { firstBean });
+        command.execute(new Object[] { secondBean });
+        command.execute(new Object[] { thirdBean });
+
+        // ## Assert ##
+        assertEquals(3, command._hookCount); // hook is called every time
+        assertEquals(2, command._createSqlCount); // second is cached
+        assertEquals(Arrays.asList("memberId", "memberName"), command._executedPropertyList.get(0));
+        assertEquals(Arrays.asList("memberId", "birthdate"), command._executedPropertyList.get(2));
+        assertEquals(command._executedSqlList.get(0), command._executedSqlList.get(1));
+        assertNotSame(command._executedTypesList.get(0), command._executedTypesList.get(2));
+        assertSame(command._executedTypesList.get(0), command._executedTypesList.get(1)); // shared types
+    }
+
+    public void test_execute_shapeCache_limit() throws Exception {
+        // ## Arrange ##
+        MockUpdateCommand command = createCommand();
+        int shapeCount = TnAbstractEntityDynamicCommand.SHAPE_CACHE_LIMIT + 44;
+
+        // ## Act ##
+        for (int shape = 1; shape <= shapeCount; shape++) { // bit-set of property index
+            command.execute(new Object[] { modifiedSetOf(shape) });
+        }
+
+        // ## Assert ##
+        assertEquals(shapeCount, command._createSqlCount);
+        assertEquals(TnAbstractEntityDynamicCommand.SHAPE_CACHE_LIMIT, command._dynamicSqlCache.size()); // stops caching
+        assertEquals(TnAbstractEntityDynamicCommand.SHAPE_CACHE_LIMIT, command._boundPropertyTypesCache.size());
+
+        command.execute(new Object[] { modifiedSetOf(1) }); // cached
+        assertEquals(shapeCount, command._createSqlCount);
+        command.execute(new Object[] { modifiedSetOf(shapeCount) }); // not cached
+        assertEquals(shapeCount + 1, command._createSqlCount);
+    }
+
+    public void test_execute_shapeCache_nonUpdate() throws Exception {
+        // ## Arrange ##
+        MockUpdateCommand command = createCommand();
+
+        // ## Act ##
+        Object result = command.execute(new Object[] { modifiedSet() });
+
+        // ## Assert ##
+        assertEquals(1, command._hookCount);
+        assertEquals(0, command._createSqlCount);
+        assertTrue(command._executedSqlList.isEmpty());
+        assertTrue(command._dynamicSqlCache.isEmpty());
+        assertEquals(command.getNonUpdateReturn(), result);
+    }
+
+    public void test_execute_overriddenHook() throws Exception {
+        // ## Arrange ##
+        MockUpdateCommand command = new MockUpdateCommand() {
+            @Override
+            protected TnPropertyType[] createUpdatePropertyTypes(Object bean, UpdateOption<ConditionBean> option) {
+                ++_hookCount;
+                TnPropertyType[] propertyTypes = super.createUpdatePropertyTypes(bean, option).clone();
+                List<TnPropertyType> typeList = new ArrayList<TnPropertyType>(Arrays.asList(propertyTypes));
+                Collections.reverse(typeList); // different order from property names
+                return typeList.toArray(new TnPropertyType[typeList.size()]);
+            }
+        };
+        setupCommand(command);
+
+        // ## Act ##
+        command.execute(new Object[] { modifiedSet("memberId", "memberName") });
+        command.execute(new Object[] { modifiedSet("memberId", "memberName") });
+
+        // ## Assert ##
+        assertEquals(4, command._hookCount); // overridden and super
+        assertEquals(2, command._createSqlCount); // not cached because of different order
+        assertEquals(Arrays.asList("memberName", "memberId"), command._executedPropertyList.get(1));
+        assertTrue(command._dynamicSqlCache.isEmpty());
+    }
+
+    // ===================================================================================
+    //                                                                         Mock Helper
+    //                                                                         ===========
+    protected MockUpdateCommand createCommand() {
+        MockUpdateCommand command = new MockUpdateCommand();
+        setupCommand(command);
+        return command;
+    }
+
+    protected void setupCommand(MockUpdateCommand command) {
+        command.setBeanMetaData(createBeanMetaData());
+        command.setTargetDBMeta(new MockDBMeta()); // for non-update log
+        command.setPropertyNames(PROPERTY_NAMES.toArray(new String[PROPERTY_NAMES.size()]));
+    }
+
+    protected Set<String> modifiedSet(String... propertyNames) {
+        return new LinkedHashSet<String>(Arrays.asList(propertyNames));
+    }
+
+    protected Set<String> modifiedSetOf(int shape) {
+        Set<String> modifiedSet = new LinkedHashSet<String>();
+        for (int i = 0; i < PROPERTY_NAMES.size(); i++) {
+            if ((shape & (1 << i)) != 0) {
+                modifiedSet.add(PROPERTY_NAMES.get(i));
+            }
+        }
+        return modifiedSet;
+    }
+
+    protected static TnBeanMetaData createBeanMetaData() {
+        return (TnBeanMetaData) Proxy.newProxyInstance(TnBeanMetaData.class.getClassLoader(), new Class<?>[] { TnBeanMetaData.class },
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if ("getPropertyType".equals(name)) {
+                        return createPropertyType((String) args[0]);
+                    } else if ("getModifiedPropertyNames".equals(name)) {
+                        return args[0]; // bean is modified set in this test
+                    } else if ("getTableName".equals(name)) {
+                        return "MEMBER";
+                    }
+                    return null; // e.g. no timestamp and version-no
+                });
+    }
+
+    protected static TnPropertyType createPropertyType(String propertyName) {
+        return (TnPropertyType) Proxy.newProxyInstance(TnPropertyType.class.getClassLoader(), new Class<?>[] { TnPropertyType.class },
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if ("getPropertyName".equals(name) || "getColumnDbName".equals(name)) {
+                        return propertyName;
+                    } else if ("isPrimaryKey".equals(name)) {
+                        return false;
+                    } else if ("hashCode".equals(name)) {
+                        return System.identityHashCode(proxy);
+                    } else if ("equals".equals(name)) {
+                        return proxy == args[0];
+                    }
+                    return null;
+                });
+    }
+
+    protected static <TYPE> TYPE createDummy(Class<TYPE> type) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, (proxy, method, args) -> null));
+    }
+
+    protected static class MockUpdateCommand extends TnUpdateEntityDynamicCommand {
+
+        protected int _hookCount;
+        protected int _createSqlCount;
+        protected final List<String> _executedSqlList = new ArrayList<String>();
+        protected final List<TnPropertyType[]> _executedTypesList = new ArrayList<TnPropertyType[]>();
+        protected final List<List<String>> _executedPropertyList = new ArrayList<List<String>>();
+
+        public MockUpdateCommand() {
+            super(createDummy(DataSource.class), createDummy(StatementFactory.class));
+        }
+
+        @Override
+        protected TnPropertyType[] createUpdatePropertyTypes(Object bean, UpdateOption<ConditionBean> option) {
+            ++_hookCount;
+            return super.createUpdatePropertyTypes(bean, option);
+        }
+
+        @Override
+        protected String createUpdateSql(Object bean, TnPropertyType[] propertyTypes, UpdateOption<ConditionBean> option) {
+            ++_createSqlCount;
+            return "update MEMBER set " + toPropertyList(propertyTypes);
+        }
+
+        @Override
+        protected Object doExecute(Object bean, TnPropertyType[] propertyTypes, String sql, UpdateOption<ConditionBean> option) {
+            _executedSqlList.add(sql);
+            _executedTypesList.add(propertyTypes);
+            _executedPropertyList.add(toPropertyList(propertyTypes));
+            return Integer.valueOf(1);
+        }
+
+        protected List<String> toPropertyList(TnPropertyType[] propertyTypes) {
+            List<String> propertyList = new ArrayList<String>();
+            for (TnPropertyType pt : propertyTypes) {
+                propertyList.add(pt.getPropertyName());
+            }
+            return propertyList;
+        }
+    }
+}
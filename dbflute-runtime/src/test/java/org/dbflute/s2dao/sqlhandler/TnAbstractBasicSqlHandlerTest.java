@@ -15,17 +15,27 @@
  */
 package org.dbflute.s2dao.sqlhandler;
 
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 
 import org.dbflute.bhv.core.context.InternalMapContext;
 import org.dbflute.bhv.core.context.ResourceContext;
+import javax.sql.DataSource;
+
+import org.dbflute.dbway.DBDef;
 import org.dbflute.hook.CallbackContext;
 import org.dbflute.hook.SqlLogHandler;
 import org.dbflute.hook.SqlLogInfo;
 import org.dbflute.hook.SqlResultHandler;
 import org.dbflute.hook.SqlResultInfo;
+import org.dbflute.jdbc.ExecutionTimeInfo;
+import org.dbflute.jdbc.SlowQueryDetector;
+import org.dbflute.jdbc.SlowQueryDetector.SlowQueryRecord;
 import org.dbflute.mock.MockBehaviorCommand;
+import org.dbflute.system.QLogSampler;
 import org.dbflute.unit.RuntimeTestCase;
 
 /**
@@ -130,6 +140,218 @@ public class TnAbstractBasicSqlHandlerTest extends RuntimeTestCase {
         assertEquals("log", markList.get(1));
     }
 
+    public void test_logSql_sampledOut_slow() {
+        // ## Arrange ##
+        final List<String> markList = new ArrayList<String>();
+        final QLogSampler sampler = new QLogSampler().sampleOneIn(2).slowThreshold(100L);
+        final long[] currentTime = new long[] { 1000L };
+        TnAbstractBasicSqlHandler handler = new TnAbstractBasicSqlHandler(null, null, "select ...") {
+            @Override
+            protected String buildDisplaySql(String sql, Object[] args) {
+                markList.add("buildDisplaySql:" + args[0]);
+                return "select " + args[0];
+            }
+
+            @Override
+            protected void logDisplaySql(String displaySql) {
+                markList.add("log:" + displaySql);
+            }
+
+            @Override
+            protected void log(String msg) {
+                markList.add("slow");
+            }
+
+            @Override
+            protected boolean isLogEnabled() {
+                return true;
+            }
+
+            @Override
+            protected QLogSampler getQLogSampler() {
+                return sampler;
+            }
+
+            @Override
+            protected long systemTime() {
+                return currentTime[0];
+            }
+
+            @Override
+            protected void assertObjectNotNull(String variableName, Object value) {
+                // for no check of constructor
+            }
+        };
+
+        // ## Act ##
+        handler.logSql(new Object[] { 1 }, new Class<?>[] { Integer.class }); // sampled
+        handler.logSampledOutSqlIfSlow(handler.prepareSampledOutBeforeTime()); // nothing
+        handler.logSql(new Object[] { 2 }, new Class<?>[] { Integer.class }); // skipped, fast
+        long before = handler.prepareSampledOutBeforeTime();
+        currentTime[0] = currentTime[0] + 99L;
+        handler.logSampledOutSqlIfSlow(before);
+        handler.logSql(new Object[] { 3 }, new Class<?>[] { Integer.class }); // sampled
+        handler.logSql(new Object[] { 4 }, new Class<?>[] { Integer.class }); // skipped, slow
+        before = handler.prepareSampledOutBeforeTime();
+        currentTime[0] = currentTime[0] + 100L;
+        handler.logSampledOutSqlIfSlow(before);
+
+        // ## Assert ##
+        log(markList);
+        assertEquals(newArrayList("buildDisplaySql:1", "log:select 1", "buildDisplaySql:3", "log:select 3", "slow", "buildDisplaySql:4",
+                "log:select 4"), markList);
+    }
+
+    public void test_detectSlowQueryIfNeeds_basic() {
+        // ## Arrange ##
+        final DataSource explainDataSource = (DataSource) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { DataSource.class }, (proxy, method, args) -> null);
+        final SlowQueryDetector detector = new SlowQueryDetector(100L, 10).explainBy(explainDataSource);
+        final long[] currentTime = new long[] { 1000L };
+        TnAbstractBasicSqlHandler handler = new TnAbstractBasicSqlHandler(null, null, "select * from MEMBER where MEMBER_ID = ?") {
+            @Override
+            protected SlowQueryDetector getSlowQueryDetector() {
+                return detector;
+            }
+
+            @Override
+            protected String explainSlowQuery(DataSource dataSource, String explainSql, Object[] args, Class<?>[] argTypes)
+                    throws SQLException {
+                assertSame(explainDataSource, dataSource);
+                assertEquals("explain select * from MEMBER where MEMBER_ID = ?", explainSql);
+                return "plan of " + args[0];
+            }
+
+            @Override
+            protected long systemTime() {
+                return currentTime[0];
+            }
+
+            @Override
+            protected boolean isLogEnabled() {
+                return false;
+            }
+
+            @Override
+            protected void assertObjectNotNull(String variableName, Object value) {
+                // for no check of constructor
+            }
+        };
+        ResourceContext.getResourceContextOnThread().setCurrentDBDef(DBDef.PostgreSQL);
+
+        // ## Act ##
+        handler.logSql(new Object[] { 3 }, new Class<?>[] { Integer.class });
+        long before = handler.prepareSlowQueryBeforeTime();
+        currentTime[0] = currentTime[0] + 99L;
+        handler.detectSlowQueryIfNeeds(before); // fast
+        before = handler.prepareSlowQueryBeforeTime();
+        currentTime[0] = currentTime[0] + 150L;
+        handler.detectSlowQueryIfNeeds(before); // slow
+
+        // ## Assert ##
+        List<SlowQueryRecord> recordList = detector.getRecordList();
+        log(recordList);
+        assertEquals(1, recordList.size());
+        SlowQueryRecord record = recordList.get(0);
+        assertEquals("select * from MEMBER where MEMBER_ID = ?", record.getExecutedSql());
+        assertEquals(newArrayList(3), record.getBindArgList());
+        assertEquals(150L, record.getExecutionMillis());
+        assertEquals("plan of 3", record.getExecutionPlan());
+        assertNull(record.getExplainFailureMessage());
+    }
+
+    public void test_detectSlowQueryIfNeeds_noExplainDataSource() {
+        // ## Arrange ##
+        final SlowQueryDetector detector = new SlowQueryDetector(100L, 10);
+        final long[] currentTime = new long[] { 1000L };
+        TnAbstractBasicSqlHandler handler = new TnAbstractBasicSqlHandler(null, null, "select * from MEMBER") {
+            @Override
+            protected SlowQueryDetector getSlowQueryDetector() {
+                return detector;
+            }
+
+            @Override
+            protected String explainSlowQuery(DataSource dataSource, String explainSql, Object[] args, Class<?>[] argTypes)
+                    throws SQLException {
+                fail("should not explain on the data source of transaction");
+                return null; // unreachable
+            }
+
+            @Override
+            protected long systemTime() {
+                return currentTime[0];
+            }
+
+            @Override
+            protected boolean isLogEnabled() {
+                return false;
+            }
+
+            @Override
+            protected void assertObjectNotNull(String variableName, Object value) {
+                // for no check of constructor
+            }
+        };
+        ResourceContext.getResourceContextOnThread().setCurrentDBDef(DBDef.PostgreSQL);
+
+        // ## Act ##
+        handler.logSql(new Object[] {}, new Class<?>[] {});
+        long before = handler.prepareSlowQueryBeforeTime();
+        currentTime[0] = currentTime[0] + 150L;
+        handler.detectSlowQueryIfNeeds(before);
+
+        // ## Assert ##
+        List<SlowQueryRecord> recordList = detector.getRecordList();
+        assertEquals(1, recordList.size());
+        assertNull(recordList.get(0).getExecutionPlan());
+        assertNull(recordList.get(0).getExplainFailureMessage());
+    }
+
+    public void test_getConnection_phaseTime() {
+        // ## Arrange ##
+        final long[] currentTime = new long[] { 1000L };
+        final Connection conn = (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Connection.class },
+                (proxy, method, args) -> null);
+        DataSource dataSource = (DataSource) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { DataSource.class },
+                (proxy, method, args) -> {
+                    currentTime[0] = currentTime[0] + 120L; // e.g. waiting for connection pool
+                    return conn;
+                });
+        TnAbstractBasicSqlHandler handler = new TnAbstractBasicSqlHandler(dataSource, null, "select ...") {
+            @Override
+            protected boolean isSaveMillis() {
+                return true;
+            }
+
+            @Override
+            protected long systemTime() {
+                return currentTime[0];
+            }
+
+            @Override
+            protected void assertObjectNotNull(String variableName, Object value) {
+                // for no check of constructor
+            }
+        };
+
+        // ## Act ##
+        try {
+            assertSame(conn, handler.getConnection());
+            assertSame(conn, handler.getConnection());
+
+            // ## Assert ##
+            assertEquals(Long.valueOf(240L), InternalMapContext.getConnectionAcquisitionMillis()); // summed up
+            assertNull(InternalMapContext.getStatementPreparationMillis());
+            ExecutionTimeInfo timeInfo = new ExecutionTimeInfo(null, null, 2000L, 2030L, 240L, null, 15L);
+            log(timeInfo.toPhasePerformanceView());
+            assertEquals(Long.valueOf(30L), timeInfo.getSqlExecutionMillis());
+            assertContains(timeInfo.toPhasePerformanceView(), "connection=");
+            assertNotContains(timeInfo.toPhasePerformanceView(), "prepare=");
+        } finally {
+            InternalMapContext.clearInternalMapContextOnThread();
+        }
+    }
+
     public void test_logSql_whitebox_sqlLogHandlerOnly() {
         // ## Arrange ##
         final List<String> markList = new ArrayList<String>();
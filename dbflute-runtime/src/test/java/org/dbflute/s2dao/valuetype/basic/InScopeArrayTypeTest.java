@@ -0,0 +1,81 @@
+/*
+ * Copyright 2014-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.s2dao.valuetype.basic;
+
+import java.lang.reflect.Proxy;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.dbflute.cbean.cvalue.InScopeArrayValue;
+import org.dbflute.s2dao.valuetype.TnValueTypes;
+import org.dbflute.unit.RuntimeTestCase;
+
+/**
+ * @author jflute
+ * @since 1.3.0 (2026/10/19 Monday)
+ */
+public class InScopeArrayTypeTest extends RuntimeTestCase {
+
+    public void test_bindValue_asArray() throws Exception {
+        // ## Arrange ##
+        InScopeArrayType type = new InScopeArrayType();
+        List<String> callList = new ArrayList<String>();
+        Array array = (Array) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Array.class }, (proxy, method, args) -> {
+            return method.getName().equals("toString") ? "mockArray" : null;
+        });
+        Connection conn = (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Connection.class },
+                (proxy, method, args) -> {
+                    callList.add(method.getName() + ":" + args[0] + ":" + Arrays.asList((Object[]) args[1]));
+                    return array;
+                });
+        PreparedStatement ps = createStatement(callList);
+
+        // ## Act ##
+        type.bindValue(conn, ps, 1, new InScopeArrayValue(newArrayList(1, 2, 3), "int4"));
+
+        // ## Assert ##
+        assertEquals(newArrayList("createArrayOf:int4:[1, 2, 3]", "setArray:1:mockArray"), callList);
+    }
+
+    public void test_bindValue_null() throws Exception {
+        // ## Arrange ##
+        InScopeArrayType type = new InScopeArrayType();
+        List<String> callList = new ArrayList<String>();
+
+        // ## Act ##
+        type.bindValue(null, createStatement(callList), 2, null);
+
+        // ## Assert ##
+        assertEquals(newArrayList("setNull:2:" + Types.ARRAY), callList);
+    }
+
+    public void test_valueType_registered() {
+        assertTrue(TnValueTypes.getValueType(InScopeArrayValue.class) instanceof InScopeArrayType);
+    }
+
+    protected PreparedStatement createStatement(List<String> callList) {
+        return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { PreparedStatement.class },
+                (proxy, method, args) -> {
+                    callList.add(method.getName() + ":" + args[0] + ":" + args[1]);
+                    return null;
+                });
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2014-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.dbflute.system;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.dbflute.unit.RuntimeTestCase;
+
+/**
+ * @author jflute
+ * @since 1.3.0 (2026/10/19 Monday)
+ */
+public class QLogSamplerTest extends RuntimeTestCase {
+
+    // ===================================================================================
+    //                                                                            Sampling
+    //                                                                            ========
+    public void test_determineLogging_default() {
+        // ## Arrange ##
+        QLogSampler sampler = new QLogSampler();
+
+        // ## Act ##
+        // ## Assert ##
+        for (int i = 0; i < 10; i++) {
+            assertTrue(sampler.determineLogging("select ..."));
+        }
+        assertFalse(sampler.isSlowLoggingEnabled());
+        assertFalse(sampler.isSlow(Long.MAX_VALUE));
+    }
+
+    public void test_determineLogging_sampleOneIn() {
+        // ## Arrange ##
+        QLogSampler sampler = new QLogSampler().sampleOneIn(3);
+
+        // ## Act ##
+        int fooCount = 0;
+        int barCount = 0;
+        for (int i = 0; i < 9; i++) {
+            if (sampler.determineLogging("select foo")) {
+                ++fooCount;
+            }
+        }
+        if (sampler.determineLogging("select bar")) { // first of the SQL
+            ++barCount;
+        }
+
+        // ## Assert ##
+        assertEquals(3, fooCount);
+        assertEquals(1, barCount);
+    }
+
+    // ===================================================================================
+    //                                                                          Rate Limit
+    //                                                                          ==========
+    public void test_determineLogging_rateLimit() {
+        // ## Arrange ##
+        AtomicLong nanoTime = new AtomicLong(1_000_000_000L);
+        QLogSampler sampler = new QLogSampler() {
+            @Override
+            protected long currentNanoTime() {
+                return nanoTime.get();
+            }
+        }.rateLimit(2.0, 3);
+
+        // ## Act ##
+        // ## Assert ##
+        assertTrue(sampler.determineLogging("select foo"));
+        assertTrue(sampler.determineLogging("select foo"));
+        assertTrue(sampler.determineLogging("select foo"));
+        assertFalse(sampler.determineLogging("select foo")); // burst consumed
+        assertTrue(sampler.determineLogging("select bar")); // other SQL has own bucket
+        nanoTime.addAndGet(500_000_000L); // 0.5 second, one token
+        assertTrue(sampler.determineLogging("select foo"));
+        assertFalse(sampler.determineLogging("select foo"));
+        nanoTime.addAndGet(10_000_000_000L); // 10 seconds, up to burst
+        assertTrue(sampler.determineLogging("select foo"));
+        assertTrue(sampler.determineLogging("select foo"));
+        assertTrue(sampler.determineLogging("select foo"));
+        assertFalse(sampler.determineLogging("select foo"));
+    }
+
+    public void test_option_illegal() {
+        try {
+            new QLogSampler().sampleOneIn(0);
+            fail();
+        } catch (IllegalArgumentException e) {
+            log(e.getMessage());
+        }
+        try {
+            new QLogSampler().rateLimit(0.0, 1);
+            fail();
+        } catch (IllegalArgumentException e) {
+            log(e.getMessage());
+        }
+    }
+
+    // ===================================================================================
+    //                                                                                Slow
+    //                                                                                ====
+    public void test_isSlow_basic() {
+        // ## Arrange ##
+        QLogSampler sampler = new QLogSampler().slowThreshold(1000L);
+
+        // ## Act ##
+        // ## Assert ##
+        assertTrue(sampler.isSlowLoggingEnabled());
+        assertFalse(sampler.isSlow(999L));
+        assertTrue(sampler.isSlow(1000L));
+    }
+}
@@ -17,8 +17,10 @@ package org.dbflute.twowaysql;
 
 import org.dbflute.twowaysql.context.CommandContext;
 import org.dbflute.twowaysql.context.CommandContextCreator;
+import org.dbflute.twowaysql.context.CommandSqlOutputCache;
 import org.dbflute.twowaysql.exception.BindVariableCommentIllegalParameterBeanSpecificationException;
 import org.dbflute.twowaysql.node.Node;
+import org.dbflute.twowaysql.node.RootNode;
 import org.dbflute.twowaysql.node.SqlPartsNode;
 import org.dbflute.twowaysql.pmbean.SimpleMapPmb;
 import org.dbflute.unit.RuntimeTestCase;
@@ -288,6 +290,78 @@ public class SqlAnalyzerTest extends RuntimeTestCase {
         assertEquals(0, ctx.getBindVariables().length);
     }
 
+    // ===================================================================================
+    //                                                                    SQL Output Cache
+    //                                                                    ================
+    public void test_analyze_sqlOutputCache_reusedNode() {
+        // ## Arrange ##
+        StringBuilder sb = new StringBuilder();
+        sb.append("select * from MEMBER");
+        sb.append(ln()).append("/*BEGIN*/where");
+        sb.append(ln()).append("  /*IF pmb.sea*/MEMBER_NAME = /*pmb.iks*/'foo'/*END*/");
+        sb.append(ln()).append("  /*IF pmb.land*/and MEMBER_ACCOUNT = /*pmb.iks*/'bar'/*END*/");
+        sb.append(ln()).append("  /*FOR pmb.dstore*/and MEMBER_STATUS = /*#current*/'baz'/*END*/");
+        sb.append(ln()).append("/*END*/");
+        String twoway = sb.toString();
+        RootNode node = (RootNode) new SqlAnalyzer(twoway, false).analyze();
+        SimpleMapPmb<Object> pmb = preparePmb();
+
+        // ## Act ##
+        CommandContext firstCtx = prepareCtx(pmb, node); // first time, no cache
+        CommandContext secondCtx = prepareCtx(pmb, node);
+        pmb.addParameter("iks", "dockside");
+        CommandContext thirdCtx = prepareCtx(pmb, node); // same shape, other bind value
+        pmb.addParameter("land", true);
+        CommandContext fourthCtx = prepareCtx(pmb, node); // other branch
+
+        // ## Assert ##
+        log(ln() + fourthCtx.getSql());
+        assertEquals(firstCtx.getSql(), secondCtx.getSql());
+        assertSame(secondCtx.getSql(), thirdCtx.getSql());
+        assertEquals("dockside", thirdCtx.getBindVariables()[0]);
+        assertEquals(3, thirdCtx.getBindVariables().length);
+        assertContains(fourthCtx.getSql(), "and MEMBER_ACCOUNT = ?");
+        assertEquals(prepareCtx(pmb, new SqlAnalyzer(twoway, false).analyze()).getSql(), fourthCtx.getSql());
+        CommandSqlOutputCache cache = node.getSqlOutputCache();
+        assertEquals(2, cache.getOutputCount());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    public void test_analyze_sqlOutputCache_decisionOfValue() {
+        // ## Arrange ##
+        StringBuilder sb = new StringBuilder();
+        sb.append("select * from /*$pmb.schema*/MEMBER");
+        sb.append(ln()).append(" where MEMBER_ID in /*pmb.dstore*/(1, 2)");
+        sb.append(ln()).append("   and MEMBER_NAME = /*$pmb.iks*/'foo'");
+        String twoway = sb.toString();
+        RootNode node = (RootNode) new SqlAnalyzer(twoway, false).analyze();
+        SimpleMapPmb<Object> pmb = preparePmb();
+        pmb.addParameter("schema", "");
+
+        // ## Act ##
+        prepareCtx(pmb, node); // first time, no cache
+        CommandContext twoCtx = prepareCtx(pmb, node);
+        pmb.addParameter("dstore", newArrayList("uni", "city", "mystic"));
+        CommandContext threeCtx = prepareCtx(pmb, node); // other count of in-scope
+        pmb.addParameter("iks", "dockside");
+        CommandContext embeddedCtx = prepareCtx(pmb, node); // other embedded value
+        pmb.addParameter("dstore", newArrayList("land", "piari", "bonvo"));
+        CommandContext sameCtx = prepareCtx(pmb, node); // same decisions, other bind values
+
+        // ## Assert ##
+        log(ln() + embeddedCtx.getSql());
+        assertContains(twoCtx.getSql(), "in (?, ?)");
+        assertContains(threeCtx.getSql(), "in (?, ?, ?)");
+        assertContains(threeCtx.getSql(), "'amba'");
+        assertContains(embeddedCtx.getSql(), "'dockside'");
+        assertSame(embeddedCtx.getSql(), sameCtx.getSql());
+        assertEquals("land", sameCtx.getBindVariables()[0]);
+        CommandSqlOutputCache cache = node.getSqlOutputCache();
+        assertEquals(3, cache.getOutputCount());
+        assertEquals(1, cache.getHitCount());
+    }
+
     // ===================================================================================
     //                                                                            SQL Node
     //                                                                            ========
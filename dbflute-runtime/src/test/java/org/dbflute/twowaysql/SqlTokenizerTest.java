@@ -295,6 +295,47 @@ public class SqlTokenizerTest extends RuntimeTestCase {
         log("14: " + tokenizer._token);
     }
 
+    // ===================================================================================
+    //                                                                         Mark Search
+    //                                                                         ===========
+    public void test_next_markSearch_reused() {
+        // ## Arrange ##
+        String sql = "select * from MEMBER -- plain\n where /*IF pmb.sea*/MEMBER_ID = /*pmb.id*/3 -- ELSE foo\n /*END*/ #*bar*#";
+        SqlTokenizer tokenizer = new SqlTokenizer(sql);
+        StringBuilder sb = new StringBuilder();
+
+        // ## Act ##
+        while (SqlTokenizer.EOF != tokenizer.next()) {
+            sb.append(tokenizer.getTokenType()).append(":").append(tokenizer.getToken()).append("|");
+        }
+
+        // ## Assert ##
+        String tokens = sb.toString();
+        log(tokens);
+        // hash comment is not used when no block comment after it (compatible)
+        assertEquals("1:select * from MEMBER -- plain\n where |2:IF pmb.sea|1:MEMBER_ID = |2:pmb.id|1:3 |3:null|1: foo\n |2:END|1: #*bar*#|",
+                tokens);
+    }
+
+    public void test_getBeforeFromLast() {
+        // ## Arrange ##
+        String sql = "select /* sea */ foo /* land */ bar";
+        SqlTokenizer tokenizer = new SqlTokenizer(sql);
+        tokenizer.next();
+        tokenizer.next();
+        tokenizer.next();
+        tokenizer.next(); // after land comment
+
+        // ## Act ##
+        String content = tokenizer.getBeforeFromLast("/*");
+
+        // ## Assert ##
+        assertEquals(" land ", tokenizer.getToken());
+        assertEquals("/* land */", content);
+        String before = tokenizer.getBefore();
+        assertEquals(before.substring(before.lastIndexOf("/*")), content);
+    }
+
     // ===================================================================================
     //                                                                           Exception
     //                                                                           =========
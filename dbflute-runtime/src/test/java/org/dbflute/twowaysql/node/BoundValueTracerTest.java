@@ -376,6 +376,80 @@ public class BoundValueTracerTest extends RuntimeTestCase {
         assertNull(valueAndType.getFilteringBindOption());
     }
 
+    // ===================================================================================
+    //                                                                       Resolved Path
+    //                                                                       =============
+    public void test_trace_resolvedPath_reused() {
+        // ## Arrange ##
+        BoundValueTracer.clearResolvedPathCache();
+        String expression = "pmb.nestLikePmb.memberName";
+        MockPmb nestLikePmb = new MockPmb();
+        nestLikePmb.setMemberName("f|o%o");
+        MockPmb pmb = new MockPmb();
+        pmb.setNestLikePmb(nestLikePmb);
+        pmb.setNestLikePmbInternalLikeSearchOption(new LikeSearchOption().likePrefix());
+        createTargetAsBind(expression).trace(createTargetAndType(pmb)); // resolves path
+        assertNotNull(BoundValueTracer._resolvedPathCacheMap.get(new BoundValueTracer.ResolvedPathKey(MockPmb.class, expression)));
+        nestLikePmb.setMemberName("b|a%r");
+        BoundValue valueAndType = createTargetAndType(pmb);
+
+        // ## Act ##
+        createTargetAsBind(expression).trace(valueAndType);
+        valueAndType.filterValueByOptionIfNeeds();
+
+        // ## Assert ##
+        assertEquals("b||a|%r%", valueAndType.getTargetValue());
+        assertEquals(String.class, valueAndType.getTargetType());
+        assertEquals(" escape '|'", valueAndType.getFilteringBindOption().getRearOption());
+    }
+
+    public void test_trace_resolvedPath_otherType() {
+        // ## Arrange ##
+        BoundValueTracer.clearResolvedPathCache();
+        String expression = "pmb.memberName";
+        MockPmb pmb = new MockPmb();
+        pmb.setMemberName("foo");
+        createTargetAsBind(expression).trace(createTargetAndType(pmb)); // resolves path as bean
+        Map<String, Object> mapPmb = DfCollectionUtil.newHashMap();
+        mapPmb.put("memberName", "f|o%o");
+        mapPmb.put("memberNameInternalLikeSearchOption", new LikeSearchOption().likeSuffix());
+        BoundValue valueAndType = createTargetAndType(mapPmb);
+
+        // ## Act ##
+        createTargetAsBind(expression).trace(valueAndType);
+        valueAndType.filterValueByOptionIfNeeds();
+
+        // ## Assert ##
+        assertEquals("%f||o|%o", valueAndType.getTargetValue());
+        assertEquals(" escape '|'", valueAndType.getFilteringBindOption().getRearOption());
+        BoundValue nextValueAndType = createTargetAndType(pmb);
+        createTargetAsBind(expression).trace(nextValueAndType); // re-resolved as bean
+        assertEquals("foo", nextValueAndType.getTargetValue());
+        assertNull(nextValueAndType.getFilteringBindOption());
+        assertEquals(2, BoundValueTracer._resolvedPathCacheMap.size()); // per root type, not overridden each other
+        assertNotNull(BoundValueTracer._resolvedPathCacheMap.get(new BoundValueTracer.ResolvedPathKey(MockPmb.class, expression)));
+        assertNotNull(BoundValueTracer._resolvedPathCacheMap.get(new BoundValueTracer.ResolvedPathKey(mapPmb.getClass(), expression)));
+    }
+
+    public void test_trace_resolvedPath_nullOnTheWay() {
+        // ## Arrange ##
+        BoundValueTracer.clearResolvedPathCache();
+        String expression = "pmb.nestPmb.memberId";
+        MockPmb pmb = new MockPmb();
+        createTargetAsBind(expression).trace(createTargetAndType(pmb)); // resolves only first step
+        MockPmb nestPmb = new MockPmb();
+        nestPmb.setMemberId(3);
+        pmb.setNestPmb(nestPmb);
+        BoundValue valueAndType = createTargetAndType(pmb);
+
+        // ## Act ##
+        createTargetAsBind(expression).trace(valueAndType);
+
+        // ## Assert ##
+        assertEquals(3, valueAndType.getTargetValue());
+        assertEquals(Integer.class, valueAndType.getTargetType());
+    }
+
     // ===================================================================================
     //                                                                         Test Helper
     //                                                                         ===========
@@ -954,6 +954,78 @@ public class IfCommentEvaluatorTest extends RuntimeTestCase {
         }
     }
 
+    // ===================================================================================
+    //                                                                            Compiled
+    //                                                                            ========
+    public void test_compiled_sameAsPlain() {
+        // ## Arrange ##
+        BasePmb pmb = new BasePmb();
+        pmb.setMemberId(3);
+        pmb.setMemberName("foo");
+        pmb.setExistsPurchase(true);
+        pmb.setBirthdate(DfTypeUtil.toDate("2009/09/12 12:34:56"));
+        NextPmb nextPmb = new NextPmb();
+        nextPmb.setDisplayOrder(2);
+        pmb.setNextPmb(nextPmb);
+        String[] expressions = new String[] { "pmb.memberId != null", "pmb.memberId == null", "pmb.memberName == 'foo'",
+                "pmb.memberName != 'bar'", "pmb.memberId > 0", "pmb.memberId <= 2", "pmb.memberId >= pmb.nextPmb.displayOrder",
+                "pmb.birthdate > date '2009/09/11'", "pmb.birthdate < date '2009/09/11'", "pmb.existsPurchase", "!pmb.existsPurchase",
+                "pmb.isExistsPurchase()", "true", "!true", "pmb.memberId > 0 && pmb.memberName == 'foo' && !pmb.existsPurchase",
+                "pmb.memberId < 0 || pmb.memberName == 'bar' || pmb.existsPurchase" };
+
+        // ## Act && Assert ##
+        for (String expression : expressions) {
+            IfCommentExpression compiled = IfCommentExpression.compile(expression);
+            assertNotNull(compiled);
+            boolean plainResult = createEvaluator(pmb, expression).evaluate();
+            boolean compiledResult = createCompiledEvaluator(pmb, compiled).evaluate();
+            log(expression + " => " + compiledResult);
+            assertEquals(expression, plainResult, compiledResult);
+        }
+    }
+
+    public void test_compiled_reuseAccessor() {
+        // ## Arrange ##
+        BasePmb pmb = new BasePmb();
+        pmb.setMemberId(3);
+        IfCommentExpression compiled = IfCommentExpression.compile("pmb.memberId > 2 && pmb.memberName != null");
+
+        // ## Act && Assert ##
+        assertFalse(createCompiledEvaluator(pmb, compiled).evaluate());
+        pmb.setMemberName("foo");
+        assertTrue(createCompiledEvaluator(pmb, compiled).evaluate());
+        pmb.setMemberId(1);
+        assertFalse(createCompiledEvaluator(pmb, compiled).evaluate());
+        IfCommentExpression.PropertyStep step = compiled.getClauseList().get(0).getLeftPiece().getStepList().get(0);
+        assertNotNull(step.findAccessor(BasePmb.class));
+        assertNull(step.findAccessor(NextPmb.class));
+    }
+
+    public void test_compiled_unsupported() {
+        assertNull(IfCommentExpression.compile(null));
+        assertNull(IfCommentExpression.compile(" "));
+        assertNull(IfCommentExpression.compile("pmb.memberId = 3"));
+        assertNull(IfCommentExpression.compile("pmb.memberId > 0 && pmb.memberId < 9 || pmb.existsPurchase"));
+        assertNull(IfCommentExpression.compile("pmb.memberName == \"foo\""));
+    }
+
+    public void test_compiled_exception_sameAsPlain() {
+        // ## Arrange ##
+        BasePmb pmb = new BasePmb();
+        pmb.setExistsPurchase(true);
+        IfCommentExpression compiled = IfCommentExpression.compile("pmb.existsPurchase && pmb.memberName");
+
+        // ## Act ##
+        try {
+            createCompiledEvaluator(pmb, compiled).evaluate();
+            // ## Assert ##
+            fail();
+        } catch (IfCommentNotBooleanResultException e) {
+            // OK
+            log(e.getMessage());
+        }
+    }
+
     // ===================================================================================
     //                                                                         Test Helper
     //                                                                         ===========
@@ -965,6 +1037,10 @@ public class IfCommentEvaluatorTest extends RuntimeTestCase {
         }, expression, "select foo from bar", null);
     }
 
+    protected IfCommentEvaluator createCompiledEvaluator(final Object pmb, IfCommentExpression compiled) {
+        return new IfCommentEvaluator(name -> pmb, compiled, "select foo from bar", null);
+    }
+
     protected static class BasePmb implements ParameterBean {
         private Integer _memberId;
         private String _memberName;